@@ -1,7 +1,7 @@
 /*
  * Kotlin
  *
- * Copyright 2024-2025 MicroEJ Corp. All rights reserved.
+ * Copyright 2024-2026 MicroEJ Corp. All rights reserved.
  * Use of this source code is governed by a BSD-style license that can be found with this software.
  */
 
@@ -43,10 +43,24 @@ testing {
 				implementation(libs.api.edc)
 				implementation(libs.api.microui)
 				implementation(libs.api.drawing)
+				implementation(libs.api.fs)
 				implementation(libs.library.basictool)
 				implementation(libs.junit)
 				implementation(libs.junit.platform)
 			}
+
+			targets {
+				all {
+					testTask.configure {
+						// The page benchmark is long: run it only when the benchmark property is set.
+						if (!project.hasProperty("benchmark")) {
+							filter {
+								excludeTestsMatching("com.microej.demo.widget.test.PageBenchmark")
+							}
+						}
+					}
+				}
+			}
 		}
 	}
 }
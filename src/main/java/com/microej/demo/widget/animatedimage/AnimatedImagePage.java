@@ -1,13 +1,13 @@
 /*
- * Copyright 2023 MicroEJ Corp. All rights reserved.
+ * Copyright 2023-2026 MicroEJ Corp. All rights reserved.
  * Use of this source code is governed by a BSD-style license that can be found with this software.
  */
 package com.microej.demo.widget.animatedimage;
 
 import com.microej.demo.widget.animatedimage.widget.AnimatedImage;
+import com.microej.demo.widget.animatedimage.widget.SpriteSheet;
 import com.microej.demo.widget.common.Page;
 
-import ej.bon.Immutables;
 import ej.mwt.Widget;
 import ej.mwt.style.EditableStyle;
 import ej.mwt.style.dimension.OptimalDimension;
@@ -19,7 +19,10 @@ import ej.mwt.stylesheet.selector.TypeSelector;
  */
 public class AnimatedImagePage implements Page {
 
-	private static final String[] BUMPING_ICON_FRAMES = (String[]) Immutables.get("hrAnimationPaths"); //$NON-NLS-1$
+	private static final String BUMPING_ICON_SHEET = "/images/heartrate/heart-120-sheet.png"; //$NON-NLS-1$
+	private static final int BUMPING_ICON_WIDTH = 40;
+	private static final int BUMPING_ICON_HEIGHT = 70;
+	private static final int BUMPING_ICON_FRAME_COUNT = 30;
 
 	private static final long BUMPING_PERIOD = 40;
 
@@ -37,7 +40,9 @@ public class AnimatedImagePage implements Page {
 	@Override
 	public Widget getContentWidget() {
 		// Animated image widget
-		return new AnimatedImage(BUMPING_ICON_FRAMES, BUMPING_PERIOD);
+		SpriteSheet spriteSheet = new SpriteSheet(BUMPING_ICON_SHEET, BUMPING_ICON_WIDTH, BUMPING_ICON_HEIGHT,
+				BUMPING_ICON_FRAME_COUNT);
+		return new AnimatedImage(spriteSheet, BUMPING_PERIOD);
 	}
 
 }
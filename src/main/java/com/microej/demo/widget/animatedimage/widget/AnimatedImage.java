@@ -1,5 +1,5 @@
 /*
- * Copyright 2023 MicroEJ Corp. All rights reserved.
+ * Copyright 2023-2026 MicroEJ Corp. All rights reserved.
  * Use of this source code is governed by a BSD-style license that can be found with this software.
  */
 package com.microej.demo.widget.animatedimage.widget;
@@ -8,38 +8,55 @@ import java.util.StringTokenizer;
 
 import ej.annotation.Nullable;
 import ej.basictool.ThreadUtils;
-import ej.bon.Timer;
-import ej.bon.TimerTask;
+import ej.bon.Util;
 import ej.microui.MicroUIException;
 import ej.microui.display.GraphicsContext;
 import ej.microui.display.Painter;
 import ej.microui.display.ResourceImage;
 import ej.mwt.Widget;
+import ej.mwt.animation.Animation;
+import ej.mwt.animation.Animator;
 import ej.mwt.style.Style;
 import ej.mwt.util.Alignment;
 import ej.mwt.util.Size;
-import ej.service.ServiceFactory;
 
 /**
  * A widget that displays a sequence of images at a fixed rate.
+ * <p>
+ * The frame displayed depends on the time elapsed since the widget has been shown: when the loading of a frame is
+ * late, the frames that should have been displayed meanwhile are dropped rather than delaying the animation.
+ * <p>
+ * The frames are updated by the animator of the desktop, along with the other animations of the desktop. A frame is
+ * rendered only when the elapsed time reaches a new period, the ticks in between do not request any rendering.
+ * <p>
+ * The frames can also be packed in a single image described by a {@link SpriteSheet}. This image is loaded once when
+ * the widget is attached and the frames are drawn as regions of it, without any loading while the widget is shown.
  *
  * @see ej.microui.display.Image
  */
 public class AnimatedImage extends Widget {
 
 	private static final String SPACE = " "; //$NON-NLS-1$
+	private static final String[] NO_FRAMES = new String[0];
 
 	private String[] frames;
+	@Nullable
+	private SpriteSheet spriteSheet;
 	private long period;
 
 	private int currentIndex;
 
-	@Nullable
-	private TimerTask timerTask;
+	private final Animation animation;
+	private long startTime;
+	private int startSequence;
+	private int currentSequence;
 
 	@Nullable
 	private ResourceImage frame;
 
+	@Nullable
+	private ResourceImage spriteSheetImage;
+
 	/**
 	 * Creates an animated image with the path to the images to display.
 	 * <p>
@@ -62,6 +79,7 @@ public class AnimatedImage extends Widget {
 		}
 		this.frames = frames.clone();
 		setPeriod(period);
+		this.animation = createAnimation();
 	}
 
 	/**
@@ -95,6 +113,34 @@ public class AnimatedImage extends Widget {
 		}
 		this.frames = framesArray;
 		setPeriod(period);
+		this.animation = createAnimation();
+	}
+
+	/**
+	 * Creates an animated image displaying the frames of a sprite sheet.
+	 *
+	 * @param spriteSheet
+	 *            the sprite sheet containing the frames to display.
+	 * @param period
+	 *            the period between each frame.
+	 * @throws IllegalArgumentException
+	 *             if the given period is lower or equal to zero.
+	 */
+	public AnimatedImage(SpriteSheet spriteSheet, long period) {
+		this.frames = NO_FRAMES;
+		this.spriteSheet = spriteSheet;
+		setPeriod(period);
+		this.animation = createAnimation();
+	}
+
+	private Animation createAnimation() {
+		return new Animation() {
+			@Override
+			public boolean tick(long platformTimeMillis) {
+				next(platformTimeMillis);
+				return true;
+			}
+		};
 	}
 
 	/**
@@ -123,6 +169,9 @@ public class AnimatedImage extends Widget {
 
 	/**
 	 * Sets the frames to display for this animated image.
+	 * <p>
+	 * The sprite sheet previously set, if any, is not used anymore. If this widget is shown, the animation restarts
+	 * from the first new frame.
 	 *
 	 * @param frames
 	 *            the path to the frames to display.
@@ -149,62 +198,115 @@ public class AnimatedImage extends Widget {
 		}
 		this.frames = frames; // NOSONAR see javadoc.
 		this.currentIndex = 0;
+		if (this.spriteSheet != null) {
+			this.spriteSheet = null;
+			closeSpriteSheetImage();
+		}
+		if (isAttached()) {
+			// Display the first new frame and restart the animation with the new frames.
+			closeFrameResource();
+			this.frame = loadImage(frames[0]);
+			if (isShown()) {
+				startSequence();
+				requestRender();
+			}
+		}
 	}
 
 	/**
 	 * Gets the frames.
 	 *
-	 * @return the frames.
+	 * @return the frames, or an empty array if the frames are in a sprite sheet.
 	 */
 	public String[] getFrames() {
 		return this.frames.clone();
 	}
 
+	/**
+	 * Gets the sprite sheet containing the frames.
+	 *
+	 * @return the sprite sheet, or <code>null</code> if the frames are separate images.
+	 */
+	@Nullable
+	public SpriteSheet getSpriteSheet() {
+		return this.spriteSheet;
+	}
+
 	@Override
 	protected void onAttached() {
 		super.onAttached();
-		this.frame = loadImage(this.currentIndex);
+		SpriteSheet spriteSheet = this.spriteSheet;
+		if (spriteSheet != null) {
+			this.spriteSheetImage = loadImage(spriteSheet.getImagePath());
+		} else {
+			this.frame = loadImage(this.frames[this.currentIndex]);
+		}
+	}
+
+	@Override
+	protected void onDetached() {
+		super.onDetached();
+		closeSpriteSheetImage();
 	}
 
 	@Override
 	protected void onShown() {
 		super.onShown();
-		Timer timer = ServiceFactory.getService(Timer.class, Timer.class);
-		this.timerTask = new TimerTask() {
-			@Override
-			public void run() {
-				next();
-			}
-		};
-		timer.schedule(this.timerTask, this.period, this.period);
+		if (this.spriteSheet == null && this.frame == null) {
+			// The frame has been closed when the widget was hidden.
+			this.frame = loadImage(this.frames[this.currentIndex]);
+		}
+		startSequence();
+
+		Animator animator = getDesktop().getAnimator();
+		animator.startAnimation(this.animation);
 	}
 
 	@Override
 	protected void onHidden() {
 		super.onHidden();
-		TimerTask timerTask = this.timerTask;
-		if (timerTask != null) {
-			timerTask.cancel();
-		}
+		Animator animator = getDesktop().getAnimator();
+		animator.stopAnimation(this.animation);
 		closeFrameResource();
 	}
 
-	private void next() {
-		closeFrameResource();
+	/**
+	 * Starts counting the elapsed periods from the current frame.
+	 */
+	private void startSequence() {
+		this.startTime = Util.platformTimeMillis();
+		this.startSequence = this.currentIndex;
+		this.currentSequence = this.currentIndex;
+	}
 
-		if (this.currentIndex == this.frames.length - 1) {
-			this.currentIndex = 0;
-		} else {
-			this.currentIndex++;
-		}
+	private void next(long platformTimeMillis) {
+		int sequence = this.startSequence + (int) ((platformTimeMillis - this.startTime) / this.period);
 
-		this.frame = loadImage(this.currentIndex);
+		if (sequence <= this.currentSequence) {
+			return;
+		}
+		// The frames between the current one and the one of the elapsed time are dropped.
+		this.currentSequence = sequence;
 
+		SpriteSheet spriteSheet = this.spriteSheet;
+		if (spriteSheet != null) {
+			this.currentIndex = sequence % spriteSheet.getFrameCount();
+		} else {
+			this.currentIndex = sequence % this.frames.length;
+			closeFrameResource();
+			this.frame = loadImage(this.frames[this.currentIndex]);
+		}
 		requestRender();
 	}
 
 	@Override
 	protected void renderContent(GraphicsContext g, int contentWidth, int contentHeight) {
+		SpriteSheet spriteSheet = this.spriteSheet;
+		if (spriteSheet != null) {
+			renderSpriteSheetFrame(g, spriteSheet, contentWidth, contentHeight);
+			return;
+		}
+
 		ResourceImage currentFrame = this.frame;
 		if (currentFrame != null) {
 			Style style = getStyle();
@@ -219,8 +321,33 @@ public class AnimatedImage extends Widget {
 		}
 	}
 
+	private void renderSpriteSheetFrame(GraphicsContext g, SpriteSheet spriteSheet, int contentWidth,
+			int contentHeight) {
+		ResourceImage image = this.spriteSheetImage;
+		if (image != null) {
+			Style style = getStyle();
+			int frameWidth = spriteSheet.getFrameWidth();
+			int frameHeight = spriteSheet.getFrameHeight();
+			int x = Alignment.computeLeftX(frameWidth, 0, contentWidth, style.getHorizontalAlignment());
+			int y = Alignment.computeTopY(frameHeight, 0, contentHeight, style.getVerticalAlignment());
+
+			int index = this.currentIndex;
+			g.setColor(style.getColor());
+			Painter.drawRegion(g, image, spriteSheet.getFrameX(image, index), spriteSheet.getFrameY(image, index),
+					frameWidth, frameHeight, x, y);
+		}
+	}
+
 	@Override
 	protected void computeContentOptimalSize(Size size) {
+		SpriteSheet spriteSheet = this.spriteSheet;
+		if (spriteSheet != null) {
+			int width = getSize(size.getWidth(), spriteSheet.getFrameWidth());
+			int height = getSize(size.getHeight(), spriteSheet.getFrameHeight());
+			size.setSize(width, height);
+			return;
+		}
+
 		ResourceImage firstImage = this.frame;
 
 		if (firstImage != null) {
@@ -237,12 +364,11 @@ public class AnimatedImage extends Widget {
 	}
 
 	@Nullable
-	private ResourceImage loadImage(int currentIndex) {
-		String currentFrame = this.frames[currentIndex];
-		assert currentFrame != null;
+	private static ResourceImage loadImage(@Nullable String path) {
+		assert path != null;
 
 		try {
-			return ResourceImage.loadImage(currentFrame);
+			return ResourceImage.loadImage(path);
 		} catch (MicroUIException e) {
 			ThreadUtils.handleUncaughtException(e);
 			return null;
@@ -256,4 +382,12 @@ public class AnimatedImage extends Widget {
 			this.frame = null;
 		}
 	}
+
+	private void closeSpriteSheetImage() {
+		ResourceImage image = this.spriteSheetImage;
+		if (image != null) {
+			image.close();
+			this.spriteSheetImage = null;
+		}
+	}
 }
@@ -0,0 +1,110 @@
+/*
+ * Copyright 2026 MicroEJ Corp. All rights reserved.
+ * Use of this source code is governed by a BSD-style license that can be found with this software.
+ */
+package com.microej.demo.widget.animatedimage.widget;
+
+import ej.microui.display.Image;
+
+/**
+ * Describes the frames of an animation packed in a single image.
+ * <p>
+ * The frames have the same size and are laid out in a grid, from left to right then from top to bottom. The number of
+ * columns of the grid is the width of the image divided by the width of a frame.
+ */
+public class SpriteSheet {
+
+	private final String imagePath;
+	private final int frameWidth;
+	private final int frameHeight;
+	private final int frameCount;
+
+	/**
+	 * Creates a sprite sheet.
+	 *
+	 * @param imagePath
+	 *            the path of the image containing the frames.
+	 * @param frameWidth
+	 *            the width of a frame.
+	 * @param frameHeight
+	 *            the height of a frame.
+	 * @param frameCount
+	 *            the number of frames.
+	 * @throws IllegalArgumentException
+	 *             if one of the given sizes or the frame count is lower or equal to zero.
+	 */
+	public SpriteSheet(String imagePath, int frameWidth, int frameHeight, int frameCount) {
+		if (frameWidth <= 0 || frameHeight <= 0 || frameCount <= 0) {
+			throw new IllegalArgumentException();
+		}
+		this.imagePath = imagePath;
+		this.frameWidth = frameWidth;
+		this.frameHeight = frameHeight;
+		this.frameCount = frameCount;
+	}
+
+	/**
+	 * Gets the path of the image containing the frames.
+	 *
+	 * @return the image path.
+	 */
+	public String getImagePath() {
+		return this.imagePath;
+	}
+
+	/**
+	 * Gets the width of a frame.
+	 *
+	 * @return the frame width.
+	 */
+	public int getFrameWidth() {
+		return this.frameWidth;
+	}
+
+	/**
+	 * Gets the height of a frame.
+	 *
+	 * @return the frame height.
+	 */
+	public int getFrameHeight() {
+		return this.frameHeight;
+	}
+
+	/**
+	 * Gets the number of frames.
+	 *
+	 * @return the frame count.
+	 */
+	public int getFrameCount() {
+		return this.frameCount;
+	}
+
+	/**
+	 * Gets the x coordinate of a frame in the image.
+	 *
+	 * @param image
+	 *            the image containing the frames.
+	 * @param index
+	 *            the index of the frame.
+	 * @return the x coordinate of the frame.
+	 */
+	public int getFrameX(Image image, int index) {
+		int columns = image.getWidth() / this.frameWidth;
+		return (index % columns) * this.frameWidth;
+	}
+
+	/**
+	 * Gets the y coordinate of a frame in the image.
+	 *
+	 * @param image
+	 *            the image containing the frames.
+	 * @param index
+	 *            the index of the frame.
+	 * @return the y coordinate of the frame.
+	 */
+	public int getFrameY(Image image, int index) {
+		int columns = image.getWidth() / this.frameWidth;
+		return (index / columns) * this.frameHeight;
+	}
+
+}
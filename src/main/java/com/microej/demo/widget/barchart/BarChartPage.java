@@ -1,13 +1,13 @@
 /*
- * Copyright 2021-2022 MicroEJ Corp. All rights reserved.
+ * Copyright 2021-2026 MicroEJ Corp. All rights reserved.
  * Use of this source code is governed by a BSD-style license that can be found with this software.
  */
 package com.microej.demo.widget.barchart;
 
 import com.microej.demo.widget.barchart.widget.BarChart;
-import com.microej.demo.widget.barchart.widget.ChartPoint;
 import com.microej.demo.widget.common.DemoColors;
 import com.microej.demo.widget.common.Page;
+import com.microej.demo.widget.common.chart.ChartSeries;
 
 import ej.bon.Immutables;
 import ej.mwt.Widget;
@@ -56,13 +56,19 @@ public class BarChartPage implements Page {
 	}
 
 	private void fillChart(BarChart chart) {
-		for (String month : MONTHS) {
-			String name = month.substring(0, 1);
-			String fullName = month;
-			float value = genRandomValue();
-			ChartPoint point = new ChartPoint(name, fullName, value);
-			chart.addPoint(point);
+		String[] months = MONTHS;
+		int monthsCount = months.length;
+		String[] names = new String[monthsCount];
+		for (int i = 0; i < monthsCount; i++) {
+			names[i] = months[i].substring(0, 1);
 		}
+
+		ChartSeries series = new ChartSeries(monthsCount);
+		series.setLabels(names, months);
+		for (int i = 0; i < monthsCount; i++) {
+			series.add(genRandomValue());
+		}
+		chart.setSeries(series);
 	}
 
 	private float genRandomValue() {
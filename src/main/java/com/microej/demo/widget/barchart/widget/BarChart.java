@@ -1,17 +1,22 @@
 /*
- * Copyright 2021-2024 MicroEJ Corp. All rights reserved.
+ * Copyright 2021-2026 MicroEJ Corp. All rights reserved.
  * Use of this source code is governed by a BSD-style license that can be found with this software.
  */
 package com.microej.demo.widget.barchart.widget;
 
+import com.microej.demo.widget.common.CharsPainter;
 import com.microej.demo.widget.common.DottedLinePainter;
+import com.microej.demo.widget.common.NumberFormatter;
+import com.microej.demo.widget.common.chart.ChartSeries;
+import com.microej.demo.widget.common.chart.StaticLayer;
 
-import ej.basictool.ArrayTools;
+import ej.annotation.Nullable;
 import ej.bon.XMath;
 import ej.drawing.ShapePainter;
 import ej.drawing.ShapePainter.Cap;
 import ej.microui.display.Font;
 import ej.microui.display.GraphicsContext;
+import ej.microui.display.Painter;
 import ej.microui.event.Event;
 import ej.microui.event.generator.Buttons;
 import ej.microui.event.generator.Pointer;
@@ -28,6 +33,9 @@ import ej.widget.render.StringPainter;
 
 /**
  * Represents a bar chart with several ordered points.
+ * <p>
+ * The unit, the scale and the x-axis labels are kept in {@link StaticLayer}s, so that they are drawn from images when
+ * the selection or the apparition animation changes.
  */
 public class BarChart extends Widget implements MotionAnimationListener {
 
@@ -46,12 +54,13 @@ public class BarChart extends Widget implements MotionAnimationListener {
 
 	private static final int DEFAULT_SCALE_COUNT = 5;
 	private static final int DECIMALS_LONG_COUNT = 3;
-	private static final String DECIMALS_SEPARATOR = "."; //$NON-NLS-1$
+	private static final String SELECTED_VALUE_SEPARATOR = ": "; //$NON-NLS-1$
 
 	private static final int PADDING_Y_BAR = 5;
 	private static final int PADDING_X_BAR = 5;
 	private static final int SCALE_LINE_DOT_LENGTH = 3;
 	private static final int BAR_THICKNESS = 8;
+	private static final int SELECTION_MARGIN = 2;
 
 	private static final int ANIMATION_DURATION = 600;
 	private static final int ANIMATION_MIN = 0;
@@ -59,27 +68,37 @@ public class BarChart extends Widget implements MotionAnimationListener {
 
 	private static final int DECIMAL = 10;
 
-	/**
-	 * List of all the ChartPoints displayed on the BarChart.
-	 */
-	protected ChartPoint[] points;
+	private ChartSeries series;
+	private final StaticLayer scaleLayer;
+	private final StaticLayer labelsLayer;
 
 	private String unit;
+	private final char[] valueChars;
 	private int scaleCount;
 
 	private int selectedChartPointIndex;
 
 	private int currentApparitionStep;
 
+	// Layout metrics, computed after a layout and when the top value of the scale changes.
+	private boolean metricsValid;
+	private float metricsTopValue;
+	private int yBarWidth;
+	private int yBarTopHeight;
+	private int xBarHeight;
+
 	/**
 	 * Creates a BarChart Widget.
 	 */
 	public BarChart() {
 		super(true);
 		this.unit = ""; //$NON-NLS-1$
+		this.valueChars = new char[NumberFormatter.getMaxFixedLength(DECIMALS_LONG_COUNT)];
 		this.scaleCount = DEFAULT_SCALE_COUNT;
 		this.selectedChartPointIndex = -1;
-		this.points = new ChartPoint[0];
+		this.series = new ChartSeries();
+		this.scaleLayer = new StaticLayer();
+		this.labelsLayer = new StaticLayer();
 	}
 
 	/**
@@ -90,6 +109,8 @@ public class BarChart extends Widget implements MotionAnimationListener {
 	 */
 	public void setUnit(String unit) {
 		this.unit = unit;
+		this.metricsValid = false;
+		invalidateStaticLayers();
 	}
 
 	/**
@@ -109,6 +130,7 @@ public class BarChart extends Widget implements MotionAnimationListener {
 	 */
 	public void setScaleCount(int scaleCount) {
 		this.scaleCount = scaleCount;
+		invalidateStaticLayers();
 	}
 
 	/**
@@ -121,20 +143,29 @@ public class BarChart extends Widget implements MotionAnimationListener {
 	}
 
 	/**
-	 * Adds a point.
+	 * Sets the series of values displayed by this chart.
+	 * <p>
+	 * The selection is cleared.
 	 *
-	 * @param chartPoint
-	 *            the point to add
+	 * @param series
+	 *            the series to display.
 	 */
-	public void addPoint(ChartPoint chartPoint) {
-		this.points = ArrayTools.add(this.points, chartPoint);
+	public void setSeries(ChartSeries series) {
+		this.series = series;
+		invalidateStaticLayers();
+		this.selectedChartPointIndex = -1;
 	}
 
 	/**
-	 * Removes all points.
+	 * Gets the series of values displayed by this chart.
+	 * <p>
+	 * The chart must be rendered again once the series is modified, and the selection cleared if the selected value is
+	 * removed.
+	 *
+	 * @return the displayed series.
 	 */
-	public void clearPoints() {
-		this.points = new ChartPoint[0];
+	public ChartSeries getSeries() {
+		return this.series;
 	}
 
 	/*
@@ -165,14 +196,13 @@ public class BarChart extends Widget implements MotionAnimationListener {
 		int xContentStart = getAbsoluteX() + bound.getX();
 		pointerX = pointerX - xContentStart;
 
-		Font font = getStyle().getFont();
-		int yBarWidth = getYBarWidth(font, getTopScaleValue());
-		int xStart = yBarWidth;
+		updateMetrics(getTopScaleValue());
+		int xStart = this.yBarWidth;
 
 		int xEnd = bound.getWidth();
 
 		if (pointerX >= xStart && pointerX < xEnd) {
-			int selectedPoint = this.points.length * (pointerX - xStart) / (xEnd - xStart);
+			int selectedPoint = this.series.size() * (pointerX - xStart) / (xEnd - xStart);
 			selectPoint(selectedPoint);
 		} else {
 			selectPoint(-1);
@@ -186,36 +216,43 @@ public class BarChart extends Widget implements MotionAnimationListener {
 	 *            the index of the point to select or -1 to deselect all.
 	 */
 	public void selectPoint(int pointIndex) {
-		ChartPoint[] points = this.points;
+		ChartSeries series = this.series;
 		// check the index
 		if (pointIndex > -1) {
 			int pointIndexInt = pointIndex;
-			if (pointIndexInt < 0 || pointIndexInt >= points.length) {
+			if (pointIndexInt < 0 || pointIndexInt >= series.size()) {
 				throw new IndexOutOfBoundsException();
 			}
 		}
 		int lastIndex = this.selectedChartPointIndex;
 
 		if (pointIndex != lastIndex) {
-			// unselect previously selected point
-			if (lastIndex > -1) {
-				ChartPoint oldPoint = points[lastIndex];
-				oldPoint.setSelected(false);
-			}
-
 			// select newly selected point
 			this.selectedChartPointIndex = pointIndex;
-			if (pointIndex > -1) {
-				ChartPoint newPoint = points[pointIndex];
-				if (newPoint.getValue() < 0.0f) {
-					this.selectedChartPointIndex = -1;
-				} else {
-					newPoint.setSelected(true);
-				}
+			if (pointIndex > -1 && series.getValue(pointIndex) < 0.0f) {
+				this.selectedChartPointIndex = -1;
 			}
 
-			// repaint the chart
-			requestRender();
+			requestSelectionRender(lastIndex, this.selectedChartPointIndex);
+		}
+	}
+
+	private void requestSelectionRender(int lastIndex, int newIndex) {
+		// Only the header showing the selected value and the bars whose color changes are rendered.
+		updateMetrics(getTopScaleValue());
+		requestRender(getContentX(), getContentY(), getContentWidth(), this.yBarTopHeight);
+		requestBarRender(lastIndex);
+		requestBarRender(newIndex);
+	}
+
+	private void requestBarRender(int index) {
+		if (index != -1) {
+			int chartWidth = getContentWidth() - this.yBarWidth;
+			float xStep = getStepSize(chartWidth);
+			// The same position as in renderPointsAndLabel, possibly one pixel apart because of the accumulated steps.
+			int x = this.yBarWidth + (int) (xStep / 2 + index * xStep);
+			int margin = BAR_THICKNESS / 2 + SELECTION_MARGIN;
+			requestRender(getContentX() + x - margin, getContentY(), margin * 2 + 1, getContentHeight());
 		}
 	}
 
@@ -254,53 +291,150 @@ public class BarChart extends Widget implements MotionAnimationListener {
 		// Always use full size. No change to size needed.
 	}
 
+	@Override
+	protected void onLaidOut() {
+		this.metricsValid = false;
+		invalidateStaticLayers();
+	}
+
+	@Override
+	protected void onHidden() {
+		super.onHidden();
+		this.scaleLayer.close();
+		this.labelsLayer.close();
+	}
+
+	private void invalidateStaticLayers() {
+		this.scaleLayer.invalidate();
+		this.labelsLayer.invalidate();
+	}
+
 	@Override
 	protected void renderContent(GraphicsContext g, int contentWidth, int contentHeight) {
+		float topValue = getTopScaleValue();
+		updateMetrics(topValue);
+		int labelsHeight = this.xBarHeight - PADDING_X_BAR;
+		int labelsY = contentHeight - labelsHeight;
+
+		// The texts are drawn from the static layers: the scale at the left, the x-axis labels at the bottom. The
+		// dotted lines are cheap enough to be rendered directly.
+		renderStaticLayer(g, this.scaleLayer, 0, 0, this.yBarWidth - PADDING_Y_BAR, labelsY, null, contentWidth,
+				contentHeight, topValue);
+		renderStaticLayer(g, this.labelsLayer, 0, labelsY, contentWidth, labelsHeight, this.series, contentWidth,
+				contentHeight, topValue);
+		renderScaleLines(g, contentWidth, contentHeight);
+		renderDynamicLayer(g, contentWidth, contentHeight, topValue);
+	}
+
+	private void renderStaticLayer(GraphicsContext g, StaticLayer layer, int x, int y, int width, int height,
+			@Nullable ChartSeries series, int contentWidth, int contentHeight, float topValue) {
+		// Draws a region of the static texts from its layer, or renders it directly if the layer cannot be allocated.
+		if (!layer.isValid(width, height, series, topValue)) {
+			GraphicsContext layerGraphics = layer.begin(this, x, y, width, height, series, topValue);
+			if (layerGraphics == null) {
+				int clipX = g.getClipX();
+				int clipY = g.getClipY();
+				int clipWidth = g.getClipWidth();
+				int clipHeight = g.getClipHeight();
+				g.intersectClip(x, y, width, height);
+				renderStaticTexts(g, contentWidth, contentHeight, topValue);
+				g.setClip(clipX, clipY, clipWidth, clipHeight);
+				return;
+			}
+			renderStaticTexts(layerGraphics, contentWidth, contentHeight, topValue);
+		}
+		layer.draw(g, x, y);
+	}
+
+	private void renderStaticTexts(GraphicsContext g, int contentWidth, int contentHeight, float topValue) {
+		// The texts of the chart that only change with its data, its style or its size.
 		Style style = getStyle();
 		Font font = style.getFont();
-		int textColor = style.getColor();
-		int graphLineColor = style.getExtraInt(ID_GRAPH_LINE_COLOR, textColor);
-
-		float topValue = getTopScaleValue();
 
-		int fontHeight = font.getHeight();
-		int yBarWidth = getYBarWidth(font, topValue);
-		int xBarHeight = fontHeight + PADDING_X_BAR;
-		int yBarTopHeight = getTopBarHeight(fontHeight); // Space for Unit String & Selected Info
-		int yBarBottom = contentHeight - xBarHeight;
+		int yBarWidth = this.yBarWidth;
+		int yBarTopHeight = this.yBarTopHeight; // Space for Unit String & Selected Info
+		int yBarBottom = contentHeight - this.xBarHeight;
 		int innerChartWidth = contentWidth - yBarWidth;
 
-		g.setColor(textColor);
+		g.setColor(style.getColor());
 		StringPainter.drawStringInArea(g, this.unit, font, 0, 0, yBarWidth - PADDING_Y_BAR, yBarTopHeight,
 				Alignment.RIGHT, Alignment.TOP);
 
-		drawSelectedPointInfo(g, font, contentWidth, yBarTopHeight);
-
-		// draw Y values and lines
+		// draw Y values
 		int numScaleValues = this.scaleCount;
+		char[] valueChars = this.valueChars;
 		for (int i = 0; i < numScaleValues + 1; i++) {
 			float scaleValue = topValue * i / numScaleValues;
-			String scaleString = toStringFloat(scaleValue, 0);
+			int length = NumberFormatter.formatFixed(scaleValue, 0, valueChars, 0);
+			int yScale = yBarBottom + (yBarTopHeight - yBarBottom) * i / numScaleValues;
+			CharsPainter.drawCharsAtPoint(g, valueChars, 0, length, font, yBarWidth - PADDING_Y_BAR, yScale,
+					Alignment.RIGHT, Alignment.VCENTER);
+		}
+
+		// Draw x-axis labels
+		ChartSeries series = this.series;
+		int size = series.size();
+		float xStep = getStepSize(innerChartWidth);
+		float xPos = yBarWidth + xStep / 2; // Add half a step at the start to center the bars
+		for (int i = 0; i < size; i++) {
+			StringPainter.drawStringAtPoint(g, series.getName(i), font, (int) xPos, contentHeight, Alignment.HCENTER,
+					Alignment.BOTTOM);
+			xPos += xStep;
+		}
+	}
+
+	private void renderScaleLines(GraphicsContext g, int contentWidth, int contentHeight) {
+		Style style = getStyle();
+		int graphLineColor = style.getExtraInt(ID_GRAPH_LINE_COLOR, style.getColor());
+		int yBarWidth = this.yBarWidth;
+		int yBarTopHeight = this.yBarTopHeight;
+		int yBarBottom = contentHeight - this.xBarHeight;
+		int innerChartWidth = contentWidth - yBarWidth;
+
+		int numScaleValues = this.scaleCount;
+		for (int i = 0; i < numScaleValues + 1; i++) {
 			int yScale = yBarBottom + (yBarTopHeight - yBarBottom) * i / numScaleValues;
-			g.setColor(textColor);
-			StringPainter.drawStringAtPoint(g, scaleString, font, yBarWidth - PADDING_Y_BAR, yScale, Alignment.RIGHT,
-					Alignment.VCENTER);
 			DottedLinePainter.drawHorizontalDottedLine(g, graphLineColor, yBarWidth, yScale, innerChartWidth,
 					SCALE_LINE_DOT_LENGTH);
 		}
+	}
+
+	private void renderDynamicLayer(GraphicsContext g, int contentWidth, int contentHeight, float topValue) {
+		// The parts of the chart that change with the selection and the apparition animation.
+		Style style = getStyle();
+		Font font = style.getFont();
+
+		updateMetrics(topValue);
+		int yBarWidth = this.yBarWidth;
+		int xBarHeight = this.xBarHeight;
+		int yBarTopHeight = this.yBarTopHeight; // Space for Unit String & Selected Info
+		int innerChartWidth = contentWidth - yBarWidth;
+
+		g.setColor(style.getColor());
+		drawSelectedPointInfo(g, font, contentWidth, yBarTopHeight);
 
 		Rectangle chartBounds = new Rectangle(yBarWidth, yBarTopHeight, innerChartWidth,
 				contentHeight - yBarTopHeight - xBarHeight);
-		renderPointsAndLabel(g, style, chartBounds, contentHeight, topValue);
+		renderPointsAndLabel(g, style, chartBounds, topValue);
 	}
 
 	private void drawSelectedPointInfo(GraphicsContext g, Font font, int contentWidth, int height) {
 		if (this.selectedChartPointIndex > -1) {
-			ChartPoint selectedPoint = this.points[this.selectedChartPointIndex];
-			String selected = selectedPoint.getFullName() + ": " //$NON-NLS-1$
-					+ toStringFloat(selectedPoint.getValue(), DECIMALS_LONG_COUNT);
-			StringPainter.drawStringInArea(g, selected, font, 0, 0, contentWidth, height, Alignment.HCENTER,
-					Alignment.TOP);
+			ChartSeries series = this.series;
+			int selectedIndex = this.selectedChartPointIndex;
+			String fullName = series.getFullName(selectedIndex);
+			char[] valueChars = this.valueChars;
+			int length = NumberFormatter.formatFixed(series.getValue(selectedIndex), DECIMALS_LONG_COUNT, valueChars,
+					0);
+
+			// Draws the name, the separator and the value one after the other to avoid concatenating them.
+			int nameWidth = font.stringWidth(fullName);
+			int separatorWidth = font.stringWidth(SELECTED_VALUE_SEPARATOR);
+			int width = nameWidth + separatorWidth + CharsPainter.charsWidth(valueChars, 0, length, font);
+			int x = Alignment.computeLeftX(width, 0, contentWidth, Alignment.HCENTER);
+			Painter.drawString(g, fullName, font, x, 0);
+			Painter.drawString(g, SELECTED_VALUE_SEPARATOR, font, x + nameWidth, 0);
+			CharsPainter.drawChars(g, valueChars, 0, length, font, x + nameWidth + separatorWidth, 0);
 		}
 	}
 
@@ -313,17 +447,15 @@ public class BarChart extends Widget implements MotionAnimationListener {
 	 *            the Style of the Widget.
 	 * @param chartBounds
 	 *            the bounds of the Charts content without y/x axis labels.
-	 * @param contentHeight
-	 *            the full height of the content.
 	 * @param topValue
 	 *            the top value of the scale.
 	 */
-	private void renderPointsAndLabel(GraphicsContext g, Style style, Rectangle chartBounds, int contentHeight,
-			float topValue) {
-		ChartPoint[] points = this.points;
+	private void renderPointsAndLabel(GraphicsContext g, Style style, Rectangle chartBounds, float topValue) {
+		ChartSeries series = this.series;
+		int size = series.size();
+		int selectedIndex = this.selectedChartPointIndex;
 
 		// Styles
-		Font font = style.getFont();
 		int fontColor = style.getColor();
 		int pointColor = style.getExtraInt(ID_POINT_COLOR, fontColor);
 		int pointSelectedColor = style.getExtraInt(ID_POINT_SELECTED_COLOR, pointColor);
@@ -331,16 +463,11 @@ public class BarChart extends Widget implements MotionAnimationListener {
 		int yBottom = chartBounds.getY() + chartBounds.getHeight();
 		float xStep = getStepSize(chartBounds.getWidth());
 		float xPos = chartBounds.getX() + xStep / 2; // Add half a step at the start to center the bars
-		for (ChartPoint chartPoint : points) {
-			float value = chartPoint.getValue();
+		for (int i = 0; i < size; i++) {
+			float value = series.getValue(i);
 			int barX = (int) xPos;
 			xPos += xStep;
 
-			// Draw x-axis labels
-			g.setColor(fontColor);
-			StringPainter.drawStringAtPoint(g, chartPoint.getName(), font, barX, contentHeight, Alignment.HCENTER,
-					Alignment.BOTTOM);
-
 			if (value >= 0.0f) {
 				int finalLength = (int) ((yBottom - chartBounds.getY()) * value / topValue);
 				finalLength = finalLength - BAR_THICKNESS / 2; // This is done to take the Rounded Caps into account
@@ -353,7 +480,7 @@ public class BarChart extends Widget implements MotionAnimationListener {
 					barY = barBottom - 1;
 				}
 
-				g.setColor(chartPoint.isSelected() ? pointSelectedColor : pointColor);
+				g.setColor((i == selectedIndex) ? pointSelectedColor : pointColor);
 				ShapePainter.drawThickFadedLine(g, barX, barY, barX, barBottom, BAR_THICKNESS - 1, 1, Cap.ROUNDED,
 						Cap.ROUNDED);
 
@@ -361,6 +488,19 @@ public class BarChart extends Widget implements MotionAnimationListener {
 		}
 	}
 
+	private void updateMetrics(float topValue) {
+		// The y-axis bar is measured by formatting the top value, only when it changes.
+		if (!this.metricsValid || topValue != this.metricsTopValue) {
+			Font font = getStyle().getFont();
+			int fontHeight = font.getHeight();
+			this.yBarWidth = getYBarWidth(font, topValue);
+			this.yBarTopHeight = getTopBarHeight(fontHeight);
+			this.xBarHeight = fontHeight + PADDING_X_BAR;
+			this.metricsTopValue = topValue;
+			this.metricsValid = true;
+		}
+	}
+
 	/**
 	 * Gets the height of the top bar for unit and selected label.
 	 *
@@ -382,9 +522,10 @@ public class BarChart extends Widget implements MotionAnimationListener {
 	 * @return the width of the y-axis bar.
 	 */
 	private int getYBarWidth(Font font, float topValue) {
-		String topValueString = toStringFloat(topValue, 0);
+		char[] valueChars = this.valueChars;
+		int length = NumberFormatter.formatFixed(topValue, 0, valueChars, 0);
 		int widthUnit = font.stringWidth(this.unit);
-		int widthValue = font.stringWidth(topValueString);
+		int widthValue = CharsPainter.charsWidth(valueChars, 0, length, font);
 		return XMath.max(widthUnit, widthValue) + PADDING_Y_BAR;
 	}
 
@@ -396,47 +537,20 @@ public class BarChart extends Widget implements MotionAnimationListener {
 	 * @return the width between points.
 	 */
 	protected float getStepSize(int width) {
-		return (float) width / this.points.length;
+		return (float) width / this.series.size();
 	}
 
 	/*
 	 * Other help function.
 	 */
 
-	/**
-	 * Converts float to string.
-	 *
-	 * @param value
-	 *            the value to convert to String.
-	 * @param decimals
-	 *            the number of decimal places (0 = No decimal).
-	 * @return the float as string.
-	 */
-	protected static String toStringFloat(float value, int decimals) {
-		StringBuilder builder = new StringBuilder();
-		builder.append((int) value);
-		if (decimals > 0) {
-			builder.append(DECIMALS_SEPARATOR);
-			for (int i = 0; i < decimals; i++) {
-				value *= DECIMAL;
-				builder.append((int) value % DECIMAL);
-			}
-		}
-		return builder.toString();
-	}
-
 	/**
 	 * Gets the highest value of all points on the chart.
 	 *
 	 * @return the highest value.
 	 */
 	private float getMaxPointValue() {
-		float maxValue = 0.0f;
-		ChartPoint[] points = this.points;
-		for (ChartPoint point : points) {
-			maxValue = Math.max(maxValue, point.getValue());
-		}
-		return maxValue;
+		return Math.max(0.0f, this.series.getMaxValue());
 	}
 
 	/**
@@ -448,6 +562,10 @@ public class BarChart extends Widget implements MotionAnimationListener {
 	private float getTopScaleValue() {
 		int numValues = this.scaleCount;
 		float val = getMaxPointValue();
+		if (val <= 0.0f || Float.isNaN(val)) {
+			// No positive value to scale: one unit per scale step.
+			return numValues;
+		}
 		float multiplier = 1.0f;
 		while (val < DECIMAL) {
 			val *= DECIMAL;
@@ -1,11 +1,13 @@
 /*
- * Copyright 2013-2023 MicroEJ Corp. All rights reserved.
+ * Copyright 2013-2026 MicroEJ Corp. All rights reserved.
  * Use of this source code is governed by a BSD-style license that can be found with this software.
  */
 package com.microej.demo.widget.bufferedscroll.widget;
 
 import com.microej.demo.widget.common.scroll.Scroll;
 
+import ej.annotation.Nullable;
+import ej.microui.display.BufferedImage;
 import ej.microui.display.GraphicsContext;
 import ej.microui.display.Painter;
 import ej.microui.event.Event;
@@ -30,11 +32,21 @@ import ej.mwt.util.Size;
  * <p>
  * If the background is transparent, an {@link IllegalStateException} is thrown when trying to repaint it (see
  * {@link #isTransparent()}).
+ * <p>
+ * Alternatively, the content can be kept in an off-screen buffer (see {@link #setOffscreenBuffering(boolean)}). The
+ * buffer holds the backgrounds and the child, but not the scrollbar: it is shifted on each move, then drawn on the
+ * display before the scrollbar. This requires that the backgrounds behind the child are plain, but they can be
+ * transparent and the scrollbar can overlap the content. The buffer is only updated when this scroll is rendered: the
+ * child must not request to be rendered on its own.
  */
 public class BufferedScroll extends Scroll {
 
 	private int previousPaintChildCoordinate;
 
+	private boolean offscreenBuffering;
+	private boolean scrollbarOverlap;
+	private @Nullable BufferedImage buffer;
+
 	/**
 	 * Creates a horizontal scroll container with a visible scrollbar.
 	 */
@@ -55,26 +67,64 @@ public class BufferedScroll extends Scroll {
 		showScrollbar(showScrollbar);
 	}
 
+	/**
+	 * Sets whether the content is kept in an off-screen buffer instead of being copied from the display.
+	 * <p>
+	 * The buffer is allocated in the images heap when this scroll is rendered, and released when it is hidden. It has
+	 * the size of the content of this scroll: on a 16-bit display, a 480x272 content takes 261 120 bytes, far more
+	 * than the images heap of this demo (<code>ej.microui.memory.imagesheap.size</code>). The images heap must be
+	 * sized for it, otherwise the allocation fails when this scroll is rendered.
+	 * <p>
+	 * By default, the content is copied from the display.
+	 *
+	 * @param offscreenBuffering
+	 *            {@code true} to keep the content in an off-screen buffer, {@code false} to copy it from the display.
+	 * @see #setScrollbarOverlap(boolean)
+	 */
+	public void setOffscreenBuffering(boolean offscreenBuffering) {
+		this.offscreenBuffering = offscreenBuffering;
+		this.previousPaintChildCoordinate = Integer.MIN_VALUE;
+		if (!offscreenBuffering) {
+			closeBuffer();
+		}
+	}
+
 	/**
 	 * {@inheritDoc}
 	 *
 	 * @throws IllegalStateException
-	 *             if the buffered scroll is set transparent.
+	 *             if the buffered scroll is set transparent and does not use an off-screen buffer.
 	 */
 	@Override
 	public boolean isTransparent() {
-		if (super.isTransparent()) {
+		boolean transparent = super.isTransparent();
+		if (transparent && !this.offscreenBuffering) {
 			throw new IllegalStateException();
 		}
-		return false;
+		return transparent;
 	}
 
+	/**
+	 * {@inheritDoc}
+	 *
+	 * @throws IllegalStateException
+	 *             if the scrollbar overlaps the content and the buffered scroll does not use an off-screen buffer.
+	 */
 	@Override
 	public void render(GraphicsContext g) {
+		if (this.scrollbarOverlap && !this.offscreenBuffering) {
+			throw new IllegalStateException();
+		}
 		int currentValue = -getChildCoordinate();
 		int previousPaintValue = this.previousPaintChildCoordinate;
 		this.previousPaintChildCoordinate = currentValue;
-		if (isShown() && previousPaintValue != Integer.MIN_VALUE) {
+		if (this.offscreenBuffering) {
+			if (isShown()) {
+				renderOffscreen(g, currentValue, previousPaintValue);
+			} else {
+				super.render(g);
+			}
+		} else if (isShown() && previousPaintValue != Integer.MIN_VALUE) {
 			int shift = currentValue - previousPaintValue;
 			g.translate(getContentX(), getContentY());
 			g.intersectClip(0, 0, getContentWidth(), getContentHeight());
@@ -152,6 +202,89 @@ public class BufferedScroll extends Scroll {
 		renderChild(child, g);
 	}
 
+	private void renderOffscreen(GraphicsContext g, int currentValue, int previousPaintValue) {
+		int contentX = getContentX();
+		int contentY = getContentY();
+		int contentWidth = getContentWidth();
+		int contentHeight = getContentHeight();
+
+		BufferedImage buffer = this.buffer;
+		boolean fullRender = (previousPaintValue == Integer.MIN_VALUE);
+		if (buffer == null || buffer.getWidth() != contentWidth || buffer.getHeight() != contentHeight) {
+			closeBuffer();
+			buffer = new BufferedImage(contentWidth, contentHeight);
+			this.buffer = buffer;
+			fullRender = true;
+		}
+
+		// Update the buffer.
+		GraphicsContext bufferGraphicsContext = buffer.getGraphicsContext();
+		int shift = currentValue - previousPaintValue;
+		int length = isHorizontal() ? contentWidth : contentHeight;
+		if (fullRender || Math.abs(shift) >= length) {
+			renderInBuffer(bufferGraphicsContext, 0, 0, contentWidth, contentHeight);
+		} else if (shift != 0) {
+			renderShiftedBuffer(buffer, bufferGraphicsContext, shift, contentWidth, contentHeight);
+		} else {
+			// Something else than the position changed (the child for example): render the clip in the buffer.
+			renderInBuffer(bufferGraphicsContext, g.getClipX() - contentX, g.getClipY() - contentY,
+					g.getClipWidth(), g.getClipHeight());
+		}
+
+		// Draw the buffer then the scrollbar over it.
+		Size size = new Size(getWidth(), getHeight());
+		OutlineHelper.applyOutlinesAndBackground(g, size, getStyle());
+		Painter.drawImage(g, buffer, 0, 0);
+		if (shouldShowScrollbar()) {
+			renderChild(getScrollbar(), g);
+		}
+	}
+
+	private void renderShiftedBuffer(BufferedImage buffer, GraphicsContext bufferGraphicsContext, int shift,
+			int contentWidth, int contentHeight) {
+		bufferGraphicsContext.setTranslation(0, 0);
+		bufferGraphicsContext.setClip(0, 0, contentWidth, contentHeight);
+		if (isHorizontal()) {
+			Painter.drawRegion(bufferGraphicsContext, buffer, 0, 0, contentWidth, contentHeight, -shift, 0);
+			int exposedX = (shift > 0) ? contentWidth - shift : 0;
+			renderInBuffer(bufferGraphicsContext, exposedX, 0, Math.abs(shift), contentHeight);
+		} else {
+			Painter.drawRegion(bufferGraphicsContext, buffer, 0, 0, contentWidth, contentHeight, 0, -shift);
+			int exposedY = (shift > 0) ? contentHeight - shift : 0;
+			renderInBuffer(bufferGraphicsContext, 0, exposedY, contentWidth, Math.abs(shift));
+		}
+	}
+
+	/**
+	 * Renders the backgrounds and the child in a region of the buffer.
+	 *
+	 * @param bufferGraphicsContext
+	 *            the graphics context of the buffer.
+	 * @param x
+	 *            the x coordinate of the region, relative to the content of this scroll.
+	 * @param y
+	 *            the y coordinate of the region, relative to the content of this scroll.
+	 * @param width
+	 *            the width of the region.
+	 * @param height
+	 *            the height of the region.
+	 */
+	private void renderInBuffer(GraphicsContext bufferGraphicsContext, int x, int y, int width, int height) {
+		int contentX = getContentX();
+		int contentY = getContentY();
+		bufferGraphicsContext.setTranslation(-contentX, -contentY);
+		bufferGraphicsContext.setClip(contentX + x, contentY + y, width, height);
+		renderBackgroundAndChild(bufferGraphicsContext);
+	}
+
+	private void closeBuffer() {
+		BufferedImage buffer = this.buffer;
+		if (buffer != null) {
+			buffer.close();
+			this.buffer = null;
+		}
+	}
+
 	@Override
 	protected void onAttached() {
 		super.onAttached();
@@ -168,9 +301,17 @@ public class BufferedScroll extends Scroll {
 		this.previousPaintChildCoordinate = Integer.MIN_VALUE;
 	}
 
+	@Override
+	protected void onHidden() {
+		super.onHidden();
+
+		closeBuffer();
+	}
+
 	@Override
 	public boolean handleEvent(int event) {
-		if (Event.getType(event) == Pointer.EVENT_TYPE && Buttons.getAction(event) == Buttons.RELEASED) {
+		if (!this.offscreenBuffering && Event.getType(event) == Pointer.EVENT_TYPE
+				&& Buttons.getAction(event) == Buttons.RELEASED) {
 			this.previousPaintChildCoordinate = Integer.MIN_VALUE;
 			requestRender();
 		}
@@ -178,13 +319,16 @@ public class BufferedScroll extends Scroll {
 	}
 
 	/**
-	 * Unsupported setting: throws an {@link UnsupportedOperationException} if {@code overlap} is {@code true}.
+	 * {@inheritDoc}
+	 * <p>
+	 * The scrollbar can only overlap the content of a buffered scroll that uses an off-screen buffer (see
+	 * {@link #setOffscreenBuffering(boolean)}). Both settings can be set in any order: they are checked when this
+	 * scroll is rendered.
 	 */
 	@Override
 	public void setScrollbarOverlap(boolean overlap) {
-		if (overlap) {
-			throw new UnsupportedOperationException();
-		}
+		super.setScrollbarOverlap(overlap);
+		this.scrollbarOverlap = overlap;
 	}
 
 }
@@ -1,14 +1,17 @@
 /*
- * Copyright 2021-2024 MicroEJ Corp. All rights reserved.
+ * Copyright 2021-2026 MicroEJ Corp. All rights reserved.
  * Use of this source code is governed by a BSD-style license that can be found with this software.
  */
 package com.microej.demo.widget.carousel;
 
 import com.microej.demo.widget.carousel.widget.Carousel;
+import com.microej.demo.widget.carousel.widget.CarouselDataSource;
 import com.microej.demo.widget.carousel.widget.CarouselEntry;
+import com.microej.demo.widget.carousel.widget.ScaledImageCache;
 import com.microej.demo.widget.common.DemoColors;
 import com.microej.demo.widget.common.Page;
 
+import ej.annotation.Nullable;
 import ej.bon.Immutables;
 import ej.microui.display.Colors;
 import ej.microui.display.Image;
@@ -43,8 +46,12 @@ public class CarouselPage implements Page {
 	private static final String[] NAMES = (String[]) Immutables.get("AvatarsNames"); //$NON-NLS-1$
 
 	private static final String IMAGE_PATH = "/images/carousel/"; //$NON-NLS-1$
-	private static final int NUM_ENTRIES = 10;
+	private static final int NUM_ENTRIES = 500;
 	private static final int INITIAL_ENTRY = NUM_ENTRIES / 2;
+	// The copies of the 128x118 ARGB4444 avatars scaled for the entries next to the centered one when the carousel is
+	// stopped: two at the 0.85 level (21 800 bytes each) and two at the 0.60 level (10 934 bytes each).
+	private static final int SCALED_IMAGES_BUDGET = 66000;
+	private static final int IMAGE_CACHE_SIZE = 4;
 
 	@Override
 	public String getName() {
@@ -75,11 +82,10 @@ public class CarouselPage implements Page {
 
 		int entryWidth = 0;
 		int entryHeight = 0;
-		Image[] images = new Image[IMAGES.length];
 		for (int i = 0; i < IMAGES.length; i++) {
-			images[i] = Image.getImage(IMAGE_PATH + IMAGES[i]);
-			entryWidth = Math.max(entryWidth, images[i].getWidth());
-			entryHeight = Math.max(entryHeight, images[i].getHeight());
+			Image image = Image.getImage(IMAGE_PATH + IMAGES[i]);
+			entryWidth = Math.max(entryWidth, image.getWidth());
+			entryHeight = Math.max(entryHeight, image.getHeight());
 		}
 
 		List lastSelectedEntryList = new List(LayoutOrientation.HORIZONTAL);
@@ -91,33 +97,83 @@ public class CarouselPage implements Page {
 		lastSelectedEntry.addClassSelector(CLASS_LAST_CLICKED_NAME);
 		lastSelectedEntryList.addChild(lastSelectedEntry);
 
-		CarouselEntry[] carouselEntries = new CarouselEntry[NUM_ENTRIES];
-		for (int e = 0; e < NUM_ENTRIES; e++) {
-			int f = e % IMAGES.length;
-
-			final String name = NAMES[f];
-			assert (name != null);
-
-			// If the image could not be loaded during init there will be no entry created.
-			Image image = images[f];
-			if (image != null) {
-				final CarouselEntry entry = new CarouselEntry(e, image, name);
-				entry.setOnClickListener(new OnClickListener() {
-					@Override
-					public void onClick() {
-						lastSelectedEntry.setText(name);
-						lastSelectedEntry.requestRender();
-					}
-				});
-				carouselEntries[e] = entry;
-			}
-		}
-		Carousel carousel = new Carousel(carouselEntries, INITIAL_ENTRY, entryWidth, entryHeight);
+		Carousel carousel = new Carousel(new AvatarsDataSource(lastSelectedEntry), INITIAL_ENTRY, entryWidth,
+				entryHeight, IMAGE_CACHE_SIZE);
 		carousel.addClassSelector(CLASS_CAROUSEL);
+		carousel.setScaledImageCache(new ScaledImageCache(SCALED_IMAGES_BUDGET));
 
 		dock.setCenterChild(carousel);
 		dock.addChildOnBottom(lastSelectedEntryList);
 
 		return dock;
 	}
+
+	/**
+	 * Supplies the avatars entries, created when the carousel needs them and rebound when it gives them back. The order
+	 * of the entries is kept in a permutation of their indexes, updated when an entry is dragged and dropped.
+	 */
+	private static class AvatarsDataSource implements CarouselDataSource {
+
+		private final Label lastSelectedEntry;
+		private final String[] imagePaths;
+		private final int[] order;
+
+		public AvatarsDataSource(Label lastSelectedEntry) {
+			this.lastSelectedEntry = lastSelectedEntry;
+			String[] imagePaths = new String[IMAGES.length];
+			for (int i = 0; i < IMAGES.length; i++) {
+				imagePaths[i] = IMAGE_PATH + IMAGES[i];
+			}
+			this.imagePaths = imagePaths;
+			int[] order = new int[NUM_ENTRIES];
+			for (int e = 0; e < NUM_ENTRIES; e++) {
+				order[e] = e;
+			}
+			this.order = order;
+		}
+
+		@Override
+		public int getCount() {
+			return NUM_ENTRIES;
+		}
+
+		@Override
+		public CarouselEntry getEntry(int index, @Nullable CarouselEntry reusableEntry) {
+			int id = this.order[index];
+			int f = id % IMAGES.length;
+
+			String name = NAMES[f];
+			assert (name != null);
+			String imagePath = this.imagePaths[f];
+			assert (imagePath != null);
+
+			if (reusableEntry != null) {
+				reusableEntry.bind(id, imagePath, name);
+				return reusableEntry;
+			}
+
+			final Label lastSelectedEntry = this.lastSelectedEntry;
+			final CarouselEntry entry = new CarouselEntry(id, imagePath, name);
+			entry.setOnClickListener(new OnClickListener() {
+				@Override
+				public void onClick() {
+					lastSelectedEntry.setText(entry.getString());
+					lastSelectedEntry.requestRender();
+				}
+			});
+			return entry;
+		}
+
+		@Override
+		public void moveEntry(int fromIndex, int toIndex) {
+			int[] order = this.order;
+			int id = order[fromIndex];
+			if (fromIndex < toIndex) {
+				System.arraycopy(order, fromIndex + 1, order, fromIndex, toIndex - fromIndex);
+			} else {
+				System.arraycopy(order, toIndex, order, toIndex + 1, fromIndex - toIndex);
+			}
+			order[toIndex] = id;
+		}
+	}
 }
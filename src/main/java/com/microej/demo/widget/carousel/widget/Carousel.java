@@ -1,14 +1,17 @@
 /*
- * Copyright 2017-2024 MicroEJ Corp. All rights reserved.
+ * Copyright 2017-2026 MicroEJ Corp. All rights reserved.
  * Use of this source code is governed by a BSD-style license that can be found with this software.
  */
 package com.microej.demo.widget.carousel.widget;
 
+import java.util.Arrays;
+
 import ej.annotation.Nullable;
 import ej.bon.Util;
 import ej.bon.XMath;
 import ej.microui.display.Font;
 import ej.microui.display.GraphicsContext;
+import ej.microui.display.Image;
 import ej.microui.event.Event;
 import ej.microui.event.generator.Buttons;
 import ej.microui.event.generator.Pointer;
@@ -18,11 +21,18 @@ import ej.motion.quad.QuadEaseOutFunction;
 import ej.mwt.Widget;
 import ej.mwt.animation.Animation;
 import ej.mwt.style.Style;
-import ej.mwt.util.OutlineHelper;
 import ej.mwt.util.Size;
 
 /**
  * Represents a carousel.
+ * <p>
+ * The carousel renders only when its state changes: when it is dragged, when an entry is being dragged and dropped
+ * (DND) or while it moves to an entry. The state is updated once per frame by an animation that only runs while the
+ * state may change by itself, and only the horizontal band covering the entries that were or will be drawn is rendered.
+ * <p>
+ * The entries are supplied by a {@link CarouselDataSource}. Only the entries of a window around the visible ones are
+ * requested to the data source and kept. The images of the entries created with an image path are loaded in a
+ * background thread when the entries enter the window, and may be closed once they leave it.
  */
 public class Carousel extends Widget {
 
@@ -45,11 +55,31 @@ public class Carousel extends Widget {
 
 	private static final float EXPECTED_FPS = 15.0f;
 
-	private final CarouselEntry[] entries;
+	// Distance to the center, relatively to the content width, above which the entries are not drawn.
+	private static final float VISIBLE_DISTANCE_RATIO = (float) Math.pow(1.0f - SIZE_DISPLAY_THRESHOLD,
+			1.0f / SIZE_FACTOR);
+	private static final int PREFETCH_MARGIN = 2;
+	private static final int NO_ENTRY = -1;
+	private static final int DEFAULT_IMAGE_CACHE_SIZE = 8;
+
+	private final CarouselDataSource dataSource;
+	private final int imageCacheSize;
+	private @Nullable CarouselImageLoader imageLoader;
+
+	// Window of entries around the visible ones: the entry at index i is in the slot i modulo the window size. The
+	// entry of a slot is given back to the data source to be reused when the slot is bound to another index.
+	private CarouselEntry[] windowEntries;
+	private int[] windowIndexes;
+	private int visibleRadius;
+	private int prefetchedEntry;
 	private final int entryWidth;
 	private final int entryHeight;
 
-	private final Animation repaintAnimation;
+	private @Nullable ScaledImageCache scaledImageCache;
+
+	private final Animation stateAnimation;
+	private boolean animated;
+	private boolean dirty;
 	private boolean pressed;
 	private boolean stopped;
 
@@ -69,12 +99,21 @@ public class Carousel extends Widget {
 	private int gotoAnimStep;
 
 	private boolean dnd;
+	private int dndOrigin;
 	private int dndIndex;
 	private @Nullable CarouselEntry dndEntry;
 	private float dndDragX;
 	private final Motion dndAnimMotion;
 	private long dndAnimStartTime;
 	private int dndAnimDir;
+	private int dndAnimValue;
+
+	// Horizontal band covering the entries drawn by the last render, in content coordinates.
+	private int renderedLeft;
+	private int renderedRight;
+	// Horizontal band computed by updateExtent().
+	private int extentLeft;
+	private int extentRight;
 
 	/**
 	 * Constructor for the Carousel.
@@ -87,10 +126,39 @@ public class Carousel extends Widget {
 	 *            the width of an entry
 	 * @param entryHeight
 	 *            the maximum height of an entry
+	 * @throws IllegalArgumentException
+	 *             if one of the entries is <code>null</code>.
 	 */
 	public Carousel(CarouselEntry[] entries, int initialEntryIndex, int entryWidth, int entryHeight) {
+		this(new CarouselEntryArray(entries.clone()), initialEntryIndex, entryWidth, entryHeight,
+				DEFAULT_IMAGE_CACHE_SIZE);
+	}
+
+	/**
+	 * Constructor for a Carousel whose entries are supplied by a data source.
+	 * <p>
+	 * The images of the entries are kept in a cache of the given size, in addition to the images of the entries close
+	 * to the visible ones.
+	 *
+	 * @param dataSource
+	 *            the data source supplying the entries
+	 * @param initialEntryIndex
+	 *            the initial entry index
+	 * @param entryWidth
+	 *            the width of an entry
+	 * @param entryHeight
+	 *            the maximum height of an entry
+	 * @param imageCacheSize
+	 *            the number of images kept once their entries leave the window around the visible ones
+	 */
+	public Carousel(CarouselDataSource dataSource, int initialEntryIndex, int entryWidth, int entryHeight,
+			int imageCacheSize) {
 		super(true);
-		this.entries = entries.clone();
+		this.dataSource = dataSource;
+		this.imageCacheSize = imageCacheSize;
+		this.windowEntries = new CarouselEntry[0];
+		this.windowIndexes = new int[0];
+		this.prefetchedEntry = NO_ENTRY;
 		this.entryWidth = entryWidth;
 		this.entryHeight = entryHeight;
 
@@ -107,30 +175,62 @@ public class Carousel extends Widget {
 
 		// init DND
 		this.dnd = false;
+		this.dndOrigin = -1;
 		this.dndIndex = -1;
 		this.dndEntry = null;
 		this.dndDragX = 0.0f;
 		this.dndAnimMotion = new Motion(LinearFunction.INSTANCE, 0, DND_ANIM_STEPS, DND_ANIM_DURATION);
 		this.dndAnimDir = 0;
+		this.dndAnimValue = DND_ANIM_STEPS;
 
-		// init repaint task
-		this.repaintAnimation = new Animation() {
+		// init state animation
+		this.stateAnimation = new Animation() {
 			@Override
-			public boolean tick(long currentTimeMillis) {
-				repaintTick();
-				return Carousel.this.pressed || !Carousel.this.stopped;
+			public boolean tick(long platformTimeMillis) {
+				return updateState(platformTimeMillis);
 			}
 		};
-		this.stopped = false;
+		this.stopped = true;
 	}
 
 	/**
 	 * Gets (a clone of) the carousel entries.
+	 * <p>
+	 * When the entries are supplied by a data source, all of them are requested.
 	 *
 	 * @return the carousel entries
 	 */
 	public CarouselEntry[] getEntries() {
-		return this.entries.clone();
+		CarouselDataSource dataSource = this.dataSource;
+		if (dataSource instanceof CarouselEntryArray) {
+			return ((CarouselEntryArray) dataSource).getEntries();
+		}
+		int count = dataSource.getCount();
+		CarouselEntry[] entries = new CarouselEntry[count];
+		for (int i = 0; i < count; i++) {
+			entries[i] = dataSource.getEntry(i, null);
+		}
+		return entries;
+	}
+
+	/**
+	 * Sets the cache of scaled images used to draw the entries while the carousel is moving.
+	 * <p>
+	 * Without cache, the images are scaled on the fly with a nearest neighbor filter while the carousel is moving.
+	 * With a cache, the images scaled at the closest level are drawn without transformation when they are in the
+	 * cache. In both cases, the images are scaled on the fly with a bilinear filter when the carousel is stopped, and
+	 * the cache is then filled with the images of the visible entries at their levels. The cache is not filled while
+	 * the carousel is moving, so its budget should cover the visible entries of a stopped carousel.
+	 *
+	 * @param scaledImageCache
+	 *            the cache to use, or <code>null</code> to scale the images on the fly.
+	 */
+	public void setScaledImageCache(@Nullable ScaledImageCache scaledImageCache) {
+		ScaledImageCache previousCache = this.scaledImageCache;
+		if (previousCache != null) {
+			previousCache.clear();
+		}
+		this.scaledImageCache = scaledImageCache;
 	}
 
 	/**
@@ -149,6 +249,7 @@ public class Carousel extends Widget {
 			handleGoto(destination - this.currentDrag);
 		} else {
 			this.currentDrag = destination;
+			requestRender();
 		}
 	}
 
@@ -162,39 +263,126 @@ public class Carousel extends Widget {
 		return getEntryAtDrag(totalDrag);
 	}
 
-	private void repaintTick() {
-		Size size = new Size(getWidth(), getHeight());
-		OutlineHelper.applyOutlines(size, getStyle());
-		int halfWidth = size.getWidth() / 2;
+	/**
+	 * Updates the state of the carousel at each frame and renders it if it changed.
+	 *
+	 * @param currentTime
+	 *            the current time.
+	 * @return whether the state may change by itself at the next frame.
+	 */
+	private boolean updateState(long currentTime) {
+		boolean changed = this.dirty;
+		this.dirty = false;
+		int halfWidth = getContentWidth() / 2;
+
+		// roll goto anim
+		if (this.gotoAnimDistance != 0) {
+			this.gotoAnimStep = this.gotoAnimMotion.getValue(currentTime - this.gotoAnimStartTime);
+			if (this.gotoAnimStep >= GOTO_ANIM_STEPS) {
+				stopGotoAnim();
+			}
+			changed = true;
+		}
+
 		// roll DND
+		boolean dndRolling = false;
 		if (this.dnd) {
-			this.dndDragX += (halfWidth - this.lastDragX) / EXPECTED_FPS * DND_DRAG_SPEED;
-			this.dndDragX = capDragFloat(this.dndDragX, this.endDragX - this.startDragX + this.currentDrag);
+			float dndDragX = this.dndDragX + (halfWidth - this.lastDragX) / EXPECTED_FPS * DND_DRAG_SPEED;
+			dndDragX = capDragFloat(dndDragX, this.endDragX - this.startDragX + this.currentDrag);
+			if (dndDragX != this.dndDragX) {
+				this.dndDragX = dndDragX;
+				dndRolling = true;
+				changed = true;
+			}
+			if (this.dndAnimValue < DND_ANIM_STEPS) {
+				this.dndAnimValue = this.dndAnimMotion.getValue(currentTime - this.dndAnimStartTime);
+				changed = true;
+			}
+			if (updateDnd(getEntryAtDrag(getTotalDrag()), currentTime)) {
+				changed = true;
+			}
 		}
 
 		// start DND
-		long currentTime = startDndIfNecessary(halfWidth);
+		boolean dndPending = this.pressed && !this.dnd && this.noDrag && isInCenter(this.lastPressX, halfWidth);
+		if (dndPending && currentTime - this.lastPressTime >= DND_START_TIME) {
+			startDnd();
+			dndPending = false;
+			changed = true;
+		}
+
+		// keep the entries around the visible ones
+		prefetchEntries(getEntryAtDrag(getTotalDrag()));
 
 		// check if the carousel is currently stopped
 		boolean stopped = (currentTime - this.lastDragTime >= STOPPED_START_TIME && this.gotoAnimDistance == 0
 				&& !this.dnd);
-
-		// Repaint one more time for an optimized rendering.
-		if (!this.stopped || !stopped) {
+		if (stopped != this.stopped) {
+			// Render one more time for an optimized rendering.
 			this.stopped = stopped;
-			requestRender();
+			changed = true;
+		}
+
+		if (changed) {
+			requestRenderExtent();
 		}
-		this.stopped = stopped;
+
+		boolean animated = (this.gotoAnimDistance != 0 || dndPending || !this.stopped || dndRolling
+				|| this.dndAnimValue < DND_ANIM_STEPS);
+		this.animated = animated;
+		return animated;
 	}
 
-	private long startDndIfNecessary(int halfWidth) {
-		long currentTime = System.currentTimeMillis();
-		boolean dndNotStarted = !this.dnd && this.noDrag && currentTime - this.lastPressTime >= DND_START_TIME;
-		if (dndNotStarted && (this.lastPressX > halfWidth - this.entryWidth / 2
-				&& this.lastPressX < halfWidth + this.entryWidth / 2)) {
-			startDnd();
+	/**
+	 * Starts the state animation if it is not running.
+	 */
+	private void startStateAnimation() {
+		if (!this.animated && isShown()) {
+			this.animated = true;
+			getDesktop().getAnimator().startAnimation(this.stateAnimation);
+		}
+	}
+
+	/**
+	 * Requests the render of the band covering the entries drawn by the last render and the entries to draw.
+	 */
+	private void requestRenderExtent() {
+		updateExtent(getContentWidth());
+		int left = Math.min(this.extentLeft, this.renderedLeft);
+		int right = Math.max(this.extentRight, this.renderedRight);
+		if (left < right) {
+			requestRender(getContentX() + left, 0, right - left, getHeight());
+		}
+	}
+
+	/**
+	 * Computes the horizontal band covering the entries to draw in {@link #extentLeft} and {@link #extentRight}.
+	 */
+	private void updateExtent(int contentWidth) {
+		this.extentLeft = Integer.MAX_VALUE;
+		this.extentRight = Integer.MIN_VALUE;
+		int totalDrag = getTotalDrag();
+		int topEntry = getEntryAtDrag(totalDrag);
+		int lastEntry = getLastVisibleEntry(topEntry);
+		for (int e = getFirstVisibleEntry(topEntry); e <= lastEntry; e++) {
+			if (getEntry(e) != null) {
+				int offsetX = getEntryOffsetX(e, totalDrag);
+				float sizeRatio = getSizeRatio(offsetX, contentWidth);
+				if (sizeRatio > SIZE_DISPLAY_THRESHOLD) {
+					addToExtent(getDisplayOffsetX(offsetX, sizeRatio), sizeRatio, contentWidth);
+				}
+			}
+		}
+		if (this.dnd) {
+			addToExtent(this.lastDragX - contentWidth / 2, 1.0f, contentWidth);
 		}
-		return currentTime;
+	}
+
+	private void addToExtent(int offsetX, float sizeRatio, int contentWidth) {
+		int width = Math.round(this.entryWidth * sizeRatio);
+		int left = offsetX + (contentWidth - width) / 2;
+		this.extentLeft = Math.min(this.extentLeft, left);
+		this.extentRight = Math.max(this.extentRight, left + width);
 	}
 
 	@Override
@@ -206,29 +394,18 @@ public class Carousel extends Widget {
 		// set text style
 		Font font = style.getFont();
 
-		// update goto anim step
-		if (this.gotoAnimDistance != 0) {
-			this.gotoAnimStep = this.gotoAnimMotion.getValue(Util.platformTimeMillis() - this.gotoAnimStartTime);
-			if (this.gotoAnimStep >= GOTO_ANIM_STEPS) {
-				stopGotoAnim();
-			}
-		}
-
 		// calculate drag
 		int totalDrag = getTotalDrag();
 
 		// get top entry
 		int topEntry = getEntryAtDrag(totalDrag);
-		if (this.dnd) {
-			updateDnd(topEntry);
-		}
 
 		// draw entries
 		g.setColor(style.getColor());
-		for (int e = 0; e < topEntry; e++) {
+		for (int e = getFirstVisibleEntry(topEntry); e < topEntry; e++) {
 			drawEntry(g, contentWidth, contentHeight, font, e, totalDrag);
 		}
-		for (int e = this.entries.length - 1; e > topEntry; e--) {
+		for (int e = getLastVisibleEntry(topEntry); e > topEntry; e--) {
 			drawEntry(g, contentWidth, contentHeight, font, e, totalDrag);
 		}
 		drawEntry(g, contentWidth, contentHeight, font, topEntry, totalDrag);
@@ -242,31 +419,229 @@ public class Carousel extends Widget {
 				dndEntry.render(g, contentWidth, contentHeight, font, this.stopped, 1.0f, offsetX, offsetY, true);
 			}
 		}
+
+		updateExtent(contentWidth);
+		this.renderedLeft = this.extentLeft;
+		this.renderedRight = this.extentRight;
 	}
 
 	private void drawEntry(GraphicsContext g, int contentWidth, int contentHeight, Font font, int entryIndex,
 			int totalDrag) {
 		// calculate position and size
+		int offsetX = getEntryOffsetX(entryIndex, totalDrag);
+		float sizeRatio = getSizeRatio(offsetX, contentWidth);
+
+		// draw if big enough
+		if (sizeRatio > SIZE_DISPLAY_THRESHOLD) {
+			// recalculate position
+			offsetX = getDisplayOffsetX(offsetX, sizeRatio);
+
+			// draw entry
+			CarouselEntry entry = getEntry(entryIndex);
+			if (entry != null) {
+				entry.render(g, contentWidth, contentHeight, font, this.stopped, sizeRatio, offsetX, 0, false,
+						this.scaledImageCache);
+			}
+		}
+	}
+
+	private int getEntryOffsetX(int entryIndex, int totalDrag) {
 		int offsetX = entryIndex * this.entryWidth + totalDrag;
 		if (this.dnd && this.dndAnimDir != 0 && entryIndex == this.dndIndex - this.dndAnimDir) {
 			int dndOffset = this.dndAnimDir * this.entryWidth;
-			int dndAnimValue = this.dndAnimMotion.getValue(Util.platformTimeMillis() - this.dndAnimStartTime);
-			offsetX -= dndOffset * dndAnimValue / DND_ANIM_STEPS;
+			offsetX -= dndOffset * this.dndAnimValue / DND_ANIM_STEPS;
 			offsetX += dndOffset;
 		}
+		return offsetX;
+	}
+
+	private static float getSizeRatio(int offsetX, int contentWidth) {
 		float factor = Math.abs((float) offsetX / contentWidth);
-		float sizeRatio = 1.0f - (float) Math.pow(factor, SIZE_FACTOR);
+		return 1.0f - (float) Math.pow(factor, SIZE_FACTOR);
+	}
 
-		// draw if big enough
-		if (sizeRatio > SIZE_DISPLAY_THRESHOLD) {
-			// recalculate position
-			offsetX = (int) ((SPACING_RATIO + sizeRatio) / 2.0f * offsetX);
+	private static int getDisplayOffsetX(int offsetX, float sizeRatio) {
+		return (int) ((SPACING_RATIO + sizeRatio) / 2.0f * offsetX);
+	}
 
-			// draw entry
-			CarouselEntry entry = this.entries[entryIndex];
-			if (entry != null) {
-				entry.render(g, contentWidth, contentHeight, font, this.stopped, sizeRatio, offsetX, 0, false);
+	private int getFirstVisibleEntry(int topEntry) {
+		return Math.max(0, topEntry - this.visibleRadius);
+	}
+
+	private int getLastVisibleEntry(int topEntry) {
+		return Math.min(this.dataSource.getCount() - 1, topEntry + this.visibleRadius);
+	}
+
+	/**
+	 * Gets the entry displayed at the given index, taking into account the entries moved by the DND.
+	 *
+	 * @return the entry, or <code>null</code> for the entry being dragged.
+	 */
+	private @Nullable CarouselEntry getEntry(int index) {
+		if (!this.dnd) {
+			return getWindowEntry(index);
+		}
+		int origin = this.dndOrigin;
+		int hole = this.dndIndex;
+		if (index == hole) {
+			return null;
+		} else if (origin < hole && index >= origin && index < hole) {
+			return getWindowEntry(index + 1);
+		} else if (hole < origin && index > hole && index <= origin) {
+			return getWindowEntry(index - 1);
+		} else {
+			return getWindowEntry(index);
+		}
+	}
+
+	/**
+	 * Gets an entry of the data source, requesting it if it is not in the window.
+	 */
+	private CarouselEntry getWindowEntry(int index) {
+		CarouselEntry[] windowEntries = this.windowEntries;
+		int windowSize = windowEntries.length;
+		if (windowSize == 0) {
+			// Not laid out yet.
+			return this.dataSource.getEntry(index, null);
+		}
+		int slot = index % windowSize;
+		CarouselEntry entry = windowEntries[slot];
+		int slotIndex = this.windowIndexes[slot];
+		if (entry == null || slotIndex != index) {
+			if (entry != null && slotIndex != NO_ENTRY) {
+				releaseImage(entry);
+			}
+			entry = this.dataSource.getEntry(index, entry);
+			acquireImage(entry);
+			windowEntries[slot] = entry;
+			this.windowIndexes[slot] = index;
+		}
+		return entry;
+	}
+
+	/**
+	 * Requests the entries of the window around the given entry, so that their images are loaded before they become
+	 * visible.
+	 */
+	private void prefetchEntries(int topEntry) {
+		if (topEntry == this.prefetchedEntry || this.windowEntries.length == 0) {
+			return;
+		}
+		this.prefetchedEntry = topEntry;
+		int margin = this.visibleRadius + PREFETCH_MARGIN;
+		int first = Math.max(0, topEntry - margin);
+		int last = Math.min(this.dataSource.getCount() - 1, topEntry + margin);
+		for (int e = first; e <= last; e++) {
+			getWindowEntry(e);
+		}
+	}
+
+	/**
+	 * Removes all the entries from the window. The entries are kept in their slot to be reused.
+	 */
+	private void clearWindow() {
+		CarouselEntry[] windowEntries = this.windowEntries;
+		int[] windowIndexes = this.windowIndexes;
+		for (int i = 0; i < windowEntries.length; i++) {
+			CarouselEntry entry = windowEntries[i];
+			if (entry != null && windowIndexes[i] != NO_ENTRY) {
+				releaseImage(entry);
+			}
+			windowIndexes[i] = NO_ENTRY;
+		}
+		this.prefetchedEntry = NO_ENTRY;
+	}
+
+	private void acquireImage(CarouselEntry entry) {
+		String imagePath = entry.getImagePath();
+		if (imagePath != null) {
+			CarouselImageLoader imageLoader = this.imageLoader;
+			if (imageLoader == null) {
+				imageLoader = new CarouselImageLoader(this, this.imageCacheSize + this.windowEntries.length);
+				this.imageLoader = imageLoader;
+				imageLoader.start();
+			}
+			entry.setImage(imageLoader.acquire(imagePath));
+		}
+	}
+
+	private void releaseImage(CarouselEntry entry) {
+		String imagePath = entry.getImagePath();
+		CarouselImageLoader imageLoader = this.imageLoader;
+		if (imagePath != null && imageLoader != null) {
+			// The dragged entry of an array source is back in the window when the prefetch requests its index.
+			if (entry != this.dndEntry) {
+				entry.setImage(null);
 			}
+			imageLoader.release(imagePath);
+		}
+	}
+
+	/**
+	 * Called by the image loader in the UI thread when an image has been loaded.
+	 *
+	 * @param imagePath
+	 *            the path of the image.
+	 * @param image
+	 *            the loaded image.
+	 */
+	/* package */ void onImageLoaded(String imagePath, Image image) {
+		CarouselEntry[] windowEntries = this.windowEntries;
+		int[] windowIndexes = this.windowIndexes;
+		for (int i = 0; i < windowEntries.length; i++) {
+			CarouselEntry entry = windowEntries[i];
+			if (entry != null && windowIndexes[i] != NO_ENTRY && imagePath.equals(entry.getImagePath())) {
+				entry.setImage(image);
+			}
+		}
+		CarouselEntry dndEntry = this.dndEntry;
+		if (dndEntry != null && imagePath.equals(dndEntry.getImagePath())) {
+			dndEntry.setImage(image);
+		}
+		this.dirty = true;
+		startStateAnimation();
+	}
+
+	@Override
+	protected void onLaidOut() {
+		super.onLaidOut();
+		int visibleRadius = (int) Math.ceil(VISIBLE_DISTANCE_RATIO * getContentWidth() / this.entryWidth);
+		int windowSize = 2 * (visibleRadius + PREFETCH_MARGIN) + 1;
+		this.visibleRadius = visibleRadius;
+		if (windowSize != this.windowEntries.length) {
+			clearWindow();
+			this.windowEntries = new CarouselEntry[windowSize];
+			int[] windowIndexes = new int[windowSize];
+			Arrays.fill(windowIndexes, NO_ENTRY);
+			this.windowIndexes = windowIndexes;
+		}
+	}
+
+	@Override
+	protected void onShown() {
+		super.onShown();
+		this.renderedLeft = Integer.MAX_VALUE;
+		this.renderedRight = Integer.MIN_VALUE;
+		prefetchEntries(getEntryAtDrag(getTotalDrag()));
+		if (this.gotoAnimDistance != 0) {
+			startStateAnimation();
+		}
+	}
+
+	@Override
+	protected void onHidden() {
+		super.onHidden();
+		this.animated = false;
+		getDesktop().getAnimator().stopAnimation(this.stateAnimation);
+		ScaledImageCache scaledImageCache = this.scaledImageCache;
+		if (scaledImageCache != null) {
+			scaledImageCache.clear();
+		}
+		clearWindow();
+		CarouselImageLoader imageLoader = this.imageLoader;
+		if (imageLoader != null) {
+			imageLoader.stop();
+			this.imageLoader = null;
 		}
 	}
 
@@ -286,11 +661,11 @@ public class Carousel extends Widget {
 		int type = Event.getType(event);
 		if (type == Pointer.EVENT_TYPE) {
 			Pointer pointer = (Pointer) Event.getGenerator(event);
-			int pointerX = pointer.getX() - getAbsoluteX();
-			int pointerY = pointer.getY() - getAbsoluteY();
+			int pointerX = pointer.getX() - getAbsoluteX() - getContentX();
+			int pointerY = pointer.getY() - getAbsoluteY() - getContentY();
 			int action = Buttons.getAction(event);
 
-			long currentTime = System.currentTimeMillis();
+			long currentTime = Util.platformTimeMillis();
 
 			// update last press/drag vars
 			if (action == Buttons.PRESSED || action == Pointer.DRAGGED) {
@@ -304,19 +679,16 @@ public class Carousel extends Widget {
 			}
 
 			// handle drag
-			handlePointer(action, pointerX);
+			handlePointer(action, pointerX, currentTime);
 			return true;
 		}
 
 		return super.handleEvent(event);
 	}
 
-	private void handlePointer(int action, int pointerX) {
-		this.stopped = false;
-
+	private void handlePointer(int action, int pointerX, long currentTime) {
 		if (action == Buttons.PRESSED) {
 			this.pressed = true;
-			getDesktop().getAnimator().startAnimation(this.repaintAnimation);
 
 			// stop goto animation
 			stopGotoAnim();
@@ -332,33 +704,38 @@ public class Carousel extends Widget {
 			}
 			this.noDrag = false;
 		} else if (action == Buttons.RELEASED) {
-			handleRelease(pointerX);
+			handleRelease(pointerX, currentTime);
 			this.pressed = false;
 		}
+
+		// render at the next frame
+		this.dirty = true;
+		startStateAnimation();
 	}
 
-	private void handleRelease(int pointerX) {
+	private void handleRelease(int pointerX, long currentTime) {
 		if (this.dnd) {
 			// stop DND
 			stopDnd();
 		} else if (this.noDrag) {
 			// this is just a click
-			int halfWidth = getWidth() / 2;
-			if (this.lastPressX > halfWidth - this.entryWidth / 2
-					&& this.lastPressX < halfWidth + this.entryWidth / 2) {
+			int halfWidth = getContentWidth() / 2;
+			if (isInCenter(this.lastPressX, halfWidth)) {
 				// clicked on top entry: notify its click listeners
 				int totalDrag = getTotalDrag();
 				int topEntry = getEntryAtDrag(totalDrag);
-				this.entries[topEntry].handleClick();
+				CarouselEntry entry = getEntry(topEntry);
+				if (entry != null) {
+					entry.handleClick();
+				}
 			} else {
 				// clicked on side entry: go to the target entry
-				int distance = getWidth() / 2 - pointerX;
+				int distance = halfWidth - pointerX;
 				handleGoto(distance);
 			}
 		} else {
 			// end drag
 			this.currentDrag += capDrag(this.endDragX - this.startDragX, this.currentDrag, false);
-			long currentTime = System.currentTimeMillis();
 			if (currentTime - this.lastDragTime < RELEASE_WITH_NO_MOVE_DELAY) {
 				// throw the carousel!
 				float speed = (float) (pointerX - this.lastPressX) / (currentTime - this.lastPressTime);
@@ -376,6 +753,11 @@ public class Carousel extends Widget {
 		this.noDrag = false;
 	}
 
+	private boolean isInCenter(int x, int halfWidth) {
+		int halfEntryWidth = this.entryWidth / 2;
+		return (x > halfWidth - halfEntryWidth && x < halfWidth + halfEntryWidth);
+	}
+
 	private void handleGoto(int distance) {
 		// start the goto animation with the given distance
 		this.gotoAnimDistance = capDrag(distance, this.currentDrag, true);
@@ -383,56 +765,75 @@ public class Carousel extends Widget {
 
 		if (this.gotoAnimDistance != 0) {
 			this.gotoAnimStartTime = Util.platformTimeMillis();
-			this.stopped = false;
+			startStateAnimation();
 		}
 	}
 
 	private void stopGotoAnim() {
 		this.currentDrag += this.gotoAnimDistance * this.gotoAnimStep / GOTO_ANIM_STEPS;
 		this.gotoAnimDistance = 0;
+		this.gotoAnimStep = 0;
 	}
 
 	private void startDnd() {
 		int totalDrag = getTotalDrag();
 		int topEntry = getEntryAtDrag(totalDrag);
 
+		CarouselEntry dndEntry = getWindowEntry(topEntry);
+		// Detach the dragged entry from its slot, so that it is not reused while its index leaves the window. It keeps
+		// the image acquired by the window.
+		int slot = topEntry % this.windowEntries.length;
+		this.windowEntries[slot] = null;
+		this.windowIndexes[slot] = NO_ENTRY;
+
 		this.dnd = true;
+		this.dndOrigin = topEntry;
 		this.dndIndex = topEntry;
-		this.dndEntry = this.entries[topEntry];
+		this.dndEntry = dndEntry;
 		this.dndDragX = 0.0f;
-
-		this.entries[topEntry] = null;
 	}
 
-	private void updateDnd(int newDndIndex) {
-		if (newDndIndex != this.dndIndex) {
-			int dndDiff = newDndIndex - this.dndIndex;
-			int dndDir = (dndDiff > 0 ? 1 : -1); // 1 or -1
-
-			int numMoves = Math.abs(dndDiff);
-			for (int i = 0; i < numMoves; i++) {
-				int destIndex = this.dndIndex + i * dndDir;
-				int srcIndex = destIndex + dndDir;
-				this.entries[destIndex] = this.entries[srcIndex];
-			}
-			this.entries[newDndIndex] = null;
-
-			this.dndIndex = newDndIndex;
-			this.dndAnimDir = dndDir;
-			this.dndAnimStartTime = Util.platformTimeMillis();
+	/**
+	 * Moves the entries between the previous and the new DND index.
+	 *
+	 * @return whether the DND index changed.
+	 */
+	private boolean updateDnd(int newDndIndex, long currentTime) {
+		if (newDndIndex == this.dndIndex) {
+			return false;
 		}
+		// the entries between the previous and the new index are shifted by getEntry()
+		int dndDiff = newDndIndex - this.dndIndex;
+		int dndDir = (dndDiff > 0 ? 1 : -1); // 1 or -1
+
+		this.dndIndex = newDndIndex;
+		this.dndAnimDir = dndDir;
+		this.dndAnimStartTime = currentTime;
+		this.dndAnimValue = 0;
+		return true;
 	}
 
 	private void stopDnd() {
-		this.entries[this.dndIndex] = this.dndEntry;
+		CarouselEntry dndEntry = this.dndEntry;
+		if (this.dndOrigin != this.dndIndex) {
+			this.dataSource.moveEntry(this.dndOrigin, this.dndIndex);
+			// The indexes of the entries of the window changed.
+			clearWindow();
+		}
+		if (dndEntry != null) {
+			releaseImage(dndEntry);
+		}
 
 		this.currentDrag += this.dndDragX + this.endDragX - this.startDragX;
 		handleGoto(0);
 
 		this.dnd = false;
+		this.dndOrigin = -1;
 		this.dndIndex = -1;
 		this.dndEntry = null;
 		this.dndDragX = 0.0f;
+		this.dndAnimDir = 0;
+		this.dndAnimValue = DND_ANIM_STEPS;
 	}
 
 	private int getTotalDrag() {
@@ -448,7 +849,7 @@ public class Carousel extends Widget {
 			int closest = getEntryAtDrag(total);
 			total = -closest * this.entryWidth;
 		} else {
-			int min = -((this.entries.length - 1) * this.entryWidth);
+			int min = -((this.dataSource.getCount() - 1) * this.entryWidth);
 			int max = 0;
 			total = XMath.limit(total, min, max);
 		}
@@ -457,7 +858,7 @@ public class Carousel extends Widget {
 
 	private float capDragFloat(float value, int extra) {
 		float total = value + extra;
-		float min = -((this.entries.length - 1) * this.entryWidth);
+		float min = -((this.dataSource.getCount() - 1) * this.entryWidth);
 		float max = 0;
 		total = XMath.limit(total, min, max);
 		return total - extra;
@@ -465,7 +866,7 @@ public class Carousel extends Widget {
 
 	private int getEntryAtDrag(int drag) {
 		int closest = Math.round((float) -drag / this.entryWidth);
-		closest = XMath.limit(closest, 0, this.entries.length - 1);
+		closest = XMath.limit(closest, 0, this.dataSource.getCount() - 1);
 		return closest;
 	}
 }
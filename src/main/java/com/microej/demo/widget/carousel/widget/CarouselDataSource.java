@@ -0,0 +1,49 @@
+/*
+ * Copyright 2026 MicroEJ Corp. All rights reserved.
+ * Use of this source code is governed by a BSD-style license that can be found with this software.
+ */
+package com.microej.demo.widget.carousel.widget;
+
+import ej.annotation.Nullable;
+
+/**
+ * Supplies the entries of a {@link Carousel}.
+ * <p>
+ * The carousel only asks for the entries around the visible ones and keeps them while they stay close to the visible
+ * window. The entries created with an image path have their image loaded asynchronously by the carousel.
+ */
+public interface CarouselDataSource {
+
+	/**
+	 * Gets the number of entries.
+	 *
+	 * @return the number of entries.
+	 */
+	int getCount();
+
+	/**
+	 * Gets the entry at the given index.
+	 * <p>
+	 * The carousel gives back an entry it no longer uses when one is available: the data source may bind it to the
+	 * entry at the given index (see {@link CarouselEntry#bind(int, String, String)}) and return it, rather than create
+	 * a new entry.
+	 *
+	 * @param index
+	 *            the index of the entry.
+	 * @param reusableEntry
+	 *            an entry previously returned by this method that the carousel no longer uses, or <code>null</code>.
+	 * @return the entry.
+	 */
+	CarouselEntry getEntry(int index, @Nullable CarouselEntry reusableEntry);
+
+	/**
+	 * Moves an entry once it has been dragged and dropped. The entries between the two indexes are shifted by one.
+	 *
+	 * @param fromIndex
+	 *            the index of the dragged entry.
+	 * @param toIndex
+	 *            the index where the entry has been dropped.
+	 */
+	void moveEntry(int fromIndex, int toIndex);
+
+}
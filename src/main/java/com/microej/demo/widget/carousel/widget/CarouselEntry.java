@@ -1,11 +1,12 @@
 /*
- * Copyright 2017-2023 MicroEJ Corp. All rights reserved.
+ * Copyright 2017-2026 MicroEJ Corp. All rights reserved.
  * Use of this source code is governed by a BSD-style license that can be found with this software.
  */
 package com.microej.demo.widget.carousel.widget;
 
 import ej.annotation.Nullable;
 import ej.drawing.TransformPainter;
+import ej.microui.display.BufferedImage;
 import ej.microui.display.Font;
 import ej.microui.display.GraphicsContext;
 import ej.microui.display.Image;
@@ -26,11 +27,14 @@ public class CarouselEntry {
 	private static final int MAX_ENTRY_MARGIN = 20;
 	private static final int ENTRY_TEXT_HEIGHT_ADDITION = 30;
 
-	private final int id;
+	private static final int FULL_SIZE_LEVEL = ScaledImageCache.getLevel(1.0f);
+
+	private int id;
 	private @Nullable OnClickListener onClickListener;
 
-	private final Image image;
-	private final String string;
+	private @Nullable Image image;
+	private @Nullable String imagePath;
+	private String string;
 
 	/**
 	 * Constructor for a single CarouselEntry inside the Carousel.
@@ -47,6 +51,46 @@ public class CarouselEntry {
 		this.onClickListener = null;
 
 		this.image = image;
+		this.imagePath = null;
+		this.string = string;
+	}
+
+	/**
+	 * Constructor for a single CarouselEntry inside the Carousel, with an image loaded by the carousel when the entry
+	 * becomes close to the visible ones.
+	 *
+	 * @param id
+	 *            the entry id
+	 * @param imagePath
+	 *            the path of the image to draw on top
+	 * @param string
+	 *            the entry string
+	 */
+	public CarouselEntry(int id, String imagePath, String string) {
+		this.id = id;
+		this.onClickListener = null;
+
+		this.image = null;
+		this.imagePath = imagePath;
+		this.string = string;
+	}
+
+	/**
+	 * Binds this entry to other data, so that it can be reused for another entry of the carousel.
+	 * <p>
+	 * The image of the entry is loaded by the carousel. The listener on the click events is kept.
+	 *
+	 * @param id
+	 *            the entry id
+	 * @param imagePath
+	 *            the path of the image to draw on top
+	 * @param string
+	 *            the entry string
+	 */
+	public void bind(int id, String imagePath, String string) {
+		this.id = id;
+		this.image = null;
+		this.imagePath = imagePath;
 		this.string = string;
 	}
 
@@ -59,6 +103,34 @@ public class CarouselEntry {
 		return this.id;
 	}
 
+	/**
+	 * Gets the entry string.
+	 *
+	 * @return the entry string
+	 */
+	public String getString() {
+		return this.string;
+	}
+
+	/**
+	 * Gets the path of the image loaded by the carousel.
+	 *
+	 * @return the image path, or <code>null</code> if the image was given to the constructor
+	 */
+	public @Nullable String getImagePath() {
+		return this.imagePath;
+	}
+
+	/**
+	 * Sets the image loaded by the carousel.
+	 *
+	 * @param image
+	 *            the image, or <code>null</code> if it is not loaded
+	 */
+	/* package */ void setImage(@Nullable Image image) {
+		this.image = image;
+	}
+
 	/**
 	 * Gets the Margin between the Image and the Text.
 	 *
@@ -112,17 +184,69 @@ public class CarouselEntry {
 	 */
 	public void render(GraphicsContext g, int contentWidth, int contentHeight, Font font, boolean stopped,
 			float sizeRatio, int offsetX, int offsetY, boolean isDnd) {
+		render(g, contentWidth, contentHeight, font, stopped, sizeRatio, offsetX, offsetY, isDnd, null);
+	}
+
+	/**
+	 * Draws the carousel entry on the given graphics context, using the scaled images of a cache while the carousel is
+	 * moving.
+	 * <p>
+	 * When the carousel is stopped, the image scaled at the closest level is added to the cache, so that it can be
+	 * drawn from the cache once the carousel moves. While the carousel is moving, the image is drawn from the cache if
+	 * it is there, and scaled on the fly otherwise: no image is added to the cache while moving.
+	 * <p>
+	 * Nothing is drawn while the image of the entry is not loaded.
+	 *
+	 * @param g
+	 *            the graphics context to draw on
+	 * @param contentWidth
+	 *            the content width of the carousel
+	 * @param contentHeight
+	 *            the content height of the carousel
+	 * @param font
+	 *            the font to render with.
+	 * @param stopped
+	 *            whether the carousel is currently stopped
+	 * @param sizeRatio
+	 *            the size ratio
+	 * @param offsetX
+	 *            the offset on the X-axis
+	 * @param offsetY
+	 *            the offset on the Y-axis
+	 * @param isDnd
+	 *            whether the entry is being dragged
+	 * @param scaledImageCache
+	 *            the cache of scaled images, or <code>null</code> to scale the image on the fly
+	 */
+	public void render(GraphicsContext g, int contentWidth, int contentHeight, Font font, boolean stopped,
+			float sizeRatio, int offsetX, int offsetY, boolean isDnd, @Nullable ScaledImageCache scaledImageCache) {
+		Image image = this.image;
+		if (image == null) {
+			return;
+		}
+
 		// draw background
-		int imageWidth = Math.round(this.image.getWidth() * sizeRatio);
-		int imageHeight = Math.round(this.image.getHeight() * sizeRatio);
+		int imageWidth = Math.round(image.getWidth() * sizeRatio);
+		int imageHeight = Math.round(image.getHeight() * sizeRatio);
 		int imageX = Alignment.computeLeftX(imageWidth, offsetX, contentWidth, Alignment.HCENTER);
 		int imageY = Alignment.computeTopY(imageHeight + ENTRY_TEXT_HEIGHT_ADDITION, offsetY, contentHeight,
 				Alignment.VCENTER);
-		drawScaled(g, this.image, imageX, imageY, IMAGE_ALPHA, sizeRatio, stopped);
+		if (scaledImageCache == null) {
+			drawScaled(g, image, imageX, imageY, IMAGE_ALPHA, sizeRatio, stopped);
+		} else if (stopped) {
+			drawScaled(g, image, imageX, imageY, IMAGE_ALPHA, sizeRatio, true);
+			int level = ScaledImageCache.getLevel(sizeRatio);
+			if (level != FULL_SIZE_LEVEL) {
+				scaledImageCache.addScaledImage(getCacheKey(image), image, level);
+			}
+		} else if (!drawCached(g, scaledImageCache, getCacheKey(image), image, imageX, imageY, imageWidth, imageHeight,
+				sizeRatio)) {
+			drawScaled(g, image, imageX, imageY, IMAGE_ALPHA, sizeRatio, false);
+		}
 
 		// draw string
 		if (sizeRatio >= DRAW_STRING_RATIO && !isDnd) {
-			int marginX = MAX_ENTRY_MARGIN - (this.image.getWidth() - imageWidth) / 2;
+			int marginX = MAX_ENTRY_MARGIN - (image.getWidth() - imageWidth) / 2;
 			int stringX = imageX + marginX;
 			int stringY = imageY + imageHeight + IMAGE_TEXT_MARGIN;
 			int stringWidth = imageWidth - 2 * marginX;
@@ -132,6 +256,37 @@ public class CarouselEntry {
 		}
 	}
 
+	/**
+	 * Gets the key of the scaled copies of the image in the cache: its path when it is loaded by the carousel, so that
+	 * the copies are found again once the image is reloaded.
+	 */
+	private Object getCacheKey(Image image) {
+		String imagePath = this.imagePath;
+		return (imagePath != null) ? imagePath : image;
+	}
+
+	/**
+	 * Draws the image scaled at the closest level of the cache, centered on the exact scaled bounds.
+	 *
+	 * @return <code>false</code> if the image could not be drawn from the cache.
+	 */
+	private static boolean drawCached(GraphicsContext g, ScaledImageCache scaledImageCache, Object key, Image image,
+			int x, int y, int width, int height, float sizeRatio) {
+		int level = ScaledImageCache.getLevel(sizeRatio);
+		if (level == FULL_SIZE_LEVEL) {
+			Painter.drawImage(g, image, x + (width - image.getWidth()) / 2, y + (height - image.getHeight()) / 2,
+					IMAGE_ALPHA);
+			return true;
+		}
+		BufferedImage scaledImage = scaledImageCache.getScaledImage(key, level);
+		if (scaledImage == null) {
+			return false;
+		}
+		Painter.drawImage(g, scaledImage, x + (width - scaledImage.getWidth()) / 2,
+				y + (height - scaledImage.getHeight()) / 2, IMAGE_ALPHA);
+		return true;
+	}
+
 	private void drawScaled(GraphicsContext g, Image image, int x, int y, int alpha, float sizeRatio, boolean stopped) {
 		if (sizeRatio == 1.0f) {
 			Painter.drawImage(g, image, x, y, alpha);
@@ -0,0 +1,51 @@
+/*
+ * Copyright 2026 MicroEJ Corp. All rights reserved.
+ * Use of this source code is governed by a BSD-style license that can be found with this software.
+ */
+package com.microej.demo.widget.carousel.widget;
+
+import ej.annotation.Nullable;
+
+/**
+ * Supplies the entries of a carousel from an array.
+ */
+/* package */ class CarouselEntryArray implements CarouselDataSource {
+
+	private final CarouselEntry[] entries;
+
+	/* package */ CarouselEntryArray(CarouselEntry[] entries) {
+		for (CarouselEntry entry : entries) {
+			if (entry == null) {
+				throw new IllegalArgumentException();
+			}
+		}
+		this.entries = entries;
+	}
+
+	@Override
+	public int getCount() {
+		return this.entries.length;
+	}
+
+	@Override
+	public CarouselEntry getEntry(int index, @Nullable CarouselEntry reusableEntry) {
+		return this.entries[index];
+	}
+
+	@Override
+	public void moveEntry(int fromIndex, int toIndex) {
+		CarouselEntry[] entries = this.entries;
+		CarouselEntry entry = entries[fromIndex];
+		if (fromIndex < toIndex) {
+			System.arraycopy(entries, fromIndex + 1, entries, fromIndex, toIndex - fromIndex);
+		} else {
+			System.arraycopy(entries, toIndex, entries, toIndex + 1, fromIndex - toIndex);
+		}
+		entries[toIndex] = entry;
+	}
+
+	/* package */ CarouselEntry[] getEntries() {
+		return this.entries.clone();
+	}
+
+}
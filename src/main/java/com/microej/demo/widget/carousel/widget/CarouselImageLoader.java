@@ -0,0 +1,255 @@
+/*
+ * Copyright 2026 MicroEJ Corp. All rights reserved.
+ * Use of this source code is governed by a BSD-style license that can be found with this software.
+ */
+package com.microej.demo.widget.carousel.widget;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import ej.annotation.Nullable;
+import ej.microui.MicroUI;
+import ej.microui.MicroUIException;
+import ej.microui.display.ResourceImage;
+
+/**
+ * Loads the images of the carousel entries in a background thread and keeps them in a bounded cache.
+ * <p>
+ * Each image is identified by its path and counts the entries using it. When the cache exceeds its capacity, the least
+ * recently used images that are not used anymore are closed.
+ * <p>
+ * Except {@link #run()}, the methods must be called in the UI thread.
+ */
+/* package */ class CarouselImageLoader implements Runnable {
+
+	private static final int INITIAL_CAPACITY = 8;
+
+	private final Carousel carousel;
+	private final int capacity;
+
+	// Cache, accessed in the UI thread.
+	private String[] paths;
+	private ResourceImage[] images;
+	private int[] useCounts;
+	private long[] lastUses;
+	private int count;
+	private long useCounter;
+
+	// Requests, guarded by the list.
+	private final List<String> requests;
+	private @Nullable Thread thread;
+
+	/* package */ CarouselImageLoader(Carousel carousel, int capacity) {
+		this.carousel = carousel;
+		this.capacity = capacity;
+		this.paths = new String[INITIAL_CAPACITY];
+		this.images = new ResourceImage[INITIAL_CAPACITY];
+		this.useCounts = new int[INITIAL_CAPACITY];
+		this.lastUses = new long[INITIAL_CAPACITY];
+		this.requests = new ArrayList<>();
+	}
+
+	/**
+	 * Starts the loading thread.
+	 */
+	/* package */ void start() {
+		if (this.thread == null) {
+			Thread thread = new Thread(this, "Carousel image loader"); //$NON-NLS-1$
+			this.thread = thread;
+			thread.start();
+		}
+	}
+
+	/**
+	 * Stops the loading thread and closes all the images.
+	 */
+	/* package */ void stop() {
+		List<String> requests = this.requests;
+		synchronized (requests) {
+			this.thread = null;
+			requests.clear();
+			requests.notifyAll();
+		}
+
+		ResourceImage[] images = this.images;
+		for (int i = 0; i < this.count; i++) {
+			ResourceImage image = images[i];
+			if (image != null) {
+				image.close();
+			}
+			images[i] = null;
+			this.paths[i] = null;
+		}
+		this.count = 0;
+	}
+
+	/**
+	 * Marks an image as used by an entry and loads it if necessary.
+	 *
+	 * @param path
+	 *            the path of the image.
+	 * @return the image, or <code>null</code> if it is being loaded.
+	 */
+	/* package */ @Nullable
+	ResourceImage acquire(String path) {
+		int position = getPosition(path);
+		if (position == -1) {
+			position = add(path);
+			List<String> requests = this.requests;
+			synchronized (requests) {
+				requests.add(path);
+				requests.notifyAll();
+			}
+		}
+		this.useCounts[position]++;
+		this.lastUses[position] = ++this.useCounter;
+		return this.images[position];
+	}
+
+	/**
+	 * Marks an image as not used anymore by an entry.
+	 *
+	 * @param path
+	 *            the path of the image.
+	 */
+	/* package */ void release(String path) {
+		int position = getPosition(path);
+		if (position != -1) {
+			this.useCounts[position]--;
+			trim();
+		}
+	}
+
+	@Override
+	public void run() {
+		Thread currentThread = Thread.currentThread();
+		List<String> requests = this.requests;
+		while (true) {
+			String path;
+			synchronized (requests) {
+				while (requests.isEmpty() && this.thread == currentThread) {
+					try {
+						requests.wait();
+					} catch (InterruptedException e) {
+						Thread.currentThread().interrupt();
+						return;
+					}
+				}
+				if (this.thread != currentThread) {
+					return;
+				}
+				path = requests.remove(0);
+			}
+
+			ResourceImage image;
+			try {
+				image = ResourceImage.loadImage(path);
+			} catch (MicroUIException e) {
+				// The entry is drawn without image.
+				continue;
+			}
+			final String loadedPath = path;
+			final ResourceImage loadedImage = image;
+			MicroUI.callSerially(new Runnable() {
+				@Override
+				public void run() {
+					onLoaded(loadedPath, loadedImage);
+				}
+			});
+		}
+	}
+
+	private void onLoaded(String path, ResourceImage image) {
+		int position = getPosition(path);
+		if (position == -1 || this.images[position] != null) {
+			// Not needed anymore.
+			image.close();
+			return;
+		}
+		this.images[position] = image;
+		this.carousel.onImageLoaded(path, image);
+		trim();
+	}
+
+	/**
+	 * Removes the least recently used images that are not used anymore until the cache fits in its capacity.
+	 */
+	private void trim() {
+		while (this.count > this.capacity) {
+			int position = getLeastRecentlyUsedUnusedPosition();
+			if (position == -1) {
+				return;
+			}
+			ResourceImage image = this.images[position];
+			if (image != null) {
+				image.close();
+			}
+			removeAt(position);
+		}
+	}
+
+	private int getPosition(String path) {
+		String[] paths = this.paths;
+		for (int i = 0; i < this.count; i++) {
+			if (path.equals(paths[i])) {
+				return i;
+			}
+		}
+		return -1;
+	}
+
+	private int getLeastRecentlyUsedUnusedPosition() {
+		int[] useCounts = this.useCounts;
+		long[] lastUses = this.lastUses;
+		int position = -1;
+		long oldestUse = Long.MAX_VALUE;
+		for (int i = 0; i < this.count; i++) {
+			if (useCounts[i] <= 0 && lastUses[i] < oldestUse) {
+				oldestUse = lastUses[i];
+				position = i;
+			}
+		}
+		return position;
+	}
+
+	private int add(String path) {
+		int count = this.count;
+		if (count == this.paths.length) {
+			grow();
+		}
+		this.paths[count] = path;
+		this.images[count] = null;
+		this.useCounts[count] = 0;
+		this.count = count + 1;
+		return count;
+	}
+
+	private void removeAt(int position) {
+		// Move the last image to the freed position.
+		int last = this.count - 1;
+		this.paths[position] = this.paths[last];
+		this.images[position] = this.images[last];
+		this.useCounts[position] = this.useCounts[last];
+		this.lastUses[position] = this.lastUses[last];
+		this.paths[last] = null;
+		this.images[last] = null;
+		this.count = last;
+	}
+
+	private void grow() {
+		int capacity = this.paths.length * 2;
+		String[] paths = new String[capacity];
+		ResourceImage[] images = new ResourceImage[capacity];
+		int[] useCounts = new int[capacity];
+		long[] lastUses = new long[capacity];
+		System.arraycopy(this.paths, 0, paths, 0, this.count);
+		System.arraycopy(this.images, 0, images, 0, this.count);
+		System.arraycopy(this.useCounts, 0, useCounts, 0, this.count);
+		System.arraycopy(this.lastUses, 0, lastUses, 0, this.count);
+		this.paths = paths;
+		this.images = images;
+		this.useCounts = useCounts;
+		this.lastUses = lastUses;
+	}
+
+}
@@ -0,0 +1,248 @@
+/*
+ * Copyright 2026 MicroEJ Corp. All rights reserved.
+ * Use of this source code is governed by a BSD-style license that can be found with this software.
+ */
+package com.microej.demo.widget.carousel.widget;
+
+import ej.annotation.Nullable;
+import ej.drawing.TransformPainter;
+import ej.microui.MicroUIException;
+import ej.microui.display.BufferedImage;
+import ej.microui.display.Format;
+import ej.microui.display.GraphicsContext;
+import ej.microui.display.Image;
+
+/**
+ * Caches scaled copies of images at quantized scale levels.
+ * <p>
+ * The scale ratios are rounded to the closest multiple of {@link #LEVEL_STEP}. Each scaled copy is rendered once with a
+ * bilinear filter in a {@link BufferedImage} and can then be drawn without any transformation. When the total size of
+ * the copies exceeds the budget, the least recently used ones are evicted.
+ * <p>
+ * The copies are identified by a key given by the caller (the source image itself, or any object that identifies it)
+ * and a level. Looking up a copy never renders it: the copies are added separately, so that the caller can render them
+ * only when it has time to do so.
+ * <p>
+ * The copies are stored in the ARGB4444 format (the format of the carousel images) to keep their transparency. Since
+ * the content of an image cannot be cleared to transparent, the evicted images are closed rather than reused.
+ */
+public class ScaledImageCache {
+
+	/**
+	 * The difference between two consecutive scale levels.
+	 */
+	public static final float LEVEL_STEP = 0.05f;
+
+	private static final int BYTES_PER_PIXEL = 2;
+	private static final int INITIAL_CAPACITY = 8;
+	private static final int IMAGE_ALPHA = 255;
+
+	private final int budget;
+
+	private Object[] keys;
+	private int[] levels;
+	private BufferedImage[] images;
+	private long[] lastUses;
+	private int count;
+	private int size;
+	private long useCounter;
+
+	/**
+	 * Creates a scaled image cache.
+	 *
+	 * @param budget
+	 *            the maximum size of the scaled images, in bytes.
+	 */
+	public ScaledImageCache(int budget) {
+		this.budget = budget;
+		this.keys = new Object[INITIAL_CAPACITY];
+		this.levels = new int[INITIAL_CAPACITY];
+		this.images = new BufferedImage[INITIAL_CAPACITY];
+		this.lastUses = new long[INITIAL_CAPACITY];
+	}
+
+	/**
+	 * Gets the level closest to a scale ratio.
+	 *
+	 * @param ratio
+	 *            the scale ratio.
+	 * @return the level.
+	 */
+	public static int getLevel(float ratio) {
+		return Math.round(ratio / LEVEL_STEP);
+	}
+
+	/**
+	 * Gets the scale ratio of a level.
+	 *
+	 * @param level
+	 *            the level.
+	 * @return the scale ratio.
+	 */
+	public static float getRatio(int level) {
+		return level * LEVEL_STEP;
+	}
+
+	/**
+	 * Gets the scaled copy of an image at the given level, if it is in the cache.
+	 *
+	 * @param key
+	 *            the key identifying the source image.
+	 * @param level
+	 *            the scale level.
+	 * @return the scaled image, or <code>null</code> if it is not in the cache.
+	 */
+	public @Nullable BufferedImage getScaledImage(Object key, int level) {
+		int position = getPosition(key, level);
+		if (position == -1) {
+			return null;
+		}
+		this.lastUses[position] = ++this.useCounter;
+		return this.images[position];
+	}
+
+	/**
+	 * Adds the scaled copy of an image at the given level, rendering it if it is not in the cache.
+	 * <p>
+	 * The least recently used copies are evicted to make room for it. If it does not fit in the budget even after
+	 * evicting all the other ones, or if it cannot be allocated in the images heap, nothing is done.
+	 *
+	 * @param key
+	 *            the key identifying the source image.
+	 * @param source
+	 *            the image to scale.
+	 * @param level
+	 *            the scale level.
+	 */
+	public void addScaledImage(Object key, Image source, int level) {
+		int position = getPosition(key, level);
+		if (position != -1) {
+			this.lastUses[position] = ++this.useCounter;
+			return;
+		}
+
+		float ratio = getRatio(level);
+		int width = Math.round(source.getWidth() * ratio);
+		int height = Math.round(source.getHeight() * ratio);
+		int imageSize = getImageSize(width, height);
+		if (imageSize > this.budget || width <= 0 || height <= 0) {
+			return;
+		}
+
+		evict(imageSize);
+		BufferedImage image;
+		try {
+			image = new BufferedImage(width, height, Format.ARGB4444);
+		} catch (MicroUIException e) {
+			// Not enough room in the images heap.
+			return;
+		}
+		GraphicsContext g = image.getGraphicsContext();
+		TransformPainter.drawScaledImageBilinear(g, source, 0, 0, ratio, ratio, IMAGE_ALPHA);
+		add(key, level, image, imageSize);
+	}
+
+	/**
+	 * Removes all the scaled images and closes them.
+	 */
+	public void clear() {
+		Object[] keys = this.keys;
+		BufferedImage[] images = this.images;
+		for (int i = 0; i < this.count; i++) {
+			BufferedImage image = images[i];
+			assert image != null;
+			image.close();
+			images[i] = null;
+			keys[i] = null;
+		}
+		this.count = 0;
+		this.size = 0;
+	}
+
+	private int getPosition(Object key, int level) {
+		Object[] keys = this.keys;
+		int[] levels = this.levels;
+		for (int i = 0; i < this.count; i++) {
+			if (levels[i] == level && key.equals(keys[i])) {
+				return i;
+			}
+		}
+		return -1;
+	}
+
+	/**
+	 * Evicts the least recently used images until an image of the given size fits in the budget.
+	 */
+	private void evict(int imageSize) {
+		while (this.count > 0 && this.size + imageSize > this.budget) {
+			int position = getLeastRecentlyUsedPosition();
+			BufferedImage image = this.images[position];
+			assert image != null;
+			removeAt(position);
+			image.close();
+		}
+	}
+
+	private void add(Object key, int level, BufferedImage image, int imageSize) {
+		int count = this.count;
+		if (count == this.keys.length) {
+			grow();
+		}
+		this.keys[count] = key;
+		this.levels[count] = level;
+		this.images[count] = image;
+		this.lastUses[count] = ++this.useCounter;
+		this.count = count + 1;
+		this.size += imageSize;
+	}
+
+	private int getLeastRecentlyUsedPosition() {
+		long[] lastUses = this.lastUses;
+		int position = -1;
+		long oldestUse = Long.MAX_VALUE;
+		for (int i = 0; i < this.count; i++) {
+			if (lastUses[i] < oldestUse) {
+				oldestUse = lastUses[i];
+				position = i;
+			}
+		}
+		return position;
+	}
+
+	private void removeAt(int position) {
+		BufferedImage image = this.images[position];
+		assert image != null;
+		this.size -= getImageSize(image.getWidth(), image.getHeight());
+
+		// Move the last image to the freed position.
+		int last = this.count - 1;
+		this.keys[position] = this.keys[last];
+		this.levels[position] = this.levels[last];
+		this.images[position] = this.images[last];
+		this.lastUses[position] = this.lastUses[last];
+		this.keys[last] = null;
+		this.images[last] = null;
+		this.count = last;
+	}
+
+	private void grow() {
+		int capacity = this.keys.length * 2;
+		Object[] keys = new Object[capacity];
+		int[] levels = new int[capacity];
+		BufferedImage[] images = new BufferedImage[capacity];
+		long[] lastUses = new long[capacity];
+		System.arraycopy(this.keys, 0, keys, 0, this.count);
+		System.arraycopy(this.levels, 0, levels, 0, this.count);
+		System.arraycopy(this.images, 0, images, 0, this.count);
+		System.arraycopy(this.lastUses, 0, lastUses, 0, this.count);
+		this.keys = keys;
+		this.levels = levels;
+		this.images = images;
+		this.lastUses = lastUses;
+	}
+
+	private static int getImageSize(int width, int height) {
+		return width * height * BYTES_PER_PIXEL;
+	}
+
+}
@@ -0,0 +1,166 @@
+/*
+ * Copyright 2026 MicroEJ Corp. All rights reserved.
+ * Use of this source code is governed by a BSD-style license that can be found with this software.
+ */
+package com.microej.demo.widget.common;
+
+import ej.drawing.TransformPainter;
+import ej.microui.display.Font;
+import ej.microui.display.GraphicsContext;
+import ej.microui.display.Painter;
+import ej.mwt.util.Alignment;
+
+/**
+ * Draws ranges of character arrays, such as the ones written by {@link NumberFormatter}, without creating strings.
+ */
+public class CharsPainter {
+
+	private CharsPainter() {
+		// Prevent instantiation.
+	}
+
+	/**
+	 * Gets the width of a range of characters.
+	 *
+	 * @param chars
+	 *            the characters.
+	 * @param offset
+	 *            the index of the first character.
+	 * @param length
+	 *            the number of characters.
+	 * @param font
+	 *            the font.
+	 * @return the width of the characters.
+	 */
+	public static int charsWidth(char[] chars, int offset, int length, Font font) {
+		int width = 0;
+		for (int i = offset; i < offset + length; i++) {
+			width += font.charWidth(chars[i]);
+		}
+		return width;
+	}
+
+	/**
+	 * Draws a range of characters using the color of the graphics context.
+	 *
+	 * @param g
+	 *            the graphics context.
+	 * @param chars
+	 *            the characters.
+	 * @param offset
+	 *            the index of the first character.
+	 * @param length
+	 *            the number of characters.
+	 * @param font
+	 *            the font.
+	 * @param x
+	 *            the x coordinate of the top-left corner of the characters.
+	 * @param y
+	 *            the y coordinate of the top-left corner of the characters.
+	 * @return the x coordinate following the last character.
+	 */
+	public static int drawChars(GraphicsContext g, char[] chars, int offset, int length, Font font, int x, int y) {
+		int currentX = x;
+		for (int i = offset; i < offset + length; i++) {
+			char character = chars[i];
+			Painter.drawChar(g, character, font, currentX, y);
+			currentX += font.charWidth(character);
+		}
+		return currentX;
+	}
+
+	/**
+	 * Draws a range of characters aligned on a point.
+	 *
+	 * @param g
+	 *            the graphics context.
+	 * @param chars
+	 *            the characters.
+	 * @param offset
+	 *            the index of the first character.
+	 * @param length
+	 *            the number of characters.
+	 * @param font
+	 *            the font.
+	 * @param x
+	 *            the x coordinate of the anchor point.
+	 * @param y
+	 *            the y coordinate of the anchor point.
+	 * @param horizontalAlignment
+	 *            the horizontal alignment (see {@link Alignment}).
+	 * @param verticalAlignment
+	 *            the vertical alignment (see {@link Alignment}).
+	 */
+	public static void drawCharsAtPoint(GraphicsContext g, char[] chars, int offset, int length, Font font, int x,
+			int y, int horizontalAlignment, int verticalAlignment) {
+		int width = charsWidth(chars, offset, length, font);
+		int leftX = Alignment.computeLeftX(width, x, horizontalAlignment);
+		int topY = Alignment.computeTopY(font.getHeight(), y, verticalAlignment);
+		drawChars(g, chars, offset, length, font, leftX, topY);
+	}
+
+	/**
+	 * Draws a range of characters aligned in an area.
+	 *
+	 * @param g
+	 *            the graphics context.
+	 * @param chars
+	 *            the characters.
+	 * @param offset
+	 *            the index of the first character.
+	 * @param length
+	 *            the number of characters.
+	 * @param font
+	 *            the font.
+	 * @param x
+	 *            the x coordinate of the area.
+	 * @param y
+	 *            the y coordinate of the area.
+	 * @param width
+	 *            the width of the area.
+	 * @param height
+	 *            the height of the area.
+	 * @param horizontalAlignment
+	 *            the horizontal alignment (see {@link Alignment}).
+	 * @param verticalAlignment
+	 *            the vertical alignment (see {@link Alignment}).
+	 */
+	public static void drawCharsInArea(GraphicsContext g, char[] chars, int offset, int length, Font font, int x,
+			int y, int width, int height, int horizontalAlignment, int verticalAlignment) {
+		int charsWidth = charsWidth(chars, offset, length, font);
+		int leftX = Alignment.computeLeftX(charsWidth, x, width, horizontalAlignment);
+		int topY = Alignment.computeTopY(font.getHeight(), y, height, verticalAlignment);
+		drawChars(g, chars, offset, length, font, leftX, topY);
+	}
+
+	/**
+	 * Draws a range of characters scaled with a bilinear filter.
+	 *
+	 * @param g
+	 *            the graphics context.
+	 * @param chars
+	 *            the characters.
+	 * @param offset
+	 *            the index of the first character.
+	 * @param length
+	 *            the number of characters.
+	 * @param font
+	 *            the font.
+	 * @param x
+	 *            the x coordinate of the top-left corner of the characters.
+	 * @param y
+	 *            the y coordinate of the top-left corner of the characters.
+	 * @param ratio
+	 *            the scale ratio.
+	 */
+	public static void drawScaledCharsBilinear(GraphicsContext g, char[] chars, int offset, int length, Font font,
+			int x, int y, float ratio) {
+		float currentX = x;
+		for (int i = offset; i < offset + length; i++) {
+			char character = chars[i];
+			TransformPainter.drawScaledCharBilinear(g, character, font, (int) currentX, y, ratio, ratio);
+			currentX += font.charWidth(character) * ratio;
+		}
+	}
+
+}
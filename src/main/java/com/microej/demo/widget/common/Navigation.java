@@ -1,5 +1,5 @@
 /*
- * Copyright 2020-2023 MicroEJ Corp. All rights reserved.
+ * Copyright 2020-2026 MicroEJ Corp. All rights reserved.
  * Use of this source code is governed by a BSD-style license that can be found with this software.
  */
 package com.microej.demo.widget.common;
@@ -12,7 +12,6 @@ import ej.microui.display.Display;
 import ej.mwt.Desktop;
 import ej.mwt.Widget;
 import ej.mwt.stylesheet.CachedStylesheet;
-import ej.mwt.stylesheet.Stylesheet;
 import ej.mwt.stylesheet.cascading.CascadingStylesheet;
 import ej.widget.basic.Label;
 import ej.widget.container.LayoutOrientation;
@@ -78,13 +77,22 @@ public class Navigation {
 		Display.getDisplay().requestShow(displayable);
 	}
 
-	private static Desktop createDesktop(Page page) {
-		Stylesheet stylesheet = createStylesheet(page);
-		Widget rootWidget = createRootWidget(page);
+	/**
+	 * Sets up a desktop to show a page: sets the page stylesheet and the page hierarchy to the desktop.
+	 *
+	 * @param desktop
+	 *            the desktop to set up.
+	 * @param page
+	 *            the page to show.
+	 */
+	public static void setUpDesktop(Desktop desktop, Page page) {
+		desktop.setStylesheet(createStylesheet(page));
+		desktop.setWidget(createRootWidget(page));
+	}
 
+	private static Desktop createDesktop(Page page) {
 		Desktop desktop = PageHelper.createDesktop();
-		desktop.setStylesheet(stylesheet);
-		desktop.setWidget(rootWidget);
+		setUpDesktop(desktop, page);
 		return desktop;
 	}
 
@@ -0,0 +1,118 @@
+/*
+ * Copyright 2026 MicroEJ Corp. All rights reserved.
+ * Use of this source code is governed by a BSD-style license that can be found with this software.
+ */
+package com.microej.demo.widget.common;
+
+/**
+ * Number formatting utility that writes in a character array instead of creating strings.
+ * <p>
+ * The formatted values can be drawn with {@link CharsPainter}, so that the texts updated at each frame do not allocate
+ * any object.
+ */
+public class NumberFormatter {
+
+	/**
+	 * The maximum number of characters written by {@link #formatInt(int, char[], int)}.
+	 */
+	public static final int MAX_INT_LENGTH = 11;
+
+	private static final int RADIX = 10;
+	private static final char DECIMALS_SEPARATOR = '.';
+	private static final char MINUS = '-';
+
+	private NumberFormatter() {
+		// Prevent instantiation.
+	}
+
+	/**
+	 * Gets the maximum number of characters written by {@link #formatFixed(float, int, char[], int)}.
+	 *
+	 * @param decimals
+	 *            the number of decimals.
+	 * @return the maximum number of characters.
+	 */
+	public static int getMaxFixedLength(int decimals) {
+		return MAX_INT_LENGTH + (decimals > 0 ? decimals + 1 : 0);
+	}
+
+	/**
+	 * Gets the number of characters of an integer in base 10.
+	 *
+	 * @param value
+	 *            the integer.
+	 * @return the number of characters written by {@link #formatInt(int, char[], int)}.
+	 */
+	public static int getIntLength(int value) {
+		int length = (value < 0) ? 2 : 1;
+		int remaining = value;
+		while (remaining / RADIX != 0) {
+			remaining /= RADIX;
+			length++;
+		}
+		return length;
+	}
+
+	/**
+	 * Writes an integer in base 10.
+	 *
+	 * @param value
+	 *            the integer.
+	 * @param chars
+	 *            the array to write in.
+	 * @param offset
+	 *            the index of the first character to write.
+	 * @return the index following the last written character.
+	 * @throws ArrayIndexOutOfBoundsException
+	 *             if the array is too small.
+	 */
+	public static int formatInt(int value, char[] chars, int offset) {
+		int end = offset + getIntLength(value);
+		int index = end;
+		// Works on the negative value to support Integer.MIN_VALUE.
+		int remaining = (value < 0) ? value : -value;
+		do {
+			chars[--index] = (char) ('0' - (remaining % RADIX));
+			remaining /= RADIX;
+		} while (remaining != 0);
+		if (value < 0) {
+			chars[--index] = MINUS;
+		}
+		return end;
+	}
+
+	/**
+	 * Writes a float with a fixed number of decimals. The value is truncated, not rounded.
+	 *
+	 * @param value
+	 *            the float.
+	 * @param decimals
+	 *            the number of decimals (0 = no decimal).
+	 * @param chars
+	 *            the array to write in.
+	 * @param offset
+	 *            the index of the first character to write.
+	 * @return the index following the last written character.
+	 * @throws ArrayIndexOutOfBoundsException
+	 *             if the array is too small.
+	 */
+	public static int formatFixed(float value, int decimals, char[] chars, int offset) {
+		int index = offset;
+		float remaining = value;
+		if (remaining < 0) {
+			// Writes the sign apart, since it is lost by the integer part of values greater than -1.
+			chars[index++] = MINUS;
+			remaining = -remaining;
+		}
+		index = formatInt((int) remaining, chars, index);
+		if (decimals > 0) {
+			chars[index++] = DECIMALS_SEPARATOR;
+			for (int i = 0; i < decimals; i++) {
+				remaining *= RADIX;
+				chars[index++] = (char) ('0' + ((int) remaining % RADIX));
+			}
+		}
+		return index;
+	}
+
+}
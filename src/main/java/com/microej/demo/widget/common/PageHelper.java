@@ -1,10 +1,16 @@
 /*
- * Copyright 2020-2025 MicroEJ Corp. All rights reserved.
+ * Copyright 2020-2026 MicroEJ Corp. All rights reserved.
  * Use of this source code is governed by a BSD-style license that can be found with this software.
  */
 package com.microej.demo.widget.common;
 
+import com.microej.demo.widget.common.monitoring.InputRecorder;
+import com.microej.demo.widget.common.monitoring.PerformanceMonitor;
+import com.microej.demo.widget.common.monitoring.PerformanceOverlay;
+
+import ej.annotation.Nullable;
 import ej.microui.display.Colors;
+import ej.microui.display.GraphicsContext;
 import ej.microui.display.Image;
 import ej.microui.event.Event;
 import ej.microui.event.generator.Command;
@@ -69,6 +75,11 @@ public class PageHelper {
 	 */
 	public static final int CONTENT_CLASSSELECTOR = 44700;
 
+	@Nullable
+	private static PerformanceOverlay performanceOverlay;
+	@Nullable
+	private static Desktop shownDesktop;
+
 	private PageHelper() {
 		// Prevent instantiation.
 	}
@@ -194,7 +205,18 @@ public class PageHelper {
 	 * @return the page root widget.
 	 */
 	public static Widget createPage(Widget content, boolean canGoBack) {
-		SimpleDock dock = new SimpleDock(LayoutOrientation.HORIZONTAL);
+		SimpleDock dock = new SimpleDock(LayoutOrientation.HORIZONTAL) {
+			@Override
+			protected void layOutChildren(int contentWidth, int contentHeight) {
+				if (PerformanceMonitor.isRecording()) {
+					long start = PerformanceMonitor.start();
+					super.layOutChildren(contentWidth, contentHeight);
+					PerformanceMonitor.onLaidOut(this, start);
+				} else {
+					super.layOutChildren(contentWidth, contentHeight);
+				}
+			}
+		};
 
 		Widget titleBar = PageHelper.createTitleBar(canGoBack);
 		dock.setFirstChild(titleBar);
@@ -213,8 +235,47 @@ public class PageHelper {
 		return dock;
 	}
 
+	/**
+	 * Sets whether the performance overlay is shown over the pages.
+	 * <p>
+	 * The overlay can also be toggled with the {@link Command#MENU} command.
+	 *
+	 * @param visible
+	 *            <code>true</code> to show the overlay, <code>false</code> to hide it.
+	 * @see PerformanceOverlay
+	 */
+	public static void setPerformanceOverlayVisible(boolean visible) {
+		PerformanceOverlay overlay = performanceOverlay;
+		if (overlay == null) {
+			if (!visible) {
+				return;
+			}
+			overlay = new PerformanceOverlay(Fonts.getSourceSansPro12px400());
+			performanceOverlay = overlay;
+			Desktop desktop = shownDesktop;
+			if (desktop != null) {
+				overlay.attach(desktop);
+			}
+		}
+		overlay.setVisible(visible);
+	}
+
+	/**
+	 * Gets whether the performance overlay is shown over the pages.
+	 *
+	 * @return <code>true</code> if the overlay is shown, <code>false</code> otherwise.
+	 */
+	public static boolean isPerformanceOverlayVisible() {
+		PerformanceOverlay overlay = performanceOverlay;
+		return (overlay != null && overlay.isVisible());
+	}
+
 	/**
 	 * Creates a desktop to use for each page.
+	 * <p>
+	 * The rendering of the desktop is recorded by the {@link PerformanceMonitor} when it is enabled. The performance
+	 * overlay is drawn over the desktop when it is visible. The events received by the desktop are recorded by the
+	 * {@link InputRecorder} when it is started.
 	 *
 	 * @return a desktop.
 	 */
@@ -222,15 +283,80 @@ public class PageHelper {
 		return new Desktop() {
 			@Override
 			public boolean handleEvent(int event) {
-				if (Event.getType(event) == Command.EVENT_TYPE && Event.getData(event) == Command.SELECT) {
-					Navigation.showMainPage();
+				InputRecorder.onEvent(event);
+				if (Event.getType(event) == Command.EVENT_TYPE) {
+					int command = Event.getData(event);
+					if (command == Command.SELECT) {
+						Navigation.showMainPage();
+					} else if (command == Command.MENU) {
+						setPerformanceOverlayVisible(!isPerformanceOverlayVisible());
+					}
 				}
 				return super.handleEvent(event);
 			}
 
+			@Override
+			public void onShown() {
+				super.onShown();
+				shownDesktop = this;
+				PerformanceOverlay overlay = performanceOverlay;
+				if (overlay != null) {
+					overlay.attach(this);
+				}
+			}
+
+			@Override
+			public void onHidden() {
+				super.onHidden();
+				if (shownDesktop == this) {
+					shownDesktop = null;
+					PerformanceOverlay overlay = performanceOverlay;
+					if (overlay != null) {
+						overlay.detach();
+					}
+				}
+			}
+
 			@Override
 			protected RenderPolicy createRenderPolicy() {
-				return new OverlapRenderPolicy(this);
+				return new OverlapRenderPolicy(this) {
+					@Override
+					protected void renderWidget(GraphicsContext g, Widget widget) {
+						if (PerformanceMonitor.isRecording() || isPerformanceOverlayVisible()) {
+							renderMonitoredWidget(g, widget);
+						} else {
+							super.renderWidget(g, widget);
+						}
+					}
+
+					private void renderMonitoredWidget(GraphicsContext g, Widget widget) {
+						// Keep the clip in display coordinates to draw the overlay afterwards.
+						int clipX = g.getTranslationX() + g.getClipX();
+						int clipY = g.getTranslationY() + g.getClipY();
+						int clipWidth = g.getClipWidth();
+						int clipHeight = g.getClipHeight();
+
+						long start = PerformanceMonitor.start();
+						super.renderWidget(g, widget);
+						int duration = PerformanceMonitor.getElapsedTime(start);
+
+						// The renders requested by the overlay to update its figures are not frames of the page.
+						PerformanceOverlay overlay = performanceOverlay;
+						boolean frame = (overlay == null || !overlay.isOwnRender(clipX, clipY, clipWidth, clipHeight));
+						if (frame && PerformanceMonitor.isRecording()) {
+							PerformanceMonitor.onFrameRendered(widget, duration);
+						}
+
+						if (overlay != null && overlay.isVisible()) {
+							if (frame) {
+								overlay.onFrameRendered(duration);
+							}
+							g.resetTranslation();
+							g.setClip(clipX, clipY, clipWidth, clipHeight);
+							overlay.render(g);
+						}
+					}
+				};
 			}
 		};
 	}
@@ -0,0 +1,192 @@
+/*
+ * Copyright 2026 MicroEJ Corp. All rights reserved.
+ * Use of this source code is governed by a BSD-style license that can be found with this software.
+ */
+package com.microej.demo.widget.common;
+
+import ej.annotation.Nullable;
+import ej.microui.display.Font;
+import ej.widget.render.TextHelper;
+
+/**
+ * Keeps the result of the wrapping of a text in lines.
+ * <p>
+ * The text is split in paragraphs separated by line feeds, each paragraph being wrapped separately. The result is
+ * returned as is while the text, the font and the width do not change. When only the text changes, the paragraphs
+ * before and after the modified characters are reused and only the modified paragraphs are wrapped again, so that
+ * editing a long text does not wrap it entirely.
+ */
+public class WrappedText {
+
+	private static final char LINE_FEED = '\n';
+	private static final String[] EMPTY_PARAGRAPH = { "" }; //$NON-NLS-1$
+	private static final String[] NO_LINES = new String[0];
+
+	private String text;
+	@Nullable
+	private Font font;
+	private int width;
+
+	// The start of each paragraph in the text and its wrapped lines.
+	private int[] paragraphStarts;
+	private String[][] paragraphLines;
+	private String[] lines;
+
+	/**
+	 * Creates an empty wrapped text.
+	 */
+	public WrappedText() {
+		this.text = ""; //$NON-NLS-1$
+		this.paragraphStarts = new int[0];
+		this.paragraphLines = new String[0][];
+		this.lines = NO_LINES;
+	}
+
+	/**
+	 * Wraps a text in lines.
+	 * <p>
+	 * The returned array must not be modified.
+	 *
+	 * @param text
+	 *            the text to wrap.
+	 * @param font
+	 *            the font used to draw the text.
+	 * @param width
+	 *            the width available for the lines.
+	 * @return the lines of the text.
+	 */
+	public String[] wrap(String text, Font font, int width) {
+		if (text == this.text && font == this.font && width == this.width) { // NOSONAR identity is the cache key.
+			return this.lines;
+		}
+
+		if (font != this.font || width != this.width) {
+			// All the paragraphs have to be wrapped again.
+			this.text = ""; //$NON-NLS-1$
+			this.paragraphStarts = new int[0];
+			this.paragraphLines = new String[0][];
+			this.font = font;
+			this.width = width;
+		}
+		update(text, font, width);
+		return this.lines;
+	}
+
+	/**
+	 * Forgets the wrapped lines.
+	 */
+	public void clear() {
+		this.text = ""; //$NON-NLS-1$
+		this.font = null;
+		this.paragraphStarts = new int[0];
+		this.paragraphLines = new String[0][];
+		this.lines = NO_LINES;
+	}
+
+	private void update(String text, Font font, int width) {
+		String oldText = this.text;
+		int[] oldStarts = this.paragraphStarts;
+		String[][] oldLines = this.paragraphLines;
+		int oldCount = oldStarts.length;
+		int oldLength = oldText.length();
+		int length = text.length();
+
+		// Find the paragraphs entirely before and entirely after the modified characters.
+		int prefix = getCommonPrefixLength(oldText, text);
+		int suffix = getCommonSuffixLength(oldText, text, Math.min(oldLength, length) - prefix);
+		int firstChanged = 0;
+		while (firstChanged < oldCount && getParagraphEnd(oldText, oldStarts, firstChanged) < prefix) {
+			firstChanged++;
+		}
+		int firstKept = oldCount;
+		while (firstKept > firstChanged && oldStarts[firstKept - 1] > oldLength - suffix) {
+			firstKept--;
+		}
+
+		// Split the modified range in paragraphs.
+		int delta = length - oldLength;
+		int start = (firstChanged < oldCount) ? oldStarts[firstChanged] : 0;
+		int end = (firstKept < oldCount) ? oldStarts[firstKept] + delta - 1 : length;
+		int changedCount = 1;
+		for (int i = start; i < end; i++) {
+			if (text.charAt(i) == LINE_FEED) {
+				changedCount++;
+			}
+		}
+
+		int keptCount = oldCount - firstKept;
+		int count = firstChanged + changedCount + keptCount;
+		int[] starts = new int[count];
+		String[][] paragraphLines = new String[count][];
+		System.arraycopy(oldStarts, 0, starts, 0, firstChanged);
+		System.arraycopy(oldLines, 0, paragraphLines, 0, firstChanged);
+
+		int index = firstChanged;
+		int paragraphStart = start;
+		for (int i = start; i <= end; i++) {
+			if (i == end || text.charAt(i) == LINE_FEED) {
+				starts[index] = paragraphStart;
+				paragraphLines[index] = wrapParagraph(text.substring(paragraphStart, i), font, width);
+				index++;
+				paragraphStart = i + 1;
+			}
+		}
+
+		for (int i = firstKept; i < oldCount; i++) {
+			starts[index] = oldStarts[i] + delta;
+			paragraphLines[index] = oldLines[i];
+			index++;
+		}
+
+		this.text = text;
+		this.paragraphStarts = starts;
+		this.paragraphLines = paragraphLines;
+		// An empty text is wrapped as the library does.
+		this.lines = text.isEmpty() ? TextHelper.wrap(text, font, width) : flatten(paragraphLines);
+	}
+
+	private static String[] wrapParagraph(String paragraph, Font font, int width) {
+		if (paragraph.isEmpty()) {
+			return EMPTY_PARAGRAPH;
+		}
+		return TextHelper.wrap(paragraph, font, width);
+	}
+
+	private static String[] flatten(String[][] paragraphLines) {
+		int lineCount = 0;
+		for (String[] lines : paragraphLines) {
+			lineCount += lines.length;
+		}
+		String[] lines = new String[lineCount];
+		int offset = 0;
+		for (String[] paragraph : paragraphLines) {
+			System.arraycopy(paragraph, 0, lines, offset, paragraph.length);
+			offset += paragraph.length;
+		}
+		return lines;
+	}
+
+	private static int getParagraphEnd(String text, int[] starts, int index) {
+		return (index + 1 < starts.length) ? starts[index + 1] - 1 : text.length();
+	}
+
+	private static int getCommonPrefixLength(String first, String second) {
+		int maxLength = Math.min(first.length(), second.length());
+		int length = 0;
+		while (length < maxLength && first.charAt(length) == second.charAt(length)) {
+			length++;
+		}
+		return length;
+	}
+
+	private static int getCommonSuffixLength(String first, String second, int maxLength) {
+		int firstEnd = first.length() - 1;
+		int secondEnd = second.length() - 1;
+		int length = 0;
+		while (length < maxLength && first.charAt(firstEnd - length) == second.charAt(secondEnd - length)) {
+			length++;
+		}
+		return length;
+	}
+
+}
@@ -0,0 +1,439 @@
+/*
+ * Copyright 2026 MicroEJ Corp. All rights reserved.
+ * Use of this source code is governed by a BSD-style license that can be found with this software.
+ */
+package com.microej.demo.widget.common.chart;
+
+/**
+ * A series of values displayed by a chart.
+ * <p>
+ * The values are stored in a primitive array that grows by doubling its capacity, so that appending a value is done
+ * in constant amortized time and a series of tens of thousands of values does not create any object per value.
+ * <p>
+ * The names of the values are stored in label tables that can be shared by several series: each value refers to a
+ * label by its index. When no label index is given, the <code>i</code>-th value appended since the values were last
+ * replaced or cleared refers to the label at index <code>i</code>, even after older values have been removed.
+ * <p>
+ * A series can be bounded by a maximum size (see {@link #setMaxSize(int)}). Its values are then stored in a ring: once
+ * the maximum size is reached, appending a value removes the oldest one in constant time, without moving the other
+ * values. This is suited to the live traces of samples received continuously.
+ */
+public class ChartSeries {
+
+	/**
+	 * The label index of a value without label.
+	 */
+	public static final int NO_LABEL = -1;
+
+	private static final int DEFAULT_CAPACITY = 16;
+	private static final String[] NO_NAMES = new String[0];
+	private static final String NO_NAME = ""; //$NON-NLS-1$
+
+	private float[] values;
+	private int[] labelIndexes;
+	private boolean labelIndexesUsed;
+	private int start;
+	private int size;
+	private int maxSize;
+	private float maxValue;
+	private boolean maxValueValid;
+	private long removedCount;
+	private int resetCount;
+
+	private String[] names;
+	private String[] fullNames;
+
+	/**
+	 * Creates an empty series.
+	 */
+	public ChartSeries() {
+		this(DEFAULT_CAPACITY);
+	}
+
+	/**
+	 * Creates an empty series with an initial capacity.
+	 *
+	 * @param capacity
+	 *            the number of values that can be added before growing the series.
+	 * @throws IllegalArgumentException
+	 *             if the given capacity is negative.
+	 */
+	public ChartSeries(int capacity) {
+		if (capacity < 0) {
+			throw new IllegalArgumentException();
+		}
+		this.values = new float[capacity];
+		this.labelIndexes = new int[0];
+		this.names = NO_NAMES;
+		this.fullNames = NO_NAMES;
+		this.maxValueValid = true;
+	}
+
+	/**
+	 * Gets the number of values.
+	 *
+	 * @return the number of values.
+	 */
+	public int size() {
+		return this.size;
+	}
+
+	/**
+	 * Gets a value.
+	 *
+	 * @param index
+	 *            the index of the value.
+	 * @return the value.
+	 * @throws IndexOutOfBoundsException
+	 *             if the index is out of bounds.
+	 */
+	public float getValue(int index) {
+		checkIndex(index);
+		return this.values[getStorageIndex(index)];
+	}
+
+	/**
+	 * Gets the highest value.
+	 * <p>
+	 * The highest value is updated when a value is appended. It is computed again only after the removal of the
+	 * highest value.
+	 *
+	 * @return the highest value, or zero if the series is empty.
+	 */
+	public float getMaxValue() {
+		if (!this.maxValueValid) {
+			float[] values = this.values;
+			int size = this.size;
+			this.maxValue = 0.0f;
+			for (int i = 0; i < size; i++) {
+				updateMaxValue(values[getStorageIndex(i)], i);
+			}
+			this.maxValueValid = true;
+		}
+		return this.maxValue;
+	}
+
+	/**
+	 * Sets the maximum number of values of this series.
+	 * <p>
+	 * Once the maximum size is reached, appending a value removes the oldest one. The storage of the values is
+	 * allocated once for the maximum size, so that appending values does not allocate memory anymore. If the series
+	 * holds more values than the given maximum size, the oldest ones are removed and the storage is shrunk to the
+	 * maximum size.
+	 *
+	 * @param maxSize
+	 *            the maximum number of values, or zero for an unbounded series.
+	 * @throws IllegalArgumentException
+	 *             if the given maximum size is negative.
+	 */
+	public void setMaxSize(int maxSize) {
+		if (maxSize < 0) {
+			throw new IllegalArgumentException();
+		}
+		this.maxSize = maxSize;
+		if (maxSize > 0) {
+			while (this.size > maxSize) {
+				removeFirst();
+			}
+			if (this.values.length > maxSize) {
+				resize(maxSize);
+			} else {
+				ensureCapacity(maxSize);
+			}
+		}
+		this.resetCount++;
+	}
+
+	/**
+	 * Gets the maximum number of values of this series.
+	 *
+	 * @return the maximum number of values, or zero for an unbounded series.
+	 */
+	public int getMaxSize() {
+		return this.maxSize;
+	}
+
+	/**
+	 * Gets the number of values removed from the start of this series because its maximum size was reached.
+	 * <p>
+	 * This count is reset when the values are replaced or cleared. Along with the size, it allows to know how many
+	 * values have been appended since a previous call.
+	 *
+	 * @return the number of removed values.
+	 * @see #getResetCount()
+	 */
+	public long getRemovedCount() {
+		return this.removedCount;
+	}
+
+	/**
+	 * Gets the number of times the values or the labels of this series have been replaced, cleared or bounded.
+	 * <p>
+	 * When this count does not change, the values have only been appended (and possibly removed from the start because
+	 * the maximum size was reached) since a previous call.
+	 *
+	 * @return the number of resets.
+	 */
+	public int getResetCount() {
+		return this.resetCount;
+	}
+
+	/**
+	 * Appends a value referring to the label whose index is the number of values appended before it since the values
+	 * were last replaced or cleared.
+	 *
+	 * @param value
+	 *            the value to append.
+	 */
+	public void add(float value) {
+		int index = prepareAdd();
+		int storageIndex = getStorageIndex(index);
+		this.values[storageIndex] = value;
+		if (this.labelIndexesUsed) {
+			this.labelIndexes[storageIndex] = getImplicitLabelIndex(index);
+		}
+		updateMaxValue(value, index);
+		this.size = index + 1;
+	}
+
+	/**
+	 * Appends a value referring to a label.
+	 *
+	 * @param value
+	 *            the value to append.
+	 * @param labelIndex
+	 *            the index of the label of the value in the label tables, or {@link #NO_LABEL}.
+	 */
+	public void add(float value, int labelIndex) {
+		int index = prepareAdd();
+		if (!this.labelIndexesUsed && labelIndex != getImplicitLabelIndex(index)) {
+			useLabelIndexes();
+		}
+		int storageIndex = getStorageIndex(index);
+		this.values[storageIndex] = value;
+		if (this.labelIndexesUsed) {
+			this.labelIndexes[storageIndex] = labelIndex;
+		}
+		updateMaxValue(value, index);
+		this.size = index + 1;
+	}
+
+	/**
+	 * Replaces the values of this series with a range of an array. The value at index <code>i</code> of the series
+	 * refers to the label at index <code>i</code>.
+	 * <p>
+	 * If the series is bounded and the range is longer than its maximum size, only the last values of the range are
+	 * kept.
+	 *
+	 * @param values
+	 *            the array containing the values.
+	 * @param offset
+	 *            the index of the first value in the array.
+	 * @param length
+	 *            the number of values.
+	 * @throws IndexOutOfBoundsException
+	 *             if the range is out of the bounds of the array.
+	 */
+	public void setData(float[] values, int offset, int length) {
+		if (offset < 0 || length < 0 || offset + length > values.length) {
+			throw new IndexOutOfBoundsException();
+		}
+		clear();
+		int first = offset;
+		int count = length;
+		int maxSize = this.maxSize;
+		if (maxSize > 0 && count > maxSize) {
+			first += count - maxSize;
+			count = maxSize;
+		}
+		ensureCapacity(count);
+		float[] seriesValues = this.values;
+		System.arraycopy(values, first, seriesValues, 0, count);
+		for (int i = 0; i < count; i++) {
+			updateMaxValue(seriesValues[i], i);
+		}
+		this.size = count;
+	}
+
+	/**
+	 * Removes all the values. The label tables are kept.
+	 */
+	public void clear() {
+		this.start = 0;
+		this.size = 0;
+		this.maxValue = 0.0f;
+		this.maxValueValid = true;
+		this.labelIndexesUsed = false;
+		this.removedCount = 0;
+		this.resetCount++;
+	}
+
+	/**
+	 * Sets the label tables. The given arrays are stored directly, so that they can be shared by several series: they
+	 * must not be modified.
+	 *
+	 * @param names
+	 *            the short names of the labels.
+	 * @param fullNames
+	 *            the full names of the labels.
+	 * @throws IllegalArgumentException
+	 *             if the given arrays do not have the same length.
+	 */
+	public void setLabels(String[] names, String[] fullNames) {
+		if (names.length != fullNames.length) {
+			throw new IllegalArgumentException();
+		}
+		this.names = names; // NOSONAR see javadoc.
+		this.fullNames = fullNames; // NOSONAR see javadoc.
+		this.resetCount++;
+	}
+
+	/**
+	 * Gets the short name of a value.
+	 *
+	 * @param index
+	 *            the index of the value.
+	 * @return the short name, or an empty string if the value has no label.
+	 * @throws IndexOutOfBoundsException
+	 *             if the index is out of bounds.
+	 */
+	public String getName(int index) {
+		int labelIndex = getLabelIndex(index);
+		String[] names = this.names;
+		return (labelIndex >= 0 && labelIndex < names.length) ? names[labelIndex] : NO_NAME;
+	}
+
+	/**
+	 * Gets the full name of a value.
+	 *
+	 * @param index
+	 *            the index of the value.
+	 * @return the full name, or an empty string if the value has no label.
+	 * @throws IndexOutOfBoundsException
+	 *             if the index is out of bounds.
+	 */
+	public String getFullName(int index) {
+		int labelIndex = getLabelIndex(index);
+		String[] fullNames = this.fullNames;
+		return (labelIndex >= 0 && labelIndex < fullNames.length) ? fullNames[labelIndex] : NO_NAME;
+	}
+
+	/**
+	 * Gets the index of the label of a value.
+	 *
+	 * @param index
+	 *            the index of the value.
+	 * @return the index of the label in the label tables, or {@link #NO_LABEL}.
+	 * @throws IndexOutOfBoundsException
+	 *             if the index is out of bounds.
+	 */
+	public int getLabelIndex(int index) {
+		checkIndex(index);
+		return this.labelIndexesUsed ? this.labelIndexes[getStorageIndex(index)] : getImplicitLabelIndex(index);
+	}
+
+	/**
+	 * Gets the label index of a value appended without label index, which is kept when older values are removed.
+	 */
+	private int getImplicitLabelIndex(int index) {
+		return (int) (this.removedCount + index);
+	}
+
+	private void checkIndex(int index) {
+		if (index < 0 || index >= this.size) {
+			throw new IndexOutOfBoundsException();
+		}
+	}
+
+	private int getStorageIndex(int index) {
+		int storageIndex = this.start + index;
+		int capacity = this.values.length;
+		return (storageIndex < capacity) ? storageIndex : storageIndex - capacity;
+	}
+
+	/**
+	 * Makes room for a value to append, removing the oldest value if the maximum size is reached.
+	 *
+	 * @return the index of the value to append.
+	 */
+	private int prepareAdd() {
+		if (this.maxSize > 0 && this.size == this.maxSize) {
+			removeFirst();
+		}
+		int index = this.size;
+		ensureCapacity(index + 1);
+		return index;
+	}
+
+	private void removeFirst() {
+		int start = this.start;
+		if (this.values[start] >= this.maxValue) {
+			this.maxValueValid = false;
+		}
+		start++;
+		this.start = (start < this.values.length) ? start : 0;
+		this.size--;
+		this.removedCount++;
+	}
+
+	private void updateMaxValue(float value, int index) {
+		if (index == 0 || value > this.maxValue) {
+			this.maxValue = value;
+		}
+	}
+
+	/**
+	 * Stores the label index of each value, the values added so far referring to their implicit label index.
+	 */
+	private void useLabelIndexes() {
+		int[] labelIndexes = this.labelIndexes;
+		if (labelIndexes.length != this.values.length) {
+			labelIndexes = new int[this.values.length];
+			this.labelIndexes = labelIndexes;
+		}
+		for (int i = 0; i < this.size; i++) {
+			labelIndexes[getStorageIndex(i)] = getImplicitLabelIndex(i);
+		}
+		this.labelIndexesUsed = true;
+	}
+
+	private void ensureCapacity(int capacity) {
+		int oldCapacity = this.values.length;
+		if (capacity > oldCapacity) {
+			int newCapacity = Math.max(capacity, Math.max(DEFAULT_CAPACITY, oldCapacity * 2));
+			int maxSize = this.maxSize;
+			if (maxSize > 0) {
+				// A bounded series never grows beyond its maximum size.
+				newCapacity = Math.max(capacity, Math.min(newCapacity, maxSize));
+			}
+			resize(newCapacity);
+		}
+	}
+
+	/**
+	 * Moves the values to new arrays of the given capacity, which must be greater than or equal to the size.
+	 */
+	private void resize(int capacity) {
+		// The values are stored from the start of the new arrays.
+		float[] values = new float[capacity];
+		copyValues(this.values, values);
+		if (this.labelIndexesUsed) {
+			int[] labelIndexes = new int[capacity];
+			copyValues(this.labelIndexes, labelIndexes);
+			this.labelIndexes = labelIndexes;
+		} else {
+			this.labelIndexes = new int[0];
+		}
+		this.values = values;
+		this.start = 0;
+	}
+
+	private void copyValues(Object source, Object destination) {
+		int start = this.start;
+		int size = this.size;
+		int firstPartLength = Math.min(size, this.values.length - start);
+		System.arraycopy(source, start, destination, 0, firstPartLength);
+		System.arraycopy(source, 0, destination, firstPartLength, size - firstPartLength);
+	}
+
+}
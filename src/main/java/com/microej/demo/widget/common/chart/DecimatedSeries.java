@@ -0,0 +1,169 @@
+/*
+ * Copyright 2026 MicroEJ Corp. All rights reserved.
+ * Use of this source code is governed by a BSD-style license that can be found with this software.
+ */
+package com.microej.demo.widget.common.chart;
+
+import ej.annotation.Nullable;
+
+/**
+ * Keeps a downsampled copy of a series drawn on fewer pixel columns than it has values.
+ * <p>
+ * The values are grouped by the pixel column where they are drawn, and each column is reduced to its lowest and
+ * highest values, in the order of the series. The polyline through the resulting vertices covers the same pixels as
+ * the polyline through all the values, but its number of vertices is bounded by twice the number of columns.
+ * <p>
+ * The value at index <code>i</code> of a series of <code>size</code> values is drawn on the column
+ * <code>(int) (step / 2 + i * step)</code>, where <code>step</code> is <code>(float) width / size</code>.
+ * <p>
+ * The vertices are kept while the series is only read and the width does not change.
+ */
+public class DecimatedSeries {
+
+	@Nullable
+	private ChartSeries series;
+	private int resetCount;
+	private long appendedCount;
+	private int width;
+
+	private int[] vertexXs;
+	private float[] vertexValues;
+	private int[] vertexIndexes;
+	private int vertexCount;
+
+	/**
+	 * Creates an empty decimated series.
+	 */
+	public DecimatedSeries() {
+		this.vertexXs = new int[0];
+		this.vertexValues = new float[0];
+		this.vertexIndexes = new int[0];
+	}
+
+	/**
+	 * Updates the vertices for a series drawn on a width.
+	 * <p>
+	 * Nothing is done if the series has not been modified and the width has not changed since the previous update.
+	 *
+	 * @param series
+	 *            the series to decimate.
+	 * @param width
+	 *            the number of pixel columns on which the series is drawn.
+	 */
+	public void update(ChartSeries series, int width) {
+		long appendedCount = series.getRemovedCount() + series.size();
+		if (series == this.series && series.getResetCount() == this.resetCount && appendedCount == this.appendedCount
+				&& width == this.width) {
+			return;
+		}
+		this.series = series;
+		this.resetCount = series.getResetCount();
+		this.appendedCount = appendedCount;
+		this.width = width;
+		decimate(series, width);
+	}
+
+	/**
+	 * Gets the number of vertices.
+	 *
+	 * @return the number of vertices.
+	 */
+	public int getVertexCount() {
+		return this.vertexCount;
+	}
+
+	/**
+	 * Gets the column of a vertex.
+	 *
+	 * @param vertex
+	 *            the index of the vertex.
+	 * @return the x coordinate of the vertex, relative to the start of the width.
+	 */
+	public int getVertexX(int vertex) {
+		return this.vertexXs[vertex];
+	}
+
+	/**
+	 * Gets the value of a vertex.
+	 *
+	 * @param vertex
+	 *            the index of the vertex.
+	 * @return the value of the vertex.
+	 */
+	public float getVertexValue(int vertex) {
+		return this.vertexValues[vertex];
+	}
+
+	/**
+	 * Gets the index in the series of the value of a vertex.
+	 *
+	 * @param vertex
+	 *            the index of the vertex.
+	 * @return the index of the value in the series.
+	 */
+	public int getVertexIndex(int vertex) {
+		return this.vertexIndexes[vertex];
+	}
+
+	private void decimate(ChartSeries series, int width) {
+		int size = series.size();
+		int maxVertexCount = 2 * Math.max(0, Math.min(size, width + 1));
+		if (this.vertexXs.length < maxVertexCount) {
+			this.vertexXs = new int[maxVertexCount];
+			this.vertexValues = new float[maxVertexCount];
+			this.vertexIndexes = new int[maxVertexCount];
+		}
+		this.vertexCount = 0;
+
+		float step = (float) width / size;
+		int column = -1;
+		int minIndex = 0;
+		int maxIndex = 0;
+		float min = 0.0f;
+		float max = 0.0f;
+		for (int i = 0; i < size; i++) {
+			float value = series.getValue(i);
+			int x = (int) (step / 2 + i * step);
+			if (x != column) {
+				if (column != -1) {
+					addColumn(column, minIndex, min, maxIndex, max);
+				}
+				column = x;
+				minIndex = i;
+				maxIndex = i;
+				min = value;
+				max = value;
+			} else if (value < min) {
+				minIndex = i;
+				min = value;
+			} else if (value > max) {
+				maxIndex = i;
+				max = value;
+			}
+		}
+		if (column != -1) {
+			addColumn(column, minIndex, min, maxIndex, max);
+		}
+	}
+
+	private void addColumn(int x, int minIndex, float min, int maxIndex, float max) {
+		if (minIndex < maxIndex) {
+			addVertex(x, minIndex, min);
+			addVertex(x, maxIndex, max);
+		} else if (maxIndex < minIndex) {
+			addVertex(x, maxIndex, max);
+			addVertex(x, minIndex, min);
+		} else {
+			addVertex(x, minIndex, min);
+		}
+	}
+
+	private void addVertex(int x, int index, float value) {
+		int vertex = this.vertexCount;
+		this.vertexXs[vertex] = x;
+		this.vertexValues[vertex] = value;
+		this.vertexIndexes[vertex] = index;
+		this.vertexCount = vertex + 1;
+	}
+
+}
@@ -0,0 +1,211 @@
+/*
+ * Copyright 2026 MicroEJ Corp. All rights reserved.
+ * Use of this source code is governed by a BSD-style license that can be found with this software.
+ */
+package com.microej.demo.widget.common.chart;
+
+import ej.annotation.Nullable;
+import ej.microui.MicroUIException;
+import ej.microui.display.BufferedImage;
+import ej.microui.display.GraphicsContext;
+import ej.microui.display.Painter;
+import ej.mwt.Container;
+import ej.mwt.Widget;
+import ej.mwt.util.OutlineHelper;
+import ej.mwt.util.Size;
+
+/**
+ * Keeps a part of the static layer of a chart in an off-screen image.
+ * <p>
+ * The static layer is the part of a chart that only changes along with its data, its style or its size, such as its
+ * scale and its labels. Once rendered in the image, the chart draws the image instead of rendering this part again,
+ * then renders its dynamic parts over it (the values, the selection, the apparition animation).
+ * <p>
+ * The image covers a region of the content of the chart. The backgrounds of the chart and of its ancestors are rendered
+ * in it, behind the static layer.
+ * <p>
+ * The image is kept while the top value of the scale of the chart and, if given, its series do not change. It must be
+ * invalidated when anything else rendered in it changes, and closed when the chart is hidden.
+ * <p>
+ * The image is allocated in the images heap (<code>ej.microui.memory.imagesheap.size</code>), so only the regions that
+ * are costly to render, such as the texts, should be kept in a layer. When the image cannot be allocated,
+ * {@link #begin(Widget, int, int, int, int, ChartSeries, float)} returns <code>null</code> and the region has to be
+ * rendered directly. The allocation is not attempted again for the same size.
+ */
+public class StaticLayer {
+
+	@Nullable
+	private BufferedImage image;
+	private boolean valid;
+	// Size of the image that could not be allocated.
+	private int unavailableWidth;
+	private int unavailableHeight;
+
+	@Nullable
+	private ChartSeries series;
+	private int resetCount;
+	private long appendedCount;
+	private float topValue;
+
+	/**
+	 * Checks whether the image holds the static layer of a region of a chart.
+	 *
+	 * @param width
+	 *            the width of the region.
+	 * @param height
+	 *            the height of the region.
+	 * @param series
+	 *            the series displayed in the region, or <code>null</code> if the region does not depend on the series.
+	 * @param topValue
+	 *            the top value of the scale of the chart.
+	 * @return <code>true</code> if the image can be drawn, <code>false</code> if the static layer has to be rendered
+	 *         again.
+	 */
+	public boolean isValid(int width, int height, @Nullable ChartSeries series, float topValue) {
+		BufferedImage image = this.image;
+		if (!this.valid || image == null || image.getWidth() != width || image.getHeight() != height
+				|| series != this.series || topValue != this.topValue) {
+			return false;
+		}
+		return series == null || (series.getResetCount() == this.resetCount
+				&& series.getRemovedCount() + series.size() == this.appendedCount);
+	}
+
+	/**
+	 * Prepares the image to render the static layer of a region of a chart.
+	 * <p>
+	 * The image is created if needed, then the backgrounds of the ancestors of the chart, and its own outlines and
+	 * background, are rendered in it. If the image cannot be allocated, the region has to be rendered directly.
+	 *
+	 * @param chart
+	 *            the chart.
+	 * @param x
+	 *            the x coordinate of the region, relative to the content of the chart.
+	 * @param y
+	 *            the y coordinate of the region, relative to the content of the chart.
+	 * @param width
+	 *            the width of the region.
+	 * @param height
+	 *            the height of the region.
+	 * @param series
+	 *            the series displayed in the region, or <code>null</code> if the region does not depend on the series.
+	 * @param topValue
+	 *            the top value of the scale of the chart.
+	 * @return the graphics context of the image, translated to the content of the chart and clipped to the region, or
+	 *         <code>null</code> if the image cannot be allocated.
+	 */
+	@Nullable
+	public GraphicsContext begin(Widget chart, int x, int y, int width, int height, @Nullable ChartSeries series,
+			float topValue) {
+		if (width <= 0 || height <= 0) {
+			return null;
+		}
+		BufferedImage image = this.image;
+		if (image == null || image.getWidth() != width || image.getHeight() != height) {
+			if (image == null && width == this.unavailableWidth && height == this.unavailableHeight) {
+				return null;
+			}
+			close();
+			try {
+				image = new BufferedImage(width, height);
+			} catch (MicroUIException e) {
+				// Not enough room in the images heap.
+				this.unavailableWidth = width;
+				this.unavailableHeight = height;
+				return null;
+			}
+			this.image = image;
+		}
+		this.valid = true;
+		this.series = series;
+		if (series != null) {
+			this.resetCount = series.getResetCount();
+			this.appendedCount = series.getRemovedCount() + series.size();
+		}
+		this.topValue = topValue;
+
+		GraphicsContext g = image.getGraphicsContext();
+		g.setTranslation(-chart.getContentX() - x, -chart.getContentY() - y);
+		g.setClip(chart.getContentX() + x, chart.getContentY() + y, width, height);
+		renderAncestorBackgrounds(g, chart);
+		OutlineHelper.applyOutlinesAndBackground(g, new Size(chart.getWidth(), chart.getHeight()), chart.getStyle());
+		return g;
+	}
+
+	/**
+	 * Draws the static layer of the region.
+	 *
+	 * @param g
+	 *            the graphics context, translated to the content of the chart.
+	 * @param x
+	 *            the x coordinate of the region, relative to the content of the chart.
+	 * @param y
+	 *            the y coordinate of the region, relative to the content of the chart.
+	 */
+	public void draw(GraphicsContext g, int x, int y) {
+		BufferedImage image = this.image;
+		assert image != null;
+		Painter.drawImage(g, image, x, y);
+	}
+
+	/**
+	 * Invalidates the static layer, so that it is rendered again before being drawn.
+	 */
+	public void invalidate() {
+		this.valid = false;
+	}
+
+	/**
+	 * Closes the image. The allocation of the image will be attempted again at the next rendering, unless it has
+	 * already failed for the same size.
+	 */
+	public void close() {
+		BufferedImage image = this.image;
+		if (image != null) {
+			image.close();
+			this.image = null;
+		}
+		this.valid = false;
+		this.series = null;
+	}
+
+	/**
+	 * Renders the backgrounds of the ancestors of a widget that show through it, when its background does not cover
+	 * its bounds.
+	 *
+	 * @param g
+	 *            the graphics context, translated to the origin of the widget.
+	 * @param widget
+	 *            the widget.
+	 */
+	public static void renderAncestorBackgrounds(GraphicsContext g, Widget widget) {
+		if (widget.getStyle().getBackground().isTransparent()) {
+			renderAncestorBackground(g, widget, widget.getParent());
+		}
+	}
+
+	private static void renderAncestorBackground(GraphicsContext g, Widget widget, @Nullable Container ancestor) {
+		if (ancestor == null) {
+			return;
+		}
+		if (ancestor.isTransparent()) {
+			// The background of this ancestor does not cover the area: render the ones behind it first.
+			renderAncestorBackground(g, widget, ancestor.getParent());
+		}
+
+		int translateX = g.getTranslationX();
+		int translateY = g.getTranslationY();
+		int x = g.getClipX();
+		int y = g.getClipY();
+		int width = g.getClipWidth();
+		int height = g.getClipHeight();
+
+		g.translate(ancestor.getAbsoluteX() - widget.getAbsoluteX(), ancestor.getAbsoluteY() - widget.getAbsoluteY());
+		OutlineHelper.applyOutlinesAndBackground(g, new Size(ancestor.getWidth(), ancestor.getHeight()),
+				ancestor.getStyle());
+
+		g.setTranslation(translateX, translateY);
+		g.setClip(x, y, width, height);
+	}
+
+}
@@ -0,0 +1,10 @@
+/*
+ * Copyright 2026 MicroEJ Corp. All rights reserved.
+ * Use of this source code is governed by a BSD-style license that can be found with this software.
+ */
+
+/**
+ * Contains the data model shared by the chart widgets.
+ */
+@ej.annotation.NonNullByDefault
+package com.microej.demo.widget.common.chart;
@@ -0,0 +1,96 @@
+/*
+ * Copyright 2026 MicroEJ Corp. All rights reserved.
+ * Use of this source code is governed by a BSD-style license that can be found with this software.
+ */
+package com.microej.demo.widget.common.monitoring;
+
+import ej.annotation.Nullable;
+import ej.bon.Util;
+import ej.microui.event.Event;
+import ej.microui.event.EventGenerator;
+import ej.microui.event.generator.Buttons;
+import ej.microui.event.generator.Command;
+import ej.microui.event.generator.Pointer;
+
+/**
+ * Records the pointer, button and command events received by the desktops of the pages.
+ * <p>
+ * The recorded {@link InputRecording} can be replayed with an {@link InputReplayer} to send the events of a user
+ * interaction (such as a swipe, a fling or a carousel drag) again while measuring the performance. Only the timing of
+ * the events is reproduced, not the timing of the animations they trigger.
+ * <p>
+ * The recorder must be used in the UI thread.
+ */
+public class InputRecorder {
+
+	@Nullable
+	private static InputRecording recording;
+	private static long startTime;
+
+	private InputRecorder() {
+		// Prevent instantiation.
+	}
+
+	/**
+	 * Starts recording the events. The previous recording, if any, is discarded.
+	 */
+	public static void start() {
+		recording = new InputRecording();
+		startTime = Util.platformTimeMillis();
+	}
+
+	/**
+	 * Stops recording the events.
+	 *
+	 * @return the recorded events.
+	 * @throws IllegalStateException
+	 *             if the recorder has not been started.
+	 */
+	public static InputRecording stop() {
+		InputRecording recording = InputRecorder.recording;
+		if (recording == null) {
+			throw new IllegalStateException();
+		}
+		InputRecorder.recording = null;
+		return recording;
+	}
+
+	/**
+	 * Gets whether the recorder is started.
+	 *
+	 * @return <code>true</code> if the events are recorded, <code>false</code> otherwise.
+	 */
+	public static boolean isRecording() {
+		return (recording != null);
+	}
+
+	/**
+	 * Records an event if the recorder is started.
+	 * <p>
+	 * Only the pointer, button and command events are recorded.
+	 *
+	 * @param event
+	 *            the event.
+	 */
+	public static void onEvent(int event) {
+		InputRecording recording = InputRecorder.recording;
+		if (recording == null) {
+			return;
+		}
+
+		long time = Util.platformTimeMillis() - startTime;
+		int type = Event.getType(event);
+		EventGenerator generator = Event.getGenerator(event);
+		int generatorId = generator.getId();
+		if (type == Pointer.EVENT_TYPE) {
+			Pointer pointer = (Pointer) generator;
+			recording.add(time, generatorId, type, Buttons.getAction(event), Buttons.getButtonId(event),
+					pointer.getX(), pointer.getY());
+		} else if (type == Buttons.EVENT_TYPE) {
+			recording.add(time, generatorId, type, Buttons.getAction(event), Buttons.getButtonId(event), 0, 0);
+		} else if (type == Command.EVENT_TYPE) {
+			recording.add(time, generatorId, type, Event.getData(event), 0, 0, 0);
+		}
+	}
+
+}
@@ -0,0 +1,265 @@
+/*
+ * Copyright 2026 MicroEJ Corp. All rights reserved.
+ * Use of this source code is governed by a BSD-style license that can be found with this software.
+ */
+package com.microej.demo.widget.common.monitoring;
+
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+
+/**
+ * A sequence of timestamped input events, recorded by an {@link InputRecorder} or scripted, that can be replayed by an
+ * {@link InputReplayer}.
+ * <p>
+ * Each event is stored as its time relative to the start of the recording, the ID of its generator, its type, its data
+ * (the action for the buttons and pointers, the command for the commands), the ID of the button and the pointer
+ * coordinates.
+ */
+public class InputRecording {
+
+	private static final int FORMAT_VERSION = 1;
+	private static final int INITIAL_CAPACITY = 16;
+
+	private long[] times;
+	private int[] generatorIds;
+	private int[] types;
+	private int[] data;
+	private int[] buttonIds;
+	private int[] xs;
+	private int[] ys;
+	private int count;
+
+	/**
+	 * Creates an empty recording.
+	 */
+	public InputRecording() {
+		this.times = new long[INITIAL_CAPACITY];
+		this.generatorIds = new int[INITIAL_CAPACITY];
+		this.types = new int[INITIAL_CAPACITY];
+		this.data = new int[INITIAL_CAPACITY];
+		this.buttonIds = new int[INITIAL_CAPACITY];
+		this.xs = new int[INITIAL_CAPACITY];
+		this.ys = new int[INITIAL_CAPACITY];
+	}
+
+	/**
+	 * Adds an event at the end of this recording.
+	 *
+	 * @param time
+	 *            the time of the event relative to the start of the recording, in milliseconds. It must not be lower
+	 *            than the time of the previous event.
+	 * @param generatorId
+	 *            the ID of the generator of the event.
+	 * @param type
+	 *            the type of the event.
+	 * @param data
+	 *            the data of the event: the action for the buttons and pointers, the command for the commands.
+	 * @param buttonId
+	 *            the ID of the button for the buttons and pointers, or <code>0</code>.
+	 * @param x
+	 *            the x coordinate of the pointer, or <code>0</code>.
+	 * @param y
+	 *            the y coordinate of the pointer, or <code>0</code>.
+	 * @throws IllegalArgumentException
+	 *             if the time is lower than the time of the previous event.
+	 */
+	public void add(long time, int generatorId, int type, int data, int buttonId, int x, int y) {
+		int count = this.count;
+		if (count > 0 && time < this.times[count - 1]) {
+			throw new IllegalArgumentException();
+		}
+		if (count == this.times.length) {
+			grow();
+		}
+		this.times[count] = time;
+		this.generatorIds[count] = generatorId;
+		this.types[count] = type;
+		this.data[count] = data;
+		this.buttonIds[count] = buttonId;
+		this.xs[count] = x;
+		this.ys[count] = y;
+		this.count = count + 1;
+	}
+
+	/**
+	 * Gets the number of events.
+	 *
+	 * @return the number of events.
+	 */
+	public int getCount() {
+		return this.count;
+	}
+
+	/**
+	 * Gets the duration of this recording.
+	 *
+	 * @return the time of the last event, in milliseconds.
+	 */
+	public long getDuration() {
+		int count = this.count;
+		return (count == 0) ? 0 : this.times[count - 1];
+	}
+
+	/**
+	 * Gets the time of an event.
+	 *
+	 * @param index
+	 *            the index of the event.
+	 * @return the time of the event relative to the start of the recording, in milliseconds.
+	 */
+	public long getTime(int index) {
+		return this.times[index];
+	}
+
+	/**
+	 * Gets the ID of the generator of an event.
+	 *
+	 * @param index
+	 *            the index of the event.
+	 * @return the generator ID.
+	 */
+	public int getGeneratorId(int index) {
+		return this.generatorIds[index];
+	}
+
+	/**
+	 * Gets the type of an event.
+	 *
+	 * @param index
+	 *            the index of the event.
+	 * @return the event type.
+	 */
+	public int getType(int index) {
+		return this.types[index];
+	}
+
+	/**
+	 * Gets the data of an event.
+	 *
+	 * @param index
+	 *            the index of the event.
+	 * @return the action for the buttons and pointers, the command for the commands.
+	 */
+	public int getData(int index) {
+		return this.data[index];
+	}
+
+	/**
+	 * Gets the ID of the button of an event.
+	 *
+	 * @param index
+	 *            the index of the event.
+	 * @return the button ID.
+	 */
+	public int getButtonId(int index) {
+		return this.buttonIds[index];
+	}
+
+	/**
+	 * Gets the x coordinate of the pointer for an event.
+	 *
+	 * @param index
+	 *            the index of the event.
+	 * @return the x coordinate.
+	 */
+	public int getX(int index) {
+		return this.xs[index];
+	}
+
+	/**
+	 * Gets the y coordinate of the pointer for an event.
+	 *
+	 * @param index
+	 *            the index of the event.
+	 * @return the y coordinate.
+	 */
+	public int getY(int index) {
+		return this.ys[index];
+	}
+
+	/**
+	 * Writes this recording to a stream.
+	 *
+	 * @param outputStream
+	 *            the stream to write to.
+	 * @throws IOException
+	 *             if an I/O error occurs.
+	 * @see #read(InputStream)
+	 */
+	public void write(OutputStream outputStream) throws IOException {
+		DataOutputStream out = new DataOutputStream(outputStream);
+		int count = this.count;
+		out.writeInt(FORMAT_VERSION);
+		out.writeInt(count);
+		for (int i = 0; i < count; i++) {
+			out.writeLong(this.times[i]);
+			out.writeInt(this.generatorIds[i]);
+			out.writeInt(this.types[i]);
+			out.writeInt(this.data[i]);
+			out.writeInt(this.buttonIds[i]);
+			out.writeInt(this.xs[i]);
+			out.writeInt(this.ys[i]);
+		}
+		out.flush();
+	}
+
+	/**
+	 * Reads a recording from a stream.
+	 *
+	 * @param inputStream
+	 *            the stream to read from.
+	 * @return the read recording.
+	 * @throws IOException
+	 *             if an I/O error occurs or if the stream does not contain a recording.
+	 * @see #write(OutputStream)
+	 */
+	public static InputRecording read(InputStream inputStream) throws IOException {
+		DataInputStream in = new DataInputStream(inputStream);
+		if (in.readInt() != FORMAT_VERSION) {
+			throw new IOException();
+		}
+		int count = in.readInt();
+		InputRecording recording = new InputRecording();
+		for (int i = 0; i < count; i++) {
+			long time = in.readLong();
+			int generatorId = in.readInt();
+			int type = in.readInt();
+			int data = in.readInt();
+			int buttonId = in.readInt();
+			int x = in.readInt();
+			int y = in.readInt();
+			recording.add(time, generatorId, type, data, buttonId, x, y);
+		}
+		return recording;
+	}
+
+	private void grow() {
+		int count = this.count;
+		int capacity = count * 2;
+		long[] times = new long[capacity];
+		int[] generatorIds = new int[capacity];
+		int[] types = new int[capacity];
+		int[] data = new int[capacity];
+		int[] buttonIds = new int[capacity];
+		int[] xs = new int[capacity];
+		int[] ys = new int[capacity];
+		System.arraycopy(this.times, 0, times, 0, count);
+		System.arraycopy(this.generatorIds, 0, generatorIds, 0, count);
+		System.arraycopy(this.types, 0, types, 0, count);
+		System.arraycopy(this.data, 0, data, 0, count);
+		System.arraycopy(this.buttonIds, 0, buttonIds, 0, count);
+		System.arraycopy(this.xs, 0, xs, 0, count);
+		System.arraycopy(this.ys, 0, ys, 0, count);
+		this.times = times;
+		this.generatorIds = generatorIds;
+		this.types = types;
+		this.data = data;
+		this.buttonIds = buttonIds;
+		this.xs = xs;
+		this.ys = ys;
+	}
+
+}
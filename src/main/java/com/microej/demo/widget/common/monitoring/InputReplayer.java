@@ -0,0 +1,166 @@
+/*
+ * Copyright 2026 MicroEJ Corp. All rights reserved.
+ * Use of this source code is governed by a BSD-style license that can be found with this software.
+ */
+package com.microej.demo.widget.common.monitoring;
+
+import ej.annotation.Nullable;
+import ej.microui.event.EventGenerator;
+import ej.microui.event.generator.Buttons;
+import ej.microui.event.generator.Command;
+import ej.microui.event.generator.Pointer;
+import ej.mwt.Desktop;
+import ej.mwt.animation.Animation;
+
+/**
+ * Replays an {@link InputRecording} on a desktop.
+ * <p>
+ * The replay is driven by the animator of the desktop: the events are sent by the generators they were recorded from,
+ * at the first animator tick following their recorded time. The clock of the replay is virtual: it is the number of
+ * ticks since the start of the replay multiplied by a nominal tick period, regardless of the actual duration of the
+ * frames. The events are therefore sent at the same animator ticks from one run to another, even when the frames are
+ * slower or faster than the nominal period.
+ * <p>
+ * Only the timing of the events is virtual. The animator ticks once per frame, and the animations of the widgets
+ * (such as the flings of the scrolls, the spins of the wheels or the animated images) still use the platform time:
+ * their states at a given frame depend on the actual frame durations, and the rendered frames may differ from one run
+ * to another.
+ * <p>
+ * Only the pressed, released, moved and dragged actions and the commands are replayed: the other button actions (such
+ * as clicks or long presses) are not sent.
+ * <p>
+ * The replayer must be used in the UI thread.
+ */
+public class InputReplayer implements Animation {
+
+	/**
+	 * The default tick period, in milliseconds.
+	 */
+	public static final int DEFAULT_TICK_PERIOD = 16;
+
+	private final InputRecording recording;
+	private final int tickPeriod;
+
+	@Nullable
+	private Desktop desktop;
+	@Nullable
+	private Runnable onFinished;
+	private int tickCount;
+	private int nextEvent;
+
+	/**
+	 * Creates a replayer with the {@link #DEFAULT_TICK_PERIOD default tick period}.
+	 *
+	 * @param recording
+	 *            the events to replay.
+	 */
+	public InputReplayer(InputRecording recording) {
+		this(recording, DEFAULT_TICK_PERIOD);
+	}
+
+	/**
+	 * Creates a replayer.
+	 *
+	 * @param recording
+	 *            the events to replay.
+	 * @param tickPeriod
+	 *            the duration of an animator tick on the replay clock, in milliseconds.
+	 * @throws IllegalArgumentException
+	 *             if the tick period is not strictly positive.
+	 */
+	public InputReplayer(InputRecording recording, int tickPeriod) {
+		if (tickPeriod <= 0) {
+			throw new IllegalArgumentException();
+		}
+		this.recording = recording;
+		this.tickPeriod = tickPeriod;
+	}
+
+	/**
+	 * Starts replaying the events on a desktop. The first event is sent at the next animator tick.
+	 *
+	 * @param desktop
+	 *            the desktop to replay the events on. It must be shown.
+	 * @param onFinished
+	 *            the runnable to execute in the UI thread once all the events have been sent, or <code>null</code>.
+	 */
+	public void start(Desktop desktop, @Nullable Runnable onFinished) {
+		stop();
+		this.desktop = desktop;
+		this.onFinished = onFinished;
+		this.tickCount = 0;
+		this.nextEvent = 0;
+		desktop.getAnimator().startAnimation(this);
+	}
+
+	/**
+	 * Stops replaying the events. The remaining events are not sent and the finish runnable is not executed.
+	 */
+	public void stop() {
+		Desktop desktop = this.desktop;
+		if (desktop != null) {
+			desktop.getAnimator().stopAnimation(this);
+			this.desktop = null;
+		}
+	}
+
+	/**
+	 * Gets whether the replay is running.
+	 *
+	 * @return <code>true</code> if the events are being replayed, <code>false</code> otherwise.
+	 */
+	public boolean isRunning() {
+		return (this.desktop != null);
+	}
+
+	@Override
+	public boolean tick(long platformTimeMillis) {
+		// The platform time is ignored: the replay time only depends on the number of ticks.
+		long time = (long) this.tickCount * this.tickPeriod;
+		this.tickCount++;
+
+		InputRecording recording = this.recording;
+		int count = recording.getCount();
+		int nextEvent = this.nextEvent;
+		while (nextEvent < count && recording.getTime(nextEvent) <= time) {
+			sendEvent(recording, nextEvent);
+			nextEvent++;
+		}
+		this.nextEvent = nextEvent;
+
+		if (nextEvent < count) {
+			return true;
+		}
+		this.desktop = null;
+		Runnable onFinished = this.onFinished;
+		if (onFinished != null) {
+			this.onFinished = null;
+			onFinished.run();
+		}
+		return false;
+	}
+
+	private static void sendEvent(InputRecording recording, int index) {
+		EventGenerator generator = EventGenerator.get(recording.getGeneratorId(index));
+		int type = recording.getType(index);
+		int data = recording.getData(index);
+		if (type == Pointer.EVENT_TYPE && generator instanceof Pointer) {
+			Pointer pointer = (Pointer) generator;
+			int x = recording.getX(index);
+			int y = recording.getY(index);
+			if (data == Pointer.MOVED || data == Pointer.DRAGGED) {
+				pointer.move(x, y);
+			} else if (data == Buttons.PRESSED || data == Buttons.RELEASED) {
+				pointer.reset(x, y);
+				pointer.send(data, recording.getButtonId(index));
+			}
+		} else if (type == Buttons.EVENT_TYPE && generator instanceof Buttons) {
+			if (data == Buttons.PRESSED || data == Buttons.RELEASED) {
+				((Buttons) generator).send(data, recording.getButtonId(index));
+			}
+		} else if (type == Command.EVENT_TYPE && generator instanceof Command) {
+			((Command) generator).send(data);
+		}
+	}
+
+}
@@ -0,0 +1,253 @@
+/*
+ * Copyright 2026 MicroEJ Corp. All rights reserved.
+ * Use of this source code is governed by a BSD-style license that can be found with this software.
+ */
+package com.microej.demo.widget.common.monitoring;
+
+import java.io.PrintStream;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Map.Entry;
+
+import ej.annotation.Nullable;
+import ej.bon.Constants;
+import ej.bon.Util;
+import ej.mwt.Widget;
+
+/**
+ * Records the render and layout durations of the pages.
+ * <p>
+ * The monitor is enabled by setting the {@value #ENABLED_CONSTANT} constant to <code>true</code>. It can also be
+ * enabled at runtime with {@link #setRecording(boolean)} (by a benchmark for example). The calls to the monitor are
+ * therefore kept in the application even when the constant is <code>false</code>: each instrumented point then costs
+ * a check of a static field (see {@link #isRecording()}).
+ * <p>
+ * The durations are measured around:
+ * <ul>
+ * <li>each widget rendered by the render policy of the pages desktop (a frame),</li>
+ * <li>the layout of the pages and of the {@link com.microej.demo.widget.common.scroll.Scroll scrolls},</li>
+ * <li>the render of the scrolls inside a frame.</li>
+ * </ul>
+ * The other widgets are only measured as part of the frame or of the scroll that contains them.
+ * The last durations are kept in {@link RollingHistogram rolling histograms} and cumulated per widget class. The names
+ * of the classes are only readable in the report if the <code>soar.generate.classnames</code> option is set.
+ * <p>
+ * The monitor must be used in the UI thread.
+ */
+public class PerformanceMonitor {
+
+	/**
+	 * The name of the constant that enables the monitor.
+	 */
+	public static final String ENABLED_CONSTANT = "com.microej.demo.widget.monitoring.enabled"; //$NON-NLS-1$
+	/**
+	 * Whether the monitor is enabled.
+	 */
+	public static final boolean ENABLED = Constants.getBoolean(ENABLED_CONSTANT);
+
+	private static final int HISTOGRAM_CAPACITY = 128;
+	private static final int NANOS_PER_MICRO = 1000;
+	private static final int PERCENTILE = 95;
+
+	private static final RollingHistogram FRAME_TIMES = new RollingHistogram(HISTOGRAM_CAPACITY);
+	private static final RollingHistogram LAYOUT_TIMES = new RollingHistogram(HISTOGRAM_CAPACITY);
+	private static final Map<Class<?>, WidgetStatistics> WIDGET_STATISTICS = new HashMap<>();
+
+	private static boolean recording;
+	private static long lastFreeMemory;
+	private static long allocatedMemory;
+
+	private PerformanceMonitor() {
+		// Prevent instantiation.
+	}
+
+	/**
+	 * Gets whether the monitor records the measures.
+	 *
+	 * @return <code>true</code> if the monitor is enabled by the {@value #ENABLED_CONSTANT} constant or if it has been
+	 *         started with {@link #setRecording(boolean)}, <code>false</code> otherwise.
+	 */
+	public static boolean isRecording() {
+		return (ENABLED || recording);
+	}
+
+	/**
+	 * Sets whether the monitor records the measures, regardless of the {@value #ENABLED_CONSTANT} constant.
+	 *
+	 * @param recording
+	 *            <code>true</code> to record the measures, <code>false</code> otherwise.
+	 */
+	public static void setRecording(boolean recording) {
+		PerformanceMonitor.recording = recording;
+	}
+
+	/**
+	 * Gets the start time of a measure.
+	 *
+	 * @return the current time, in nanoseconds.
+	 */
+	public static long start() {
+		return Util.platformTimeNanos();
+	}
+
+	/**
+	 * Gets the time elapsed since the start of a measure.
+	 *
+	 * @param start
+	 *            the start time of the measure, as returned by {@link #start()}.
+	 * @return the elapsed time, in microseconds.
+	 */
+	public static int getElapsedTime(long start) {
+		return (int) ((Util.platformTimeNanos() - start) / NANOS_PER_MICRO);
+	}
+
+	/**
+	 * Records the render of a frame: a widget rendered by the render policy of the desktop.
+	 *
+	 * @param widget
+	 *            the rendered widget.
+	 * @param duration
+	 *            the duration of the render, in microseconds (see {@link #getElapsedTime(long)}).
+	 */
+	public static void onFrameRendered(Widget widget, int duration) {
+		FRAME_TIMES.add(duration);
+		getOrCreateStatistics(widget).addRender(duration);
+		updateAllocatedMemory();
+	}
+
+	/**
+	 * Records the render of a widget inside a frame.
+	 *
+	 * @param widget
+	 *            the rendered widget.
+	 * @param start
+	 *            the start time of the render, as returned by {@link #start()}.
+	 */
+	public static void onRendered(Widget widget, long start) {
+		getOrCreateStatistics(widget).addRender(getElapsedTime(start));
+	}
+
+	/**
+	 * Records the layout of a widget.
+	 *
+	 * @param widget
+	 *            the laid out widget.
+	 * @param start
+	 *            the start time of the layout, as returned by {@link #start()}.
+	 */
+	public static void onLaidOut(Widget widget, long start) {
+		int duration = getElapsedTime(start);
+		LAYOUT_TIMES.add(duration);
+		getOrCreateStatistics(widget).addLayout(duration);
+		updateAllocatedMemory();
+	}
+
+	/**
+	 * Gets the durations of the last frames.
+	 *
+	 * @return the frame times histogram, in microseconds.
+	 */
+	public static RollingHistogram getFrameTimes() {
+		return FRAME_TIMES;
+	}
+
+	/**
+	 * Gets the durations of the last layouts.
+	 *
+	 * @return the layout times histogram, in microseconds.
+	 */
+	public static RollingHistogram getLayoutTimes() {
+		return LAYOUT_TIMES;
+	}
+
+	/**
+	 * Gets an estimation of the memory allocated since the last reset.
+	 * <p>
+	 * The free memory is sampled after each frame and each layout: the decreases of the free memory between two samples
+	 * are cumulated. The objects allocated and collected between two samples are not counted.
+	 *
+	 * @return the allocated memory, in bytes.
+	 */
+	public static long getAllocatedMemory() {
+		return allocatedMemory;
+	}
+
+	/**
+	 * Gets the statistics of a widget class.
+	 *
+	 * @param widgetClass
+	 *            the widget class.
+	 * @return the statistics of the class, or <code>null</code> if no widget of this class has been recorded.
+	 */
+	public static @Nullable WidgetStatistics getWidgetStatistics(Class<?> widgetClass) {
+		return WIDGET_STATISTICS.get(widgetClass);
+	}
+
+	/**
+	 * Clears all the recorded measures.
+	 */
+	public static void reset() {
+		FRAME_TIMES.reset();
+		LAYOUT_TIMES.reset();
+		WIDGET_STATISTICS.clear();
+		lastFreeMemory = Runtime.getRuntime().freeMemory();
+		allocatedMemory = 0;
+	}
+
+	/**
+	 * Prints a report of the recorded measures.
+	 *
+	 * @param out
+	 *            the stream to print to.
+	 */
+	public static void dump(PrintStream out) {
+		out.println("Performance report (durations in us)"); //$NON-NLS-1$
+		dumpHistogram(out, "frames", FRAME_TIMES); //$NON-NLS-1$
+		dumpHistogram(out, "layouts", LAYOUT_TIMES); //$NON-NLS-1$
+		out.println("allocated: " + allocatedMemory + " bytes"); //$NON-NLS-1$ //$NON-NLS-2$
+
+		Iterator<Entry<Class<?>, WidgetStatistics>> iterator = WIDGET_STATISTICS.entrySet().iterator();
+		while (iterator.hasNext()) {
+			Entry<Class<?>, WidgetStatistics> entry = iterator.next();
+			WidgetStatistics statistics = entry.getValue();
+			out.println(entry.getKey().getName() + ": renders=" + statistics.getRenderCount() //$NON-NLS-1$
+					+ " total=" + statistics.getRenderTime() + " max=" + statistics.getMaxRenderTime() //$NON-NLS-1$ //$NON-NLS-2$
+					+ " layouts=" + statistics.getLayoutCount() + " total=" + statistics.getLayoutTime() //$NON-NLS-1$ //$NON-NLS-2$
+					+ " max=" + statistics.getMaxLayoutTime()); //$NON-NLS-1$
+		}
+	}
+
+	private static void dumpHistogram(PrintStream out, String name, RollingHistogram histogram) {
+		out.println(name + ": count=" + histogram.getCount() + " mean=" + histogram.getMean() + " p" + PERCENTILE //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
+				+ "=" + histogram.getPercentile(PERCENTILE) + " max=" + histogram.getMax()); //$NON-NLS-1$ //$NON-NLS-2$
+		int[] bounds = RollingHistogram.BUCKET_BOUNDS;
+		int[] counts = histogram.getBucketCounts();
+		StringBuilder builder = new StringBuilder("  buckets:"); //$NON-NLS-1$
+		for (int i = 0; i < counts.length; i++) {
+			builder.append(i < bounds.length ? " <" + bounds[i] : " >=" + bounds[bounds.length - 1]); //$NON-NLS-1$ //$NON-NLS-2$
+			builder.append('=').append(counts[i]);
+		}
+		out.println(builder.toString());
+	}
+
+	private static void updateAllocatedMemory() {
+		long freeMemory = Runtime.getRuntime().freeMemory();
+		long lastFreeMemory = PerformanceMonitor.lastFreeMemory;
+		if (freeMemory < lastFreeMemory) {
+			allocatedMemory += lastFreeMemory - freeMemory;
+		}
+		PerformanceMonitor.lastFreeMemory = freeMemory;
+	}
+
+	private static WidgetStatistics getOrCreateStatistics(Widget widget) {
+		Class<?> widgetClass = widget.getClass();
+		WidgetStatistics statistics = WIDGET_STATISTICS.get(widgetClass);
+		if (statistics == null) {
+			statistics = new WidgetStatistics();
+			WIDGET_STATISTICS.put(widgetClass, statistics);
+		}
+		return statistics;
+	}
+
+}
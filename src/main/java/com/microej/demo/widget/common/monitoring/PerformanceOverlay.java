@@ -0,0 +1,267 @@
+/*
+ * Copyright 2026 MicroEJ Corp. All rights reserved.
+ * Use of this source code is governed by a BSD-style license that can be found with this software.
+ */
+package com.microej.demo.widget.common.monitoring;
+
+import ej.annotation.Nullable;
+import ej.bon.Timer;
+import ej.bon.TimerTask;
+import ej.bon.Util;
+import ej.microui.MicroUI;
+import ej.microui.display.Colors;
+import ej.microui.display.Display;
+import ej.microui.display.Font;
+import ej.microui.display.GraphicsContext;
+import ej.microui.display.Painter;
+import ej.mwt.Desktop;
+import ej.mwt.Widget;
+import ej.service.ServiceFactory;
+
+/**
+ * Displays the current performance figures over the desktop: the frames per second, the worst frame time of the last
+ * second and the free heap.
+ * <p>
+ * The overlay is not part of the widget hierarchy: it is drawn by the render policy of the desktop after each rendered
+ * widget that intersects it (see {@link #render(GraphicsContext)}). When it is visible, the overlay updates its figures
+ * every second with a timer task and only requests the render of its own bounds. It does not use the animator of the
+ * desktop, so that it does not keep it running. The renders of its own bounds are not frames of the pages and must not
+ * be counted (see {@link #isOwnRender(int, int, int, int)}). When it is hidden, it does not run.
+ */
+public class PerformanceOverlay {
+
+	private static final int UPDATE_PERIOD = 1000;
+	private static final int MICROS_PER_MILLI = 1000;
+	private static final int BYTES_PER_KILOBYTE = 1024;
+	private static final int LINES = 3;
+	private static final int PADDING = 3;
+	private static final int MARGIN = 4;
+	private static final int WIDTH = 92;
+	private static final int BACKGROUND_COLOR = Colors.BLACK;
+	private static final int TEXT_COLOR = 0x00ff00;
+
+	private final Font font;
+	private final String[] lines;
+	private final Runnable updateRunnable;
+
+	@Nullable
+	private Desktop desktop;
+	@Nullable
+	private TimerTask updateTask;
+	private boolean visible;
+
+	private long periodStart;
+	private int frameCount;
+	private int worstFrameTime;
+
+	/**
+	 * Creates a performance overlay.
+	 *
+	 * @param font
+	 *            the font used to draw the figures.
+	 */
+	public PerformanceOverlay(Font font) {
+		this.font = font;
+		this.lines = new String[LINES];
+		this.updateRunnable = new Runnable() {
+			@Override
+			public void run() {
+				update();
+			}
+		};
+		updateLines(0, 0);
+	}
+
+	/**
+	 * Gets whether this overlay is visible.
+	 *
+	 * @return <code>true</code> if this overlay is visible, <code>false</code> otherwise.
+	 */
+	public boolean isVisible() {
+		return this.visible;
+	}
+
+	/**
+	 * Sets whether this overlay is visible.
+	 *
+	 * @param visible
+	 *            <code>true</code> to show this overlay, <code>false</code> to hide it.
+	 */
+	public void setVisible(boolean visible) {
+		if (visible != this.visible) {
+			this.visible = visible;
+			Desktop desktop = this.desktop;
+			if (desktop != null) {
+				if (visible) {
+					start();
+				} else {
+					stop();
+				}
+				requestRender(desktop);
+			}
+		}
+	}
+
+	/**
+	 * Attaches this overlay to the shown desktop.
+	 * <p>
+	 * The overlay is drawn over the given desktop and uses its animator.
+	 *
+	 * @param desktop
+	 *            the shown desktop.
+	 */
+	public void attach(Desktop desktop) {
+		detach();
+		this.desktop = desktop;
+		if (this.visible) {
+			start();
+		}
+	}
+
+	/**
+	 * Detaches this overlay from its desktop.
+	 */
+	public void detach() {
+		stop();
+		this.desktop = null;
+	}
+
+	/**
+	 * Records the render of a frame.
+	 *
+	 * @param duration
+	 *            the duration of the frame, in microseconds.
+	 */
+	public void onFrameRendered(int duration) {
+		this.frameCount++;
+		this.worstFrameTime = Math.max(this.worstFrameTime, duration);
+	}
+
+	/**
+	 * Gets whether a render is only a render of this overlay, requested to display its updated figures.
+	 * <p>
+	 * Such a render covers only the bounds of this overlay. It is not a frame of the pages: it must not be recorded as
+	 * a frame, neither by {@link #onFrameRendered(int)} nor by the {@link PerformanceMonitor}.
+	 *
+	 * @param x
+	 *            the x coordinate of the rendered area, in display coordinates.
+	 * @param y
+	 *            the y coordinate of the rendered area, in display coordinates.
+	 * @param width
+	 *            the width of the rendered area.
+	 * @param height
+	 *            the height of the rendered area.
+	 * @return <code>true</code> if this overlay is visible and contains the rendered area, <code>false</code>
+	 *         otherwise.
+	 */
+	public boolean isOwnRender(int x, int y, int width, int height) {
+		int overlayX = getX();
+		return this.visible && x >= overlayX && y >= MARGIN && x + width <= overlayX + WIDTH
+				&& y + height <= MARGIN + getHeight();
+	}
+
+	/**
+	 * Renders this overlay if it is visible and if it intersects the clip of the given graphics context.
+	 * <p>
+	 * The translation of the graphics context must be reset (the overlay is drawn in display coordinates).
+	 *
+	 * @param g
+	 *            the graphics context.
+	 */
+	public void render(GraphicsContext g) {
+		if (!this.visible) {
+			return;
+		}
+		int x = getX();
+		int y = MARGIN;
+		int width = WIDTH;
+		int height = getHeight();
+		int clipX = g.getClipX();
+		int clipY = g.getClipY();
+		if (clipX >= x + width || clipY >= y + height || clipX + g.getClipWidth() <= x
+				|| clipY + g.getClipHeight() <= y) {
+			return;
+		}
+
+		g.setColor(BACKGROUND_COLOR);
+		Painter.fillRectangle(g, x, y, width, height);
+		g.setColor(TEXT_COLOR);
+		Font font = this.font;
+		int lineHeight = font.getHeight();
+		String[] lines = this.lines;
+		for (int i = 0; i < lines.length; i++) {
+			String line = lines[i];
+			assert line != null;
+			Painter.drawString(g, line, font, x + PADDING, y + PADDING + i * lineHeight);
+		}
+	}
+
+	private void start() {
+		stop();
+		resetCounters(Util.platformTimeMillis());
+		final Runnable updateRunnable = this.updateRunnable;
+		TimerTask updateTask = new TimerTask() {
+			@Override
+			public void run() {
+				MicroUI.callSerially(updateRunnable);
+			}
+		};
+		this.updateTask = updateTask;
+		Timer timer = ServiceFactory.getService(Timer.class, Timer.class);
+		timer.schedule(updateTask, UPDATE_PERIOD, UPDATE_PERIOD);
+	}
+
+	private void stop() {
+		TimerTask updateTask = this.updateTask;
+		if (updateTask != null) {
+			updateTask.cancel();
+			this.updateTask = null;
+		}
+	}
+
+	/**
+	 * Updates the figures from the frames recorded since the last update and requests the render of this overlay.
+	 */
+	private void update() {
+		Desktop desktop = this.desktop;
+		if (!this.visible || desktop == null) {
+			return;
+		}
+		long now = Util.platformTimeMillis();
+		long elapsedTime = Math.max(1, now - this.periodStart);
+		int framesPerSecond = (int) (this.frameCount * UPDATE_PERIOD / elapsedTime);
+		updateLines(framesPerSecond, this.worstFrameTime);
+		resetCounters(now);
+		requestRender(desktop);
+	}
+
+	private void resetCounters(long platformTimeMillis) {
+		this.periodStart = platformTimeMillis;
+		this.frameCount = 0;
+		this.worstFrameTime = 0;
+	}
+
+	private void updateLines(int framesPerSecond, int worstFrameTime) {
+		String[] lines = this.lines;
+		lines[0] = "FPS: " + framesPerSecond; //$NON-NLS-1$
+		lines[1] = "Worst: " + worstFrameTime / MICROS_PER_MILLI + " ms"; //$NON-NLS-1$ //$NON-NLS-2$
+		long freeMemory = Runtime.getRuntime().freeMemory();
+		lines[2] = "Heap: " + freeMemory / BYTES_PER_KILOBYTE + " KB"; //$NON-NLS-1$ //$NON-NLS-2$
+	}
+
+	private void requestRender(Desktop desktop) {
+		Widget widget = desktop.getWidget();
+		if (widget != null && desktop.isShown()) {
+			widget.requestRender(getX() - widget.getAbsoluteX(), MARGIN - widget.getAbsoluteY(), WIDTH, getHeight());
+		}
+	}
+
+	private static int getX() {
+		return Display.getDisplay().getWidth() - WIDTH - MARGIN;
+	}
+
+	private int getHeight() {
+		return LINES * this.font.getHeight() + 2 * PADDING;
+	}
+
+}
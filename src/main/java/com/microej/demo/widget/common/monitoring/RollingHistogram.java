@@ -0,0 +1,167 @@
+/*
+ * Copyright 2026 MicroEJ Corp. All rights reserved.
+ * Use of this source code is governed by a BSD-style license that can be found with this software.
+ */
+package com.microej.demo.widget.common.monitoring;
+
+import java.util.Arrays;
+
+/**
+ * Keeps the last samples of a measure (durations in microseconds for example) and computes statistics on them.
+ * <p>
+ * The samples are stored in a ring buffer: adding a sample does not allocate memory. The total count of samples added
+ * since the last reset is also kept.
+ */
+public class RollingHistogram {
+
+	/**
+	 * Upper bounds of the buckets used by {@link #getBucketCounts()}, in microseconds. The last bucket has no upper
+	 * bound.
+	 */
+	public static final int[] BUCKET_BOUNDS = { 1000, 2000, 4000, 8000, 16000, 33000, 66000 };
+
+	private static final int PERCENT = 100;
+
+	private final int[] samples;
+	private int next;
+	private int size;
+	private long count;
+	private long total;
+
+	/**
+	 * Creates a rolling histogram.
+	 *
+	 * @param capacity
+	 *            the number of samples to keep.
+	 */
+	public RollingHistogram(int capacity) {
+		this.samples = new int[capacity];
+	}
+
+	/**
+	 * Adds a sample. The oldest sample is dropped if the histogram is full.
+	 *
+	 * @param sample
+	 *            the sample to add.
+	 */
+	public void add(int sample) {
+		int[] samples = this.samples;
+		int next = this.next;
+		samples[next] = sample;
+		this.next = (next + 1) % samples.length;
+		this.size = Math.min(this.size + 1, samples.length);
+		this.count++;
+		this.total += sample;
+	}
+
+	/**
+	 * Removes all the samples and resets the count.
+	 */
+	public void reset() {
+		this.next = 0;
+		this.size = 0;
+		this.count = 0;
+		this.total = 0;
+	}
+
+	/**
+	 * Gets the number of samples added since the last reset, including the ones that have been dropped.
+	 *
+	 * @return the total count of samples.
+	 */
+	public long getCount() {
+		return this.count;
+	}
+
+	/**
+	 * Gets the sum of the samples added since the last reset, including the ones that have been dropped.
+	 *
+	 * @return the total of the samples.
+	 */
+	public long getTotal() {
+		return this.total;
+	}
+
+	/**
+	 * Gets the number of samples kept.
+	 *
+	 * @return the number of samples.
+	 */
+	public int getSize() {
+		return this.size;
+	}
+
+	/**
+	 * Gets the mean of the kept samples.
+	 *
+	 * @return the mean, or <code>0</code> if there is no sample.
+	 */
+	public int getMean() {
+		int size = this.size;
+		if (size == 0) {
+			return 0;
+		}
+		long sum = 0;
+		int[] samples = this.samples;
+		for (int i = 0; i < size; i++) {
+			sum += samples[i];
+		}
+		return (int) (sum / size);
+	}
+
+	/**
+	 * Gets the maximum of the kept samples.
+	 *
+	 * @return the maximum, or <code>0</code> if there is no sample.
+	 */
+	public int getMax() {
+		int max = 0;
+		int[] samples = this.samples;
+		for (int i = 0; i < this.size; i++) {
+			max = Math.max(max, samples[i]);
+		}
+		return max;
+	}
+
+	/**
+	 * Gets a percentile of the kept samples.
+	 * <p>
+	 * This method allocates a copy of the samples to sort them.
+	 *
+	 * @param percentile
+	 *            the percentile, between <code>0</code> and <code>100</code>.
+	 * @return the value below which the given percentage of samples falls, or <code>0</code> if there is no sample.
+	 */
+	public int getPercentile(int percentile) {
+		int size = this.size;
+		if (size == 0) {
+			return 0;
+		}
+		int[] sortedSamples = new int[size];
+		System.arraycopy(this.samples, 0, sortedSamples, 0, size);
+		Arrays.sort(sortedSamples);
+		int index = (size * percentile + PERCENT - 1) / PERCENT - 1;
+		return sortedSamples[Math.max(0, Math.min(size - 1, index))];
+	}
+
+	/**
+	 * Gets the number of kept samples in each bucket delimited by {@link #BUCKET_BOUNDS}.
+	 *
+	 * @return the count of each bucket, the last one counting the samples over the last bound.
+	 */
+	public int[] getBucketCounts() {
+		int[] bounds = BUCKET_BOUNDS;
+		int[] counts = new int[bounds.length + 1];
+		int[] samples = this.samples;
+		for (int i = 0; i < this.size; i++) {
+			int sample = samples[i];
+			int bucket = 0;
+			while (bucket < bounds.length && sample >= bounds[bucket]) {
+				bucket++;
+			}
+			counts[bucket]++;
+		}
+		return counts;
+	}
+
+}
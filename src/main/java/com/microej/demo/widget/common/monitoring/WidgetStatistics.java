@@ -0,0 +1,91 @@
+/*
+ * Copyright 2026 MicroEJ Corp. All rights reserved.
+ * Use of this source code is governed by a BSD-style license that can be found with this software.
+ */
+package com.microej.demo.widget.common.monitoring;
+
+/**
+ * Accumulates the render and layout statistics of a widget class.
+ *
+ * @see PerformanceMonitor#getWidgetStatistics(Class)
+ */
+public class WidgetStatistics {
+
+	private int renderCount;
+	private long renderTime;
+	private int maxRenderTime;
+	private int layoutCount;
+	private long layoutTime;
+	private int maxLayoutTime;
+
+	/* package */ WidgetStatistics() {
+		// Created by the monitor.
+	}
+
+	/* package */ void addRender(int duration) {
+		this.renderCount++;
+		this.renderTime += duration;
+		this.maxRenderTime = Math.max(this.maxRenderTime, duration);
+	}
+
+	/* package */ void addLayout(int duration) {
+		this.layoutCount++;
+		this.layoutTime += duration;
+		this.maxLayoutTime = Math.max(this.maxLayoutTime, duration);
+	}
+
+	/**
+	 * Gets the number of renders.
+	 *
+	 * @return the render count.
+	 */
+	public int getRenderCount() {
+		return this.renderCount;
+	}
+
+	/**
+	 * Gets the cumulated duration of the renders.
+	 *
+	 * @return the render time, in microseconds.
+	 */
+	public long getRenderTime() {
+		return this.renderTime;
+	}
+
+	/**
+	 * Gets the duration of the longest render.
+	 *
+	 * @return the maximum render time, in microseconds.
+	 */
+	public int getMaxRenderTime() {
+		return this.maxRenderTime;
+	}
+
+	/**
+	 * Gets the number of layouts.
+	 *
+	 * @return the layout count.
+	 */
+	public int getLayoutCount() {
+		return this.layoutCount;
+	}
+
+	/**
+	 * Gets the cumulated duration of the layouts.
+	 *
+	 * @return the layout time, in microseconds.
+	 */
+	public long getLayoutTime() {
+		return this.layoutTime;
+	}
+
+	/**
+	 * Gets the duration of the longest layout.
+	 *
+	 * @return the maximum layout time, in microseconds.
+	 */
+	public int getMaxLayoutTime() {
+		return this.maxLayoutTime;
+	}
+
+}
@@ -0,0 +1,43 @@
+/*
+ * Copyright 2026 MicroEJ Corp. All rights reserved.
+ * Use of this source code is governed by a BSD-style license that can be found with this software.
+ */
+package com.microej.demo.widget.common.scroll;
+
+import ej.mwt.Widget;
+
+/**
+ * Supplies the items of a {@link RecyclingList}.
+ * <p>
+ * The list only creates a few item widgets (enough to fill the display) and binds them to the data as they become
+ * visible. All the items must have the same size once bound: the list measures the first one.
+ */
+public interface ItemAdapter {
+
+	/**
+	 * Gets the number of items.
+	 *
+	 * @return the number of items.
+	 */
+	int getCount();
+
+	/**
+	 * Creates a widget able to display any item.
+	 *
+	 * @return the created widget.
+	 */
+	Widget createItem();
+
+	/**
+	 * Binds a widget created with {@link #createItem()} to the item at the given index.
+	 * <p>
+	 * The widget may have been bound to another item before.
+	 *
+	 * @param item
+	 *            the widget to bind.
+	 * @param index
+	 *            the index of the item.
+	 */
+	void bindItem(Widget item, int index);
+
+}
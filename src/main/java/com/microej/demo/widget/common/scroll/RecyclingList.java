@@ -0,0 +1,361 @@
+/*
+ * Copyright 2026 MicroEJ Corp. All rights reserved.
+ * Use of this source code is governed by a BSD-style license that can be found with this software.
+ */
+package com.microej.demo.widget.common.scroll;
+
+import java.util.Arrays;
+
+import ej.microui.MicroUI;
+import ej.microui.display.Display;
+import ej.microui.display.GraphicsContext;
+import ej.mwt.Container;
+import ej.mwt.Widget;
+import ej.mwt.util.Size;
+import ej.widget.container.LayoutOrientation;
+
+/**
+ * Lays out the items supplied by an {@link ItemAdapter} in a list, but only creates the widgets needed to fill the
+ * viewport of the scroll it is added to.
+ * <p>
+ * All the items have the same size: the list measures the first widget of its pool bound to the first item, and the
+ * positions of the items are computed from this size. Once laid out, the pool is grown (outside of the layout) to
+ * cover the display plus a few extra items. When the viewport changes, the widgets that leave it are bound to the items
+ * that enter it. The heap used by the list and the layout time do not depend on the number of items.
+ * <p>
+ * The pool has an even size, so that a widget is always bound to items with the same parity than its own index:
+ * {@link ej.mwt.stylesheet.selector.OddChildSelector} can be used to style the items.
+ */
+public class RecyclingList extends Container implements Scrollable {
+
+	private static final int NO_ITEM = -1;
+	private static final int OVERSCAN = 2;
+	private static final int MIN_POOL_SIZE = 2;
+
+	private final boolean orientation;
+	private final boolean snapToItems;
+	private final ItemAdapter adapter;
+	private int[] boundIndexes;
+	private int itemSize;
+	private boolean poolGrowthPending;
+
+	private int crossSize;
+	private int firstVisibleIndex;
+
+	/**
+	 * Creates a recycling list specifying its orientation and its adapter.
+	 *
+	 * @param orientation
+	 *            the orientation of the list (see {@link LayoutOrientation}).
+	 * @param snapToItems
+	 *            {@code true} if the scroll should snap to this list items, {@code false} otherwise.
+	 * @param adapter
+	 *            the adapter supplying the items.
+	 */
+	public RecyclingList(boolean orientation, boolean snapToItems, ItemAdapter adapter) {
+		this.orientation = orientation;
+		this.snapToItems = snapToItems;
+		this.adapter = adapter;
+
+		// The pool is grown once the size of an item is known (see requestPoolGrowth()).
+		for (int i = 0; i < MIN_POOL_SIZE; i++) {
+			addChild(adapter.createItem());
+		}
+		int[] boundIndexes = new int[MIN_POOL_SIZE];
+		Arrays.fill(boundIndexes, NO_ITEM);
+		this.boundIndexes = boundIndexes;
+	}
+
+	/**
+	 * Gets the orientation of this list.
+	 *
+	 * @return the orientation of this list (see {@link LayoutOrientation}).
+	 */
+	public boolean getOrientation() {
+		return this.orientation;
+	}
+
+	/**
+	 * Notifies this list that the items of its adapter have changed.
+	 * <p>
+	 * The visible items are bound again and the list is laid out again along with its parent (since its size may
+	 * have changed).
+	 * <p>
+	 * Should be called in the UI thread to avoid concurrency issues.
+	 */
+	public void notifyItemsChanged() {
+		Arrays.fill(this.boundIndexes, NO_ITEM);
+		Container parent = getParent();
+		if (parent != null) {
+			parent.requestLayOut();
+		} else {
+			requestLayOut();
+		}
+	}
+
+	/**
+	 * Gets the size of the items, as measured during the last layout.
+	 *
+	 * @return the size of an item along the orientation of this list, or zero if this list has not been laid out yet.
+	 */
+	public int getItemSize() {
+		return this.itemSize;
+	}
+
+	/**
+	 * Gets the number of items supplied by the adapter.
+	 *
+	 * @return the number of items.
+	 */
+	public int getItemCount() {
+		return this.adapter.getCount();
+	}
+
+	/**
+	 * Gets the number of widgets created to display the items.
+	 *
+	 * @return the size of the pool of widgets.
+	 */
+	public int getPoolSize() {
+		return this.boundIndexes.length;
+	}
+
+	/**
+	 * Gets the index of the item bound to a widget of the pool.
+	 *
+	 * @param slot
+	 *            the index of the widget in the pool.
+	 * @return the index of the item displayed by the widget, or <code>-1</code> if the widget is not used.
+	 */
+	public int getBoundIndex(int slot) {
+		return this.boundIndexes[slot];
+	}
+
+	@Override
+	protected void computeContentOptimalSize(Size size) {
+		ItemAdapter adapter = this.adapter;
+		int count = adapter.getCount();
+		boolean horizontal = (this.orientation == LayoutOrientation.HORIZONTAL);
+		if (count > 0) {
+			measureItem(horizontal ? size.getHeight() : size.getWidth(), horizontal);
+		}
+		int length = count * this.itemSize;
+		if (horizontal) {
+			size.setWidth(length);
+		} else {
+			size.setHeight(length);
+		}
+	}
+
+	@Override
+	protected void layOutChildren(int contentWidth, int contentHeight) {
+		this.crossSize = (this.orientation == LayoutOrientation.HORIZONTAL) ? contentHeight : contentWidth;
+		Arrays.fill(this.boundIndexes, NO_ITEM);
+		updateItems();
+		requestPoolGrowth();
+	}
+
+	@Override
+	protected void renderContent(GraphicsContext g, int contentWidth, int contentHeight) {
+		int translateX = g.getTranslationX();
+		int translateY = g.getTranslationY();
+		int x = g.getClipX();
+		int y = g.getClipY();
+		int width = g.getClipWidth();
+		int height = g.getClipHeight();
+
+		Widget[] children = getChildren();
+		int[] boundIndexes = this.boundIndexes;
+		for (int i = 0; i < children.length; i++) {
+			if (boundIndexes[i] != NO_ITEM) {
+				Widget child = children[i];
+				assert child != null;
+				renderChild(child, g);
+				g.setTranslation(translateX, translateY);
+				g.setClip(x, y, width, height);
+			}
+		}
+	}
+
+	@Override
+	protected void setShownChildren() {
+		Widget[] children = getChildren();
+		int[] boundIndexes = this.boundIndexes;
+		for (int i = 0; i < children.length; i++) {
+			if (boundIndexes[i] != NO_ITEM) {
+				Widget child = children[i];
+				assert child != null;
+				setShownChild(child);
+			}
+		}
+	}
+
+	@Override
+	public void initializeViewport(int width, int height) {
+		// Nothing to do: the pool is sized for the whole display.
+	}
+
+	@Override
+	public void updateViewport(int x, int y) {
+		int itemSize = this.itemSize;
+		if (itemSize == 0) {
+			return;
+		}
+		int coordinate = (this.orientation == LayoutOrientation.HORIZONTAL) ? x : y;
+		int firstVisibleIndex = Math.max(0, -coordinate / itemSize);
+		if (firstVisibleIndex != this.firstVisibleIndex) {
+			this.firstVisibleIndex = firstVisibleIndex;
+			updateItems();
+		}
+	}
+
+	@Override
+	public boolean snapToItems() {
+		return this.snapToItems;
+	}
+
+	/**
+	 * {@inheritDoc}
+	 * <p>
+	 * The items of a recycling list all have the same size, they are not stored in an array (see
+	 * {@link #getItemSize()}).
+	 *
+	 * @throws UnsupportedOperationException
+	 *             always.
+	 */
+	@Override
+	public int[] getItemSizes() throws UnsupportedOperationException {
+		throw new UnsupportedOperationException();
+	}
+
+	@Override
+	public int getItemSize(int index) {
+		return this.itemSize;
+	}
+
+	@Override
+	public int getItemOffset(int index) {
+		return index * this.itemSize;
+	}
+
+	/**
+	 * Measures the size of the items with the first widget of the pool bound to the first item.
+	 */
+	private void measureItem(int crossSize, boolean horizontal) {
+		Widget[] children = getChildren();
+		Widget measured = children[0];
+		assert measured != null;
+		this.adapter.bindItem(measured, 0);
+		this.boundIndexes[0] = NO_ITEM;
+		int itemSize;
+		if (horizontal) {
+			computeChildOptimalSize(measured, Widget.NO_CONSTRAINT, crossSize);
+			itemSize = measured.getWidth();
+		} else {
+			computeChildOptimalSize(measured, crossSize, Widget.NO_CONSTRAINT);
+			itemSize = measured.getHeight();
+		}
+		this.itemSize = Math.max(1, itemSize);
+	}
+
+	/**
+	 * Gets the size of the pool needed to cover the display with the measured item size.
+	 */
+	private int computePoolSize() {
+		Display display = Display.getDisplay();
+		int displaySize = (this.orientation == LayoutOrientation.HORIZONTAL) ? display.getWidth()
+				: display.getHeight();
+		int itemSize = this.itemSize;
+		int poolSize = (displaySize + itemSize - 1) / itemSize + 1 + OVERSCAN;
+		return poolSize + (poolSize & 1);
+	}
+
+	/**
+	 * Grows the pool after the layout if it does not cover the display, so that the new widgets are styled and laid out
+	 * by a new layout instead of the current one.
+	 */
+	private void requestPoolGrowth() {
+		if (this.poolGrowthPending || this.itemSize == 0 || getChildrenCount() >= computePoolSize()) {
+			return;
+		}
+		this.poolGrowthPending = true;
+		MicroUI.callSerially(new Runnable() {
+			@Override
+			public void run() {
+				growPool();
+			}
+		});
+	}
+
+	private void growPool() {
+		this.poolGrowthPending = false;
+		if (!isAttached()) {
+			return;
+		}
+		int oldPoolSize = getChildrenCount();
+		int poolSize = computePoolSize();
+		if (poolSize > oldPoolSize) {
+			ItemAdapter adapter = this.adapter;
+			for (int i = oldPoolSize; i < poolSize; i++) {
+				addChild(adapter.createItem());
+			}
+			// The widgets already bound are still rendered until the new layout binds the whole pool.
+			int[] boundIndexes = new int[poolSize];
+			System.arraycopy(this.boundIndexes, 0, boundIndexes, 0, oldPoolSize);
+			Arrays.fill(boundIndexes, oldPoolSize, poolSize, NO_ITEM);
+			this.boundIndexes = boundIndexes;
+			requestLayOut();
+		}
+	}
+
+	/**
+	 * Binds the widgets of the pool to the items of the window starting at the first visible index.
+	 * <p>
+	 * The widget at index {@code i} in the pool is always bound to an item whose index is equal to {@code i} modulo
+	 * the pool size, so that only the widgets that left the window are bound again.
+	 */
+	private void updateItems() {
+		Widget[] children = getChildren();
+		int[] boundIndexes = this.boundIndexes;
+		int poolSize = children.length;
+		ItemAdapter adapter = this.adapter;
+		int count = adapter.getCount();
+		int firstVisibleIndex = this.firstVisibleIndex;
+		int firstSlot = firstVisibleIndex % poolSize;
+		boolean shown = isShown();
+		for (int slot = 0; slot < poolSize; slot++) {
+			Widget child = children[slot];
+			assert child != null;
+			int index = firstVisibleIndex + (slot - firstSlot + poolSize) % poolSize;
+			if (index < count) {
+				if (boundIndexes[slot] != index) {
+					boundIndexes[slot] = index;
+					adapter.bindItem(child, index);
+					layOutItem(child, index);
+				}
+				if (shown && !child.isShown()) {
+					setShownChild(child);
+				}
+			} else {
+				boundIndexes[slot] = NO_ITEM;
+				if (child.isShown()) {
+					setHiddenChild(child);
+				}
+			}
+		}
+	}
+
+	private void layOutItem(Widget child, int index) {
+		int itemSize = this.itemSize;
+		int crossSize = this.crossSize;
+		int position = index * itemSize;
+		if (this.orientation == LayoutOrientation.HORIZONTAL) {
+			computeChildOptimalSize(child, itemSize, crossSize);
+			layOutChild(child, position, 0, itemSize, crossSize);
+		} else {
+			computeChildOptimalSize(child, crossSize, itemSize);
+			layOutChild(child, 0, position, crossSize, itemSize);
+		}
+	}
+
+}
@@ -1,16 +1,22 @@
 /*
- * Copyright 2013-2024 MicroEJ Corp. All rights reserved.
+ * Copyright 2013-2026 MicroEJ Corp. All rights reserved.
  * Use of this source code is governed by a BSD-style license that can be found with this software.
  */
 package com.microej.demo.widget.common.scroll;
 
+import com.microej.demo.widget.common.monitoring.PerformanceMonitor;
+
 import ej.annotation.Nullable;
 import ej.bon.XMath;
 import ej.drawing.ShapePainter.Cap;
 import ej.microui.MicroUI;
+import ej.microui.display.BufferedImage;
+import ej.microui.display.GraphicsContext;
+import ej.microui.display.Painter;
 import ej.mwt.Container;
 import ej.mwt.Widget;
 import ej.mwt.animation.Animator;
+import ej.mwt.util.OutlineHelper;
 import ej.mwt.util.Size;
 import ej.widget.swipe.SwipeEventHandler;
 import ej.widget.swipe.SwipeListener;
@@ -39,6 +45,15 @@ public class Scroll extends Container {
 
 	private int childCoordinate;
 
+	// Partial rendering management.
+	private boolean partialRendering;
+	private int renderedChildCoordinate;
+	private final Size renderSize;
+
+	// Tiled rendering management.
+	private @Nullable TileCache tileCache;
+	private final TilePrerenderer tilePrerenderer;
+
 	/**
 	 * Creates a scroll container specifying its orientation and the visibility of the scrollbar.
 	 *
@@ -53,6 +68,9 @@ public class Scroll extends Container {
 		this.sbVisible = true;
 		this.assistant = new ScrollAssistant();
 		this.allowExcess = true;
+		this.renderedChildCoordinate = Integer.MIN_VALUE;
+		this.renderSize = new Size(0, 0);
+		this.tilePrerenderer = new TilePrerenderer();
 
 		super.addChild(this.scrollbar);
 	}
@@ -179,6 +197,59 @@ public class Scroll extends Container {
 		this.allowExcess = allowExcess;
 	}
 
+	/**
+	 * Sets whether this scroll renders only the part of its content that appears when it moves.
+	 * <p>
+	 * When enabled, the part of the content that is still visible after a move is copied from the display buffer, then
+	 * only the newly exposed strip and the scrollbar are rendered. This requires that:
+	 * <ul>
+	 * <li>the display buffer is fully readable,</li>
+	 * <li>no widget other than the ancestors of this scroll is rendered behind or over it.</li>
+	 * </ul>
+	 * <p>
+	 * When this scroll is transparent, it renders the backgrounds of its ancestors itself, behind the exposed strip or
+	 * behind the whole content: it is then reported as opaque (see {@link #isTransparent()}), so that these
+	 * backgrounds are not rendered over the content to copy.
+	 * <p>
+	 * By default, the whole scroll is rendered on each move.
+	 *
+	 * @param partialRendering
+	 *            {@code true} to render only the exposed strip, {@code false} to render the whole scroll.
+	 */
+	public void setPartialRendering(boolean partialRendering) {
+		this.partialRendering = partialRendering;
+		this.renderedChildCoordinate = Integer.MIN_VALUE;
+	}
+
+	/**
+	 * Sets the cache used to render the child in tiles.
+	 * <p>
+	 * When set, the child is rendered in off-screen tiles that are kept in the cache, and the visible tiles are drawn
+	 * instead of the child. The tiles adjacent to the viewport are rendered in advance, once the pending events have
+	 * been handled. This is useful when the child is complex to render.
+	 * <p>
+	 * This requires that:
+	 * <ul>
+	 * <li>the child is not {@link Scrollable} (a scrollable child only renders the part of its content that is in the
+	 * viewport),</li>
+	 * <li>this scroll background is opaque (it is rendered behind the child in the tiles),</li>
+	 * <li>the cache is cleared (see {@link TileCache#clear()}) when the child content changes,</li>
+	 * <li>the budget of the cache fits in the images heap.</li>
+	 * </ul>
+	 * <p>
+	 * The cache is cleared when this scroll is laid out or hidden.
+	 *
+	 * @param tileCache
+	 *            the tile cache, or {@code null} to render the child directly.
+	 */
+	public void setTileCache(@Nullable TileCache tileCache) {
+		TileCache oldTileCache = this.tileCache;
+		if (oldTileCache != null) {
+			oldTileCache.clear();
+		}
+		this.tileCache = tileCache;
+	}
+
 	@Override
 	protected void computeContentOptimalSize(Size size) {
 		int width = 0;
@@ -215,6 +286,8 @@ public class Scroll extends Container {
 
 	@Override
 	protected void layOutChildren(int contentWidth, int contentHeight) {
+		long start = (PerformanceMonitor.isRecording() ? PerformanceMonitor.start() : 0);
+
 		Scrollable scrollableChild = this.scrollableChild;
 		if (scrollableChild != null) {
 			scrollableChild.initializeViewport(contentWidth, contentHeight);
@@ -224,6 +297,18 @@ public class Scroll extends Container {
 
 		int childCoordinate = -this.scrollbar.getValue();
 		updateViewport(childCoordinate);
+		this.childCoordinate = childCoordinate;
+
+		// Force to render all after a layout.
+		this.renderedChildCoordinate = Integer.MIN_VALUE;
+		TileCache tileCache = this.tileCache;
+		if (tileCache != null) {
+			tileCache.clear();
+		}
+
+		if (PerformanceMonitor.isRecording()) {
+			PerformanceMonitor.onLaidOut(this, start);
+		}
 	}
 
 	private void layoutOnScroll(int contentWidth, int contentHeight) {
@@ -257,7 +342,12 @@ public class Scroll extends Container {
 			Animator animator) {
 		Scrollable scrollable = this.scrollableChild;
 		int[] itemSizes;
-		if (scrollable != null && scrollable.snapToItems()) {
+		if (scrollable instanceof RecyclingList && scrollable.snapToItems()) {
+			// The items of a recycling list all have the same size: no array of sizes is needed to snap to them.
+			RecyclingList list = (RecyclingList) scrollable;
+			return new SwipeEventHandler(this, list.getItemCount(), list.getItemSize(), false, true, horizontal,
+					assistant, animator);
+		} else if (scrollable != null && scrollable.snapToItems()) {
 			itemSizes = scrollable.getItemSizes();
 		} else {
 			itemSizes = null;
@@ -325,10 +415,23 @@ public class Scroll extends Container {
 		layOutChild(child, childX, childY, childWidth, childHeight);
 	}
 
+	@Override
+	protected void onShown() {
+		super.onShown();
+
+		// Force to render all the first time.
+		this.renderedChildCoordinate = Integer.MIN_VALUE;
+	}
+
 	@Override
 	protected void onHidden() {
 		super.onHidden();
 
+		TileCache tileCache = this.tileCache;
+		if (tileCache != null) {
+			tileCache.clear();
+		}
+
 		SwipeEventHandler swipeEventHandler = this.swipeEventHandler;
 		if (swipeEventHandler != null) {
 			swipeEventHandler.stop();
@@ -346,8 +449,8 @@ public class Scroll extends Container {
 	 * @throws UnsupportedOperationException
 	 *             if this scroll content is not {@link Scrollable}.
 	 * @throws UnsupportedOperationException
-	 *             if this scroll content does not provide item sizes.
-	 * @see Scrollable#getItemSizes()
+	 *             if this scroll content does not provide item offsets.
+	 * @see Scrollable#getItemOffset(int)
 	 * @see MicroUI#isUIThread()
 	 */
 	public void scrollToIndex(int index) {
@@ -366,8 +469,8 @@ public class Scroll extends Container {
 	 * @throws UnsupportedOperationException
 	 *             if this scroll content is not {@link Scrollable}.
 	 * @throws UnsupportedOperationException
-	 *             if this scroll content does not provide item sizes.
-	 * @see Scrollable#getItemSizes()
+	 *             if this scroll content does not provide item offsets.
+	 * @see Scrollable#getItemOffset(int)
 	 * @see MicroUI#isUIThread()
 	 */
 	public void scrollToIndex(int index, boolean animate) {
@@ -375,12 +478,7 @@ public class Scroll extends Container {
 		if (child == null) {
 			throw new UnsupportedOperationException();
 		}
-		int[] itemSizes = child.getItemSizes();
-		int position = 0;
-		for (int i = 0; i < index; i++) {
-			position += itemSizes[i];
-		}
-		scrollTo(position, animate);
+		scrollTo(child.getItemOffset(index), animate);
 	}
 
 	/**
@@ -543,6 +641,266 @@ public class Scroll extends Container {
 		return this.sbVisible;
 	}
 
+	@Override
+	public void render(GraphicsContext g) {
+		if (PerformanceMonitor.isRecording()) {
+			long start = PerformanceMonitor.start();
+			renderScroll(g);
+			PerformanceMonitor.onRendered(this, start);
+		} else {
+			renderScroll(g);
+		}
+	}
+
+	private void renderScroll(GraphicsContext g) {
+		int childCoordinate = this.childCoordinate;
+		int renderedChildCoordinate = this.renderedChildCoordinate;
+		this.renderedChildCoordinate = childCoordinate;
+		TileCache tileCache = this.tileCache;
+		Widget child = this.child;
+		if (tileCache != null && child != null && this.scrollableChild == null && isShown()) {
+			renderTiles(g, tileCache, child);
+			return;
+		}
+		if (this.partialRendering && this.child != null && isShown() && renderedChildCoordinate != Integer.MIN_VALUE) {
+			int shift = renderedChildCoordinate - childCoordinate;
+			int contentWidth = getContentWidth();
+			int contentHeight = getContentHeight();
+			int length = this.horizontal ? contentWidth : contentHeight;
+			if (shift != 0 && Math.abs(shift) < length && isContentClipped(g, contentWidth, contentHeight)) {
+				renderShiftedContent(g, shift, contentWidth, contentHeight);
+				return;
+			}
+		}
+		if (this.partialRendering) {
+			renderAncestorBackgrounds(g);
+		}
+		super.render(g);
+	}
+
+	@Override
+	public boolean isTransparent() {
+		// With partial rendering, this scroll renders the backgrounds of its ancestors itself, so that they are not
+		// rendered over the content to copy.
+		return !this.partialRendering && super.isTransparent();
+	}
+
+	private void renderTiles(GraphicsContext g, TileCache tileCache, Widget child) {
+		Size size = this.renderSize;
+		size.setSize(getWidth(), getHeight());
+		OutlineHelper.applyOutlinesAndBackground(g, size, getStyle());
+
+		boolean horizontal = this.horizontal;
+		int tileLength = tileCache.getTileLength();
+		int childCoordinate = this.childCoordinate;
+		int viewportLength = horizontal ? size.getWidth() : size.getHeight();
+		int lastTile = getTileCount(tileCache, child) - 1;
+		int firstVisibleTile = Math.max(0, -childCoordinate / tileLength);
+		int lastVisibleTile = Math.min(lastTile, (viewportLength - childCoordinate - 1) / tileLength);
+		for (int i = firstVisibleTile; i <= lastVisibleTile; i++) {
+			BufferedImage tile = tileCache.getTile(i);
+			if (tile == null) {
+				tile = renderTile(tileCache, child, i);
+			}
+			int tileCoordinate = childCoordinate + i * tileLength;
+			if (horizontal) {
+				Painter.drawImage(g, tile, tileCoordinate, child.getY());
+			} else {
+				Painter.drawImage(g, tile, child.getX(), tileCoordinate);
+			}
+		}
+
+		if (this.sbVisible) {
+			renderChild(this.scrollbar, g);
+		}
+
+		TilePrerenderer tilePrerenderer = this.tilePrerenderer;
+		tilePrerenderer.firstVisibleTile = firstVisibleTile;
+		tilePrerenderer.lastVisibleTile = lastVisibleTile;
+		if (!tilePrerenderer.pending && (firstVisibleTile > 0 || lastVisibleTile < lastTile)) {
+			tilePrerenderer.pending = true;
+			MicroUI.callSerially(tilePrerenderer);
+		}
+	}
+
+	private int getTileCount(TileCache tileCache, Widget child) {
+		int childLength = this.horizontal ? child.getWidth() : child.getHeight();
+		int tileLength = tileCache.getTileLength();
+		return (childLength + tileLength - 1) / tileLength;
+	}
+
+	private BufferedImage renderTile(TileCache tileCache, Widget child, int index) {
+		int tileLength = tileCache.getTileLength();
+		int tileCoordinate = index * tileLength;
+		int width;
+		int height;
+		if (this.horizontal) {
+			width = Math.min(tileLength, child.getWidth() - tileCoordinate);
+			height = child.getHeight();
+		} else {
+			width = child.getWidth();
+			height = Math.min(tileLength, child.getHeight() - tileCoordinate);
+		}
+		BufferedImage tile = tileCache.createTile(index, width, height);
+
+		GraphicsContext tileGraphicsContext = tile.getGraphicsContext();
+		tileGraphicsContext.setTranslation(0, 0);
+		tileGraphicsContext.setClip(0, 0, width, height);
+		getStyle().getBackground().apply(tileGraphicsContext, width, height);
+		if (this.horizontal) {
+			tileGraphicsContext.translate(-tileCoordinate, 0);
+		} else {
+			tileGraphicsContext.translate(0, -tileCoordinate);
+		}
+		child.render(tileGraphicsContext);
+		return tile;
+	}
+
+	private boolean isContentClipped(GraphicsContext g, int contentWidth, int contentHeight) {
+		// The content must be fully in the clip to be copied then partially rendered.
+		int contentX = getContentX();
+		int contentY = getContentY();
+		int clipX = g.getClipX();
+		int clipY = g.getClipY();
+		return clipX <= contentX && clipY <= contentY && clipX + g.getClipWidth() >= contentX + contentWidth
+				&& clipY + g.getClipHeight() >= contentY + contentHeight;
+	}
+
+	private void renderShiftedContent(GraphicsContext g, int shift, int contentWidth, int contentHeight) {
+		int translateX = g.getTranslationX();
+		int translateY = g.getTranslationY();
+		int x = g.getClipX();
+		int y = g.getClipY();
+		int width = g.getClipWidth();
+		int height = g.getClipHeight();
+
+		// Copy the part of the content that is still visible.
+		int contentX = getContentX();
+		int contentY = getContentY();
+		g.translate(contentX, contentY);
+		g.intersectClip(0, 0, contentWidth, contentHeight);
+		int absoluteContentX = getAbsoluteX() + contentX;
+		int absoluteContentY = getAbsoluteY() + contentY;
+		int exposedX = 0;
+		int exposedY = 0;
+		int exposedWidth = contentWidth;
+		int exposedHeight = contentHeight;
+		if (this.horizontal) {
+			Painter.drawDisplayRegion(g, absoluteContentX, absoluteContentY, contentWidth, contentHeight, -shift, 0);
+			exposedWidth = Math.abs(shift);
+			if (shift > 0) {
+				exposedX = contentWidth - shift;
+			}
+		} else {
+			Painter.drawDisplayRegion(g, absoluteContentX, absoluteContentY, contentWidth, contentHeight, 0, -shift);
+			exposedHeight = Math.abs(shift);
+			if (shift > 0) {
+				exposedY = contentHeight - shift;
+			}
+		}
+		g.setTranslation(translateX, translateY);
+		g.setClip(x, y, width, height);
+
+		// Render the part of the content that appears.
+		renderRegion(g, contentX + exposedX, contentY + exposedY, exposedWidth, exposedHeight);
+
+		// Render the scrollbar since it has been copied with the content.
+		if (this.sbVisible) {
+			Scrollbar scrollbar = this.scrollbar;
+			g.setTranslation(translateX, translateY);
+			g.setClip(x, y, width, height);
+			renderRegion(g, contentX + scrollbar.getX(), contentY + scrollbar.getY(), scrollbar.getWidth(),
+					scrollbar.getHeight());
+		}
+	}
+
+	/**
+	 * Renders a region of this scroll: its background (and the ones of its ancestors if it is transparent), its child
+	 * and its scrollbar.
+	 *
+	 * @param g
+	 *            the graphics context, translated to this scroll origin.
+	 * @param x
+	 *            the x coordinate of the region, relative to this scroll.
+	 * @param y
+	 *            the y coordinate of the region, relative to this scroll.
+	 * @param width
+	 *            the width of the region.
+	 * @param height
+	 *            the height of the region.
+	 */
+	private void renderRegion(GraphicsContext g, int x, int y, int width, int height) {
+		g.intersectClip(x, y, width, height);
+		renderBackgroundAndChild(g);
+		if (this.sbVisible) {
+			renderChild(this.scrollbar, g);
+		}
+	}
+
+	/**
+	 * Renders the background of this scroll (and the ones of its ancestors if it is transparent) and its child, in the
+	 * clip of the given graphics context.
+	 * <p>
+	 * When this method returns, the graphics context is translated to the content origin of this scroll and clipped to
+	 * its content bounds.
+	 *
+	 * @param g
+	 *            the graphics context, translated to this scroll origin.
+	 */
+	protected void renderBackgroundAndChild(GraphicsContext g) {
+		renderAncestorBackgrounds(g);
+
+		Size size = this.renderSize;
+		size.setSize(getWidth(), getHeight());
+		OutlineHelper.applyOutlinesAndBackground(g, size, getStyle());
+
+		int translateX = g.getTranslationX();
+		int translateY = g.getTranslationY();
+		int x = g.getClipX();
+		int y = g.getClipY();
+		int width = g.getClipWidth();
+		int height = g.getClipHeight();
+
+		Widget child = this.child;
+		if (child != null) {
+			renderChild(child, g);
+			g.setTranslation(translateX, translateY);
+			g.setClip(x, y, width, height);
+		}
+	}
+
+	private void renderAncestorBackgrounds(GraphicsContext g) {
+		// The backgrounds of the ancestors show through the content when the background of this scroll is transparent.
+		if (getStyle().getBackground().isTransparent()) {
+			renderAncestorBackground(g, getParent());
+		}
+	}
+
+	private void renderAncestorBackground(GraphicsContext g, @Nullable Container ancestor) {
+		if (ancestor == null) {
+			return;
+		}
+		if (ancestor.isTransparent()) {
+			// The background of this ancestor does not cover the area: render the ones behind it first.
+			renderAncestorBackground(g, ancestor.getParent());
+		}
+
+		int translateX = g.getTranslationX();
+		int translateY = g.getTranslationY();
+		int x = g.getClipX();
+		int y = g.getClipY();
+		int width = g.getClipWidth();
+		int height = g.getClipHeight();
+
+		g.translate(ancestor.getAbsoluteX() - getAbsoluteX(), ancestor.getAbsoluteY() - getAbsoluteY());
+		Size size = this.renderSize;
+		size.setSize(ancestor.getWidth(), ancestor.getHeight());
+		OutlineHelper.applyOutlinesAndBackground(g, size, ancestor.getStyle());
+
+		g.setTranslation(translateX, translateY);
+		g.setClip(x, y, width, height);
+	}
+
 	private void shift() {
 		if (isShown()) {
 			int value = this.value;
@@ -563,6 +921,50 @@ public class Scroll extends Container {
 		}
 	}
 
+	/**
+	 * Renders in advance the tiles adjacent to the viewport, one at a time, without evicting the visible tiles.
+	 */
+	class TilePrerenderer implements Runnable {
+
+		private boolean pending;
+		private int firstVisibleTile;
+		private int lastVisibleTile;
+
+		@Override
+		public void run() {
+			this.pending = false;
+			Scroll scroll = Scroll.this;
+			TileCache tileCache = scroll.tileCache;
+			Widget child = scroll.child;
+			if (tileCache == null || child == null || !scroll.isShown()) {
+				return;
+			}
+			int tileCount = scroll.getTileCount(tileCache, child);
+			if (!prerender(tileCache, child, this.lastVisibleTile + 1, tileCount)) {
+				prerender(tileCache, child, this.firstVisibleTile - 1, tileCount);
+			}
+		}
+
+		private boolean prerender(TileCache tileCache, Widget child, int index, int tileCount) {
+			if (index < 0 || index >= tileCount || tileCache.hasTile(index)) {
+				return false;
+			}
+			int leastRecentlyUsedTile = tileCache.getLeastRecentlyUsedTile();
+			boolean visible = leastRecentlyUsedTile >= this.firstVisibleTile
+					&& leastRecentlyUsedTile <= this.lastVisibleTile;
+			int tileLength = tileCache.getTileLength();
+			boolean fits = Scroll.this.horizontal ? tileCache.hasRoomFor(tileLength, child.getHeight())
+					: tileCache.hasRoomFor(child.getWidth(), tileLength);
+			if (visible && !fits) {
+				// Do not evict a visible tile.
+				return false;
+			}
+			renderTile(tileCache, child, index);
+			return true;
+		}
+
+	}
+
 	class ScrollAssistant implements Swipeable, SwipeListener {
 
 		@Override
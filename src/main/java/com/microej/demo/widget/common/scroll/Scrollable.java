@@ -1,5 +1,5 @@
 /*
- * Copyright 2014-2024 MicroEJ Corp. All rights reserved.
+ * Copyright 2014-2026 MicroEJ Corp. All rights reserved.
  * Use of this source code is governed by a BSD-style license that can be found with this software.
  */
 package com.microej.demo.widget.common.scroll;
@@ -43,6 +43,9 @@ public interface Scrollable {
 	 * Called after the layout to get item sizes when {@link #snapToItems()} is {@code true} or when scrolling to
 	 * specific item.
 	 * <p>
+	 * The returned array is cached by this {@code Scrollable} and updated when it is laid out: it must not be
+	 * modified.
+	 * <p>
 	 * If not applicable, this methods should throw an `{@link UnsupportedOperationException}.
 	 *
 	 * @return the item sizes.
@@ -52,4 +55,31 @@ public interface Scrollable {
 	 */
 	int[] getItemSizes() throws UnsupportedOperationException;
 
+	/**
+	 * Called after the layout to get the size of an item.
+	 * <p>
+	 * If not applicable, this methods should throw an `{@link UnsupportedOperationException}.
+	 *
+	 * @param index
+	 *            the item index.
+	 * @return the size (width or height depending on the orientation) of the item.
+	 * @throws UnsupportedOperationException
+	 *             if this {@code Scrollable} does not have any special index position.
+	 */
+	int getItemSize(int index) throws UnsupportedOperationException;
+
+	/**
+	 * Called after the layout to get the position of an item when scrolling to it.
+	 * <p>
+	 * If not applicable, this methods should throw an `{@link UnsupportedOperationException}.
+	 *
+	 * @param index
+	 *            the item index.
+	 * @return the position (x or y depending on the orientation) of the item, relative to this {@code Scrollable}.
+	 * @throws UnsupportedOperationException
+	 *             if this {@code Scrollable} does not have any special index position.
+	 * @see Scroll#scrollToIndex(int, boolean)
+	 */
+	int getItemOffset(int index) throws UnsupportedOperationException;
+
 }
@@ -1,5 +1,5 @@
 /*
- * Copyright 2014-2024 MicroEJ Corp. All rights reserved.
+ * Copyright 2014-2026 MicroEJ Corp. All rights reserved.
  * Use of this source code is governed by a BSD-style license that can be found with this software.
  */
 package com.microej.demo.widget.common.scroll;
@@ -21,6 +21,8 @@ public class ScrollableList extends List implements Scrollable {
 	private int viewportHeight;
 	private int firstVisibleChildIndex;
 	private int lastVisibleChildIndex;
+	private int[] itemSizes;
+	private int[] itemOffsets;
 
 	/**
 	 * Creates a scrollable list specifying its orientation.
@@ -33,6 +35,14 @@ public class ScrollableList extends List implements Scrollable {
 	public ScrollableList(boolean orientation, boolean snapToItems) {
 		super(orientation);
 		this.snapToItems = snapToItems;
+		this.itemSizes = new int[0];
+		this.itemOffsets = new int[0];
+	}
+
+	@Override
+	protected void layOutChildren(int contentWidth, int contentHeight) {
+		super.layOutChildren(contentWidth, contentHeight);
+		updateItemOffsets();
 	}
 
 	@Override
@@ -94,15 +104,17 @@ public class ScrollableList extends List implements Scrollable {
 
 	@Override
 	public @NonNull int[] getItemSizes() {
-		Widget[] children = getChildren();
-		int childrenLength = children.length;
-		int[] sizes = new int[childrenLength];
-		for (int i = 0; i < childrenLength; i++) {
-			Widget child = children[i];
-			assert child != null;
-			sizes[i] = child.getHeight();
-		}
-		return sizes;
+		return this.itemSizes;
+	}
+
+	@Override
+	public int getItemSize(int index) {
+		return this.itemSizes[index];
+	}
+
+	@Override
+	public int getItemOffset(int index) {
+		return this.itemOffsets[index];
 	}
 
 	/**
@@ -183,63 +195,89 @@ public class ScrollableList extends List implements Scrollable {
 	}
 
 	private int getFirstVisible(int x, int y) {
-		int index = this.firstVisibleChildIndex;
-		Widget previousFirstVisibleChild = getChild(index);
-		if (getOrientation() == LayoutOrientation.HORIZONTAL) {
-			getFirstVisibleHorizontally(x, previousFirstVisibleChild);
-		} else {
-			getFirstVisibleVertically(y, previousFirstVisibleChild);
-		}
-
-		return this.firstVisibleChildIndex;
+		int position = (getOrientation() == LayoutOrientation.HORIZONTAL) ? -x : -y;
+		int firstVisibleChildIndex = getItemIndexAt(position);
+		this.firstVisibleChildIndex = firstVisibleChildIndex;
+		return firstVisibleChildIndex;
 	}
 
-	private void getFirstVisibleVertically(int y, Widget previousFirstVisibleChild) {
-		// Be aware that the code is quite the same as getFirstVisibleHorizontally method.
-
-		int childY = previousFirstVisibleChild.getY();
-		int childHeight = previousFirstVisibleChild.getHeight();
-		boolean stillFirst = childY <= -y && childY + childHeight >= -y;
-		if (!stillFirst) {
-			boolean searchForward = childY + childHeight < -y;
-			Widget[] children = getChildren();
-			int size = children.length;
-			int firstCandidate = searchForward ? size - 1 : 0;
-			for (int i = this.firstVisibleChildIndex; i >= 0 && i < size; i += (searchForward ? 1 : -1)) {
-				Widget child = children[i];
-				int candidateY = child.getY();
-				int candidateHeight = child.getHeight();
-				if (candidateY <= -y && candidateY + candidateHeight >= -y) {
-					firstCandidate = i;
-					break;
-				}
+	/**
+	 * Gets the index of the item at the given position, using a binary search in the item offsets.
+	 * <p>
+	 * Should be called after the layout of this list.
+	 *
+	 * @param position
+	 *            the position (x or y depending on the orientation) relative to this list.
+	 * @return the index of the last item starting before or at the given position, or <code>0</code> if there is none.
+	 */
+	public int getItemIndexAt(int position) {
+		int[] itemOffsets = this.itemOffsets;
+		int low = 0;
+		int high = itemOffsets.length - 2;
+		while (low < high) {
+			int middle = (low + high + 1) >>> 1;
+			if (itemOffsets[middle] <= position) {
+				low = middle;
+			} else {
+				high = middle - 1;
 			}
-			this.firstVisibleChildIndex = firstCandidate;
 		}
+		return low;
 	}
 
-	private void getFirstVisibleHorizontally(int x, Widget previousFirstVisibleChild) {
-		// Be aware that the code is quite the same as getFirstVisibleVertically method.
+	/**
+	 * Updates the size and the offset of the items from the first one that changed, and the end offset of the last one.
+	 * <p>
+	 * Called after each layout since it is the only moment where the children may be inserted, removed or resized.
+	 */
+	private void updateItemOffsets() {
+		Widget[] children = getChildren();
+		int childrenLength = children.length;
+		boolean horizontal = (getOrientation() == LayoutOrientation.HORIZONTAL);
+		int[] itemSizes = this.itemSizes;
+		int[] itemOffsets = this.itemOffsets;
+		int first;
+		if (itemSizes.length != childrenLength) {
+			itemSizes = new int[childrenLength];
+			itemOffsets = new int[childrenLength + 1];
+			this.itemSizes = itemSizes;
+			this.itemOffsets = itemOffsets;
+			first = 0;
+		} else {
+			first = getFirstChangedItem(children, horizontal);
+			if (first == childrenLength) {
+				// Neither the offsets nor the end offset of the last item have changed.
+				return;
+			}
+		}
 
-		int childX = previousFirstVisibleChild.getX();
-		int childWidth = previousFirstVisibleChild.getWidth();
-		boolean stillFirst = childX <= -x && childX + childWidth >= -x;
-		if (!stillFirst) {
-			boolean searchForward = childX + childWidth < -x;
-			Widget[] children = getChildren();
-			int size = children.length;
-			int firstCandidate = searchForward ? size - 1 : 0;
-			for (int i = this.firstVisibleChildIndex; i >= 0 && i < size; i += (searchForward ? 1 : -1)) {
-				Widget child = children[i];
-				int candidateX = child.getX();
-				int candidateWidth = child.getWidth();
-				if (candidateX <= -x && candidateX + candidateWidth >= -x) {
-					firstCandidate = i;
-					break;
-				}
+		for (int i = first; i < childrenLength; i++) {
+			Widget child = children[i];
+			assert child != null;
+			itemSizes[i] = horizontal ? child.getWidth() : child.getHeight();
+			itemOffsets[i] = horizontal ? child.getX() : child.getY();
+		}
+		int last = childrenLength - 1;
+		itemOffsets[childrenLength] = (last >= 0) ? itemOffsets[last] + itemSizes[last] : 0;
+	}
+
+	/**
+	 * Gets the index of the first child whose offset or size differs from the index, or the number of children if none.
+	 */
+	private int getFirstChangedItem(Widget[] children, boolean horizontal) {
+		int[] itemSizes = this.itemSizes;
+		int[] itemOffsets = this.itemOffsets;
+		int childrenLength = children.length;
+		for (int i = 0; i < childrenLength; i++) {
+			Widget child = children[i];
+			assert child != null;
+			int offset = horizontal ? child.getX() : child.getY();
+			int size = horizontal ? child.getWidth() : child.getHeight();
+			if (itemOffsets[i] != offset || itemSizes[i] != size) {
+				return i;
 			}
-			this.firstVisibleChildIndex = firstCandidate;
 		}
+		return childrenLength;
 	}
 
 }
@@ -0,0 +1,228 @@
+/*
+ * Copyright 2026 MicroEJ Corp. All rights reserved.
+ * Use of this source code is governed by a BSD-style license that can be found with this software.
+ */
+package com.microej.demo.widget.common.scroll;
+
+import ej.annotation.Nullable;
+import ej.microui.display.BufferedImage;
+import ej.microui.display.Display;
+
+/**
+ * Caches the rendering of a scroll content in tiles.
+ * <p>
+ * The content is split in tiles of a fixed length along the scroll orientation. Each tile is kept in a
+ * {@link BufferedImage}. When the total size of the images exceeds the budget, the least recently used tiles are
+ * evicted (their images are reused when possible).
+ * <p>
+ * The images are allocated in the images heap (<code>ej.microui.memory.imagesheap.size</code>): covering a 480x272
+ * viewport on a 16-bit display takes more than 261 120 bytes, far more than the images heap of this demo. The images
+ * heap must be sized for the budget, otherwise the allocation of a tile fails.
+ *
+ * @see Scroll#setTileCache(TileCache)
+ */
+public class TileCache {
+
+	private static final int BITS_PER_BYTE = 8;
+	private static final int INITIAL_CAPACITY = 4;
+
+	private final int tileLength;
+	private final int budget;
+
+	private int[] indexes;
+	private BufferedImage[] images;
+	private long[] lastUses;
+	private int count;
+	private int size;
+	private long useCounter;
+
+	/**
+	 * Creates a tile cache.
+	 *
+	 * @param tileLength
+	 *            the length of the tiles along the scroll orientation, in pixels.
+	 * @param budget
+	 *            the maximum size of the tiles images, in bytes. It should allow to keep at least the tiles covering
+	 *            the scroll viewport, and must fit in the images heap along with the other images.
+	 */
+	public TileCache(int tileLength, int budget) {
+		this.tileLength = tileLength;
+		this.budget = budget;
+		this.indexes = new int[INITIAL_CAPACITY];
+		this.images = new BufferedImage[INITIAL_CAPACITY];
+		this.lastUses = new long[INITIAL_CAPACITY];
+	}
+
+	/**
+	 * Gets the length of the tiles along the scroll orientation.
+	 *
+	 * @return the tile length, in pixels.
+	 */
+	public int getTileLength() {
+		return this.tileLength;
+	}
+
+	/**
+	 * Gets the image of a tile and marks it as recently used.
+	 *
+	 * @param index
+	 *            the index of the tile.
+	 * @return the image of the tile or {@code null} if it is not in the cache.
+	 */
+	public @Nullable BufferedImage getTile(int index) {
+		int position = getPosition(index);
+		if (position == -1) {
+			return null;
+		}
+		this.lastUses[position] = ++this.useCounter;
+		return this.images[position];
+	}
+
+	/**
+	 * Gets whether a tile is in the cache, without marking it as recently used.
+	 *
+	 * @param index
+	 *            the index of the tile.
+	 * @return {@code true} if the tile is in the cache, {@code false} otherwise.
+	 */
+	public boolean hasTile(int index) {
+		return getPosition(index) != -1;
+	}
+
+	/**
+	 * Gets the index of the tile that would be evicted to add a new one.
+	 *
+	 * @return the index of the least recently used tile, or <code>-1</code> if the cache is empty.
+	 */
+	public int getLeastRecentlyUsedTile() {
+		int position = getLeastRecentlyUsedPosition();
+		return (position == -1) ? -1 : this.indexes[position];
+	}
+
+	/**
+	 * Gets whether a tile of the given size can be added without evicting other tiles.
+	 *
+	 * @param width
+	 *            the width of the tile.
+	 * @param height
+	 *            the height of the tile.
+	 * @return {@code true} if there is room for the tile, {@code false} otherwise.
+	 */
+	public boolean hasRoomFor(int width, int height) {
+		return this.size + getImageSize(width, height) <= this.budget;
+	}
+
+	/**
+	 * Adds a tile to the cache and marks it as recently used.
+	 * <p>
+	 * The least recently used tiles are evicted until the new tile fits in the budget. The content of the returned
+	 * image is undefined: the caller is responsible for rendering the tile in it.
+	 *
+	 * @param index
+	 *            the index of the tile.
+	 * @param width
+	 *            the width of the tile.
+	 * @param height
+	 *            the height of the tile.
+	 * @return the image of the tile.
+	 */
+	public BufferedImage createTile(int index, int width, int height) {
+		int imageSize = getImageSize(width, height);
+		BufferedImage reusableImage = null;
+		while (this.count > 0 && this.size + imageSize > this.budget) {
+			int position = getLeastRecentlyUsedPosition();
+			BufferedImage image = this.images[position];
+			assert image != null;
+			removeAt(position);
+			if (reusableImage == null && image.getWidth() == width && image.getHeight() == height) {
+				reusableImage = image;
+			} else {
+				image.close();
+			}
+		}
+		if (reusableImage == null) {
+			reusableImage = new BufferedImage(width, height);
+		}
+
+		int count = this.count;
+		if (count == this.indexes.length) {
+			grow();
+		}
+		this.indexes[count] = index;
+		this.images[count] = reusableImage;
+		this.lastUses[count] = ++this.useCounter;
+		this.count = count + 1;
+		this.size += imageSize;
+		return reusableImage;
+	}
+
+	/**
+	 * Removes all the tiles and closes their images.
+	 */
+	public void clear() {
+		BufferedImage[] images = this.images;
+		for (int i = 0; i < this.count; i++) {
+			BufferedImage image = images[i];
+			assert image != null;
+			image.close();
+			images[i] = null;
+		}
+		this.count = 0;
+		this.size = 0;
+	}
+
+	private int getPosition(int index) {
+		int[] indexes = this.indexes;
+		for (int i = 0; i < this.count; i++) {
+			if (indexes[i] == index) {
+				return i;
+			}
+		}
+		return -1;
+	}
+
+	private int getLeastRecentlyUsedPosition() {
+		long[] lastUses = this.lastUses;
+		int position = -1;
+		long oldestUse = Long.MAX_VALUE;
+		for (int i = 0; i < this.count; i++) {
+			if (lastUses[i] < oldestUse) {
+				oldestUse = lastUses[i];
+				position = i;
+			}
+		}
+		return position;
+	}
+
+	private void removeAt(int position) {
+		BufferedImage image = this.images[position];
+		assert image != null;
+		this.size -= getImageSize(image.getWidth(), image.getHeight());
+
+		// Move the last tile to the freed position.
+		int last = this.count - 1;
+		this.indexes[position] = this.indexes[last];
+		this.images[position] = this.images[last];
+		this.lastUses[position] = this.lastUses[last];
+		this.images[last] = null;
+		this.count = last;
+	}
+
+	private void grow() {
+		int capacity = this.indexes.length * 2;
+		int[] indexes = new int[capacity];
+		BufferedImage[] images = new BufferedImage[capacity];
+		long[] lastUses = new long[capacity];
+		System.arraycopy(this.indexes, 0, indexes, 0, this.count);
+		System.arraycopy(this.images, 0, images, 0, this.count);
+		System.arraycopy(this.lastUses, 0, lastUses, 0, this.count);
+		this.indexes = indexes;
+		this.images = images;
+		this.lastUses = lastUses;
+	}
+
+	private static int getImageSize(int width, int height) {
+		return width * height * Display.getDisplay().getPixelDepth() / BITS_PER_BYTE;
+	}
+
+}
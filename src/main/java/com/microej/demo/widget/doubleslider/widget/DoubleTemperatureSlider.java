@@ -1,9 +1,12 @@
 /*
- * Copyright 2021-2024 MicroEJ Corp. All rights reserved.
+ * Copyright 2021-2026 MicroEJ Corp. All rights reserved.
  * Use of this source code is governed by a BSD-style license that can be found with this software.
  */
 package com.microej.demo.widget.doubleslider.widget;
 
+import com.microej.demo.widget.common.CharsPainter;
+import com.microej.demo.widget.common.NumberFormatter;
+
 import ej.bon.XMath;
 import ej.drawing.ShapePainter;
 import ej.drawing.ShapePainter.Cap;
@@ -35,12 +38,13 @@ public class DoubleTemperatureSlider extends Widget implements EventHandler {
 	private static final int COLD_COLOR = 0x4b96fb;
 
 	private static final int GUIDE_SIZE_FACTOR = 3;
-	private static final int TEN = 10;
 	private static final int THICKNESS = 1;
 	private static final int FADE = 1;
 	private static final Cap CAP = Cap.NONE;
 
 	private static final String TEMPERATURE_PATTERN = "00.0°C"; //$NON-NLS-1$
+	private static final String TEMPERATURE_UNIT = "°C"; //$NON-NLS-1$
+	private static final int TEMPERATURE_DECIMALS = 1;
 
 	/**
 	 * Slider color.
@@ -57,6 +61,7 @@ public class DoubleTemperatureSlider extends Widget implements EventHandler {
 	private float coolValue;
 	private boolean pressedHeat;
 	private boolean pressedCool;
+	private final char[] valueChars;
 
 	/**
 	 * Creates a vertical slider.
@@ -82,6 +87,8 @@ public class DoubleTemperatureSlider extends Widget implements EventHandler {
 		this.maximum = max;
 		this.heatValue = XMath.limit(initialHeatValue, min, max);
 		this.coolValue = XMath.limit(initialCoolValue, this.heatValue, max);
+		this.valueChars = new char[NumberFormatter.getMaxFixedLength(TEMPERATURE_DECIMALS)
+				+ TEMPERATURE_UNIT.length()];
 	}
 
 	@Override
@@ -138,8 +145,8 @@ public class DoubleTemperatureSlider extends Widget implements EventHandler {
 		g.setColor(color);
 		int baselineY = halfSliderHeight / 2;
 		int temperatureShiftY = baselineY - font.getBaselinePosition();
-		Painter.drawString(g, getValue(this.coolValue), font, temperatureX, coolSliderY + temperatureShiftY);
-		Painter.drawString(g, getValue(this.heatValue), font, temperatureX, heatSliderY + temperatureShiftY);
+		drawValue(g, this.coolValue, font, temperatureX, coolSliderY + temperatureShiftY);
+		drawValue(g, this.heatValue, font, temperatureX, heatSliderY + temperatureShiftY);
 	}
 
 	private void drawIndicator(GraphicsContext g, int x, int y, int width, int height, int sliderColor,
@@ -207,10 +214,13 @@ public class DoubleTemperatureSlider extends Widget implements EventHandler {
 		}
 	}
 
-	private static String getValue(float value) {
-		int intPart = (int) value;
-		int decimal = (int) ((value - intPart) * TEN);
-		return String.valueOf(intPart) + '.' + decimal + '°' + 'C';
+	private void drawValue(GraphicsContext g, float value, Font font, int x, int y) {
+		char[] valueChars = this.valueChars;
+		int length = NumberFormatter.formatFixed(value, TEMPERATURE_DECIMALS, valueChars, 0);
+		String unit = TEMPERATURE_UNIT;
+		unit.getChars(0, unit.length(), valueChars, length);
+		length += unit.length();
+		CharsPainter.drawChars(g, valueChars, 0, length, font, x, y);
 	}
 
 	@Override
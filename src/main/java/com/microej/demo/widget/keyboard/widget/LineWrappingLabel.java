@@ -1,9 +1,11 @@
 /*
- * Copyright 2021-2023 MicroEJ Corp. All rights reserved.
+ * Copyright 2021-2026 MicroEJ Corp. All rights reserved.
  * Use of this source code is governed by a BSD-style license that can be found with this software.
  */
 package com.microej.demo.widget.keyboard.widget;
 
+import com.microej.demo.widget.common.WrappedText;
+
 import ej.annotation.Nullable;
 import ej.microui.display.Font;
 import ej.microui.display.GraphicsContext;
@@ -11,18 +13,21 @@ import ej.mwt.Widget;
 import ej.mwt.style.Style;
 import ej.mwt.util.Size;
 import ej.widget.render.StringPainter;
-import ej.widget.render.TextHelper;
 
 /**
  * A label is a widget that displays a text.
  * <p>
  * This label wraps lines depending on the width that is available for the widget. <br>
  * The height depends on the font height and how many lines are needed to display the whole text in the given width.
+ * <p>
+ * The wrapped lines are kept until the text, the font or the width change. When the text is modified, only the
+ * modified paragraphs are wrapped again.
  */
 public class LineWrappingLabel extends Widget {
 
 	private @Nullable String[] textSplit;
 	private String text;
+	private final WrappedText wrappedText;
 
 	/**
 	 * Creates a label with an empty text.
@@ -39,6 +44,7 @@ public class LineWrappingLabel extends Widget {
 	 */
 	public LineWrappingLabel(String text) {
 		this.text = text;
+		this.wrappedText = new WrappedText();
 	}
 
 	/**
@@ -71,6 +77,7 @@ public class LineWrappingLabel extends Widget {
 	@Override
 	protected void onDetached() {
 		this.textSplit = null;
+		this.wrappedText.clear();
 	}
 
 	@Override
@@ -79,7 +86,7 @@ public class LineWrappingLabel extends Widget {
 		Font font = style.getFont();
 		int width = size.getWidth();
 
-		String[] textSplit = TextHelper.wrap(getText(), font, width);
+		String[] textSplit = this.wrappedText.wrap(getText(), font, width);
 		int height = font.getHeight() * textSplit.length;
 		size.setHeight(height);
 	}
@@ -113,6 +120,6 @@ public class LineWrappingLabel extends Widget {
 	private String[] getSplitText() {
 		Style style = getStyle();
 		Font font = style.getFont();
-		return TextHelper.wrap(getText(), font, getWidth());
+		return this.wrappedText.wrap(getText(), font, getContentBounds().getWidth());
 	}
 }
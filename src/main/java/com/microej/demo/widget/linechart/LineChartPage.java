@@ -1,12 +1,12 @@
 /*
- * Copyright 2021-2024 MicroEJ Corp. All rights reserved.
+ * Copyright 2021-2026 MicroEJ Corp. All rights reserved.
  * Use of this source code is governed by a BSD-style license that can be found with this software.
  */
 package com.microej.demo.widget.linechart;
 
 import com.microej.demo.widget.common.DemoColors;
 import com.microej.demo.widget.common.Page;
-import com.microej.demo.widget.linechart.widget.ChartPoint;
+import com.microej.demo.widget.common.chart.ChartSeries;
 import com.microej.demo.widget.linechart.widget.LineChart;
 
 import ej.bon.Immutables;
@@ -59,12 +59,19 @@ public class LineChartPage implements Page {
 	}
 
 	private void fillChart(LineChart chart) {
-		for (String month : MONTHS) {
-			String name = month.substring(0, 1);
-			float value = genRandomPositiveValue();
-			ChartPoint point = new ChartPoint(name, month, value);
-			chart.addPoint(point);
+		String[] months = MONTHS;
+		int monthsCount = months.length;
+		String[] names = new String[monthsCount];
+		for (int i = 0; i < monthsCount; i++) {
+			names[i] = months[i].substring(0, 1);
 		}
+
+		ChartSeries series = new ChartSeries(monthsCount);
+		series.setLabels(names, months);
+		for (int i = 0; i < monthsCount; i++) {
+			series.add(genRandomPositiveValue());
+		}
+		chart.setSeries(series);
 	}
 
 	private float genRandomPositiveValue() {
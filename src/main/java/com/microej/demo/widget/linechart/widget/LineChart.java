@@ -1,18 +1,24 @@
 /*
- * Copyright 2021-2024 MicroEJ Corp. All rights reserved.
+ * Copyright 2021-2026 MicroEJ Corp. All rights reserved.
  * Use of this source code is governed by a BSD-style license that can be found with this software.
  */
 package com.microej.demo.widget.linechart.widget;
 
+import com.microej.demo.widget.common.CharsPainter;
 import com.microej.demo.widget.common.CirclePainter;
 import com.microej.demo.widget.common.DottedLinePainter;
+import com.microej.demo.widget.common.NumberFormatter;
+import com.microej.demo.widget.common.chart.ChartSeries;
+import com.microej.demo.widget.common.chart.DecimatedSeries;
+import com.microej.demo.widget.common.chart.StaticLayer;
 
-import ej.basictool.ArrayTools;
+import ej.annotation.Nullable;
 import ej.bon.XMath;
 import ej.drawing.ShapePainter;
 import ej.drawing.ShapePainter.Cap;
 import ej.microui.display.Font;
 import ej.microui.display.GraphicsContext;
+import ej.microui.display.Painter;
 import ej.microui.event.Event;
 import ej.microui.event.generator.Buttons;
 import ej.microui.event.generator.Pointer;
@@ -29,6 +35,16 @@ import ej.widget.render.StringPainter;
 
 /**
  * Represents a line chart with several ordered points.
+ * <p>
+ * When the series has more values than the chart has pixel columns, the line is drawn through the lowest and highest
+ * values of each column (see {@link DecimatedSeries}) and only the x-axis labels that do not overlap are drawn, so that
+ * the rendering time does not depend on the size of the series.
+ * <p>
+ * The unit, the scale and the x-axis labels are kept in {@link StaticLayer}s, so that they are drawn from images when
+ * the selection or the apparition animation changes.
+ * <p>
+ * In the scrolling window mode (see {@link #setScrollingStep(int)}), the chart shows the last values of its series as
+ * a live trace that scrolls to the left when values are appended.
  */
 public class LineChart extends Widget implements MotionAnimationListener {
 
@@ -55,7 +71,7 @@ public class LineChart extends Widget implements MotionAnimationListener {
 
 	private static final int DEFAULT_SCALE_COUNT = 5;
 	private static final int DECIMALS_LONG_COUNT = 3;
-	private static final String DECIMALS_SEPARATOR = "."; //$NON-NLS-1$
+	private static final String SELECTED_VALUE_SEPARATOR = ": "; //$NON-NLS-1$
 
 	private static final int PADDING_Y_BAR = 5;
 	private static final int PADDING_X_BAR = 5;
@@ -63,6 +79,8 @@ public class LineChart extends Widget implements MotionAnimationListener {
 	private static final int POINT_RADIUS = 4;
 	private static final int LINE_THICKNESS = 1;
 	private static final int LINE_FADE = 1;
+	private static final int LABEL_SPACING = 2;
+	private static final int SELECTION_MARGIN = 2;
 
 	private static final int ANIMATION_DURATION = 600;
 	private static final int ANIMATION_MIN = 0;
@@ -70,12 +88,15 @@ public class LineChart extends Widget implements MotionAnimationListener {
 
 	private static final int DECIMAL = 10;
 
-	/**
-	 * List of all the ChartPoints displayed on the LineChart.
-	 */
-	protected ChartPoint[] points;
+	private static final long NOT_RENDERED = -1;
+
+	private ChartSeries series;
+	private final DecimatedSeries decimatedSeries;
+	private final StaticLayer scaleLayer;
+	private final StaticLayer labelsLayer;
 
 	private String unit;
+	private final char[] valueChars;
 	private int scaleCount;
 
 	private int selectedChartPointIndex;
@@ -84,6 +105,24 @@ public class LineChart extends Widget implements MotionAnimationListener {
 
 	private final boolean drawCircle;
 
+	// Layout metrics, computed after a layout and when the top value of the scale changes.
+	private boolean metricsValid;
+	private float metricsTopValue;
+	private int yBarWidth;
+	private int yBarTopHeight;
+	private int xBarHeight;
+
+	// Scrolling window management.
+	private int scrollingStep;
+	// The state of the last rendering of the whole trace, to know whether it can be shifted.
+	private long renderedAppendedCount;
+	private int renderedResetCount;
+	private float renderedTopValue;
+	private int renderedSelectedIndex;
+	// The region of the content that contains the trace, relative to the content.
+	private int traceX;
+	private int traceY;
+
 	/**
 	 * Creates a LineChart Widget.
 	 */
@@ -101,9 +140,14 @@ public class LineChart extends Widget implements MotionAnimationListener {
 		super(true);
 		this.drawCircle = drawCircle;
 		this.unit = ""; //$NON-NLS-1$
+		this.valueChars = new char[NumberFormatter.getMaxFixedLength(DECIMALS_LONG_COUNT)];
 		this.scaleCount = DEFAULT_SCALE_COUNT;
 		this.selectedChartPointIndex = -1;
-		this.points = new ChartPoint[0];
+		this.series = new ChartSeries();
+		this.decimatedSeries = new DecimatedSeries();
+		this.scaleLayer = new StaticLayer();
+		this.labelsLayer = new StaticLayer();
+		this.renderedAppendedCount = NOT_RENDERED;
 	}
 
 	/**
@@ -114,6 +158,9 @@ public class LineChart extends Widget implements MotionAnimationListener {
 	 */
 	public void setUnit(String unit) {
 		this.unit = unit;
+		this.metricsValid = false;
+		invalidateStaticLayers();
+		this.renderedAppendedCount = NOT_RENDERED;
 	}
 
 	/**
@@ -133,6 +180,8 @@ public class LineChart extends Widget implements MotionAnimationListener {
 	 */
 	public void setScaleCount(int scaleCount) {
 		this.scaleCount = scaleCount;
+		invalidateStaticLayers();
+		this.renderedAppendedCount = NOT_RENDERED;
 	}
 
 	/**
@@ -145,20 +194,71 @@ public class LineChart extends Widget implements MotionAnimationListener {
 	}
 
 	/**
-	 * Adds a point.
+	 * Sets the series of values displayed by this chart.
+	 * <p>
+	 * The selection is cleared.
+	 *
+	 * @param series
+	 *            the series to display.
+	 */
+	public void setSeries(ChartSeries series) {
+		this.series = series;
+		invalidateStaticLayers();
+		this.selectedChartPointIndex = -1;
+		this.renderedAppendedCount = NOT_RENDERED;
+	}
+
+	/**
+	 * Gets the series of values displayed by this chart.
+	 * <p>
+	 * The chart must be rendered again once the series is modified, and the selection cleared if the selected value is
+	 * removed.
 	 *
-	 * @param chartPoint
-	 *            the point to add
+	 * @return the displayed series.
 	 */
-	public void addPoint(ChartPoint chartPoint) {
-		this.points = ArrayTools.add(this.points, chartPoint);
+	public ChartSeries getSeries() {
+		return this.series;
 	}
 
 	/**
-	 * Removes all points.
+	 * Sets the scrolling window mode.
+	 * <p>
+	 * In this mode, each value takes a fixed width: the last value of the series is drawn at the right of the chart and
+	 * the previous ones to its left, as far as the chart width allows. The x-axis labels are not drawn.
+	 * <p>
+	 * When values have only been appended to the series since the previous rendering, the trace already drawn is
+	 * copied from the display buffer and shifted to the left, then only the new segments are rendered. This requires
+	 * that:
+	 * <ul>
+	 * <li>the display buffer is fully readable,</li>
+	 * <li>no widget other than the ancestors of this chart is rendered behind or over it,</li>
+	 * <li>the series holds at least as many values as the chart width can show (see
+	 * {@link ChartSeries#setMaxSize(int)}).</li>
+	 * </ul>
+	 * <p>
+	 * The whole chart is rendered when the scale changes, when a value is selected or when the series is reset.
+	 *
+	 * @param step
+	 *            the width of a value in pixels, or zero to spread the values over the whole width of the chart.
+	 * @throws IllegalArgumentException
+	 *             if the given step is negative.
 	 */
-	public void clearPoints() {
-		this.points = new ChartPoint[0];
+	public void setScrollingStep(int step) {
+		if (step < 0) {
+			throw new IllegalArgumentException();
+		}
+		this.scrollingStep = step;
+		invalidateStaticLayers();
+		this.renderedAppendedCount = NOT_RENDERED;
+	}
+
+	/**
+	 * Gets the width of a value in the scrolling window mode.
+	 *
+	 * @return the width of a value in pixels, or zero if the values are spread over the whole width of the chart.
+	 */
+	public int getScrollingStep() {
+		return this.scrollingStep;
 	}
 
 	/*
@@ -189,20 +289,30 @@ public class LineChart extends Widget implements MotionAnimationListener {
 		int xContentStart = getAbsoluteX() + bound.getX();
 		pointerX = pointerX - xContentStart;
 
-		Font font = getStyle().getFont();
-		int yBarWidth = getYBarWidth(font, getTopScaleValue());
-		int xStart = yBarWidth;
+		updateMetrics(getTopScaleValue());
+		int xStart = this.yBarWidth;
 
 		int xEnd = bound.getWidth();
 
 		if (pointerX >= xStart && pointerX < xEnd) {
-			int selectedPoint = this.points.length * (pointerX - xStart) / (xEnd - xStart);
-			selectPoint(selectedPoint);
+			selectPoint(getPointIndex(pointerX, xStart, xEnd));
 		} else {
 			selectPoint(-1);
 		}
 	}
 
+	private int getPointIndex(int x, int xStart, int xEnd) {
+		int size = this.series.size();
+		int step = this.scrollingStep;
+		if (step > 0) {
+			int lastX = xEnd - 1 - step / 2;
+			int index = size - 1 - (lastX - x + step / 2) / step;
+			return (index >= 0 && index < size) ? index : -1;
+		} else {
+			return size * (x - xStart) / (xEnd - xStart);
+		}
+	}
+
 	/**
 	 * Selects one of the points.
 	 *
@@ -210,33 +320,40 @@ public class LineChart extends Widget implements MotionAnimationListener {
 	 *            the index of the point to select or -1 to deselect all.
 	 */
 	public void selectPoint(int pointIndex) {
-		ChartPoint[] points = this.points;
+		ChartSeries series = this.series;
 		// check the index
-		if (pointIndex >= points.length) {
+		if (pointIndex >= series.size()) {
 			throw new IndexOutOfBoundsException();
 		}
 		int lastIndex = this.selectedChartPointIndex;
 
 		if (pointIndex != lastIndex) {
-			// unselect previously selected point
-			if (lastIndex > -1) {
-				ChartPoint oldPoint = points[lastIndex];
-				oldPoint.setSelected(false);
-			}
-
 			// select newly selected point
 			this.selectedChartPointIndex = pointIndex;
-			if (pointIndex > -1) {
-				ChartPoint newPoint = points[pointIndex];
-				if (newPoint.getValue() < 0.0f) {
-					this.selectedChartPointIndex = -1;
-				} else {
-					newPoint.setSelected(true);
-				}
+			if (pointIndex > -1 && series.getValue(pointIndex) < 0.0f) {
+				this.selectedChartPointIndex = -1;
 			}
 
-			// repaint the chart
-			requestRender();
+			requestSelectionRender(lastIndex, this.selectedChartPointIndex);
+		}
+	}
+
+	private void requestSelectionRender(int lastIndex, int newIndex) {
+		// Only the header showing the selected value and the columns of the points whose color changes are rendered.
+		updateMetrics(getTopScaleValue());
+		requestRender(getContentX(), getContentY(), getContentWidth(), this.yBarTopHeight);
+		if (this.drawCircle) {
+			requestPointRender(lastIndex);
+			requestPointRender(newIndex);
+		}
+	}
+
+	private void requestPointRender(int index) {
+		if (index != -1) {
+			int chartWidth = getContentWidth() - this.yBarWidth;
+			int margin = getStyle().getExtraInt(ID_POINT_RADIUS, POINT_RADIUS) + SELECTION_MARGIN;
+			int x = getPointX(index, this.yBarWidth, chartWidth);
+			requestRender(getContentX() + x - margin, getContentY(), margin * 2 + 1, getContentHeight());
 		}
 	}
 
@@ -246,6 +363,7 @@ public class LineChart extends Widget implements MotionAnimationListener {
 
 	@Override
 	public void onShown() {
+		this.renderedAppendedCount = NOT_RENDERED;
 		Motion motion = new Motion(QuadEaseInOutFunction.INSTANCE, ANIMATION_MIN, ANIMATION_MAX, ANIMATION_DURATION);
 		MotionAnimation motionAnimation = new MotionAnimation(getDesktop().getAnimator(), motion, LineChart.this);
 		motionAnimation.start();
@@ -254,6 +372,7 @@ public class LineChart extends Widget implements MotionAnimationListener {
 	@Override
 	public void tick(int value, boolean finished) {
 		this.currentApparitionStep = value;
+		this.renderedAppendedCount = NOT_RENDERED;
 		requestRender();
 	}
 
@@ -275,53 +394,268 @@ public class LineChart extends Widget implements MotionAnimationListener {
 		// Always use full size. No change to size needed.
 	}
 
+	@Override
+	protected void onLaidOut() {
+		this.metricsValid = false;
+		this.renderedAppendedCount = NOT_RENDERED;
+		invalidateStaticLayers();
+	}
+
+	@Override
+	protected void onHidden() {
+		super.onHidden();
+		this.scaleLayer.close();
+		this.labelsLayer.close();
+	}
+
+	private void invalidateStaticLayers() {
+		this.scaleLayer.invalidate();
+		this.labelsLayer.invalidate();
+	}
+
+	@Override
+	public boolean isTransparent() {
+		// The chart renders the backgrounds of its ancestors itself, so that they are not rendered over the trace to
+		// shift in the scrolling window mode.
+		return false;
+	}
+
+	@Override
+	public void render(GraphicsContext g) {
+		if (this.scrollingStep > 0 && isShown()) {
+			renderScrollingWindow(g);
+		} else {
+			renderWithAncestorBackground(g);
+		}
+	}
+
+	private void renderScrollingWindow(GraphicsContext g) {
+		ChartSeries series = this.series;
+		long appendedCount = series.getRemovedCount() + series.size();
+		long renderedAppendedCount = this.renderedAppendedCount;
+		int contentWidth = getContentWidth();
+		int contentHeight = getContentHeight();
+		boolean traceClipped = isTraceClipped(g, contentWidth, contentHeight);
+
+		if (traceClipped && renderedAppendedCount != NOT_RENDERED && appendedCount > renderedAppendedCount
+				&& series.getResetCount() == this.renderedResetCount && getTopScaleValue() == this.renderedTopValue
+				&& this.selectedChartPointIndex == -1 && this.renderedSelectedIndex == -1) {
+			long shift = (appendedCount - renderedAppendedCount) * this.scrollingStep;
+			if (shift < contentWidth - this.traceX) {
+				renderShiftedTrace(g, (int) shift, contentWidth, contentHeight);
+				return;
+			}
+		}
+
+		renderWithAncestorBackground(g);
+		if (!traceClipped) {
+			// Only a part of the trace has been rendered, it cannot be shifted.
+			this.renderedAppendedCount = NOT_RENDERED;
+		}
+	}
+
+	private boolean isTraceClipped(GraphicsContext g, int contentWidth, int contentHeight) {
+		// The trace must be fully in the clip to be copied then partially rendered.
+		int contentX = getContentX();
+		int contentY = getContentY();
+		int clipX = g.getClipX();
+		int clipY = g.getClipY();
+		return clipX <= contentX + this.traceX && clipY <= contentY + this.traceY
+				&& clipX + g.getClipWidth() >= contentX + contentWidth
+				&& clipY + g.getClipHeight() >= contentY + contentHeight;
+	}
+
+	private void renderShiftedTrace(GraphicsContext g, int shift, int contentWidth, int contentHeight) {
+		int translateX = g.getTranslationX();
+		int translateY = g.getTranslationY();
+		int x = g.getClipX();
+		int y = g.getClipY();
+		int width = g.getClipWidth();
+		int height = g.getClipHeight();
+
+		// Copy the part of the trace that is still visible.
+		int traceX = getContentX() + this.traceX;
+		int traceY = getContentY() + this.traceY;
+		int traceWidth = contentWidth - this.traceX;
+		int traceHeight = contentHeight - this.traceY;
+		g.translate(traceX, traceY);
+		g.intersectClip(0, 0, traceWidth, traceHeight);
+		Painter.drawDisplayRegion(g, getAbsoluteX() + traceX, getAbsoluteY() + traceY, traceWidth, traceHeight, -shift,
+				0);
+		g.setTranslation(translateX, translateY);
+		g.setClip(x, y, width, height);
+
+		// Render the new segments, starting before the previous last value to join the line and cover its circle.
+		int margin = this.scrollingStep + getStyle().getExtraInt(ID_POINT_RADIUS, POINT_RADIUS) + LINE_THICKNESS
+				+ LINE_FADE;
+		int exposedWidth = Math.min(traceWidth, shift + margin);
+		g.intersectClip(traceX + traceWidth - exposedWidth, traceY, exposedWidth, traceHeight);
+		renderWithAncestorBackground(g);
+	}
+
+	private void renderWithAncestorBackground(GraphicsContext g) {
+		StaticLayer.renderAncestorBackgrounds(g, this);
+		super.render(g);
+	}
+
 	@Override
 	protected void renderContent(GraphicsContext g, int contentWidth, int contentHeight) {
+		float topValue = getTopScaleValue();
+		updateMetrics(topValue);
+		int labelsHeight = this.xBarHeight - PADDING_X_BAR;
+		int labelsY = contentHeight - labelsHeight;
+
+		// The texts are drawn from the static layers: the scale at the left, the x-axis labels at the bottom. The
+		// dotted lines are cheap enough to be rendered directly.
+		renderStaticLayer(g, this.scaleLayer, 0, 0, this.yBarWidth - PADDING_Y_BAR, labelsY, null, contentWidth,
+				contentHeight, topValue);
+		if (this.scrollingStep == 0) {
+			renderStaticLayer(g, this.labelsLayer, 0, labelsY, contentWidth, labelsHeight, this.series, contentWidth,
+					contentHeight, topValue);
+		}
+		renderScaleLines(g, contentWidth, contentHeight);
+		renderDynamicLayer(g, contentWidth, contentHeight, topValue);
+	}
+
+	private void renderStaticLayer(GraphicsContext g, StaticLayer layer, int x, int y, int width, int height,
+			@Nullable ChartSeries series, int contentWidth, int contentHeight, float topValue) {
+		// Draws a region of the static texts from its layer, or renders it directly if the layer cannot be allocated.
+		if (!layer.isValid(width, height, series, topValue)) {
+			GraphicsContext layerGraphics = layer.begin(this, x, y, width, height, series, topValue);
+			if (layerGraphics == null) {
+				int clipX = g.getClipX();
+				int clipY = g.getClipY();
+				int clipWidth = g.getClipWidth();
+				int clipHeight = g.getClipHeight();
+				g.intersectClip(x, y, width, height);
+				renderStaticTexts(g, contentWidth, contentHeight, topValue);
+				g.setClip(clipX, clipY, clipWidth, clipHeight);
+				return;
+			}
+			renderStaticTexts(layerGraphics, contentWidth, contentHeight, topValue);
+		}
+		layer.draw(g, x, y);
+	}
+
+	private void renderStaticTexts(GraphicsContext g, int contentWidth, int contentHeight, float topValue) {
+		// The texts of the chart that only change with its data, its style or its size.
 		Style style = getStyle();
 		Font font = style.getFont();
 		int textColor = style.getColor();
-		int graphLineColor = style.getExtraInt(ID_GRAPH_LINE_COLOR, textColor);
-
-		float topValue = getTopScaleValue();
 
-		int fontHeight = font.getHeight();
-		int yBarWidth = getYBarWidth(font, topValue);
-		int xBarHeight = fontHeight + PADDING_X_BAR;
-		int yBarTopHeight = getTopBarHeight(fontHeight); // Space for Unit String & Selected Info
+		int yBarWidth = this.yBarWidth;
+		int xBarHeight = this.xBarHeight;
+		int yBarTopHeight = this.yBarTopHeight; // Space for Unit String & Selected Info
 		int yBarBottom = contentHeight - xBarHeight;
-		int innerChartWidth = contentWidth - yBarWidth;
 
 		g.setColor(textColor);
 		StringPainter.drawStringInArea(g, this.unit, font, 0, 0, yBarWidth - PADDING_Y_BAR, yBarTopHeight,
 				Alignment.RIGHT, Alignment.TOP);
 
-		drawSelectedPointInfo(g, font, contentWidth, yBarTopHeight);
-
-		// draw Y values and lines
+		// draw Y values
 		int numScaleValues = this.scaleCount;
+		char[] valueChars = this.valueChars;
 		for (int i = 0; i < numScaleValues + 1; i++) {
 			float scaleValue = topValue * i / numScaleValues;
-			String scaleString = toStringFloat(scaleValue, 0);
+			int length = NumberFormatter.formatFixed(scaleValue, 0, valueChars, 0);
 			int yScale = yBarBottom + (yBarTopHeight - yBarBottom) * i / numScaleValues;
-			g.setColor(textColor);
-			StringPainter.drawStringAtPoint(g, scaleString, font, yBarWidth - PADDING_Y_BAR, yScale, Alignment.RIGHT,
-					Alignment.VCENTER);
-			DottedLinePainter.drawHorizontalDottedLine(g, graphLineColor, yBarWidth, yScale, innerChartWidth,
-					SCALE_LINE_DOT_LENGTH);
+			CharsPainter.drawCharsAtPoint(g, valueChars, 0, length, font, yBarWidth - PADDING_Y_BAR, yScale,
+					Alignment.RIGHT, Alignment.VCENTER);
+		}
+
+		if (this.scrollingStep == 0) {
+			Rectangle chartBounds = new Rectangle(yBarWidth, yBarTopHeight, contentWidth - yBarWidth,
+					contentHeight - yBarTopHeight - xBarHeight);
+			drawLabels(g, font, chartBounds, contentHeight);
+		}
+	}
+
+	private void renderScaleLines(GraphicsContext g, int contentWidth, int contentHeight) {
+		Style style = getStyle();
+		int graphLineColor = style.getExtraInt(ID_GRAPH_LINE_COLOR, style.getColor());
+		int yBarWidth = this.yBarWidth;
+		int yBarTopHeight = this.yBarTopHeight;
+		int yBarBottom = contentHeight - this.xBarHeight;
+		int innerChartWidth = contentWidth - yBarWidth;
+
+		// In the scrolling window mode, the dots of the lines scroll along with the trace.
+		ChartSeries series = this.series;
+		long appendedCount = series.getRemovedCount() + series.size();
+		int dotsPhase = (int) ((appendedCount * this.scrollingStep) % (SCALE_LINE_DOT_LENGTH * 2));
+
+		int numScaleValues = this.scaleCount;
+		for (int i = 0; i < numScaleValues + 1; i++) {
+			int yScale = yBarBottom + (yBarTopHeight - yBarBottom) * i / numScaleValues;
+			drawScaleLine(g, graphLineColor, yBarWidth, yScale, innerChartWidth, dotsPhase);
 		}
+	}
+
+	private void renderDynamicLayer(GraphicsContext g, int contentWidth, int contentHeight, float topValue) {
+		// The parts of the chart that change with the selection and the apparition animation.
+		Style style = getStyle();
+		Font font = style.getFont();
+
+		updateMetrics(topValue);
+		int yBarWidth = this.yBarWidth;
+		int xBarHeight = this.xBarHeight;
+		int yBarTopHeight = this.yBarTopHeight; // Space for Unit String & Selected Info
+		int innerChartWidth = contentWidth - yBarWidth;
+
+		g.setColor(style.getColor());
+		drawSelectedPointInfo(g, font, contentWidth, yBarTopHeight);
 
 		Rectangle chartBounds = new Rectangle(yBarWidth, yBarTopHeight, innerChartWidth,
 				contentHeight - yBarTopHeight - xBarHeight);
 		renderPointsAndLabel(g, style, chartBounds, contentHeight, topValue);
+
+		if (this.scrollingStep > 0) {
+			// Store what has been rendered to shift it on the next rendering.
+			ChartSeries series = this.series;
+			int pointRadius = style.getExtraInt(ID_POINT_RADIUS, POINT_RADIUS);
+			this.traceX = yBarWidth;
+			this.traceY = Math.max(0, yBarTopHeight - pointRadius - LINE_THICKNESS - LINE_FADE);
+			this.renderedAppendedCount = series.getRemovedCount() + series.size();
+			this.renderedResetCount = series.getResetCount();
+			this.renderedTopValue = topValue;
+			this.renderedSelectedIndex = this.selectedChartPointIndex;
+		}
+	}
+
+	private void drawScaleLine(GraphicsContext g, int color, int x, int y, int width, int dotsPhase) {
+		if (dotsPhase == 0) {
+			DottedLinePainter.drawHorizontalDottedLine(g, color, x, y, width, SCALE_LINE_DOT_LENGTH);
+		} else {
+			int translateX = g.getTranslationX();
+			int translateY = g.getTranslationY();
+			int clipX = g.getClipX();
+			int clipY = g.getClipY();
+			int clipWidth = g.getClipWidth();
+			int clipHeight = g.getClipHeight();
+			g.intersectClip(x, y, width, 1);
+			DottedLinePainter.drawHorizontalDottedLine(g, color, x - dotsPhase, y, width + dotsPhase,
+					SCALE_LINE_DOT_LENGTH);
+			g.setTranslation(translateX, translateY);
+			g.setClip(clipX, clipY, clipWidth, clipHeight);
+		}
 	}
 
 	private void drawSelectedPointInfo(GraphicsContext g, Font font, int contentWidth, int height) {
 		if (this.selectedChartPointIndex > -1) {
-			ChartPoint selectedPoint = this.points[this.selectedChartPointIndex];
-			String selected = selectedPoint.getFullName() + ": " //$NON-NLS-1$
-					+ toStringFloat(selectedPoint.getValue(), DECIMALS_LONG_COUNT);
-			StringPainter.drawStringInArea(g, selected, font, 0, 0, contentWidth, height, Alignment.HCENTER,
-					Alignment.TOP);
+			ChartSeries series = this.series;
+			int selectedIndex = this.selectedChartPointIndex;
+			String fullName = series.getFullName(selectedIndex);
+			char[] valueChars = this.valueChars;
+			int length = NumberFormatter.formatFixed(series.getValue(selectedIndex), DECIMALS_LONG_COUNT, valueChars,
+					0);
+
+			// Draws the name, the separator and the value one after the other to avoid concatenating them.
+			int nameWidth = font.stringWidth(fullName);
+			int separatorWidth = font.stringWidth(SELECTED_VALUE_SEPARATOR);
+			int width = nameWidth + separatorWidth + CharsPainter.charsWidth(valueChars, 0, length, font);
+			int x = Alignment.computeLeftX(width, 0, contentWidth, Alignment.HCENTER);
+			Painter.drawString(g, fullName, font, x, 0);
+			Painter.drawString(g, SELECTED_VALUE_SEPARATOR, font, x + nameWidth, 0);
+			CharsPainter.drawChars(g, valueChars, 0, length, font, x + nameWidth + separatorWidth, 0);
 		}
 	}
 
@@ -341,10 +675,11 @@ public class LineChart extends Widget implements MotionAnimationListener {
 	 */
 	protected void renderPointsAndLabel(GraphicsContext g, Style style, Rectangle chartBounds, int contentHeight,
 			float topValue) {
-		ChartPoint[] points = this.points;
+		ChartSeries series = this.series;
+		int size = series.size();
+		int selectedIndex = this.selectedChartPointIndex;
 
 		// Styles
-		Font font = style.getFont();
 		int fontColor = style.getColor();
 		int pointColor = style.getExtraInt(ID_POINT_COLOR, fontColor);
 		int pointSelectedColor = style.getExtraInt(ID_POINT_SELECTED_COLOR, fontColor);
@@ -354,20 +689,32 @@ public class LineChart extends Widget implements MotionAnimationListener {
 		int yBottom = chartBounds.getY() + chartBounds.getHeight();
 		float xStep = getStepSize(chartBounds.getWidth());
 		float xPosStart = chartBounds.getX() + xStep / 2; // Add half a step at the start to center the bars
+		int firstIndex = 0;
+
+		int step = this.scrollingStep;
+		if (step == 0) {
+			if (size > chartBounds.getWidth()) {
+				renderDecimatedPoints(g, chartBounds, topValue, lineColor, pointSelectedColor, pointRadius);
+				return;
+			}
+		} else {
+			// The last value is at the right of the chart: only draw the values whose line or circle reaches the clip,
+			// plus one to draw the line entering the clip.
+			int lastX = chartBounds.getX() + chartBounds.getWidth() - 1 - step / 2;
+			int clipLeft = Math.max(chartBounds.getX(), g.getClipX()) - pointRadius - LINE_THICKNESS - LINE_FADE;
+			firstIndex = Math.max(0, size - 2 - (lastX - clipLeft) / step);
+			xPosStart = lastX - (size - 1 - firstIndex) * step;
+			g.intersectClip(chartBounds.getX(), 0, chartBounds.getWidth(), contentHeight);
+		}
 
 		int previousX = -1;
 		int previousY = -1;
 		float xPos = xPosStart;
-		for (ChartPoint chartPoint : points) {
-			float value = chartPoint.getValue();
+		for (int i = firstIndex; i < size; i++) {
+			float value = series.getValue(i);
 			int currentX = (int) xPos;
 			xPos += xStep;
 
-			// Draw x-axis labels
-			g.setColor(fontColor);
-			StringPainter.drawStringAtPoint(g, chartPoint.getName(), font, currentX, contentHeight, Alignment.HCENTER,
-					Alignment.BOTTOM);
-
 			int finalLength = (int) ((yBottom - chartBounds.getY()) * value / topValue);
 			int apparitionLength = (int) (finalLength * getAnimationRatio());
 			int currentY = yBottom - apparitionLength;
@@ -386,8 +733,8 @@ public class LineChart extends Widget implements MotionAnimationListener {
 		// one end.
 		if (this.drawCircle) {
 			xPos = xPosStart;
-			for (ChartPoint chartPoint : points) {
-				float value = chartPoint.getValue();
+			for (int i = firstIndex; i < size; i++) {
+				float value = series.getValue(i);
 				int currentX = (int) xPos;
 				xPos += xStep;
 
@@ -399,7 +746,7 @@ public class LineChart extends Widget implements MotionAnimationListener {
 				int centerY = currentY - pointRadius;
 
 				int color;
-				if (chartPoint.isSelected()) {
+				if (i == selectedIndex) {
 					color = pointSelectedColor;
 				} else {
 					color = pointColor;
@@ -409,6 +756,93 @@ public class LineChart extends Widget implements MotionAnimationListener {
 		}
 	}
 
+	private void drawLabels(GraphicsContext g, Font font, Rectangle chartBounds, int contentHeight) {
+		// Only the labels that do not overlap the previous drawn one are drawn.
+		ChartSeries series = this.series;
+		int size = series.size();
+		float xStep = getStepSize(chartBounds.getWidth());
+		float xPosStart = chartBounds.getX() + xStep / 2;
+
+		int labelsRight = Integer.MIN_VALUE;
+		int i = 0;
+		while (i < size) {
+			int x = (int) (xPosStart + i * xStep);
+			String name = series.getName(i);
+			int width = font.stringWidth(name);
+			int left = x - width / 2;
+			if (width > 0 && left >= labelsRight) {
+				StringPainter.drawStringAtPoint(g, name, font, x, contentHeight, Alignment.HCENTER, Alignment.BOTTOM);
+				labelsRight = left + width + LABEL_SPACING;
+			}
+
+			// Skip the values of the same column and the ones centered under the last drawn label.
+			int nextX = Math.max(x + 1, labelsRight);
+			i = Math.max(i + 1, (int) Math.ceil((nextX - xPosStart) / xStep));
+		}
+	}
+
+	private void renderDecimatedPoints(GraphicsContext g, Rectangle chartBounds, float topValue, int lineColor,
+			int pointSelectedColor, int pointRadius) {
+		// The line goes through the lowest and highest values of each column. The values are too close to draw their
+		// circles, only the one of the selected value is drawn.
+		DecimatedSeries decimatedSeries = this.decimatedSeries;
+		int chartX = chartBounds.getX();
+		int chartWidth = chartBounds.getWidth();
+		int chartHeight = chartBounds.getHeight();
+		int yBottom = chartBounds.getY() + chartHeight;
+		float animationRatio = getAnimationRatio();
+		decimatedSeries.update(this.series, chartWidth);
+
+		g.setColor(lineColor);
+		int previousX = -1;
+		int previousY = -1;
+		int vertexCount = decimatedSeries.getVertexCount();
+		for (int i = 0; i < vertexCount; i++) {
+			int finalLength = (int) (chartHeight * decimatedSeries.getVertexValue(i) / topValue);
+			int currentX = chartX + decimatedSeries.getVertexX(i);
+			int currentY = yBottom - (int) (finalLength * animationRatio);
+			if (i > 0) {
+				ShapePainter.drawThickFadedLine(g, previousX, previousY, currentX, currentY, LINE_THICKNESS, LINE_FADE,
+						Cap.NONE, Cap.NONE);
+			}
+			previousX = currentX;
+			previousY = currentY;
+		}
+
+		int selectedIndex = this.selectedChartPointIndex;
+		if (this.drawCircle && selectedIndex != -1) {
+			float xStep = getStepSize(chartWidth);
+			int finalLength = (int) (chartHeight * this.series.getValue(selectedIndex) / topValue);
+			int currentX = chartX + (int) (xStep / 2 + selectedIndex * xStep);
+			int currentY = yBottom - (int) (finalLength * animationRatio);
+			CirclePainter.drawFilledCircle(g, pointSelectedColor, pointSelectedColor, currentX - pointRadius,
+					currentY - pointRadius, pointRadius * 2, 2);
+		}
+	}
+
+	private void updateMetrics(float topValue) {
+		// The y-axis bar is measured by formatting the top value, only when it changes.
+		if (!this.metricsValid || topValue != this.metricsTopValue) {
+			Font font = getStyle().getFont();
+			int fontHeight = font.getHeight();
+			this.yBarWidth = getYBarWidth(font, topValue);
+			this.yBarTopHeight = getTopBarHeight(fontHeight);
+			this.xBarHeight = fontHeight + PADDING_X_BAR;
+			this.metricsTopValue = topValue;
+			this.metricsValid = true;
+		}
+	}
+
+	private int getPointX(int index, int chartX, int chartWidth) {
+		// The same position as in renderPointsAndLabel, possibly one pixel apart because of the accumulated steps.
+		int step = this.scrollingStep;
+		if (step > 0) {
+			return chartX + chartWidth - 1 - step / 2 - (this.series.size() - 1 - index) * step;
+		}
+		float xStep = getStepSize(chartWidth);
+		return chartX + (int) (xStep / 2 + index * xStep);
+	}
+
 	/**
 	 * Gets the height of the top bar for unit and selected label.
 	 *
@@ -430,9 +864,10 @@ public class LineChart extends Widget implements MotionAnimationListener {
 	 * @return the width of the y-axis bar.
 	 */
 	private int getYBarWidth(Font font, float topValue) {
-		String topValueString = toStringFloat(topValue, 0);
+		char[] valueChars = this.valueChars;
+		int length = NumberFormatter.formatFixed(topValue, 0, valueChars, 0);
 		int widthUnit = font.stringWidth(this.unit);
-		int widthValue = font.stringWidth(topValueString);
+		int widthValue = CharsPainter.charsWidth(valueChars, 0, length, font);
 		return XMath.max(widthUnit, widthValue) + PADDING_Y_BAR;
 	}
 
@@ -444,47 +879,24 @@ public class LineChart extends Widget implements MotionAnimationListener {
 	 * @return the width between points.
 	 */
 	protected float getStepSize(int width) {
-		return (float) width / this.points.length;
+		int step = this.scrollingStep;
+		if (step > 0) {
+			return step;
+		}
+		return (float) width / this.series.size();
 	}
 
 	/*
 	 * Other help function.
 	 */
 
-	/**
-	 * Converts float to string.
-	 *
-	 * @param value
-	 *            the value to convert to String.
-	 * @param decimals
-	 *            the number of decimal places (0 = No decimal).
-	 * @return the float as string.
-	 */
-	protected static String toStringFloat(float value, int decimals) {
-		StringBuilder builder = new StringBuilder();
-		builder.append((int) value);
-		if (decimals > 0) {
-			builder.append(DECIMALS_SEPARATOR);
-			for (int i = 0; i < decimals; i++) {
-				value *= DECIMAL;
-				builder.append((int) value % DECIMAL);
-			}
-		}
-		return builder.toString();
-	}
-
 	/**
 	 * Gets the highest value of all points on the chart.
 	 *
 	 * @return the highest value.
 	 */
 	private float getMaxPointValue() {
-		float maxValue = 0.0f;
-		ChartPoint[] points = this.points;
-		for (ChartPoint point : points) {
-			maxValue = Math.max(maxValue, point.getValue());
-		}
-		return maxValue;
+		return Math.max(0.0f, this.series.getMaxValue());
 	}
 
 	/**
@@ -496,6 +908,10 @@ public class LineChart extends Widget implements MotionAnimationListener {
 	private float getTopScaleValue() {
 		int numValues = this.scaleCount;
 		float val = getMaxPointValue();
+		if (val <= 0.0f || Float.isNaN(val)) {
+			// No positive value to scale: one unit per scale step.
+			return numValues;
+		}
 		float multiplier = 1.0f;
 		while (val < DECIMAL) {
 			val *= DECIMAL;
@@ -1,5 +1,5 @@
 /*
- * Copyright 2020-2024 MicroEJ Corp. All rights reserved.
+ * Copyright 2020-2026 MicroEJ Corp. All rights reserved.
  * Use of this source code is governed by a BSD-style license that can be found with this software.
  */
 package com.microej.demo.widget.main;
@@ -8,8 +8,9 @@ import com.microej.demo.widget.common.DemoColors;
 import com.microej.demo.widget.common.Navigation;
 import com.microej.demo.widget.common.Page;
 import com.microej.demo.widget.common.Pages;
+import com.microej.demo.widget.common.scroll.ItemAdapter;
+import com.microej.demo.widget.common.scroll.RecyclingList;
 import com.microej.demo.widget.common.scroll.Scroll;
-import com.microej.demo.widget.common.scroll.ScrollableList;
 import com.microej.demo.widget.common.scroll.Scrollbar;
 import com.microej.demo.widget.main.style.GoToBackground;
 import com.microej.demo.widget.main.widget.MenuItem;
@@ -66,7 +67,7 @@ public class MainPage implements Page {
 
 		style = stylesheet.getSelectorStyle(new TypeSelector(Scroll.class));
 		style.setBackground(new RectangularBackground(Colors.WHITE));
-		style = stylesheet.getSelectorStyle(new TypeSelector(ScrollableList.class));
+		style = stylesheet.getSelectorStyle(new TypeSelector(RecyclingList.class));
 		style.setBackground(NoBackground.NO_BACKGROUND);
 
 		style = stylesheet
@@ -76,20 +77,26 @@ public class MainPage implements Page {
 
 	@Override
 	public Widget getContentWidget() {
-		final ScrollableList list = new ScrollableList(LayoutOrientation.VERTICAL, false);
-		final int numPages = Pages.getNumPages();
-		for (int i = 0; i < numPages; i++) {
-			final Page page = Pages.getPage(i);
-			MenuItem goToPage = new MenuItem(page.getName());
-			goToPage.addClassSelector(LIST_ITEM);
-			list.addChild(goToPage);
-			goToPage.setOnClickListener(new OnClickListener() {
-				@Override
-				public void onClick() {
-					Navigation.showPage(page);
-				}
-			});
-		}
+		final RecyclingList list = new RecyclingList(LayoutOrientation.VERTICAL, false, new ItemAdapter() {
+			@Override
+			public int getCount() {
+				return Pages.getNumPages();
+			}
+
+			@Override
+			public Widget createItem() {
+				PageMenuItem goToPage = new PageMenuItem();
+				goToPage.addClassSelector(LIST_ITEM);
+				return goToPage;
+			}
+
+			@Override
+			public void bindItem(Widget item, int index) {
+				PageMenuItem goToPage = (PageMenuItem) item;
+				goToPage.pageIndex = index;
+				goToPage.setText(Pages.getPage(index).getName());
+			}
+		});
 
 		final Scroll scroll = new Scroll(LayoutOrientation.VERTICAL);
 		scroll.setScrollbarBeforeContent(true);
@@ -98,4 +105,22 @@ public class MainPage implements Page {
 		return scroll;
 	}
 
+	/**
+	 * A menu item that shows the page it is bound to. Its listener is created once, along with the item.
+	 */
+	private static class PageMenuItem extends MenuItem implements OnClickListener {
+
+		private int pageIndex;
+
+		private PageMenuItem() {
+			super(""); //$NON-NLS-1$
+			setOnClickListener(this);
+		}
+
+		@Override
+		public void onClick() {
+			Navigation.showPage(Pages.getPage(this.pageIndex));
+		}
+	}
+
 }
@@ -1,5 +1,5 @@
 /*
- * Copyright 2020-2023 MicroEJ Corp. All rights reserved.
+ * Copyright 2020-2026 MicroEJ Corp. All rights reserved.
  * Use of this source code is governed by a BSD-style license that can be found with this software.
  */
 package com.microej.demo.widget.scrollablelist;
@@ -78,6 +78,7 @@ public class ScrollableListPage implements Page {
 		Scroll scroll = new Scroll(LayoutOrientation.VERTICAL);
 		scroll.setScrollBarCaps(Cap.ROUNDED);
 		scroll.setScrollbarOverlap(true);
+		scroll.setPartialRendering(true);
 		ScrollableList list = new ScrollableList(LayoutOrientation.VERTICAL, false);
 		scroll.setChild(list);
 		for (int i = 0; i < NUM_ITEMS; i++) {
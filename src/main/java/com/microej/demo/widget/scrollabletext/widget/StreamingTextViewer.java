@@ -0,0 +1,637 @@
+/*
+ * Copyright 2026 MicroEJ Corp. All rights reserved.
+ * Use of this source code is governed by a BSD-style license that can be found with this software.
+ */
+package com.microej.demo.widget.scrollabletext.widget;
+
+import java.io.UnsupportedEncodingException;
+
+import com.microej.demo.widget.common.scroll.Scroll;
+import com.microej.demo.widget.common.scroll.Scrollable;
+
+import ej.annotation.Nullable;
+import ej.microui.display.Font;
+import ej.microui.display.GraphicsContext;
+import ej.microui.display.Painter;
+import ej.mwt.Container;
+import ej.mwt.Widget;
+import ej.mwt.style.Style;
+import ej.mwt.util.Size;
+import ej.widget.render.StringPainter;
+import ej.widget.render.TextHelper;
+
+/**
+ * Displays a text resource in a {@link Scroll}, without loading the whole text.
+ * <p>
+ * The resource is read in chunks and only the paragraphs around the viewport are wrapped and kept in memory. They are
+ * wrapped when they scroll into view and forgotten once they are far enough from the viewport, so the heap used does
+ * not depend on the size of the text.
+ * <p>
+ * Since the text is not wrapped entirely, its height is estimated from the number of bytes per line of its beginning.
+ * When the viewport moves far from the wrapped paragraphs, the paragraphs at the byte offset proportional to the
+ * viewport position are wrapped. The height is corrected when the start or the end of the text is reached, or when the
+ * estimated room before the wrapped paragraphs is too small. When the room before them changes, the parent scroll is
+ * moved by the same distance at the next layout, so that the displayed lines do not move.
+ * <p>
+ * The paragraphs are separated by line feeds. The paragraphs longer than {@value #MAX_PARAGRAPH_LENGTH} bytes are cut
+ * in several paragraphs, between two characters. The text is decoded in UTF-8.
+ * <p>
+ * When a title style is set (see {@link #setTitleStyle(Font, int, int)}), the paragraphs starting with
+ * <code>"# "</code> are displayed as section titles.
+ */
+public class StreamingTextViewer extends Widget implements Scrollable {
+
+	private static final int MAX_PARAGRAPH_LENGTH = 1024;
+	private static final int ESTIMATE_LENGTH = 2048;
+	private static final int INITIAL_CAPACITY = 32;
+	private static final String ENCODING = "UTF-8"; //$NON-NLS-1$
+	private static final int LINE_FEED = '\n';
+	private static final int CARRIAGE_RETURN = '\r';
+	private static final int TITLE_MARKER = '#';
+	private static final int TITLE_MARKER_LENGTH = 2;
+	private static final int CONTINUATION_BYTE_MASK = 0xc0;
+	private static final int CONTINUATION_BYTE = 0x80;
+	private static final int MAX_CONTINUATION_BYTES = 3;
+	private static final String[] EMPTY_PARAGRAPH = { "" }; //$NON-NLS-1$
+
+	private final String path;
+	@Nullable
+	private TextResource resource;
+	private final byte[] paragraphBytes;
+	private int paragraphByteCount;
+	private boolean paragraphTitle;
+
+	// Style of the section titles.
+	@Nullable
+	private Font titleFont;
+	private int titleBorderColor;
+	private int titleMargin;
+
+	// Parameters of the estimation of the height.
+	@Nullable
+	private Font estimateFont;
+	private int estimateWidth;
+	private int height;
+
+	// Wrapping parameters.
+	@Nullable
+	private Font font;
+	private int width;
+
+	private int viewportHeight;
+	private int viewportY;
+
+	// Window of wrapped lines: the lines of the paragraphs between the start and the end offsets.
+	private String[] lines;
+	private int[] lineParagraphs;
+	private boolean[] lineTitles;
+	private int lineCount;
+	private int windowY;
+	private int windowStart;
+	private int windowEnd;
+	// Distance to add to the positions of the window and of the viewport at the next layout.
+	private int pendingShift;
+
+	/**
+	 * Creates a streaming text viewer.
+	 *
+	 * @param path
+	 *            the path of the text resource to display.
+	 */
+	public StreamingTextViewer(String path) {
+		this.path = path;
+		this.paragraphBytes = new byte[MAX_PARAGRAPH_LENGTH];
+		this.lines = new String[INITIAL_CAPACITY];
+		this.lineParagraphs = new int[INITIAL_CAPACITY];
+		this.lineTitles = new boolean[INITIAL_CAPACITY];
+	}
+
+	/**
+	 * Sets the style of the section titles.
+	 * <p>
+	 * The paragraphs starting with <code>"# "</code> are section titles. A title is drawn on a single line with the
+	 * given font and the color of the text, above a border of the given color, with a vertical margin above and below
+	 * it. Its height is rounded up to a number of text lines.
+	 * <p>
+	 * Should be called before this viewer is laid out.
+	 *
+	 * @param font
+	 *            the font of the titles, or <code>null</code> to display the titles as plain text.
+	 * @param borderColor
+	 *            the color of the border below the titles.
+	 * @param margin
+	 *            the margin above and below the titles, in pixels.
+	 */
+	public void setTitleStyle(@Nullable Font font, int borderColor, int margin) {
+		this.titleFont = font;
+		this.titleBorderColor = borderColor;
+		this.titleMargin = margin;
+		// Wrap the text again at the next layout.
+		this.estimateFont = null;
+		this.font = null;
+		clearWindow(0, 0);
+	}
+
+	/**
+	 * Gets the length of the text resource.
+	 *
+	 * @return the number of bytes of the text.
+	 */
+	public int getLength() {
+		return getResource().getLength();
+	}
+
+	/**
+	 * Scrolls the parent scroll to the paragraph containing a byte offset.
+	 * <p>
+	 * The paragraph is displayed at the top of the viewport, at the position proportional to the offset. This viewer
+	 * must have been laid out.
+	 * <p>
+	 * Should be called in the UI thread to avoid concurrency issues.
+	 *
+	 * @param offset
+	 *            the byte offset in the text.
+	 */
+	public void scrollToOffset(int offset) {
+		int length = getLength();
+		if (this.font == null || length == 0) {
+			return;
+		}
+		int limitedOffset = Math.max(0, Math.min(length - 1, offset));
+		int maxPosition = Math.max(0, this.height - this.viewportHeight);
+		int position = Math.min(maxPosition, (int) ((long) limitedOffset * this.height / length));
+
+		Container parent = getParent();
+		if (parent instanceof Scroll) {
+			((Scroll) parent).scrollTo(position);
+		}
+		this.viewportY = position;
+		clearWindow(findParagraphStart(limitedOffset), position);
+		updateWindow();
+		requestRender();
+	}
+
+	@Override
+	protected void onDetached() {
+		super.onDetached();
+		TextResource resource = this.resource;
+		if (resource != null) {
+			resource.close();
+		}
+		this.estimateFont = null;
+		this.font = null;
+		clearWindow(0, 0);
+	}
+
+	@Override
+	protected void computeContentOptimalSize(Size size) {
+		Font font = getStyle().getFont();
+		int width = size.getWidth();
+		if (font != this.estimateFont || width != this.estimateWidth) {
+			this.estimateFont = font;
+			this.estimateWidth = width;
+			this.height = estimateHeight(font, width);
+		}
+		size.setHeight(this.height);
+	}
+
+	@Override
+	protected void onLaidOut() {
+		super.onLaidOut();
+		Font font = getStyle().getFont();
+		int width = getContentBounds().getWidth();
+		if (font != this.font || width != this.width) {
+			this.font = font;
+			this.width = width;
+			clearWindow(0, 0);
+		}
+		int pendingShift = this.pendingShift;
+		if (pendingShift != 0) {
+			this.pendingShift = 0;
+			this.windowY += pendingShift;
+			this.viewportY += pendingShift;
+			Container parent = getParent();
+			if (parent instanceof Scroll) {
+				((Scroll) parent).scrollTo(this.viewportY);
+			}
+		}
+	}
+
+	@Override
+	protected void renderContent(GraphicsContext g, int contentWidth, int contentHeight) {
+		Style style = getStyle();
+		Font font = style.getFont();
+		int lineHeight = font.getHeight();
+		int horizontalAlignment = style.getHorizontalAlignment();
+		int verticalAlignment = style.getVerticalAlignment();
+		int clipY = g.getClipY();
+		int clipBottom = clipY + g.getClipHeight();
+
+		g.setColor(style.getColor());
+		String[] lines = this.lines;
+		boolean[] lineTitles = this.lineTitles;
+		int lineY = this.windowY;
+		for (int i = 0; i < this.lineCount; i++) {
+			String line = lines[i];
+			assert line != null;
+			if (lineTitles[i]) {
+				int titleHeight = getTitleLineCount(font) * lineHeight;
+				if (lineY + titleHeight > clipY && lineY < clipBottom) {
+					renderTitle(g, line, style, lineY, contentWidth, titleHeight);
+				}
+			} else if (lineY + lineHeight > clipY && lineY < clipBottom) {
+				StringPainter.drawStringInArea(g, line, font, 0, lineY, contentWidth, lineHeight, horizontalAlignment,
+						verticalAlignment);
+			}
+			lineY += lineHeight;
+		}
+	}
+
+	/**
+	 * Renders a title at the bottom of its lines, above its border and its bottom margin. The color of the text is set
+	 * back afterwards.
+	 */
+	private void renderTitle(GraphicsContext g, String title, Style style, int y, int width, int height) {
+		Font titleFont = this.titleFont;
+		assert titleFont != null;
+		int titleFontHeight = titleFont.getHeight();
+		int borderY = y + height - this.titleMargin - 1;
+		StringPainter.drawStringInArea(g, title, titleFont, 0, borderY - titleFontHeight, width, titleFontHeight,
+				style.getHorizontalAlignment(), style.getVerticalAlignment());
+		g.setColor(this.titleBorderColor);
+		Painter.fillRectangle(g, 0, borderY, width, 1);
+		g.setColor(style.getColor());
+	}
+
+	@Override
+	public void initializeViewport(int width, int height) {
+		this.viewportHeight = height;
+	}
+
+	@Override
+	public void updateViewport(int x, int y) {
+		this.viewportY = -y;
+		if (this.font != null) {
+			updateWindow();
+		}
+	}
+
+	@Override
+	public boolean snapToItems() {
+		return false;
+	}
+
+	@Override
+	public int[] getItemSizes() throws UnsupportedOperationException {
+		throw new UnsupportedOperationException();
+	}
+
+	@Override
+	public int getItemSize(int index) throws UnsupportedOperationException {
+		throw new UnsupportedOperationException();
+	}
+
+	@Override
+	public int getItemOffset(int index) throws UnsupportedOperationException {
+		throw new UnsupportedOperationException();
+	}
+
+	private TextResource getResource() {
+		TextResource resource = this.resource;
+		if (resource == null) {
+			resource = new TextResource(this.path);
+			this.resource = resource;
+		}
+		return resource;
+	}
+
+	/**
+	 * Estimates the height of the text from the number of lines of its beginning.
+	 */
+	private int estimateHeight(Font font, int width) {
+		int length = getLength();
+		int offset = 0;
+		int lineCount = 0;
+		while (offset < length && offset < ESTIMATE_LENGTH) {
+			offset = readParagraph(offset);
+			lineCount += wrapParagraph(font, width).length;
+		}
+		if (offset == 0) {
+			return 0;
+		}
+		// Rounded up so that the last line is not cut.
+		long estimatedLineCount = ((long) length * lineCount + offset - 1) / offset;
+		return (int) estimatedLineCount * font.getHeight();
+	}
+
+	/**
+	 * Wraps and forgets the paragraphs so that the window covers the viewport plus one viewport height on each side.
+	 */
+	private void updateWindow() {
+		int lineHeight = getLineHeight();
+		int margin = this.viewportHeight;
+		int top = this.viewportY - margin;
+		int bottom = this.viewportY + this.viewportHeight + margin;
+
+		if (this.lineCount == 0 || bottom < this.windowY || top > getWindowBottom()) {
+			// Too far from the wrapped paragraphs, start from the proportional offset.
+			int length = getLength();
+			int height = this.height;
+			int offset = (height == 0) ? 0 : (int) ((long) Math.max(0, this.viewportY) * length / height);
+			clearWindow(findParagraphStart(Math.min(offset, Math.max(0, length - 1))), this.viewportY);
+		}
+
+		appendParagraphs(bottom);
+		prependParagraphs(top);
+
+		// Forget the paragraphs out of the window.
+		while (this.lineCount > 0 && this.windowY + getParagraphLineCount(0) * lineHeight < top) {
+			removeFirstParagraph(lineHeight);
+		}
+		while (this.lineCount > 0
+				&& getWindowBottom() - getParagraphLineCount(this.lineCount - 1) * lineHeight > bottom) {
+			removeLastParagraph();
+		}
+
+		correctHeight();
+	}
+
+	/**
+	 * Corrects the height when the wrapped paragraphs do not match the estimated height of the text: the start of the
+	 * text must be at the top, the end of the text at the bottom, and the text before and after the wrapped paragraphs
+	 * must have room. The lines keep their position on screen: when the room before the wrapped paragraphs changes,
+	 * the window and the viewport are shifted at the next layout.
+	 */
+	private void correctHeight() {
+		int length = getLength();
+		// Positions of the window once shifted.
+		int windowY = this.windowY + this.pendingShift;
+		int windowBottom = getWindowBottom() + this.pendingShift;
+
+		int shift;
+		if (this.windowStart == 0) {
+			shift = -windowY;
+		} else if (windowY <= 0) {
+			shift = estimateHeight(this.windowStart) - windowY;
+		} else {
+			shift = 0;
+		}
+		if (shift != 0) {
+			this.pendingShift += shift;
+			windowBottom += shift;
+			setHeight(this.height + shift);
+		}
+
+		if (this.windowEnd == length) {
+			setHeight(windowBottom);
+		} else if (windowBottom >= this.height) {
+			setHeight(windowBottom + estimateHeight(length - this.windowEnd));
+		}
+	}
+
+	/**
+	 * Estimates the height of a number of bytes from the wrapped paragraphs.
+	 */
+	private int estimateHeight(int byteCount) {
+		int wrappedLength = Math.max(1, this.windowEnd - this.windowStart);
+		int lineCount = Math.max(1, this.lineCount);
+		long estimatedLineCount = ((long) byteCount * lineCount + wrappedLength - 1) / wrappedLength;
+		return (int) Math.max(1, estimatedLineCount) * getLineHeight();
+	}
+
+	private void setHeight(int height) {
+		if (height != this.height) {
+			this.height = height;
+			Container parent = getParent();
+			if (parent != null) {
+				parent.requestLayOut();
+			}
+		}
+	}
+
+	private void appendParagraphs(int bottom) {
+		Font font = getFont();
+		int length = getLength();
+		while (this.windowEnd < length && getWindowBottom() < bottom) {
+			int start = this.windowEnd;
+			int end = readParagraph(start);
+			String[] paragraphLines = wrapParagraph(font, this.width);
+			int count = paragraphLines.length;
+			ensureCapacity(this.lineCount + count);
+			System.arraycopy(paragraphLines, 0, this.lines, this.lineCount, count);
+			for (int i = 0; i < count; i++) {
+				this.lineParagraphs[this.lineCount + i] = start;
+				this.lineTitles[this.lineCount + i] = (i == 0 && this.paragraphTitle);
+			}
+			this.lineCount += count;
+			this.windowEnd = end;
+		}
+	}
+
+	private void prependParagraphs(int top) {
+		Font font = getFont();
+		int lineHeight = font.getHeight();
+		while (this.windowStart > 0 && this.windowY > top) {
+			int start = findParagraphStart(this.windowStart - 1);
+			int end = readParagraph(start);
+			String[] paragraphLines = wrapParagraph(font, this.width);
+			int count = paragraphLines.length;
+			int lineCount = this.lineCount;
+			ensureCapacity(lineCount + count);
+			String[] lines = this.lines;
+			int[] lineParagraphs = this.lineParagraphs;
+			boolean[] lineTitles = this.lineTitles;
+			System.arraycopy(lines, 0, lines, count, lineCount);
+			System.arraycopy(lineParagraphs, 0, lineParagraphs, count, lineCount);
+			System.arraycopy(lineTitles, 0, lineTitles, count, lineCount);
+			System.arraycopy(paragraphLines, 0, lines, 0, count);
+			for (int i = 0; i < count; i++) {
+				lineParagraphs[i] = start;
+				lineTitles[i] = (i == 0 && this.paragraphTitle);
+			}
+			this.lineCount = lineCount + count;
+			this.windowStart = start;
+			this.windowY -= count * lineHeight;
+		}
+	}
+
+	private void removeFirstParagraph(int lineHeight) {
+		int count = getParagraphLineCount(0);
+		int lineCount = this.lineCount - count;
+		String[] lines = this.lines;
+		int[] lineParagraphs = this.lineParagraphs;
+		System.arraycopy(lines, count, lines, 0, lineCount);
+		System.arraycopy(lineParagraphs, count, lineParagraphs, 0, lineCount);
+		System.arraycopy(this.lineTitles, count, this.lineTitles, 0, lineCount);
+		clearLines(lineCount, this.lineCount);
+		this.lineCount = lineCount;
+		this.windowStart = (lineCount > 0) ? lineParagraphs[0] : this.windowEnd;
+		this.windowY += count * lineHeight;
+	}
+
+	private void removeLastParagraph() {
+		int lineCount = this.lineCount - getParagraphLineCount(this.lineCount - 1);
+		this.windowEnd = this.lineParagraphs[lineCount];
+		clearLines(lineCount, this.lineCount);
+		this.lineCount = lineCount;
+	}
+
+	/**
+	 * Gets the number of lines of the paragraph of a line.
+	 */
+	private int getParagraphLineCount(int line) {
+		int[] lineParagraphs = this.lineParagraphs;
+		int paragraph = lineParagraphs[line];
+		int first = line;
+		while (first > 0 && lineParagraphs[first - 1] == paragraph) {
+			first--;
+		}
+		int last = line;
+		while (last < this.lineCount - 1 && lineParagraphs[last + 1] == paragraph) {
+			last++;
+		}
+		return last - first + 1;
+	}
+
+	private int getWindowBottom() {
+		return this.windowY + this.lineCount * getLineHeight();
+	}
+
+	private void clearWindow(int offset, int y) {
+		clearLines(0, this.lineCount);
+		this.lineCount = 0;
+		this.windowStart = offset;
+		this.windowEnd = offset;
+		this.windowY = y;
+		this.pendingShift = 0;
+	}
+
+	private void clearLines(int from, int to) {
+		String[] lines = this.lines;
+		for (int i = from; i < to; i++) {
+			lines[i] = null; // NOSONAR the lines are not referenced anymore.
+		}
+	}
+
+	private void ensureCapacity(int capacity) {
+		int oldCapacity = this.lines.length;
+		if (capacity > oldCapacity) {
+			int newCapacity = Math.max(capacity, oldCapacity * 2);
+			String[] lines = new String[newCapacity];
+			int[] lineParagraphs = new int[newCapacity];
+			boolean[] lineTitles = new boolean[newCapacity];
+			System.arraycopy(this.lines, 0, lines, 0, this.lineCount);
+			System.arraycopy(this.lineParagraphs, 0, lineParagraphs, 0, this.lineCount);
+			System.arraycopy(this.lineTitles, 0, lineTitles, 0, this.lineCount);
+			this.lines = lines;
+			this.lineParagraphs = lineParagraphs;
+			this.lineTitles = lineTitles;
+		}
+	}
+
+	/**
+	 * Finds the start of the paragraph containing a byte. If the paragraph is too long, the byte is in the last part
+	 * of the cut paragraph, which starts at a character boundary.
+	 */
+	private int findParagraphStart(int offset) {
+		TextResource resource = getResource();
+		int limit = Math.max(0, offset - MAX_PARAGRAPH_LENGTH + 1);
+		for (int i = offset - 1; i >= limit; i--) {
+			if (resource.byteAt(i) == LINE_FEED) {
+				return i + 1;
+			}
+		}
+		while (limit < offset && isContinuationByte(resource.byteAt(limit))) {
+			limit++;
+		}
+		return limit;
+	}
+
+	/**
+	 * Reads the bytes of a paragraph, without its line separators, in the paragraph buffer. A paragraph cut in the
+	 * middle of a character ends before this character.
+	 *
+	 * @return the offset following the paragraph.
+	 */
+	private int readParagraph(int start) {
+		TextResource resource = getResource();
+		int length = resource.getLength();
+		byte[] paragraphBytes = this.paragraphBytes;
+		int byteCount = 0;
+		int offset = start;
+		while (offset < length && offset - start < MAX_PARAGRAPH_LENGTH) {
+			int value = resource.byteAt(offset++);
+			if (value == LINE_FEED || value == TextResource.NO_BYTE) {
+				break;
+			}
+			if (value != CARRIAGE_RETURN) {
+				paragraphBytes[byteCount++] = (byte) value;
+			}
+		}
+		// Move the start of a cut character to the next paragraph.
+		int backedCount = 0;
+		while (offset < length && byteCount > 0 && backedCount < MAX_CONTINUATION_BYTES
+				&& isContinuationByte(resource.byteAt(offset))) {
+			offset--;
+			byteCount--;
+			backedCount++;
+		}
+		this.paragraphByteCount = byteCount;
+		this.paragraphTitle = (this.titleFont != null && byteCount >= TITLE_MARKER_LENGTH
+				&& paragraphBytes[0] == TITLE_MARKER && paragraphBytes[1] == ' ');
+		return offset;
+	}
+
+	private static boolean isContinuationByte(int value) {
+		return (value & CONTINUATION_BYTE_MASK) == CONTINUATION_BYTE;
+	}
+
+	/**
+	 * Wraps the paragraph read in the paragraph buffer. A title fills its first line, followed by empty lines.
+	 */
+	private String[] wrapParagraph(Font font, int width) {
+		int byteCount = this.paragraphByteCount;
+		if (byteCount == 0) {
+			return EMPTY_PARAGRAPH;
+		}
+		if (this.paragraphTitle) {
+			String[] titleLines = new String[getTitleLineCount(font)];
+			titleLines[0] = decode(TITLE_MARKER_LENGTH, byteCount - TITLE_MARKER_LENGTH);
+			for (int i = 1; i < titleLines.length; i++) {
+				titleLines[i] = ""; //$NON-NLS-1$
+			}
+			return titleLines;
+		}
+		return TextHelper.wrap(decode(0, byteCount), font, width);
+	}
+
+	private String decode(int offset, int byteCount) {
+		try {
+			return new String(this.paragraphBytes, offset, byteCount, ENCODING);
+		} catch (UnsupportedEncodingException e) {
+			return new String(this.paragraphBytes, offset, byteCount);
+		}
+	}
+
+	/**
+	 * Gets the number of text lines covered by a title and its margins.
+	 */
+	private int getTitleLineCount(Font font) {
+		Font titleFont = this.titleFont;
+		assert titleFont != null;
+		int titleHeight = titleFont.getHeight() + 1 + 2 * this.titleMargin;
+		int lineHeight = font.getHeight();
+		return Math.max(1, (titleHeight + lineHeight - 1) / lineHeight);
+	}
+
+	private Font getFont() {
+		Font font = this.font;
+		assert font != null;
+		return font;
+	}
+
+	private int getLineHeight() {
+		return getFont().getHeight();
+	}
+
+}
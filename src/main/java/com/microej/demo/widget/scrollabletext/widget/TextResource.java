@@ -0,0 +1,158 @@
+/*
+ * Copyright 2026 MicroEJ Corp. All rights reserved.
+ * Use of this source code is governed by a BSD-style license that can be found with this software.
+ */
+package com.microej.demo.widget.scrollabletext.widget;
+
+import java.io.IOException;
+import java.io.InputStream;
+
+import ej.annotation.Nullable;
+import ej.basictool.ThreadUtils;
+
+/**
+ * Reads the bytes of a resource at arbitrary offsets without loading it entirely.
+ * <p>
+ * A single chunk of the resource is kept in memory. The resource stream is kept open while reading forward and is
+ * opened again when reading before the current position.
+ */
+/* package */ class TextResource {
+
+	/**
+	 * The value returned by {@link #byteAt(int)} when the resource cannot be read.
+	 */
+	/* package */ static final int NO_BYTE = -1;
+
+	private static final int CHUNK_SIZE = 512;
+
+	private final String path;
+	private final int length;
+	private final byte[] chunk;
+	private int chunkOffset;
+	private int chunkLength;
+
+	@Nullable
+	private InputStream stream;
+	private int streamOffset;
+
+	/**
+	 * Creates a text resource and computes its length.
+	 *
+	 * @param path
+	 *            the path of the resource.
+	 */
+	/* package */ TextResource(String path) {
+		this.path = path;
+		this.chunk = new byte[CHUNK_SIZE];
+		this.length = computeLength();
+	}
+
+	/**
+	 * Gets the length of the resource.
+	 *
+	 * @return the number of bytes of the resource, or zero if it cannot be read.
+	 */
+	/* package */ int getLength() {
+		return this.length;
+	}
+
+	/**
+	 * Gets a byte of the resource.
+	 *
+	 * @param offset
+	 *            the offset of the byte, between zero and the length of the resource.
+	 * @return the byte as an unsigned value, or {@link #NO_BYTE} if the resource cannot be read.
+	 */
+	/* package */ int byteAt(int offset) {
+		int index = offset - this.chunkOffset;
+		if (index < 0 || index >= this.chunkLength) {
+			loadChunk(offset - offset % CHUNK_SIZE);
+			index = offset - this.chunkOffset;
+			if (index < 0 || index >= this.chunkLength) {
+				return NO_BYTE;
+			}
+		}
+		return this.chunk[index] & 0xff;
+	}
+
+	/**
+	 * Closes the resource stream and forgets the loaded chunk.
+	 */
+	/* package */ void close() {
+		closeStream();
+		this.chunkLength = 0;
+	}
+
+	private int computeLength() {
+		int length = 0;
+		InputStream stream = TextResource.class.getResourceAsStream(this.path);
+		if (stream != null) {
+			try {
+				// The resource streams know the number of remaining bytes.
+				length = stream.available();
+			} catch (IOException e) {
+				ThreadUtils.handleUncaughtException(e);
+			} finally {
+				close(stream);
+			}
+		}
+		return length;
+	}
+
+	private void loadChunk(int offset) {
+		this.chunkOffset = offset;
+		this.chunkLength = 0;
+		try {
+			InputStream stream = this.stream;
+			if (stream == null || this.streamOffset > offset) {
+				closeStream();
+				stream = TextResource.class.getResourceAsStream(this.path);
+				if (stream == null) {
+					return;
+				}
+				this.stream = stream;
+				this.streamOffset = 0;
+			}
+
+			while (this.streamOffset < offset) {
+				long skipped = stream.skip(offset - this.streamOffset);
+				if (skipped <= 0) {
+					return;
+				}
+				this.streamOffset += (int) skipped;
+			}
+
+			byte[] chunk = this.chunk;
+			int chunkLength = 0;
+			while (chunkLength < CHUNK_SIZE) {
+				int read = stream.read(chunk, chunkLength, CHUNK_SIZE - chunkLength);
+				if (read <= 0) {
+					break;
+				}
+				chunkLength += read;
+			}
+			this.streamOffset += chunkLength;
+			this.chunkLength = chunkLength;
+		} catch (IOException e) {
+			ThreadUtils.handleUncaughtException(e);
+			closeStream();
+		}
+	}
+
+	private void closeStream() {
+		InputStream stream = this.stream;
+		if (stream != null) {
+			close(stream);
+			this.stream = null;
+		}
+	}
+
+	private static void close(InputStream stream) {
+		try {
+			stream.close();
+		} catch (IOException e) {
+			// Nothing to do, the stream is not used anymore.
+		}
+	}
+
+}
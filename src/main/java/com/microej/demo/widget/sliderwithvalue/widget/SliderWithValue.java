@@ -1,11 +1,13 @@
 /*
- * Copyright 2021-2025 MicroEJ Corp. All rights reserved.
+ * Copyright 2021-2026 MicroEJ Corp. All rights reserved.
  * Use of this source code is governed by a BSD-style license that can be found with this software.
  */
 package com.microej.demo.widget.sliderwithvalue.widget;
 
+import com.microej.demo.widget.common.CharsPainter;
 import com.microej.demo.widget.common.CirclePainter;
 import com.microej.demo.widget.common.Fonts;
+import com.microej.demo.widget.common.NumberFormatter;
 
 import ej.bon.XMath;
 import ej.drawing.ShapePainter;
@@ -21,7 +23,6 @@ import ej.mwt.stylesheet.selector.StateSelector;
 import ej.mwt.util.Alignment;
 import ej.mwt.util.Rectangle;
 import ej.mwt.util.Size;
-import ej.widget.render.StringPainter;
 
 /**
  * Slider with a round knob showing the current value and a simple line.
@@ -60,6 +61,7 @@ public class SliderWithValue extends Widget implements EventHandler {
 	private final int minimum;
 	private int value;
 	private boolean pressed;
+	private final char[] valueChars;
 
 	/**
 	 * Creates a horizontal slider.
@@ -78,6 +80,7 @@ public class SliderWithValue extends Widget implements EventHandler {
 		this.minimum = min;
 		this.maximum = max;
 		this.value = initialValue;
+		this.valueChars = new char[NumberFormatter.MAX_INT_LENGTH];
 	}
 
 	@Override
@@ -149,10 +152,11 @@ public class SliderWithValue extends Widget implements EventHandler {
 		int circleColor = style.getExtraInt(CURSOR_EDGE_ID, DEFAULT_CURSOR_EDGE);
 		CirclePainter.drawFilledCircle(gc, circleColor, getCursorBackgroundColor(style), left, top, diameter,
 				THICKNESS);
-		String valueText = Integer.toString(this.value);
+		char[] valueChars = this.valueChars;
+		int length = NumberFormatter.formatInt(this.value, valueChars, 0);
 		gc.setColor(style.getColor());
-		StringPainter.drawStringInArea(gc, valueText, Fonts.getSourceSansPro16px700(), left, top, diameter, diameter,
-				Alignment.HCENTER, Alignment.VCENTER);
+		CharsPainter.drawCharsInArea(gc, valueChars, 0, length, Fonts.getSourceSansPro16px700(), left, top, diameter,
+				diameter, Alignment.HCENTER, Alignment.VCENTER);
 	}
 
 	private int getSize(Style style) {
@@ -1,5 +1,5 @@
 /*
- * Copyright 2021-2025 MicroEJ Corp. All rights reserved.
+ * Copyright 2021-2026 MicroEJ Corp. All rights reserved.
  * Use of this source code is governed by a BSD-style license that can be found with this software.
  */
 package com.microej.demo.widget.wheel;
@@ -9,6 +9,7 @@ import com.microej.demo.widget.common.Fonts;
 import com.microej.demo.widget.common.Page;
 import com.microej.demo.widget.wheel.widget.Choice;
 import com.microej.demo.widget.wheel.widget.IntegerChoice;
+import com.microej.demo.widget.wheel.widget.ScaledGlyphCache;
 import com.microej.demo.widget.wheel.widget.StringChoice;
 import com.microej.demo.widget.wheel.widget.Wheel;
 
@@ -43,6 +44,10 @@ public class WheelPage implements Page {
 	private static final int MIN_YEAR = 2010;
 	private static final int MAX_YEAR = 2035;
 
+	// The digits scaled at all the levels of the side values take about 38 KB, which leaves about 18 KB of the 72 KB
+	// images heap for the letters of the months (about 10 KB for the side months of a frame).
+	private static final int GLYPH_CACHE_BUDGET = 56000;
+
 	@Override
 	public String getName() {
 		return "Wheel"; //$NON-NLS-1$
@@ -65,17 +70,21 @@ public class WheelPage implements Page {
 
 		List wheelsList = new List(true);
 		wheelsList.addClassSelector(DATE_PICKER);
+		ScaledGlyphCache glyphCache = new ScaledGlyphCache(GLYPH_CACHE_BUDGET);
 
 		Choice monthChoice = new StringChoice(MONTHS, DEFAULT_MONTH);
 		Wheel monthWheel = new Wheel(WHEEL_SIDES, monthChoice);
+		monthWheel.setGlyphCache(glyphCache);
 		wheelsList.addChild(monthWheel);
 
 		Choice dayChoice = new IntegerChoice(MIN_DAY, MAX_DAY, DEFAULT_DAY);
 		Wheel dayWheel = new Wheel(WHEEL_SIDES, dayChoice);
+		dayWheel.setGlyphCache(glyphCache);
 		wheelsList.addChild(dayWheel);
 
 		Choice yearChoice = new IntegerChoice(MIN_YEAR, MAX_YEAR, DEFAULT_YEAR);
 		Wheel yearWheel = new Wheel(WHEEL_SIDES, yearChoice);
+		yearWheel.setGlyphCache(glyphCache);
 		wheelsList.addChild(yearWheel);
 		return wheelsList;
 	}
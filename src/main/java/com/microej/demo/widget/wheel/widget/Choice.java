@@ -1,5 +1,5 @@
 /*
- * Copyright 2015-2022 MicroEJ Corp. All rights reserved.
+ * Copyright 2015-2026 MicroEJ Corp. All rights reserved.
  * Use of this source code is governed by a BSD-style license that can be found with this software.
  */
 package com.microej.demo.widget.wheel.widget;
@@ -22,6 +22,28 @@ public interface Choice {
 	 */
 	String getValueAsString(int index);
 
+	/**
+	 * Writes the value of an item at an index in a character array.
+	 *
+	 * @param index
+	 *            the index of the item.
+	 * @param chars
+	 *            the array to write in, of at least {@link #getMaxValueLength()} characters after the offset.
+	 * @param offset
+	 *            the index of the first character to write.
+	 * @return the number of characters written.
+	 * @throws NoSuchElementException
+	 *             if the given index matches no item.
+	 */
+	int getValueAsChars(int index, char[] chars, int offset);
+
+	/**
+	 * Gets the maximum number of characters of the values.
+	 *
+	 * @return the maximum length of the values.
+	 */
+	int getMaxValueLength();
+
 	/**
 	 * Gets the current item index.
 	 *
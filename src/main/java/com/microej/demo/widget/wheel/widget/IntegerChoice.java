@@ -1,9 +1,11 @@
 /*
- * Copyright 2015-2022 MicroEJ Corp. All rights reserved.
+ * Copyright 2015-2026 MicroEJ Corp. All rights reserved.
  * Use of this source code is governed by a BSD-style license that can be found with this software.
  */
 package com.microej.demo.widget.wheel.widget;
 
+import com.microej.demo.widget.common.NumberFormatter;
+
 /**
  * Represents an integer choice from a minimum to a maximum.
  */
@@ -56,6 +58,17 @@ public final class IntegerChoice implements Choice {
 		return getValueAsStringNoCheck(index);
 	}
 
+	@Override
+	public int getValueAsChars(int index, char[] chars, int offset) {
+		int valueForIndex = getValueForIndex(checkIndex(index));
+		return NumberFormatter.formatInt(valueForIndex, chars, offset) - offset;
+	}
+
+	@Override
+	public int getMaxValueLength() {
+		return Math.max(NumberFormatter.getIntLength(this.minimum), NumberFormatter.getIntLength(this.maximum));
+	}
+
 	private String getValueAsStringNoCheck(int index) {
 		int valueForIndex = getValueForIndex(index);
 		return String.valueOf(valueForIndex);
@@ -0,0 +1,338 @@
+/*
+ * Copyright 2026 MicroEJ Corp. All rights reserved.
+ * Use of this source code is governed by a BSD-style license that can be found with this software.
+ */
+package com.microej.demo.widget.wheel.widget;
+
+import com.microej.demo.widget.common.CharsPainter;
+
+import ej.annotation.Nullable;
+import ej.drawing.TransformPainter;
+import ej.microui.MicroUIException;
+import ej.microui.display.BufferedImage;
+import ej.microui.display.Display;
+import ej.microui.display.Font;
+import ej.microui.display.GraphicsContext;
+import ej.microui.display.Painter;
+import ej.mwt.util.Alignment;
+
+/**
+ * Caches the glyphs of the values of wheels, scaled at quantized levels and tinted.
+ * <p>
+ * A glyph is identified by its character, its font, its level and its colors, so that it is rendered once and reused
+ * by all the values that contain it, whatever their index. The scale ratios are rounded to the closest multiple of
+ * {@link #LEVEL_STEP}. Each glyph is kept in a {@link BufferedImage} filled with the background color and can then be
+ * drawn without any transformation. When the total size of the images exceeds the budget, the least recently used ones
+ * are evicted.
+ * <p>
+ * The values drawn at their full size do not need any transformation and are drawn directly. The images being opaque,
+ * the values are also drawn directly when the graphics context has no background color.
+ * <p>
+ * The cache may be shared between several wheels: each of them attaches to the cache when it is shown and detaches
+ * from it when it is hidden, and the images are closed when the last one is hidden.
+ *
+ * @see Wheel#setGlyphCache(ScaledGlyphCache)
+ */
+public class ScaledGlyphCache {
+
+	/**
+	 * The difference between two consecutive scale levels.
+	 */
+	public static final float LEVEL_STEP = 0.05f;
+
+	/**
+	 * The level of the values drawn at their full size.
+	 */
+	public static final int FULL_SIZE_LEVEL = Math.round(1.0f / LEVEL_STEP);
+
+	private static final int BITS_PER_BYTE = 8;
+	private static final int INITIAL_CAPACITY = 16;
+
+	private final int budget;
+
+	private char[] characters;
+	private Font[] fonts;
+	private int[] levels;
+	private int[] colors;
+	private int[] backgroundColors;
+	private BufferedImage[] images;
+	private long[] lastUses;
+	private int count;
+	private int size;
+	private long useCounter;
+	private int attachedCount;
+
+	/**
+	 * Creates a scaled glyph cache.
+	 *
+	 * @param budget
+	 *            the maximum size of the images, in bytes.
+	 */
+	public ScaledGlyphCache(int budget) {
+		this.budget = budget;
+		this.characters = new char[INITIAL_CAPACITY];
+		this.fonts = new Font[INITIAL_CAPACITY];
+		this.levels = new int[INITIAL_CAPACITY];
+		this.colors = new int[INITIAL_CAPACITY];
+		this.backgroundColors = new int[INITIAL_CAPACITY];
+		this.images = new BufferedImage[INITIAL_CAPACITY];
+		this.lastUses = new long[INITIAL_CAPACITY];
+	}
+
+	/**
+	 * Gets the level closest to a scale ratio.
+	 *
+	 * @param ratio
+	 *            the scale ratio.
+	 * @return the level.
+	 */
+	public static int getLevel(float ratio) {
+		return Math.round(ratio / LEVEL_STEP);
+	}
+
+	/**
+	 * Gets the scale ratio of a level.
+	 *
+	 * @param level
+	 *            the level.
+	 * @return the scale ratio.
+	 */
+	public static float getRatio(int level) {
+		return level * LEVEL_STEP;
+	}
+
+	/**
+	 * Registers a user of this cache.
+	 *
+	 * @see #detach()
+	 */
+	public void attach() {
+		this.attachedCount++;
+	}
+
+	/**
+	 * Unregisters a user of this cache. The images are closed when no user is left.
+	 *
+	 * @see #attach()
+	 */
+	public void detach() {
+		this.attachedCount--;
+		if (this.attachedCount <= 0) {
+			this.attachedCount = 0;
+			clear();
+		}
+	}
+
+	/**
+	 * Draws characters scaled at a level, centered on an anchor point, with the color of the graphics context.
+	 * <p>
+	 * The glyphs are drawn from the cache when the characters are scaled and the graphics context has a background
+	 * color, and are rendered in the cache if needed. Otherwise, or if a glyph does not fit in the images heap, they
+	 * are drawn directly.
+	 *
+	 * @param g
+	 *            the graphics context.
+	 * @param chars
+	 *            the characters.
+	 * @param offset
+	 *            the index of the first character.
+	 * @param length
+	 *            the number of characters.
+	 * @param font
+	 *            the font.
+	 * @param level
+	 *            the scale level.
+	 * @param anchorX
+	 *            the x coordinate of the center of the characters.
+	 * @param anchorY
+	 *            the y coordinate of the center of the characters.
+	 */
+	public void drawChars(GraphicsContext g, char[] chars, int offset, int length, Font font, int level, int anchorX,
+			int anchorY) {
+		if (level == FULL_SIZE_LEVEL) {
+			CharsPainter.drawCharsAtPoint(g, chars, offset, length, font, anchorX, anchorY, Alignment.HCENTER,
+					Alignment.VCENTER);
+			return;
+		}
+
+		float ratio = getRatio(level);
+		int width = (int) (CharsPainter.charsWidth(chars, offset, length, font) * ratio);
+		int x = Alignment.computeLeftX(width, anchorX, Alignment.HCENTER);
+		int y = Alignment.computeTopY((int) (font.getHeight() * ratio), anchorY, Alignment.VCENTER);
+		if (!g.hasBackgroundColor()) {
+			CharsPainter.drawScaledCharsBilinear(g, chars, offset, length, font, x, y, ratio);
+			return;
+		}
+
+		int color = g.getColor();
+		int backgroundColor = g.getBackgroundColor();
+		float currentX = x;
+		for (int i = offset; i < offset + length; i++) {
+			char character = chars[i];
+			BufferedImage glyph = getGlyph(character, font, level, color, backgroundColor);
+			if (glyph != null) {
+				Painter.drawImage(g, glyph, (int) currentX, y);
+			} else {
+				TransformPainter.drawScaledCharBilinear(g, character, font, (int) currentX, y, ratio, ratio);
+			}
+			currentX += font.charWidth(character) * ratio;
+		}
+	}
+
+	/**
+	 * Removes all the images and closes them.
+	 */
+	public void clear() {
+		BufferedImage[] images = this.images;
+		Font[] fonts = this.fonts;
+		for (int i = 0; i < this.count; i++) {
+			BufferedImage image = images[i];
+			assert image != null;
+			image.close();
+			images[i] = null;
+			fonts[i] = null;
+		}
+		this.count = 0;
+		this.size = 0;
+	}
+
+	private @Nullable BufferedImage getGlyph(char character, Font font, int level, int color, int backgroundColor) {
+		int position = getPosition(character, font, level, color, backgroundColor);
+		if (position != -1) {
+			this.lastUses[position] = ++this.useCounter;
+			return this.images[position];
+		}
+
+		float ratio = getRatio(level);
+		int width = (int) Math.ceil(font.charWidth(character) * ratio);
+		int height = (int) (font.getHeight() * ratio);
+		int imageSize = getImageSize(width, height);
+		if (imageSize > this.budget || width <= 0 || height <= 0) {
+			return null;
+		}
+
+		evict(imageSize);
+		BufferedImage image;
+		try {
+			image = new BufferedImage(width, height);
+		} catch (MicroUIException e) {
+			// The images heap is full: the glyph is drawn directly.
+			return null;
+		}
+		GraphicsContext g = image.getGraphicsContext();
+		g.setColor(backgroundColor);
+		Painter.fillRectangle(g, 0, 0, width, height);
+		g.setBackgroundColor(backgroundColor);
+		g.setColor(color);
+		TransformPainter.drawScaledCharBilinear(g, character, font, 0, 0, ratio, ratio);
+		add(character, font, level, color, backgroundColor, image, imageSize);
+		return image;
+	}
+
+	private int getPosition(char character, Font font, int level, int color, int backgroundColor) {
+		char[] characters = this.characters;
+		Font[] fonts = this.fonts;
+		int[] levels = this.levels;
+		int[] colors = this.colors;
+		int[] backgroundColors = this.backgroundColors;
+		for (int i = 0; i < this.count; i++) {
+			if (characters[i] == character && fonts[i] == font && levels[i] == level && colors[i] == color
+					&& backgroundColors[i] == backgroundColor) {
+				return i;
+			}
+		}
+		return -1;
+	}
+
+	/**
+	 * Evicts the least recently used images until an image of the given size fits in the budget.
+	 */
+	private void evict(int imageSize) {
+		while (this.count > 0 && this.size + imageSize > this.budget) {
+			int position = getLeastRecentlyUsedPosition();
+			BufferedImage image = this.images[position];
+			assert image != null;
+			removeAt(position);
+			image.close();
+		}
+	}
+
+	private void add(char character, Font font, int level, int color, int backgroundColor, BufferedImage image,
+			int imageSize) {
+		int count = this.count;
+		if (count == this.characters.length) {
+			grow();
+		}
+		this.characters[count] = character;
+		this.fonts[count] = font;
+		this.levels[count] = level;
+		this.colors[count] = color;
+		this.backgroundColors[count] = backgroundColor;
+		this.images[count] = image;
+		this.lastUses[count] = ++this.useCounter;
+		this.count = count + 1;
+		this.size += imageSize;
+	}
+
+	private int getLeastRecentlyUsedPosition() {
+		long[] lastUses = this.lastUses;
+		int position = -1;
+		long oldestUse = Long.MAX_VALUE;
+		for (int i = 0; i < this.count; i++) {
+			if (lastUses[i] < oldestUse) {
+				oldestUse = lastUses[i];
+				position = i;
+			}
+		}
+		return position;
+	}
+
+	private void removeAt(int position) {
+		BufferedImage image = this.images[position];
+		assert image != null;
+		this.size -= getImageSize(image.getWidth(), image.getHeight());
+
+		// Move the last image to the freed position.
+		int last = this.count - 1;
+		this.characters[position] = this.characters[last];
+		this.fonts[position] = this.fonts[last];
+		this.levels[position] = this.levels[last];
+		this.colors[position] = this.colors[last];
+		this.backgroundColors[position] = this.backgroundColors[last];
+		this.images[position] = this.images[last];
+		this.lastUses[position] = this.lastUses[last];
+		this.fonts[last] = null;
+		this.images[last] = null;
+		this.count = last;
+	}
+
+	private void grow() {
+		int capacity = this.characters.length * 2;
+		char[] characters = new char[capacity];
+		Font[] fonts = new Font[capacity];
+		int[] levels = new int[capacity];
+		int[] colors = new int[capacity];
+		int[] backgroundColors = new int[capacity];
+		BufferedImage[] images = new BufferedImage[capacity];
+		long[] lastUses = new long[capacity];
+		System.arraycopy(this.characters, 0, characters, 0, this.count);
+		System.arraycopy(this.fonts, 0, fonts, 0, this.count);
+		System.arraycopy(this.levels, 0, levels, 0, this.count);
+		System.arraycopy(this.colors, 0, colors, 0, this.count);
+		System.arraycopy(this.backgroundColors, 0, backgroundColors, 0, this.count);
+		System.arraycopy(this.images, 0, images, 0, this.count);
+		System.arraycopy(this.lastUses, 0, lastUses, 0, this.count);
+		this.characters = characters;
+		this.fonts = fonts;
+		this.levels = levels;
+		this.colors = colors;
+		this.backgroundColors = backgroundColors;
+		this.images = images;
+		this.lastUses = lastUses;
+	}
+
+	private static int getImageSize(int width, int height) {
+		return width * height * Display.getDisplay().getPixelDepth() / BITS_PER_BYTE;
+	}
+
+}
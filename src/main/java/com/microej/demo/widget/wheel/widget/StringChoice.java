@@ -1,5 +1,5 @@
 /*
- * Copyright 2015-2022 MicroEJ Corp. All rights reserved.
+ * Copyright 2015-2026 MicroEJ Corp. All rights reserved.
  * Use of this source code is governed by a BSD-style license that can be found with this software.
  */
 package com.microej.demo.widget.wheel.widget;
@@ -41,6 +41,23 @@ public class StringChoice implements Choice {
 		return valueString;
 	}
 
+	@Override
+	public int getValueAsChars(int index, char[] chars, int offset) {
+		String valueString = getValueAsString(index);
+		int length = valueString.length();
+		valueString.getChars(0, length, chars, offset);
+		return length;
+	}
+
+	@Override
+	public int getMaxValueLength() {
+		int maxLength = 0;
+		for (String string : this.strings) {
+			maxLength = Math.max(maxLength, string.length());
+		}
+		return maxLength;
+	}
+
 	@Override
 	public int getCurrentIndex() {
 		return this.index;
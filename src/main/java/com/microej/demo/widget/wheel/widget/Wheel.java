@@ -1,11 +1,12 @@
 /*
- * Copyright 2015-2023 MicroEJ Corp. All rights reserved.
+ * Copyright 2015-2026 MicroEJ Corp. All rights reserved.
  * Use of this source code is governed by a BSD-style license that can be found with this software.
  */
 package com.microej.demo.widget.wheel.widget;
 
+import com.microej.demo.widget.common.CharsPainter;
+
 import ej.annotation.Nullable;
-import ej.drawing.TransformPainter;
 import ej.microui.display.Colors;
 import ej.microui.display.Font;
 import ej.microui.display.GraphicsContext;
@@ -28,6 +29,9 @@ import ej.widget.render.StringPainter;
 
 /**
  * Represents a wheel from which the user can choose among a set of choices.
+ * <p>
+ * When a {@link ScaledGlyphCache} is set, the sizes and colors of the side values are quantized and their glyphs are
+ * drawn from the cache.
  */
 public class Wheel extends Widget {
 
@@ -52,6 +56,7 @@ public class Wheel extends Widget {
 
 	private final int numSideValues;
 	private final Choice model;
+	private final char[] valueChars;
 	private int spinOffset;
 	private int currentIndexDiff;
 	private boolean dragged;
@@ -60,6 +65,7 @@ public class Wheel extends Widget {
 	private long pressTime;
 	private long lastPointerTime;
 	private @Nullable MotionAnimation motionAnimation;
+	private @Nullable ScaledGlyphCache glyphCache;
 
 	/**
 	 * Creates a wheel.
@@ -73,6 +79,21 @@ public class Wheel extends Widget {
 		super(true);
 		this.numSideValues = numSideValues;
 		this.model = model;
+		this.valueChars = new char[model.getMaxValueLength()];
+	}
+
+	/**
+	 * Sets the cache used to draw the side values.
+	 * <p>
+	 * The cache may be shared between several wheels. It is cleared when all of them are hidden.
+	 * <p>
+	 * This method must be called before the wheel is shown.
+	 *
+	 * @param glyphCache
+	 *            the cache to use, or <code>null</code> to draw the values directly.
+	 */
+	public void setGlyphCache(@Nullable ScaledGlyphCache glyphCache) {
+		this.glyphCache = glyphCache;
 	}
 
 	@Override
@@ -87,26 +108,20 @@ public class Wheel extends Widget {
 		int windowHeight = lineHeight * (itemOnSideCount * 2 + 1);
 		g.intersectClip(0, (contentHeight - windowHeight) >> 1, contentWidth, windowHeight);
 
-		// Draws the current value.
 		int x = contentWidth >> 1;
 		int y = currentValueY;
 
 		int color = style.getColor();
 		int backgroundColor = (g.hasBackgroundColor() ? g.getBackgroundColor() : Colors.WHITE);
-		g.setColor(color);
 		Font font = style.getFont();
-		StringPainter.drawStringAtPoint(g, this.model.getValueAsString(currentVisibleIndex), font, x, y,
-				Alignment.HCENTER, Alignment.VCENTER);
 
+		// Draws the side values, before the current value which may overlap them.
 		int previousValueCount = 0;
 		while (previousValueCount < maxItemOnSideCount) {
 			previousValueCount++;
 			y -= lineHeight;
-			float fontRatio = computeFontRatio(y, contentHeight);
-
-			g.setColor(computeFontColor(y, contentHeight, color, backgroundColor));
-			String valueText = this.model.getPrevious(currentVisibleIndex, previousValueCount);
-			drawString(g, font, valueText, x, y, fontRatio);
+			int index = this.model.checkIndex(currentVisibleIndex - previousValueCount);
+			drawSideValue(g, font, index, x, y, contentHeight, color, backgroundColor);
 		}
 
 		int nextValueCount = 0;
@@ -114,13 +129,17 @@ public class Wheel extends Widget {
 		while (nextValueCount < maxItemOnSideCount) {
 			nextValueCount++;
 			y += lineHeight;
-			float fontRatio = computeFontRatio(y, contentHeight);
-
-			g.setColor(computeFontColor(y, contentHeight, color, backgroundColor));
-			String valueText = this.model.getNext(currentVisibleIndex, nextValueCount);
-			drawString(g, font, valueText, x, y, fontRatio);
+			int index = this.model.checkIndex(currentVisibleIndex + nextValueCount);
+			drawSideValue(g, font, index, x, y, contentHeight, color, backgroundColor);
 		}
 
+		// Draws the current value.
+		g.setColor(color);
+		char[] valueChars = this.valueChars;
+		int length = this.model.getValueAsChars(currentVisibleIndex, valueChars, 0);
+		CharsPainter.drawCharsAtPoint(g, valueChars, 0, length, font, x, currentValueY, Alignment.HCENTER,
+				Alignment.VCENTER);
+
 		// Draws the horizontal lines.
 		g.setColor(style.getExtraInt(LINE_COLOR_FIELD, Colors.BLACK));
 
@@ -133,17 +152,40 @@ public class Wheel extends Widget {
 		Painter.drawHorizontalLine(g, 0, y, contentWidth);
 	}
 
-	private void drawString(GraphicsContext g, Font font, String string, int anchorX, int anchorY, float fontRatio) {
-		int x = Alignment.computeLeftX((int) (font.stringWidth(string) * fontRatio), anchorX, Alignment.HCENTER);
+	/**
+	 * Draws a value above or below the current value, scaled and blended depending on its distance to the wheel center.
+	 */
+	private void drawSideValue(GraphicsContext g, Font font, int index, int anchorX, int anchorY, int height,
+			int color, int backgroundColor) {
+		int distance = getDistance(anchorY, height);
+		ScaledGlyphCache glyphCache = this.glyphCache;
+		if (glyphCache != null) {
+			// Quantizes the distance so that the glyphs are drawn with a few sizes and colors.
+			int level = ScaledGlyphCache.getLevel(computeFontRatio(distance, height));
+			distance = Math.round((1.0f - ScaledGlyphCache.getRatio(level)) * height);
+			g.setColor(computeFontColor(distance, height, color, backgroundColor));
+			char[] valueChars = this.valueChars;
+			int length = this.model.getValueAsChars(index, valueChars, 0);
+			glyphCache.drawChars(g, valueChars, 0, length, font, level, anchorX, anchorY);
+		} else {
+			g.setColor(computeFontColor(distance, height, color, backgroundColor));
+			drawValue(g, font, index, anchorX, anchorY, computeFontRatio(distance, height));
+		}
+	}
+
+	private void drawValue(GraphicsContext g, Font font, int index, int anchorX, int anchorY, float fontRatio) {
+		char[] valueChars = this.valueChars;
+		int length = this.model.getValueAsChars(index, valueChars, 0);
+		int width = (int) (CharsPainter.charsWidth(valueChars, 0, length, font) * fontRatio);
+		int x = Alignment.computeLeftX(width, anchorX, Alignment.HCENTER);
 		int y = Alignment.computeTopY((int) (font.getHeight() * fontRatio), anchorY, Alignment.VCENTER);
-		TransformPainter.drawScaledStringBilinear(g, string, font, x, y, fontRatio, fontRatio);
+		CharsPainter.drawScaledCharsBilinear(g, valueChars, 0, length, font, x, y, fontRatio);
 	}
 
 	/**
 	 * Gets the font ratio for an item depending on its distance to the wheel center.
 	 */
-	private float computeFontRatio(int y, int height) {
-		int distance = getDistance(y, height);
+	private float computeFontRatio(int distance, int height) {
 		return 1.0f - (float) distance / height;
 	}
 
@@ -154,8 +196,7 @@ public class Wheel extends Widget {
 	 * <p>
 	 * If the text to center distance is greater than 35% we add a quadratic evolving transparency.
 	 */
-	private int computeFontColor(int y, int height, int color, int background) {
-		int distance = getDistance(y, height);
+	private int computeFontColor(int distance, int height, int color, int background) {
 		float colorBlending = distance / (float) height;
 		if (colorBlending > TRANSPARENCY_TEXT_CENTER_DISTANCE) {
 			float transparencyPosition = (colorBlending - TRANSPARENCY_TEXT_CENTER_DISTANCE) * MILLISECOND_MULTIPLIER;
@@ -381,9 +422,21 @@ public class Wheel extends Widget {
 		return indexPosition - this.numSideValues;
 	}
 
+	@Override
+	protected void onShown() {
+		ScaledGlyphCache glyphCache = this.glyphCache;
+		if (glyphCache != null) {
+			glyphCache.attach();
+		}
+	}
+
 	@Override
 	protected void onHidden() {
 		stop();
+		ScaledGlyphCache glyphCache = this.glyphCache;
+		if (glyphCache != null) {
+			glyphCache.detach();
+		}
 	}
 
 }
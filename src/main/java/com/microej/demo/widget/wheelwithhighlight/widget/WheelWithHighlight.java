@@ -1,9 +1,10 @@
 /*
- * Copyright 2015-2023 MicroEJ Corp. All rights reserved.
+ * Copyright 2015-2026 MicroEJ Corp. All rights reserved.
  * Use of this source code is governed by a BSD-style license that can be found with this software.
  */
 package com.microej.demo.widget.wheelwithhighlight.widget;
 
+import com.microej.demo.widget.common.CharsPainter;
 import com.microej.demo.widget.wheel.widget.Choice;
 
 import ej.annotation.Nullable;
@@ -45,6 +46,7 @@ public class WheelWithHighlight extends Widget {
 
 	private final int sideItemsCount;
 	private final Choice model;
+	private final char[] valueChars;
 	private int spinOffset;
 	private boolean dragged;
 	private int pressPointerCoordinate;
@@ -65,6 +67,7 @@ public class WheelWithHighlight extends Widget {
 		super(true);
 		this.sideItemsCount = numSideValues;
 		this.model = model;
+		this.valueChars = new char[model.getMaxValueLength()];
 	}
 
 	@Override
@@ -91,14 +94,11 @@ public class WheelWithHighlight extends Widget {
 		g.setColor(color);
 		g.intersectClip(0, topLineY, contentWidth, lineHeight);
 		if (this.spinOffset > 0) {
-			StringPainter.drawStringAtPoint(g, items.getPrevious(currentIndex, 1), highlightedFont, centerX,
-					currentItemY - lineHeight, Alignment.HCENTER, Alignment.VCENTER);
+			drawValue(g, items.checkIndex(currentIndex - 1), highlightedFont, centerX, currentItemY - lineHeight);
 		} else {
-			StringPainter.drawStringAtPoint(g, items.getNext(currentIndex, 1), highlightedFont, centerX,
-					currentItemY + lineHeight, Alignment.HCENTER, Alignment.VCENTER);
+			drawValue(g, items.checkIndex(currentIndex + 1), highlightedFont, centerX, currentItemY + lineHeight);
 		}
-		StringPainter.drawStringAtPoint(g, items.getValueAsString(currentIndex), highlightedFont, centerX, currentItemY,
-				Alignment.HCENTER, Alignment.VCENTER);
+		drawValue(g, currentIndex, highlightedFont, centerX, currentItemY);
 
 		// Draws the top items
 		int y = currentItemY;
@@ -106,8 +106,7 @@ public class WheelWithHighlight extends Widget {
 		g.setClip(clipX, clipY, clipWidth, clipHeight);
 		g.intersectClip(0, 0, contentWidth, topLineY);
 		for (int i = 0; i <= itemsCount; i++) {
-			String valueText = items.getPrevious(currentIndex, i);
-			StringPainter.drawStringAtPoint(g, valueText, font, centerX, y, Alignment.HCENTER, Alignment.VCENTER);
+			drawValue(g, items.checkIndex(currentIndex - i), font, centerX, y);
 			y -= lineHeight;
 		}
 
@@ -116,8 +115,7 @@ public class WheelWithHighlight extends Widget {
 		g.setClip(clipX, clipY, clipWidth, clipHeight);
 		g.intersectClip(0, bottomLineY, contentWidth, contentHeight - bottomLineY);
 		for (int i = 0; i <= itemsCount; i++) {
-			String valueText = items.getNext(currentIndex, i);
-			StringPainter.drawStringAtPoint(g, valueText, font, centerX, y, Alignment.HCENTER, Alignment.VCENTER);
+			drawValue(g, items.checkIndex(currentIndex + i), font, centerX, y);
 			y += lineHeight;
 		}
 
@@ -128,6 +126,13 @@ public class WheelWithHighlight extends Widget {
 		Painter.fillRectangle(g, 0, bottomLineY, contentWidth, 2);
 	}
 
+	private void drawValue(GraphicsContext g, int index, Font font, int anchorX, int anchorY) {
+		char[] valueChars = this.valueChars;
+		int length = this.model.getValueAsChars(index, valueChars, 0);
+		CharsPainter.drawCharsAtPoint(g, valueChars, 0, length, font, anchorX, anchorY, Alignment.HCENTER,
+				Alignment.VCENTER);
+	}
+
 	private int getLineHeight() {
 		return getContentBounds().getHeight() / valuesCount();
 	}
@@ -0,0 +1,129 @@
+/*
+ * Copyright 2026 MicroEJ Corp. All rights reserved.
+ * Use of this source code is governed by a BSD-style license that can be found with this software.
+ */
+
+package com.microej.demo.widget.test;
+
+import static org.junit.Assert.assertArrayEquals;
+
+import org.junit.AfterClass;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import com.microej.demo.widget.bufferedscroll.widget.BufferedScroll;
+
+import ej.microui.MicroUI;
+import ej.microui.display.Display;
+import ej.microui.display.GraphicsContext;
+import ej.mwt.Widget;
+import ej.mwt.style.background.RectangularBackground;
+import ej.mwt.style.dimension.FixedDimension;
+import ej.mwt.stylesheet.cascading.CascadingStylesheet;
+import ej.mwt.stylesheet.selector.TypeSelector;
+import ej.widget.container.Dock;
+
+/**
+ * Tests the off-screen buffering mode of {@link BufferedScroll}.
+ * <p>
+ * The scroll is small enough for its buffer to fit in the images heap of the demo.
+ * <p>
+ * <b>Warning:</b> Since MicroUI doesn't support restart, only one UI test class can be executed in a single run.
+ */
+public class BufferedScrollTest {
+
+	private static final int PARENT_COLOR = 0x2e7d32;
+	private static final int SCROLL_WIDTH = 100;
+	private static final int SCROLL_HEIGHT = 80;
+	private static final int[] SHIFTS = { 7, 13, 40, -5, -29, 61, -3 };
+
+	/**
+	 * Starts MicroUI.
+	 *
+	 * @see MicroUI#start
+	 */
+	@BeforeClass
+	public static void setUpBeforeClass() {
+		MicroUI.start();
+	}
+
+	/**
+	 * Stops MicroUI.
+	 *
+	 * @see MicroUI#stop
+	 */
+	@AfterClass
+	public static void tearDownAfterClass() {
+		MicroUI.stop();
+	}
+
+	/**
+	 * Tests that shifting the buffer of a transparent scroll with an overlapping scrollbar renders the same pixels as
+	 * a full rendering.
+	 */
+	@Test
+	public void testOffscreenBufferingTransparent() {
+		final TestDesktop desktop = new TestDesktop();
+		CascadingStylesheet stylesheet = new CascadingStylesheet();
+		stylesheet.getSelectorStyle(new TypeSelector(Dock.class))
+				.setBackground(new RectangularBackground(PARENT_COLOR));
+		stylesheet.getSelectorStyle(new TypeSelector(BufferedScroll.class))
+				.setDimension(new FixedDimension(SCROLL_WIDTH, SCROLL_HEIGHT));
+		desktop.setStylesheet(stylesheet);
+
+		final BufferedScroll scroll = new BufferedScroll(false, true);
+		// The settings are checked when the scroll is rendered, so they can be set in any order.
+		scroll.setScrollbarOverlap(true);
+		scroll.setOffscreenBuffering(true);
+		scroll.setChild(TestWidgets.createBandsContent());
+		final Dock dock = new Dock();
+		dock.setCenterChild(scroll);
+		desktop.setWidget(dock);
+		desktop.runAndWaitRender(dock, new Runnable() {
+			@Override
+			public void run() {
+				desktop.requestShow();
+			}
+		});
+
+		// The scroll is transparent: its parent is rendered along with it.
+		int position = 0;
+		for (int shift : SHIFTS) {
+			position += shift;
+			final int target = position;
+			desktop.runAndWaitRender(dock, new Runnable() {
+				@Override
+				public void run() {
+					scroll.scrollTo(target, false);
+				}
+			});
+			int[] shifted = readPixels(scroll);
+
+			// The position did not change since the last rendering: the whole buffer is rendered again.
+			desktop.runAndWaitRender(dock, new Runnable() {
+				@Override
+				public void run() {
+					scroll.requestRender();
+				}
+			});
+			assertArrayEquals(readPixels(scroll), shifted);
+		}
+	}
+
+	private static int[] readPixels(Widget widget) {
+		GraphicsContext g = Display.getDisplay().getGraphicsContext();
+		g.resetTranslation();
+		int x = widget.getAbsoluteX();
+		int y = widget.getAbsoluteY();
+		int width = widget.getWidth();
+		int height = widget.getHeight();
+		int[] pixels = new int[width * height];
+		for (int j = 0; j < height; j++) {
+			for (int i = 0; i < width; i++) {
+				pixels[j * width + i] = g.readPixel(x + i, y + j);
+			}
+		}
+		return pixels;
+	}
+
+}
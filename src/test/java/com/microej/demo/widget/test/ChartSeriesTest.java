@@ -0,0 +1,166 @@
+/*
+ * Copyright 2026 MicroEJ Corp. All rights reserved.
+ * Use of this source code is governed by a BSD-style license that can be found with this software.
+ */
+
+package com.microej.demo.widget.test;
+
+import static org.junit.Assert.assertEquals;
+
+import org.junit.Test;
+
+import com.microej.demo.widget.common.chart.ChartSeries;
+
+/**
+ * Tests the storage of the values and labels of a chart series.
+ */
+public class ChartSeriesTest {
+
+	private static final float DELTA = 0.0f;
+	private static final String[] NAMES = { "J", "F", "M" }; //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
+	private static final String[] FULL_NAMES = { "January", "February", //$NON-NLS-1$ //$NON-NLS-2$
+			"March" }; //$NON-NLS-1$
+
+	/**
+	 * Tests appending more values than the initial capacity.
+	 */
+	@Test
+	public void testAdd() {
+		ChartSeries series = new ChartSeries(1);
+		assertEquals(0, series.size());
+		assertEquals(0.0f, series.getMaxValue(), DELTA);
+
+		int count = 1000;
+		for (int i = 0; i < count; i++) {
+			series.add(i % 100);
+		}
+		assertEquals(count, series.size());
+		assertEquals(42.0f, series.getValue(542), DELTA);
+		assertEquals(99.0f, series.getMaxValue(), DELTA);
+	}
+
+	/**
+	 * Tests replacing the values with a range of an array.
+	 */
+	@Test
+	public void testSetData() {
+		ChartSeries series = new ChartSeries();
+		series.add(100.0f);
+		series.setData(new float[] { -1.0f, -3.0f, -2.0f, 50.0f }, 0, 3);
+		assertEquals(3, series.size());
+		assertEquals(-3.0f, series.getValue(1), DELTA);
+		assertEquals(-1.0f, series.getMaxValue(), DELTA);
+	}
+
+	/**
+	 * Tests the labels of the values, with and without explicit label indexes.
+	 */
+	@Test
+	public void testLabels() {
+		ChartSeries series = new ChartSeries();
+		series.setLabels(NAMES, FULL_NAMES);
+		series.add(1.0f);
+		series.add(2.0f);
+		series.add(3.0f, 0);
+		series.add(4.0f, ChartSeries.NO_LABEL);
+		series.add(5.0f, 7);
+
+		assertEquals("J", series.getName(0)); //$NON-NLS-1$
+		assertEquals("February", series.getFullName(1)); //$NON-NLS-1$
+		assertEquals("January", series.getFullName(2)); //$NON-NLS-1$
+		assertEquals("", series.getName(3)); //$NON-NLS-1$
+		assertEquals("", series.getFullName(4)); //$NON-NLS-1$
+		assertEquals(ChartSeries.NO_LABEL, series.getLabelIndex(3));
+	}
+
+	/**
+	 * Tests that a bounded series removes its oldest values once its maximum size is reached.
+	 */
+	@Test
+	public void testMaxSize() {
+		ChartSeries series = new ChartSeries();
+		series.setMaxSize(3);
+		series.add(9.0f);
+		series.add(1.0f);
+		series.add(2.0f);
+		series.add(3.0f);
+		series.add(4.0f);
+
+		assertEquals(3, series.size());
+		assertEquals(2.0f, series.getValue(0), DELTA);
+		assertEquals(4.0f, series.getValue(2), DELTA);
+		assertEquals(4.0f, series.getMaxValue(), DELTA);
+		assertEquals(2, series.getRemovedCount());
+
+		int resetCount = series.getResetCount();
+		series.setData(new float[] { 5.0f, 6.0f, 7.0f, 8.0f }, 0, 4);
+		assertEquals(3, series.size());
+		assertEquals(6.0f, series.getValue(0), DELTA);
+		assertEquals(0, series.getRemovedCount());
+		assertEquals(resetCount + 1, series.getResetCount());
+	}
+
+	/**
+	 * Tests that the values of a bounded series keep their labels when older values are removed.
+	 */
+	@Test
+	public void testLabelsAfterRemoval() {
+		String[] names = { "A", "B", "C", //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
+				"D", "E", "F" }; //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
+		ChartSeries series = new ChartSeries();
+		series.setLabels(names, names);
+		series.setMaxSize(3);
+		series.add(1.0f);
+		series.add(2.0f);
+		series.add(3.0f);
+		series.add(4.0f);
+		assertEquals("B", series.getName(0)); //$NON-NLS-1$
+		assertEquals("D", series.getName(2)); //$NON-NLS-1$
+
+		series.add(5.0f, 0);
+		series.add(6.0f);
+		assertEquals("D", series.getName(0)); //$NON-NLS-1$
+		assertEquals("A", series.getName(1)); //$NON-NLS-1$
+		assertEquals("F", series.getName(2)); //$NON-NLS-1$
+
+		series.add(7.0f);
+		series.add(8.0f);
+		assertEquals(names.length - 1, series.getLabelIndex(0));
+		assertEquals("", series.getName(2)); //$NON-NLS-1$
+	}
+
+	/**
+	 * Tests that bounding a series holding more values than its new maximum size keeps its last values in order.
+	 */
+	@Test
+	public void testShrinkMaxSize() {
+		ChartSeries series = new ChartSeries();
+		int count = 20;
+		for (int i = 0; i < count; i++) {
+			series.add(i);
+		}
+		series.setMaxSize(3);
+		assertEquals(3, series.size());
+		assertEquals(count - 3, series.getValue(0), DELTA);
+		assertEquals(count - 1, series.getMaxValue(), DELTA);
+		assertEquals(count - 3, series.getLabelIndex(0));
+
+		series.add(count);
+		series.add(count + 1);
+		assertEquals(3, series.size());
+		assertEquals(count - 1, series.getValue(0), DELTA);
+		assertEquals(count + 1, series.getValue(2), DELTA);
+		assertEquals(count + 1, series.getLabelIndex(2));
+	}
+
+	/**
+	 * Tests that reading outside the values fails.
+	 */
+	@Test(expected = IndexOutOfBoundsException.class)
+	public void testOutOfBounds() {
+		ChartSeries series = new ChartSeries();
+		series.add(1.0f);
+		series.getValue(1);
+	}
+
+}
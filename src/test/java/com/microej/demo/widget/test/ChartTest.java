@@ -0,0 +1,303 @@
+/*
+ * Copyright 2026 MicroEJ Corp. All rights reserved.
+ * Use of this source code is governed by a BSD-style license that can be found with this software.
+ */
+
+package com.microej.demo.widget.test;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.fail;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.AfterClass;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import com.microej.demo.widget.barchart.widget.BarChart;
+import com.microej.demo.widget.common.chart.ChartSeries;
+import com.microej.demo.widget.linechart.widget.LineChart;
+
+import ej.microui.MicroUI;
+import ej.microui.MicroUIException;
+import ej.microui.display.BufferedImage;
+import ej.microui.display.Display;
+import ej.microui.display.GraphicsContext;
+import ej.mwt.Widget;
+import ej.mwt.style.background.RectangularBackground;
+import ej.mwt.style.dimension.FixedDimension;
+import ej.mwt.stylesheet.cascading.CascadingStylesheet;
+import ej.mwt.stylesheet.selector.TypeSelector;
+import ej.widget.container.Dock;
+
+/**
+ * Tests the rendering of the {@link LineChart} and {@link BarChart} widgets.
+ * <p>
+ * <b>Warning:</b> Since MicroUI doesn't support restart, only one UI test class can be executed in a single run.
+ */
+public class ChartTest {
+
+	private static final int PARENT_COLOR = 0x2e7d32;
+	private static final int CHART_WIDTH = 120;
+	private static final int CHART_HEIGHT = 80;
+	private static final int SCROLLING_STEP = 3;
+	private static final int SERIES_SIZE = 100;
+	private static final int APPENDED_COUNT = 20;
+	private static final int MAX_VALUE = 100;
+	private static final int MAX_VALUE_PERIOD = 5;
+	private static final int IDLE_DURATION = 300;
+	private static final int ANIMATION_TIMEOUT = 5000;
+	private static final int LABELED_SIZE = 12;
+	private static final int SELECTED_INDEX = 4;
+	private static final int FILLER_SIZE = 16;
+
+	/**
+	 * Starts MicroUI.
+	 *
+	 * @see MicroUI#start
+	 */
+	@BeforeClass
+	public static void setUpBeforeClass() {
+		MicroUI.start();
+	}
+
+	/**
+	 * Stops MicroUI.
+	 *
+	 * @see MicroUI#stop
+	 */
+	@AfterClass
+	public static void tearDownAfterClass() {
+		MicroUI.stop();
+	}
+
+	/**
+	 * Tests that shifting the trace of a line chart in the scrolling window mode renders the same pixels as a full
+	 * rendering.
+	 */
+	@Test
+	public void testScrollingWindow() {
+		final TestDesktop desktop = createDesktop();
+		final ChartSeries series = new ChartSeries();
+		series.setMaxSize(SERIES_SIZE);
+		for (int i = 0; i < SERIES_SIZE; i++) {
+			series.add(getValue(i));
+		}
+		final LineChart chart = new LineChart(true);
+		chart.setSeries(series);
+		chart.setScrollingStep(SCROLLING_STEP);
+		show(desktop, chart);
+
+		for (int i = 0; i < APPENDED_COUNT; i++) {
+			final float value = getValue(SERIES_SIZE + i);
+			desktop.runAndWaitRender(chart, new Runnable() {
+				@Override
+				public void run() {
+					series.add(value);
+					chart.requestRender();
+				}
+			});
+			int[] shifted = readPixels(chart);
+
+			// No value has been appended since the last rendering: the whole chart is rendered again.
+			desktop.runAndWaitRender(chart, new Runnable() {
+				@Override
+				public void run() {
+					chart.requestRender();
+				}
+			});
+			assertArrayEquals(readPixels(chart), shifted);
+		}
+	}
+
+	/**
+	 * Tests that a line chart drawing its texts from its static layers renders the same pixels as a line chart
+	 * rendering them directly.
+	 */
+	@Test
+	public void testLineChartStaticLayers() {
+		LineChart layeredChart = new LineChart(true);
+		layeredChart.setSeries(createLabeledSeries());
+		int[] layeredPixels = showAndSelect(layeredChart);
+
+		LineChart directChart = new LineChart(true);
+		directChart.setSeries(createLabeledSeries());
+		List<BufferedImage> fillers = fillImagesHeap();
+		try {
+			assertArrayEquals(layeredPixels, showAndSelect(directChart));
+		} finally {
+			closeImages(fillers);
+		}
+	}
+
+	/**
+	 * Tests that a bar chart drawing its texts from its static layers renders the same pixels as a bar chart rendering
+	 * them directly.
+	 */
+	@Test
+	public void testBarChartStaticLayers() {
+		BarChart layeredChart = new BarChart();
+		layeredChart.setSeries(createLabeledSeries());
+		int[] layeredPixels = showAndSelect(layeredChart);
+
+		BarChart directChart = new BarChart();
+		directChart.setSeries(createLabeledSeries());
+		List<BufferedImage> fillers = fillImagesHeap();
+		try {
+			assertArrayEquals(layeredPixels, showAndSelect(directChart));
+		} finally {
+			closeImages(fillers);
+		}
+	}
+
+	/**
+	 * Tests that the charts can be rendered without any positive value to scale.
+	 */
+	@Test
+	public void testZeroValues() {
+		ChartSeries zeroSeries = new ChartSeries();
+		for (int i = 0; i < SERIES_SIZE; i++) {
+			zeroSeries.add(0.0f);
+		}
+
+		LineChart lineChart = new LineChart(true);
+		lineChart.setSeries(zeroSeries);
+		show(createDesktop(), lineChart);
+		assertNotUniform(readPixels(lineChart));
+
+		LineChart scrollingLineChart = new LineChart(true);
+		scrollingLineChart.setScrollingStep(SCROLLING_STEP);
+		show(createDesktop(), scrollingLineChart);
+		assertNotUniform(readPixels(scrollingLineChart));
+
+		BarChart barChart = new BarChart();
+		barChart.setSeries(zeroSeries);
+		show(createDesktop(), barChart);
+		assertNotUniform(readPixels(barChart));
+
+		BarChart emptyBarChart = new BarChart();
+		show(createDesktop(), emptyBarChart);
+		assertNotUniform(readPixels(emptyBarChart));
+	}
+
+	private static ChartSeries createLabeledSeries() {
+		String[] names = new String[LABELED_SIZE];
+		String[] fullNames = new String[LABELED_SIZE];
+		ChartSeries series = new ChartSeries(LABELED_SIZE);
+		for (int i = 0; i < LABELED_SIZE; i++) {
+			names[i] = Integer.toString(i);
+			fullNames[i] = "Value " + i; //$NON-NLS-1$
+			series.add(getValue(i));
+		}
+		series.setLabels(names, fullNames);
+		return series;
+	}
+
+	/**
+	 * Shows a chart, selects one of its values and reads the rendered pixels.
+	 */
+	private static int[] showAndSelect(final Widget chart) {
+		TestDesktop desktop = createDesktop();
+		show(desktop, chart);
+		desktop.runAndWaitRender(chart, new Runnable() {
+			@Override
+			public void run() {
+				if (chart instanceof LineChart) {
+					((LineChart) chart).selectPoint(SELECTED_INDEX);
+				} else {
+					((BarChart) chart).selectPoint(SELECTED_INDEX);
+				}
+			}
+		});
+		return readPixels(chart);
+	}
+
+	/**
+	 * Allocates images until the images heap is full, so that the static layers of the charts cannot be allocated.
+	 */
+	private static List<BufferedImage> fillImagesHeap() {
+		List<BufferedImage> images = new ArrayList<>();
+		try {
+			while (true) {
+				images.add(new BufferedImage(FILLER_SIZE, FILLER_SIZE));
+			}
+		} catch (MicroUIException e) {
+			// The images heap is full.
+		}
+		return images;
+	}
+
+	private static void closeImages(List<BufferedImage> images) {
+		for (BufferedImage image : images) {
+			image.close();
+		}
+	}
+
+	private static TestDesktop createDesktop() {
+		TestDesktop desktop = new TestDesktop();
+		CascadingStylesheet stylesheet = new CascadingStylesheet();
+		stylesheet.getSelectorStyle(new TypeSelector(Dock.class))
+				.setBackground(new RectangularBackground(PARENT_COLOR));
+		FixedDimension dimension = new FixedDimension(CHART_WIDTH, CHART_HEIGHT);
+		stylesheet.getSelectorStyle(new TypeSelector(LineChart.class)).setDimension(dimension);
+		stylesheet.getSelectorStyle(new TypeSelector(BarChart.class)).setDimension(dimension);
+		desktop.setStylesheet(stylesheet);
+		return desktop;
+	}
+
+	/**
+	 * Shows a chart in a desktop and waits for the end of its apparition animation.
+	 */
+	private static void show(final TestDesktop desktop, Widget chart) {
+		Dock dock = new Dock();
+		dock.setCenterChild(chart);
+		desktop.setWidget(dock);
+		desktop.runAndWaitRender(dock, new Runnable() {
+			@Override
+			public void run() {
+				desktop.requestShow();
+			}
+		});
+		desktop.waitRenderIdle(IDLE_DURATION, ANIMATION_TIMEOUT);
+	}
+
+	/**
+	 * Gets a value of the series. The maximum value is reached periodically, so that the scale does not change when
+	 * the window scrolls.
+	 */
+	private static float getValue(int index) {
+		return (index % MAX_VALUE_PERIOD == 0) ? MAX_VALUE : (index * 37) % (MAX_VALUE - 10);
+	}
+
+	/**
+	 * Asserts that the pixels of a chart are not all of the same color, that is that its scale has been drawn over the
+	 * background of its parent.
+	 */
+	private static void assertNotUniform(int[] pixels) {
+		int color = pixels[0];
+		for (int pixel : pixels) {
+			if (pixel != color) {
+				return;
+			}
+		}
+		fail();
+	}
+
+	private static int[] readPixels(Widget widget) {
+		GraphicsContext g = Display.getDisplay().getGraphicsContext();
+		g.resetTranslation();
+		int x = widget.getAbsoluteX();
+		int y = widget.getAbsoluteY();
+		int width = widget.getWidth();
+		int height = widget.getHeight();
+		int[] pixels = new int[width * height];
+		for (int j = 0; j < height; j++) {
+			for (int i = 0; i < width; i++) {
+				pixels[j * width + i] = g.readPixel(x + i, y + j);
+			}
+		}
+		return pixels;
+	}
+
+}
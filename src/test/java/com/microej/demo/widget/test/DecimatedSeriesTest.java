@@ -0,0 +1,61 @@
+/*
+ * Copyright 2026 MicroEJ Corp. All rights reserved.
+ * Use of this source code is governed by a BSD-style license that can be found with this software.
+ */
+
+package com.microej.demo.widget.test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Test;
+
+import com.microej.demo.widget.common.chart.ChartSeries;
+import com.microej.demo.widget.common.chart.DecimatedSeries;
+
+/**
+ * Tests the reduction of a series to the lowest and highest values of each pixel column.
+ */
+public class DecimatedSeriesTest {
+
+	private static final float DELTA = 0.0f;
+
+	/**
+	 * Tests that each column keeps its lowest and highest values, in the order of the series.
+	 */
+	@Test
+	public void testMinMax() {
+		ChartSeries series = new ChartSeries();
+		series.setData(new float[] { 5.0f, 9.0f, 1.0f, 4.0f, 3.0f, 3.0f, 3.0f, 3.0f }, 0, 8);
+		DecimatedSeries decimatedSeries = new DecimatedSeries();
+		decimatedSeries.update(series, 2);
+
+		assertEquals(3, decimatedSeries.getVertexCount());
+		assertEquals(0, decimatedSeries.getVertexX(0));
+		assertEquals(9.0f, decimatedSeries.getVertexValue(0), DELTA);
+		assertEquals(1, decimatedSeries.getVertexIndex(0));
+		assertEquals(1.0f, decimatedSeries.getVertexValue(1), DELTA);
+		assertEquals(2, decimatedSeries.getVertexIndex(1));
+		assertEquals(1, decimatedSeries.getVertexX(2));
+		assertEquals(3.0f, decimatedSeries.getVertexValue(2), DELTA);
+	}
+
+	/**
+	 * Tests that the number of vertices is bounded by the width.
+	 */
+	@Test
+	public void testBoundedByWidth() {
+		ChartSeries series = new ChartSeries();
+		for (int i = 0; i < 10000; i++) {
+			series.add(i % 7);
+		}
+		DecimatedSeries decimatedSeries = new DecimatedSeries();
+		decimatedSeries.update(series, 100);
+		assertTrue(decimatedSeries.getVertexCount() <= 200);
+
+		series.add(100.0f);
+		decimatedSeries.update(series, 100);
+		assertEquals(100.0f, decimatedSeries.getVertexValue(decimatedSeries.getVertexCount() - 1), DELTA);
+	}
+
+}
@@ -0,0 +1,73 @@
+/*
+ * Copyright 2026 MicroEJ Corp. All rights reserved.
+ * Use of this source code is governed by a BSD-style license that can be found with this software.
+ */
+
+package com.microej.demo.widget.test;
+
+import static org.junit.Assert.assertEquals;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+
+import org.junit.Test;
+
+import com.microej.demo.widget.common.monitoring.InputRecording;
+
+/**
+ * Tests the storage of the input events in an {@link InputRecording}.
+ */
+public class InputRecordingTest {
+
+	private static final int EVENT_COUNT = 40;
+
+	/**
+	 * Tests that a recording read back from its written form holds the same events.
+	 */
+	@Test
+	public void testWriteRead() throws IOException {
+		InputRecording recording = new InputRecording();
+		for (int i = 0; i < EVENT_COUNT; i++) {
+			recording.add(i * 16L, i % 3, 0x10 + i, i * 7, i % 2, -i, 1000 + i);
+		}
+
+		ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+		recording.write(outputStream);
+		InputRecording readRecording = InputRecording.read(new ByteArrayInputStream(outputStream.toByteArray()));
+
+		assertEquals(EVENT_COUNT, readRecording.getCount());
+		assertEquals(recording.getDuration(), readRecording.getDuration());
+		for (int i = 0; i < EVENT_COUNT; i++) {
+			assertEquals(recording.getTime(i), readRecording.getTime(i));
+			assertEquals(recording.getGeneratorId(i), readRecording.getGeneratorId(i));
+			assertEquals(recording.getType(i), readRecording.getType(i));
+			assertEquals(recording.getData(i), readRecording.getData(i));
+			assertEquals(recording.getButtonId(i), readRecording.getButtonId(i));
+			assertEquals(recording.getX(i), readRecording.getX(i));
+			assertEquals(recording.getY(i), readRecording.getY(i));
+		}
+	}
+
+	/**
+	 * Tests that an empty recording can be written and read back.
+	 */
+	@Test
+	public void testWriteReadEmpty() throws IOException {
+		ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+		new InputRecording().write(outputStream);
+		InputRecording readRecording = InputRecording.read(new ByteArrayInputStream(outputStream.toByteArray()));
+
+		assertEquals(0, readRecording.getCount());
+		assertEquals(0, readRecording.getDuration());
+	}
+
+	/**
+	 * Tests that a stream that does not start with the recording format is rejected.
+	 */
+	@Test(expected = IOException.class)
+	public void testReadInvalid() throws IOException {
+		InputRecording.read(new ByteArrayInputStream(new byte[] { 0, 0, 0, 42, 0, 0, 0, 0 }));
+	}
+
+}
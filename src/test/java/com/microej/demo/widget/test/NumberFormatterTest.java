@@ -0,0 +1,67 @@
+/*
+ * Copyright 2026 MicroEJ Corp. All rights reserved.
+ * Use of this source code is governed by a BSD-style license that can be found with this software.
+ */
+
+package com.microej.demo.widget.test;
+
+import static org.junit.Assert.assertEquals;
+
+import org.junit.Test;
+
+import com.microej.demo.widget.common.NumberFormatter;
+
+/**
+ * Tests the formatting of numbers in character arrays.
+ */
+public class NumberFormatterTest {
+
+	/**
+	 * Tests the formatting of integers, including the bounds of the int range.
+	 */
+	@Test
+	public void testFormatInt() {
+		assertEquals("0", formatInt(0)); //$NON-NLS-1$
+		assertEquals("7", formatInt(7)); //$NON-NLS-1$
+		assertEquals("2035", formatInt(2035)); //$NON-NLS-1$
+		assertEquals("-42", formatInt(-42)); //$NON-NLS-1$
+		assertEquals(String.valueOf(Integer.MAX_VALUE), formatInt(Integer.MAX_VALUE));
+		assertEquals(String.valueOf(Integer.MIN_VALUE), formatInt(Integer.MIN_VALUE));
+	}
+
+	/**
+	 * Tests the formatting of floats with a fixed number of decimals.
+	 */
+	@Test
+	public void testFormatFixed() {
+		assertEquals("12", formatFixed(12.75f, 0)); //$NON-NLS-1$
+		assertEquals("21.5", formatFixed(21.5f, 1)); //$NON-NLS-1$
+		assertEquals("3.250", formatFixed(3.25f, 3)); //$NON-NLS-1$
+		assertEquals("-0.5", formatFixed(-0.5f, 1)); //$NON-NLS-1$
+	}
+
+	/**
+	 * Tests that the values are written at the given offset.
+	 */
+	@Test
+	public void testOffset() {
+		char[] chars = new char[NumberFormatter.MAX_INT_LENGTH + 2];
+		chars[0] = '[';
+		int end = NumberFormatter.formatInt(123, chars, 1);
+		chars[end] = ']';
+		assertEquals("[123]", new String(chars, 0, end + 1)); //$NON-NLS-1$
+	}
+
+	private static String formatInt(int value) {
+		char[] chars = new char[NumberFormatter.MAX_INT_LENGTH];
+		int end = NumberFormatter.formatInt(value, chars, 0);
+		return new String(chars, 0, end);
+	}
+
+	private static String formatFixed(float value, int decimals) {
+		char[] chars = new char[NumberFormatter.getMaxFixedLength(decimals)];
+		int end = NumberFormatter.formatFixed(value, decimals, chars, 0);
+		return new String(chars, 0, end);
+	}
+
+}
@@ -0,0 +1,337 @@
+/*
+ * Copyright 2026 MicroEJ Corp. All rights reserved.
+ * Use of this source code is governed by a BSD-style license that can be found with this software.
+ */
+
+package com.microej.demo.widget.test;
+
+import static org.junit.Assert.assertTrue;
+
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.PrintStream;
+
+import org.junit.AfterClass;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import com.microej.demo.widget.common.Navigation;
+import com.microej.demo.widget.common.Page;
+import com.microej.demo.widget.common.PageHelper;
+import com.microej.demo.widget.common.Pages;
+import com.microej.demo.widget.common.monitoring.InputRecording;
+import com.microej.demo.widget.common.monitoring.InputReplayer;
+import com.microej.demo.widget.common.monitoring.PerformanceMonitor;
+import com.microej.demo.widget.common.monitoring.RollingHistogram;
+
+import ej.microui.MicroUI;
+import ej.microui.display.Display;
+import ej.microui.display.GraphicsContext;
+import ej.microui.event.EventGenerator;
+import ej.microui.event.generator.Buttons;
+import ej.microui.event.generator.Pointer;
+import ej.mwt.Widget;
+import ej.mwt.render.OverlapRenderPolicy;
+import ej.mwt.render.RenderPolicy;
+import ej.mwt.util.Size;
+
+/**
+ * Benchmarks the rendering of all the pages.
+ * <p>
+ * Each page is shown, left idle (to run its animations) and swiped vertically and horizontally by replaying a scripted
+ * {@link InputRecording} (or a recorded one, see {@link #INPUT_PROPERTY}). The frames rendered, the mean, 95th
+ * percentile and maximum frame times, the layouts and the allocated memory of each page are written in a CSV file (see
+ * {@link #OUTPUT_PROPERTY}) to compare the results between releases.
+ * <p>
+ * The pages are set up as by {@link Navigation}, in a {@link TestDesktop} using the same render policy as the pages
+ * desktop: the benchmark waits for the pages to be rendered instead of waiting for fixed durations. The transition
+ * between the pages is not measured.
+ * <p>
+ * The benchmark is long, so it is excluded from the default test run: it is run with the <code>benchmark</code> Gradle
+ * property.
+ * <p>
+ * <b>Warning:</b> Since MicroUI doesn't support restart, only one UI test class can be executed in a single run.
+ */
+public class PageBenchmark {
+
+	/**
+	 * The system property defining the path of the results file.
+	 */
+	public static final String OUTPUT_PROPERTY = "com.microej.demo.widget.benchmark.output"; //$NON-NLS-1$
+
+	/**
+	 * The system property defining the path of an input recording to replay on each page instead of the default swipes
+	 * (see {@link InputRecording#write(java.io.OutputStream)}).
+	 */
+	public static final String INPUT_PROPERTY = "com.microej.demo.widget.benchmark.input"; //$NON-NLS-1$
+
+	private static final String DEFAULT_OUTPUT = "build/page-benchmark.csv"; //$NON-NLS-1$
+	private static final String SEPARATOR = ","; //$NON-NLS-1$
+
+	private static final int IDLE_DURATION = 1000;
+	private static final int SWIPE_STEPS = 10;
+	private static final int SWIPE_STEP_DURATION = 16;
+	private static final int SWIPE_WAIT = 600;
+	private static final int SETTLE_DURATION = 200;
+	private static final int SETTLE_TIMEOUT = 2000;
+	private static final int PERCENTILE = 95;
+
+	/**
+	 * Starts MicroUI.
+	 *
+	 * @see MicroUI#start
+	 */
+	@BeforeClass
+	public static void setUpBeforeClass() {
+		MicroUI.start();
+	}
+
+	/**
+	 * Stops MicroUI.
+	 *
+	 * @see MicroUI#stop
+	 */
+	@AfterClass
+	public static void tearDownAfterClass() {
+		PerformanceMonitor.setRecording(false);
+		MicroUI.stop();
+	}
+
+	/**
+	 * Runs the benchmark scenario on every page and writes the results.
+	 */
+	@Test
+	public void benchmarkAllPages() throws InterruptedException, IOException {
+		String output = System.getProperty(OUTPUT_PROPERTY, DEFAULT_OUTPUT);
+		assert output != null;
+		InputRecording script = loadScript();
+
+		PrintStream out = new PrintStream(new FileOutputStream(output));
+		try {
+			out.println("page,frames,meanFrameTimeUs,p95FrameTimeUs,maxFrameTimeUs,layouts,allocatedBytes"); //$NON-NLS-1$
+			int numPages = Pages.getNumPages();
+			for (int i = 0; i < numPages; i++) {
+				Page page = Pages.getPage(i);
+				benchmarkPage(page, script);
+				writeResults(out, page);
+				checkResults();
+			}
+		} finally {
+			out.close();
+		}
+	}
+
+	private static InputRecording loadScript() throws IOException {
+		String input = System.getProperty(INPUT_PROPERTY);
+		if (input == null) {
+			return createSwipesScript();
+		}
+		FileInputStream inputStream = new FileInputStream(input);
+		try {
+			return InputRecording.read(inputStream);
+		} finally {
+			inputStream.close();
+		}
+	}
+
+	/**
+	 * Creates a script swiping up, down, left and right in the content area of the pages.
+	 */
+	private static InputRecording createSwipesScript() {
+		Pointer pointer = EventGenerator.get(Pointer.class, 0);
+		assert pointer != null;
+		int pointerId = pointer.getId();
+
+		Display display = Display.getDisplay();
+		int left = PageHelper.LEFT_PADDING + (display.getWidth() / 3);
+		int right = display.getWidth() - PageHelper.LEFT_PADDING;
+		int top = display.getHeight() / 4;
+		int bottom = display.getHeight() * 3 / 4;
+		int centerX = (left + right) / 2;
+		int centerY = display.getHeight() / 2;
+
+		InputRecording script = new InputRecording();
+		long time = 0;
+		time = addSwipe(script, pointerId, time, centerX, bottom, centerX, top);
+		time = addSwipe(script, pointerId, time, centerX, top, centerX, bottom);
+		time = addSwipe(script, pointerId, time, right, centerY, left, centerY);
+		addSwipe(script, pointerId, time, left, centerY, right, centerY);
+		return script;
+	}
+
+	private static long addSwipe(InputRecording script, int pointerId, long startTime, int startX, int startY,
+			int endX, int endY) {
+		long time = startTime;
+		script.add(time, pointerId, Pointer.EVENT_TYPE, Buttons.PRESSED, 0, startX, startY);
+		for (int step = 1; step <= SWIPE_STEPS; step++) {
+			time += SWIPE_STEP_DURATION;
+			script.add(time, pointerId, Pointer.EVENT_TYPE, Pointer.DRAGGED, 0,
+					startX + (endX - startX) * step / SWIPE_STEPS, startY + (endY - startY) * step / SWIPE_STEPS);
+		}
+		script.add(time, pointerId, Pointer.EVENT_TYPE, Buttons.RELEASED, 0, endX, endY);
+		return time + SWIPE_WAIT;
+	}
+
+	private static void benchmarkPage(Page page, InputRecording script) throws InterruptedException {
+		// Show a static desktop first, so that the animations of the previous page are not measured.
+		showBlankDesktop();
+		runSeriallyAndWait(new Runnable() {
+			@Override
+			public void run() {
+				PerformanceMonitor.reset();
+				PerformanceMonitor.setRecording(true);
+			}
+		});
+
+		final BenchmarkDesktop desktop = new BenchmarkDesktop();
+		Navigation.setUpDesktop(desktop, page);
+		Widget rootWidget = desktop.getWidget();
+		assert rootWidget != null;
+		desktop.runAndWaitRender(rootWidget, new Runnable() {
+			@Override
+			public void run() {
+				desktop.requestShow();
+			}
+		});
+
+		// Measurement window of the animations of the page.
+		Thread.sleep(IDLE_DURATION);
+		replayAndWait(desktop, script);
+		desktop.waitRenderIdle(SETTLE_DURATION, SETTLE_TIMEOUT);
+
+		runSeriallyAndWait(new Runnable() {
+			@Override
+			public void run() {
+				PerformanceMonitor.setRecording(false);
+			}
+		});
+	}
+
+	private static void showBlankDesktop() {
+		final TestDesktop desktop = new TestDesktop();
+		Widget widget = new Widget() {
+			@Override
+			protected void computeContentOptimalSize(Size size) {
+				// Fills the desktop.
+			}
+
+			@Override
+			protected void renderContent(GraphicsContext g, int contentWidth, int contentHeight) {
+				// Nothing to render.
+			}
+		};
+		desktop.setWidget(widget);
+		desktop.runAndWaitRender(widget, new Runnable() {
+			@Override
+			public void run() {
+				desktop.requestShow();
+			}
+		});
+	}
+
+	/**
+	 * Replays a script on a desktop and waits for the last event to be sent.
+	 */
+	private static void replayAndWait(final TestDesktop desktop, InputRecording script) throws InterruptedException {
+		final InputReplayer replayer = new InputReplayer(script);
+		final Object lock = new Object();
+		final boolean[] done = { false };
+		final Runnable onFinished = new Runnable() {
+			@Override
+			public void run() {
+				synchronized (lock) {
+					done[0] = true;
+					lock.notifyAll();
+				}
+			}
+		};
+		synchronized (lock) {
+			MicroUI.callSerially(new Runnable() {
+				@Override
+				public void run() {
+					replayer.start(desktop, onFinished);
+				}
+			});
+			while (!done[0]) {
+				lock.wait();
+			}
+		}
+	}
+
+	/**
+	 * Runs a runnable in the UI thread, where the monitor records the measures, and waits for its execution.
+	 */
+	private static void runSeriallyAndWait(final Runnable runnable) throws InterruptedException {
+		final Object lock = new Object();
+		final boolean[] done = { false };
+		synchronized (lock) {
+			MicroUI.callSerially(new Runnable() {
+				@Override
+				public void run() {
+					runnable.run();
+					synchronized (lock) {
+						done[0] = true;
+						lock.notifyAll();
+					}
+				}
+			});
+			while (!done[0]) {
+				lock.wait();
+			}
+		}
+	}
+
+	private static void writeResults(PrintStream out, Page page) {
+		RollingHistogram frameTimes = PerformanceMonitor.getFrameTimes();
+		out.print(page.getName());
+		out.print(SEPARATOR);
+		long frames = frameTimes.getCount();
+		out.print(frames);
+		out.print(SEPARATOR);
+		out.print((frames == 0) ? 0 : frameTimes.getTotal() / frames);
+		out.print(SEPARATOR);
+		out.print(frameTimes.getPercentile(PERCENTILE));
+		out.print(SEPARATOR);
+		out.print(frameTimes.getMax());
+		out.print(SEPARATOR);
+		out.print(PerformanceMonitor.getLayoutTimes().getCount());
+		out.print(SEPARATOR);
+		out.println(PerformanceMonitor.getAllocatedMemory());
+	}
+
+	/**
+	 * Checks that the page has been laid out and rendered at least once, and that the measures are consistent.
+	 */
+	private static void checkResults() {
+		RollingHistogram frameTimes = PerformanceMonitor.getFrameTimes();
+		long frames = frameTimes.getCount();
+		assertTrue(frames > 0);
+		assertTrue(PerformanceMonitor.getLayoutTimes().getCount() > 0);
+		assertTrue(frameTimes.getMean() <= frameTimes.getMax());
+		assertTrue(frameTimes.getPercentile(PERCENTILE) <= frameTimes.getMax());
+	}
+
+	/**
+	 * Desktop rendering the pages with the render policy of the pages desktop and recording the frames in the
+	 * {@link PerformanceMonitor}.
+	 */
+	private static class BenchmarkDesktop extends TestDesktop {
+
+		@Override
+		protected RenderPolicy createRenderPolicy() {
+			return new OverlapRenderPolicy(this) {
+				@Override
+				protected void renderWidget(GraphicsContext g, Widget widget) {
+					long start = PerformanceMonitor.start();
+					super.renderWidget(g, widget);
+					if (PerformanceMonitor.isRecording()) {
+						PerformanceMonitor.onFrameRendered(widget, PerformanceMonitor.getElapsedTime(start));
+					}
+					onWidgetRendered(widget);
+				}
+			};
+		}
+	}
+
+}
@@ -0,0 +1,239 @@
+/*
+ * Copyright 2026 MicroEJ Corp. All rights reserved.
+ * Use of this source code is governed by a BSD-style license that can be found with this software.
+ */
+
+package com.microej.demo.widget.test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.AfterClass;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import com.microej.demo.widget.common.scroll.ItemAdapter;
+import com.microej.demo.widget.common.scroll.RecyclingList;
+import com.microej.demo.widget.common.scroll.Scroll;
+
+import ej.microui.MicroUI;
+import ej.microui.display.Display;
+import ej.microui.display.GraphicsContext;
+import ej.mwt.Widget;
+import ej.mwt.style.EditableStyle;
+import ej.mwt.style.Style;
+import ej.mwt.stylesheet.Stylesheet;
+import ej.mwt.util.Size;
+import ej.widget.container.LayoutOrientation;
+
+/**
+ * Tests the binding of the items of a {@link RecyclingList} to its pool of widgets.
+ * <p>
+ * <b>Warning:</b> Since MicroUI doesn't support restart, only one UI test class can be executed in a single run.
+ */
+public class RecyclingListTest {
+
+	private static final int ITEM_HEIGHT = 30;
+	private static final int ITEM_COUNT = 100;
+	private static final int LARGE_ITEM_COUNT = 10000000;
+	private static final int OVERSCAN = 2;
+	private static final int IDLE_DURATION = 100;
+	private static final int LAYOUT_TIMEOUT = 2000;
+
+	/**
+	 * Starts MicroUI.
+	 *
+	 * @see MicroUI#start
+	 */
+	@BeforeClass
+	public static void setUpBeforeClass() {
+		MicroUI.start();
+	}
+
+	/**
+	 * Stops MicroUI.
+	 *
+	 * @see MicroUI#stop
+	 */
+	@AfterClass
+	public static void tearDownAfterClass() {
+		MicroUI.stop();
+	}
+
+	/**
+	 * Tests that the list measures its items and creates only the widgets needed to cover the display.
+	 */
+	@Test
+	public void testPoolSize() {
+		final TestDesktop desktop = createDesktop();
+		CountingAdapter adapter = new CountingAdapter(ITEM_COUNT);
+		RecyclingList list = new RecyclingList(LayoutOrientation.VERTICAL, false, adapter);
+		final Scroll scroll = createScroll(list);
+		show(desktop, scroll);
+
+		int poolSize = (Display.getDisplay().getHeight() + ITEM_HEIGHT - 1) / ITEM_HEIGHT + 1 + OVERSCAN;
+		poolSize += poolSize & 1;
+		assertEquals(ITEM_HEIGHT, list.getItemSize());
+		assertEquals(ITEM_COUNT * ITEM_HEIGHT, list.getHeight());
+		assertEquals(poolSize, list.getPoolSize());
+		assertEquals(poolSize, adapter.createdCount);
+		assertVisibleRange(list, 0);
+	}
+
+	/**
+	 * Tests that scrolling binds only the widgets that left the viewport to the items that entered it.
+	 */
+	@Test
+	public void testSlotReuse() {
+		final TestDesktop desktop = createDesktop();
+		CountingAdapter adapter = new CountingAdapter(ITEM_COUNT);
+		RecyclingList list = new RecyclingList(LayoutOrientation.VERTICAL, false, adapter);
+		final Scroll scroll = createScroll(list);
+		show(desktop, scroll);
+
+		int createdCount = adapter.createdCount;
+		int boundCount = adapter.boundCount;
+		final int shift = 3;
+		desktop.runAndWaitRender(scroll, new Runnable() {
+			@Override
+			public void run() {
+				scroll.scrollTo(shift * ITEM_HEIGHT, false);
+			}
+		});
+
+		assertEquals(createdCount, adapter.createdCount);
+		assertEquals(boundCount + shift, adapter.boundCount);
+		assertVisibleRange(list, shift);
+
+		final int farIndex = ITEM_COUNT / 2;
+		desktop.runAndWaitRender(scroll, new Runnable() {
+			@Override
+			public void run() {
+				scroll.scrollTo(farIndex * ITEM_HEIGHT, false);
+			}
+		});
+
+		assertEquals(createdCount, adapter.createdCount);
+		assertVisibleRange(list, farIndex);
+	}
+
+	/**
+	 * Tests that a list of millions of items is laid out and scrolled to its end with the same pool, the positions of
+	 * the items being computed from their size.
+	 */
+	@Test
+	public void testLargeCount() {
+		final TestDesktop desktop = createDesktop();
+		CountingAdapter adapter = new CountingAdapter(LARGE_ITEM_COUNT);
+		RecyclingList list = new RecyclingList(LayoutOrientation.VERTICAL, false, adapter);
+		final Scroll scroll = createScroll(list);
+		show(desktop, scroll);
+
+		int createdCount = adapter.createdCount;
+		assertEquals(LARGE_ITEM_COUNT, list.getItemCount());
+		assertEquals(LARGE_ITEM_COUNT * ITEM_HEIGHT, list.getHeight());
+		assertEquals((LARGE_ITEM_COUNT - 1) * ITEM_HEIGHT, list.getItemOffset(LARGE_ITEM_COUNT - 1));
+
+		final int lastVisibleIndex = LARGE_ITEM_COUNT - list.getPoolSize();
+		desktop.runAndWaitRender(scroll, new Runnable() {
+			@Override
+			public void run() {
+				scroll.scrollTo(lastVisibleIndex * ITEM_HEIGHT, false);
+			}
+		});
+
+		assertEquals(createdCount, adapter.createdCount);
+		assertVisibleRange(list, lastVisibleIndex);
+	}
+
+	/**
+	 * Shows a scroll in a desktop and waits for the layout that follows the growth of the pool.
+	 */
+	private static void show(final TestDesktop desktop, Widget scroll) {
+		desktop.setWidget(scroll);
+		desktop.runAndWaitRender(scroll, new Runnable() {
+			@Override
+			public void run() {
+				desktop.requestShow();
+			}
+		});
+		desktop.waitRenderIdle(IDLE_DURATION, LAYOUT_TIMEOUT);
+	}
+
+	/**
+	 * Checks that the pool is bound to the items starting at the first visible one, each widget being bound to an item
+	 * whose index is equal to its own index modulo the pool size.
+	 */
+	private static void assertVisibleRange(RecyclingList list, int firstVisibleIndex) {
+		int poolSize = list.getPoolSize();
+		for (int slot = 0; slot < poolSize; slot++) {
+			int index = list.getBoundIndex(slot);
+			assertTrue(index >= firstVisibleIndex && index < firstVisibleIndex + poolSize);
+			assertEquals(slot, index % poolSize);
+			Widget child = list.getChild(slot);
+			assertEquals(index, ((Item) child).index);
+			assertEquals(index * ITEM_HEIGHT, child.getY());
+		}
+	}
+
+	private static TestDesktop createDesktop() {
+		TestDesktop desktop = new TestDesktop();
+		desktop.setStylesheet(new Stylesheet() {
+			@Override
+			public Style getStyle(Widget widget) {
+				return new EditableStyle();
+			}
+		});
+		return desktop;
+	}
+
+	private static Scroll createScroll(RecyclingList list) {
+		Scroll scroll = new Scroll(LayoutOrientation.VERTICAL);
+		scroll.setChild(list);
+		return scroll;
+	}
+
+	private static class Item extends Widget {
+
+		private int index;
+
+		@Override
+		protected void computeContentOptimalSize(Size size) {
+			size.setHeight(ITEM_HEIGHT);
+		}
+
+		@Override
+		protected void renderContent(GraphicsContext g, int contentWidth, int contentHeight) {
+			// Nothing to render.
+		}
+	}
+
+	private static class CountingAdapter implements ItemAdapter {
+
+		private final int count;
+		private int createdCount;
+		private int boundCount;
+
+		private CountingAdapter(int count) {
+			this.count = count;
+		}
+
+		@Override
+		public int getCount() {
+			return this.count;
+		}
+
+		@Override
+		public Widget createItem() {
+			this.createdCount++;
+			return new Item();
+		}
+
+		@Override
+		public void bindItem(Widget item, int index) {
+			this.boundCount++;
+			((Item) item).index = index;
+		}
+	}
+
+}
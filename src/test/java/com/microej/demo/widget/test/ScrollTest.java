@@ -1,10 +1,11 @@
 /*
- * Copyright 2023-2024 MicroEJ Corp. All rights reserved.
+ * Copyright 2023-2026 MicroEJ Corp. All rights reserved.
  * Use of this source code is governed by a BSD-style license that can be found with this software.
  */
 
 package com.microej.demo.widget.test;
 
+import static org.junit.Assert.assertArrayEquals;
 import static org.junit.Assert.assertEquals;
 
 import org.junit.AfterClass;
@@ -12,6 +13,7 @@ import org.junit.BeforeClass;
 import org.junit.Test;
 
 import com.microej.demo.widget.common.scroll.Scroll;
+import com.microej.demo.widget.common.scroll.TileCache;
 
 import ej.microui.MicroUI;
 import ej.microui.display.Colors;
@@ -21,10 +23,16 @@ import ej.microui.display.Painter;
 import ej.mwt.Widget;
 import ej.mwt.style.EditableStyle;
 import ej.mwt.style.Style;
+import ej.mwt.style.background.RectangularBackground;
+import ej.mwt.style.dimension.FixedDimension;
 import ej.mwt.style.outline.UniformOutline;
 import ej.mwt.stylesheet.Stylesheet;
+import ej.mwt.stylesheet.cascading.CascadingStylesheet;
+import ej.mwt.stylesheet.selector.TypeSelector;
 import ej.mwt.util.Size;
+import ej.widget.container.Dock;
 import ej.widget.container.LayoutOrientation;
+import ej.widget.container.List;
 import ej.widget.swipe.SwipeEventHandler;
 
 /**
@@ -37,6 +45,15 @@ public class ScrollTest {
 	private static final boolean ANIMATION = true;
 	private static final boolean NO_ANIMATION = false;
 
+	private static final int PARENT_COLOR = 0x2e7d32;
+	private static final int[] SHIFTS = { 7, 13, 40, -5, -29, 61, -3 };
+	private static final int TILED_SCROLL_WIDTH = 100;
+	private static final int TILED_SCROLL_HEIGHT = 80;
+	private static final int TILE_LENGTH = 16;
+	// Room for 10 tiles of 16-bit pixels: enough to cover the viewport and its neighbors, small enough for the images
+	// heap.
+	private static final int TILE_BUDGET = 10 * TILED_SCROLL_WIDTH * TILE_LENGTH * 2;
+
 	/**
 	 * Starts MicroUI.
 	 *
@@ -279,6 +296,117 @@ public class ScrollTest {
 		assertEquals(-shift, content.getY());
 	}
 
+	/**
+	 * Tests that the partial rendering of a transparent scroll renders the same pixels as a full rendering.
+	 */
+	@Test
+	public void testPartialRenderingTransparent() {
+		final TestDesktop desktop = new TestDesktop();
+		CascadingStylesheet stylesheet = new CascadingStylesheet();
+		stylesheet.getSelectorStyle(new TypeSelector(Dock.class))
+				.setBackground(new RectangularBackground(PARENT_COLOR));
+		desktop.setStylesheet(stylesheet);
+
+		final Scroll scroll = createScroll();
+		scroll.setPartialRendering(true);
+		scroll.setChild(TestWidgets.createBandsContent());
+		Dock dock = new Dock();
+		dock.setCenterChild(scroll);
+		desktop.setWidget(dock);
+		desktop.runAndWaitRender(dock, new Runnable() {
+			@Override
+			public void run() {
+				desktop.requestShow();
+			}
+		});
+
+		int position = 0;
+		for (int shift : SHIFTS) {
+			position += shift;
+			final int target = position;
+			desktop.runAndWaitRender(scroll, new Runnable() {
+				@Override
+				public void run() {
+					scroll.scrollTo(target, NO_ANIMATION);
+				}
+			});
+			int[] shifted = readPixels(scroll);
+
+			// The position did not change since the last rendering: the whole scroll is rendered.
+			desktop.runAndWaitRender(scroll, new Runnable() {
+				@Override
+				public void run() {
+					scroll.requestRender();
+				}
+			});
+			assertArrayEquals(readPixels(scroll), shifted);
+		}
+	}
+
+	/**
+	 * Tests that a scroll rendering its content in tiles renders the same pixels as a scroll rendering it directly.
+	 */
+	@Test
+	public void testTileCache() {
+		final TestDesktop desktop = new TestDesktop();
+		CascadingStylesheet stylesheet = new CascadingStylesheet();
+		EditableStyle style = stylesheet.getSelectorStyle(new TypeSelector(Scroll.class));
+		style.setBackground(new RectangularBackground(PARENT_COLOR));
+		style.setDimension(new FixedDimension(TILED_SCROLL_WIDTH, TILED_SCROLL_HEIGHT));
+		desktop.setStylesheet(stylesheet);
+
+		final Scroll tiledScroll = createScroll();
+		tiledScroll.setTileCache(new TileCache(TILE_LENGTH, TILE_BUDGET));
+		tiledScroll.setChild(TestWidgets.createBandsContent());
+		final Scroll scroll = createScroll();
+		scroll.setChild(TestWidgets.createBandsContent());
+		final List list = new List(LayoutOrientation.HORIZONTAL);
+		list.addChild(tiledScroll);
+		list.addChild(scroll);
+		desktop.setWidget(list);
+		desktop.runAndWaitRender(list, new Runnable() {
+			@Override
+			public void run() {
+				desktop.requestShow();
+			}
+		});
+
+		int position = 0;
+		for (int shift : SHIFTS) {
+			position += shift;
+			final int target = position;
+			desktop.runAndWaitRender(tiledScroll, new Runnable() {
+				@Override
+				public void run() {
+					tiledScroll.scrollTo(target, NO_ANIMATION);
+				}
+			});
+			desktop.runAndWaitRender(scroll, new Runnable() {
+				@Override
+				public void run() {
+					scroll.scrollTo(target, NO_ANIMATION);
+				}
+			});
+			assertArrayEquals(readPixels(scroll), readPixels(tiledScroll));
+		}
+	}
+
+	private static int[] readPixels(Widget widget) {
+		GraphicsContext g = Display.getDisplay().getGraphicsContext();
+		g.resetTranslation();
+		int x = widget.getAbsoluteX();
+		int y = widget.getAbsoluteY();
+		int width = widget.getWidth();
+		int height = widget.getHeight();
+		int[] pixels = new int[width * height];
+		for (int j = 0; j < height; j++) {
+			for (int i = 0; i < width; i++) {
+				pixels[j * width + i] = g.readPixel(x + i, y + j);
+			}
+		}
+		return pixels;
+	}
+
 	private static TestDesktop createDesktop() {
 		TestDesktop desktop = new TestDesktop();
 		desktop.setStylesheet(new Stylesheet() {
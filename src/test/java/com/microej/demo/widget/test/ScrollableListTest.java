@@ -0,0 +1,194 @@
+/*
+ * Copyright 2026 MicroEJ Corp. All rights reserved.
+ * Use of this source code is governed by a BSD-style license that can be found with this software.
+ */
+
+package com.microej.demo.widget.test;
+
+import static org.junit.Assert.assertEquals;
+
+import org.junit.AfterClass;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import com.microej.demo.widget.common.scroll.Scroll;
+import com.microej.demo.widget.common.scroll.ScrollableList;
+
+import ej.microui.MicroUI;
+import ej.microui.display.GraphicsContext;
+import ej.mwt.Widget;
+import ej.mwt.style.EditableStyle;
+import ej.mwt.style.Style;
+import ej.mwt.stylesheet.Stylesheet;
+import ej.mwt.util.Size;
+import ej.widget.container.LayoutOrientation;
+
+/**
+ * Tests the offset index of a {@link ScrollableList} whose items have different sizes.
+ * <p>
+ * <b>Warning:</b> Since MicroUI doesn't support restart, only one UI test class can be executed in a single run.
+ */
+public class ScrollableListTest {
+
+	private static final int ITEM_COUNT = 50;
+	private static final int MIN_ITEM_HEIGHT = 10;
+	private static final int ITEM_HEIGHT_STEP = 7;
+	private static final int ITEM_HEIGHT_PERIOD = 5;
+	private static final int RESIZED_INDEX = 20;
+	private static final int RESIZED_HEIGHT = 100;
+
+	/**
+	 * Starts MicroUI.
+	 *
+	 * @see MicroUI#start
+	 */
+	@BeforeClass
+	public static void setUpBeforeClass() {
+		MicroUI.start();
+	}
+
+	/**
+	 * Stops MicroUI.
+	 *
+	 * @see MicroUI#stop
+	 */
+	@AfterClass
+	public static void tearDownAfterClass() {
+		MicroUI.stop();
+	}
+
+	/**
+	 * Tests that the offsets, the sizes and the item found at each position match the items laid out.
+	 */
+	@Test
+	public void testItemOffsets() {
+		TestDesktop desktop = createDesktop();
+		ScrollableList list = createList();
+		show(desktop, list);
+
+		assertItemOffsets(list);
+	}
+
+	/**
+	 * Tests that the offsets, the sizes and the item found at each position are updated after an item is resized,
+	 * inserted and removed.
+	 */
+	@Test
+	public void testItemOffsetsAfterChanges() {
+		TestDesktop desktop = createDesktop();
+		final ScrollableList list = createList();
+		show(desktop, list);
+
+		final Item resizedItem = (Item) list.getChild(RESIZED_INDEX);
+		desktop.runAndWaitRender(list, new Runnable() {
+			@Override
+			public void run() {
+				resizedItem.height = RESIZED_HEIGHT;
+				requestParentLayOut(list);
+			}
+		});
+		assertItemOffsets(list);
+
+		desktop.runAndWaitRender(list, new Runnable() {
+			@Override
+			public void run() {
+				list.insertChild(new Item(RESIZED_HEIGHT), RESIZED_INDEX);
+				requestParentLayOut(list);
+			}
+		});
+		assertEquals(ITEM_COUNT + 1, list.getChildrenCount());
+		assertItemOffsets(list);
+
+		desktop.runAndWaitRender(list, new Runnable() {
+			@Override
+			public void run() {
+				list.removeChild(list.getChild(0));
+				requestParentLayOut(list);
+			}
+		});
+		assertEquals(ITEM_COUNT, list.getChildrenCount());
+		assertItemOffsets(list);
+	}
+
+	/**
+	 * Checks the offsets and the sizes of the items, and the item found at the first, middle and last positions of
+	 * each item and before the list.
+	 */
+	private static void assertItemOffsets(ScrollableList list) {
+		int count = list.getChildrenCount();
+		int offset = 0;
+		for (int i = 0; i < count; i++) {
+			Widget child = list.getChild(i);
+			int height = child.getHeight();
+			assertEquals(offset, child.getY());
+			assertEquals(offset, list.getItemOffset(i));
+			assertEquals(height, list.getItemSize(i));
+			assertEquals(i, list.getItemIndexAt(offset));
+			assertEquals(i, list.getItemIndexAt(offset + height / 2));
+			assertEquals(i, list.getItemIndexAt(offset + height - 1));
+			offset += height;
+		}
+		assertEquals(0, list.getItemIndexAt(-1));
+		assertEquals(count - 1, list.getItemIndexAt(offset));
+	}
+
+	/**
+	 * Lays out the scroll containing the list, since the size of the list changes.
+	 */
+	private static void requestParentLayOut(ScrollableList list) {
+		Widget parent = list.getParent();
+		assert parent != null;
+		parent.requestLayOut();
+	}
+
+	private static ScrollableList createList() {
+		ScrollableList list = new ScrollableList(LayoutOrientation.VERTICAL, false);
+		for (int i = 0; i < ITEM_COUNT; i++) {
+			list.addChild(new Item(MIN_ITEM_HEIGHT + (i % ITEM_HEIGHT_PERIOD) * ITEM_HEIGHT_STEP));
+		}
+		return list;
+	}
+
+	private static TestDesktop createDesktop() {
+		TestDesktop desktop = new TestDesktop();
+		desktop.setStylesheet(new Stylesheet() {
+			@Override
+			public Style getStyle(Widget widget) {
+				return new EditableStyle();
+			}
+		});
+		return desktop;
+	}
+
+	private static void show(final TestDesktop desktop, ScrollableList list) {
+		Scroll scroll = new Scroll(LayoutOrientation.VERTICAL);
+		scroll.setChild(list);
+		desktop.setWidget(scroll);
+		desktop.runAndWaitRender(scroll, new Runnable() {
+			@Override
+			public void run() {
+				desktop.requestShow();
+			}
+		});
+	}
+
+	private static class Item extends Widget {
+
+		private int height;
+
+		private Item(int height) {
+			this.height = height;
+		}
+
+		@Override
+		protected void computeContentOptimalSize(Size size) {
+			size.setHeight(this.height);
+		}
+
+		@Override
+		protected void renderContent(GraphicsContext g, int contentWidth, int contentHeight) {
+			// Nothing to render.
+		}
+	}
+
+}
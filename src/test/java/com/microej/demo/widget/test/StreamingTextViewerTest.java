@@ -0,0 +1,251 @@
+/*
+ * Copyright 2026 MicroEJ Corp. All rights reserved.
+ * Use of this source code is governed by a BSD-style license that can be found with this software.
+ */
+
+package com.microej.demo.widget.test;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.AfterClass;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import com.microej.demo.widget.common.Fonts;
+import com.microej.demo.widget.common.scroll.Scroll;
+import com.microej.demo.widget.scrollabletext.widget.StreamingTextViewer;
+
+import ej.microui.MicroUI;
+import ej.microui.display.Colors;
+import ej.microui.display.Display;
+import ej.microui.display.GraphicsContext;
+import ej.mwt.Widget;
+import ej.mwt.style.EditableStyle;
+import ej.mwt.style.background.RectangularBackground;
+import ej.mwt.style.dimension.FixedDimension;
+import ej.mwt.stylesheet.cascading.CascadingStylesheet;
+import ej.mwt.stylesheet.selector.TypeSelector;
+import ej.mwt.util.Alignment;
+import ej.widget.container.LayoutOrientation;
+import ej.widget.container.List;
+
+/**
+ * Tests the scrolling of a {@link StreamingTextViewer}, whose height is estimated and corrected while the text is
+ * read.
+ * <p>
+ * <b>Warning:</b> Since MicroUI doesn't support restart, only one UI test class can be executed in a single run.
+ */
+public class StreamingTextViewerTest {
+
+	private static final boolean NO_ANIMATION = false;
+
+	private static final String TEXT_PATH = "/resources/test/streaming.txt"; //$NON-NLS-1$
+	private static final String MULTIBYTE_PATH = "/resources/test/multibyte.txt"; //$NON-NLS-1$
+	private static final String MULTIBYTE_CUT_PATH = "/resources/test/multibyte_cut.txt"; //$NON-NLS-1$
+
+	private static final int SCROLL_WIDTH = 200;
+	private static final int SCROLL_HEIGHT = 240;
+	private static final int STEP = SCROLL_HEIGHT / 3;
+	private static final int MAX_STEPS = 1000;
+	private static final int TITLE_MARGIN = 4;
+	private static final int IDLE_DURATION = 100;
+	private static final int LAYOUT_TIMEOUT = 2000;
+
+	/**
+	 * Starts MicroUI.
+	 *
+	 * @see MicroUI#start
+	 */
+	@BeforeClass
+	public static void setUpBeforeClass() {
+		MicroUI.start();
+	}
+
+	/**
+	 * Stops MicroUI.
+	 *
+	 * @see MicroUI#stop
+	 */
+	@AfterClass
+	public static void tearDownAfterClass() {
+		MicroUI.stop();
+	}
+
+	/**
+	 * Tests that scrolling down through the whole text moves the lines by the scrolled distance, even when the
+	 * estimated height is corrected, and reaches the end of the text.
+	 */
+	@Test
+	public void testScrollThroughText() {
+		TestDesktop desktop = createDesktop();
+		StreamingTextViewer viewer = createViewer(TEXT_PATH);
+		Scroll scroll = createScroll(viewer);
+		show(desktop, scroll);
+
+		int steps = 0;
+		while (!isAtEnd(scroll, viewer)) {
+			assertTrue(steps++ < MAX_STEPS);
+			int[] pixels = readPixels(scroll);
+			scrollTo(desktop, scroll, getPosition(viewer) + STEP);
+			if (!isAtEnd(scroll, viewer)) {
+				assertShifted(pixels, readPixels(scroll), STEP);
+			}
+		}
+	}
+
+	/**
+	 * Tests that scrolling up from an offset in the middle of the text moves the lines by the scrolled distance, even
+	 * when the room before the wrapped lines is corrected, and reaches the start of the text at the top.
+	 */
+	@Test
+	public void testScrollBackFromOffset() {
+		final TestDesktop desktop = createDesktop();
+		final StreamingTextViewer viewer = createViewer(TEXT_PATH);
+		Scroll scroll = createScroll(viewer);
+		show(desktop, scroll);
+		int[] startPixels = readPixels(scroll);
+
+		desktop.runAndWaitRender(scroll, new Runnable() {
+			@Override
+			public void run() {
+				viewer.scrollToOffset(viewer.getLength() / 2);
+			}
+		});
+		desktop.waitRenderIdle(IDLE_DURATION, LAYOUT_TIMEOUT);
+
+		int steps = 0;
+		int position = getPosition(viewer);
+		while (position > 0) {
+			assertTrue(steps++ < MAX_STEPS);
+			int[] pixels = readPixels(scroll);
+			int target = position - STEP;
+			scrollTo(desktop, scroll, target);
+			position = getPosition(viewer);
+			if (target > 0) {
+				assertShifted(pixels, readPixels(scroll), -STEP);
+			}
+		}
+		assertArrayEquals(startPixels, readPixels(scroll));
+	}
+
+	/**
+	 * Tests that a paragraph cut after {@code 1023} bytes, in the middle of a two-byte character, is displayed as the
+	 * same text split in two paragraphs before this character.
+	 */
+	@Test
+	public void testMultiByteCut() {
+		TestDesktop desktop = createDesktop();
+		StreamingTextViewer viewer = createViewer(MULTIBYTE_PATH);
+		StreamingTextViewer cutViewer = createViewer(MULTIBYTE_CUT_PATH);
+		Scroll scroll = createScroll(viewer);
+		Scroll cutScroll = createScroll(cutViewer);
+		List list = new List(LayoutOrientation.HORIZONTAL);
+		list.addChild(scroll);
+		list.addChild(cutScroll);
+		show(desktop, list);
+
+		assertEquals(cutViewer.getHeight(), viewer.getHeight());
+		assertArrayEquals(readPixels(cutScroll), readPixels(scroll));
+
+		scrollTo(desktop, scroll, Integer.MAX_VALUE);
+		scrollTo(desktop, cutScroll, Integer.MAX_VALUE);
+		assertArrayEquals(readPixels(cutScroll), readPixels(scroll));
+	}
+
+	private static TestDesktop createDesktop() {
+		TestDesktop desktop = new TestDesktop();
+		CascadingStylesheet stylesheet = new CascadingStylesheet();
+		EditableStyle style = stylesheet.getSelectorStyle(new TypeSelector(Scroll.class));
+		style.setBackground(new RectangularBackground(Colors.WHITE));
+		style.setDimension(new FixedDimension(SCROLL_WIDTH, SCROLL_HEIGHT));
+		style = stylesheet.getSelectorStyle(new TypeSelector(StreamingTextViewer.class));
+		style.setFont(Fonts.getSourceSansPro12px400());
+		style.setColor(Colors.BLACK);
+		style.setHorizontalAlignment(Alignment.LEFT);
+		style.setVerticalAlignment(Alignment.TOP);
+		desktop.setStylesheet(stylesheet);
+		return desktop;
+	}
+
+	private static StreamingTextViewer createViewer(String path) {
+		StreamingTextViewer viewer = new StreamingTextViewer(path);
+		viewer.setTitleStyle(Fonts.getSourceSansPro16px700(), Colors.GRAY, TITLE_MARGIN);
+		return viewer;
+	}
+
+	private static Scroll createScroll(Widget viewer) {
+		Scroll scroll = new Scroll(LayoutOrientation.VERTICAL);
+		scroll.showScrollbar(false);
+		scroll.setChild(viewer);
+		return scroll;
+	}
+
+	/**
+	 * Shows a widget in a desktop and waits for the layouts caused by the corrections of the height.
+	 */
+	private static void show(final TestDesktop desktop, Widget widget) {
+		desktop.setWidget(widget);
+		desktop.runAndWaitRender(widget, new Runnable() {
+			@Override
+			public void run() {
+				desktop.requestShow();
+			}
+		});
+		desktop.waitRenderIdle(IDLE_DURATION, LAYOUT_TIMEOUT);
+	}
+
+	/**
+	 * Scrolls without animation and waits for the layouts caused by the corrections of the height.
+	 */
+	private static void scrollTo(TestDesktop desktop, final Scroll scroll, final int position) {
+		desktop.runAndWaitRender(scroll, new Runnable() {
+			@Override
+			public void run() {
+				scroll.scrollTo(position, NO_ANIMATION);
+			}
+		});
+		desktop.waitRenderIdle(IDLE_DURATION, LAYOUT_TIMEOUT);
+	}
+
+	private static int getPosition(Widget viewer) {
+		return -viewer.getY();
+	}
+
+	private static boolean isAtEnd(Scroll scroll, Widget viewer) {
+		return viewer.getY() + viewer.getHeight() <= scroll.getContentHeight();
+	}
+
+	/**
+	 * Asserts that the lines of the second pixels are the lines of the first ones moved up by a distance.
+	 */
+	private static void assertShifted(int[] pixels, int[] shiftedPixels, int distance) {
+		int lineCount = SCROLL_HEIGHT - Math.abs(distance);
+		int firstLine = Math.max(0, distance);
+		int firstShiftedLine = Math.max(0, -distance);
+		for (int j = 0; j < lineCount; j++) {
+			for (int i = 0; i < SCROLL_WIDTH; i++) {
+				assertEquals(pixels[(firstLine + j) * SCROLL_WIDTH + i],
+						shiftedPixels[(firstShiftedLine + j) * SCROLL_WIDTH + i]);
+			}
+		}
+	}
+
+	private static int[] readPixels(Widget widget) {
+		GraphicsContext g = Display.getDisplay().getGraphicsContext();
+		g.resetTranslation();
+		int x = widget.getAbsoluteX();
+		int y = widget.getAbsoluteY();
+		int width = widget.getWidth();
+		int height = widget.getHeight();
+		int[] pixels = new int[width * height];
+		for (int j = 0; j < height; j++) {
+			for (int i = 0; i < width; i++) {
+				pixels[j * width + i] = g.readPixel(x + i, y + j);
+			}
+		}
+		return pixels;
+	}
+
+}
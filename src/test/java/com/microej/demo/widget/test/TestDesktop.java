@@ -1,5 +1,5 @@
 /*
- * Copyright 2023 MicroEJ Corp. All rights reserved.
+ * Copyright 2023-2026 MicroEJ Corp. All rights reserved.
  * Use of this source code is governed by a BSD-style license that can be found with this software.
  */
 
@@ -19,6 +19,7 @@ class TestDesktop extends Desktop {
 	private @Nullable Widget lastRendered;
 	private boolean waitForRender;
 	private boolean renderAcknowledged;
+	private long lastRenderTime;
 
 	public TestDesktop() {
 		this.lock = new Object();
@@ -35,12 +36,13 @@ class TestDesktop extends Desktop {
 		};
 	}
 
-	private void onWidgetRendered(Widget widget) {
+	void onWidgetRendered(Widget widget) {
 		Object lock = this.lock;
 		synchronized (lock) {
 			this.lastRendered = widget;
+			this.lastRenderTime = System.currentTimeMillis();
+			lock.notifyAll();
 			if (this.waitForRender) {
-				lock.notifyAll();
 				this.renderAcknowledged = false;
 				do {
 					try {
@@ -77,4 +79,30 @@ class TestDesktop extends Desktop {
 		}
 	}
 
+	/**
+	 * Waits until no widget has been rendered for a given duration, for example to let a fling or a transition end.
+	 *
+	 * @param idleDuration
+	 *            the duration without any render to wait for, in milliseconds.
+	 * @param timeout
+	 *            the maximum duration to wait, in milliseconds, since an animated widget may never stop rendering.
+	 */
+	public void waitRenderIdle(long idleDuration, long timeout) {
+		Object lock = this.lock;
+		synchronized (lock) {
+			long now = System.currentTimeMillis();
+			long deadline = now + timeout;
+			long end = Math.min(now + idleDuration, deadline);
+			while (now < end) {
+				try {
+					lock.wait(end - now);
+				} catch (InterruptedException e) {
+					// do nothing
+				}
+				now = System.currentTimeMillis();
+				end = Math.min(this.lastRenderTime + idleDuration, deadline);
+			}
+		}
+	}
+
 }
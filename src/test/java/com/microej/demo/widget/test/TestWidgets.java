@@ -0,0 +1,51 @@
+/*
+ * Copyright 2026 MicroEJ Corp. All rights reserved.
+ * Use of this source code is governed by a BSD-style license that can be found with this software.
+ */
+
+package com.microej.demo.widget.test;
+
+import ej.microui.display.Colors;
+import ej.microui.display.Display;
+import ej.microui.display.GraphicsContext;
+import ej.microui.display.Painter;
+import ej.mwt.Widget;
+import ej.mwt.util.Size;
+
+/**
+ * Creates the widgets scrolled by the scroll tests.
+ */
+class TestWidgets {
+
+	private static final int BAND_HEIGHT = 10;
+
+	private TestWidgets() {
+		// Prevent instantiation.
+	}
+
+	/**
+	 * Creates a widget three times the height of the display, drawing bands of different colors over half its width.
+	 * The other half is transparent.
+	 *
+	 * @return the created widget.
+	 */
+	static Widget createBandsContent() {
+		return new Widget() {
+			@Override
+			protected void computeContentOptimalSize(Size size) {
+				size.setHeight(3 * Display.getDisplay().getHeight());
+			}
+
+			@Override
+			protected void renderContent(GraphicsContext g, int contentWidth, int contentHeight) {
+				int halfWidth = contentWidth >> 1;
+				for (int y = 0; y < contentHeight; y += BAND_HEIGHT) {
+					g.setColor((y * 0x010203) & Colors.WHITE);
+					Painter.fillRectangle(g, 0, y, halfWidth, BAND_HEIGHT);
+				}
+			}
+
+		};
+	}
+
+}
@@ -0,0 +1,109 @@
+/*
+ * Copyright 2026 MicroEJ Corp. All rights reserved.
+ * Use of this source code is governed by a BSD-style license that can be found with this software.
+ */
+
+package com.microej.demo.widget.test;
+
+import static org.junit.Assert.assertArrayEquals;
+
+import java.util.Random;
+
+import org.junit.AfterClass;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import com.microej.demo.widget.common.Fonts;
+import com.microej.demo.widget.common.WrappedText;
+
+import ej.microui.MicroUI;
+import ej.microui.display.Font;
+
+/**
+ * Tests that the incremental wrapping of a {@link WrappedText} gives the same lines as a full wrapping.
+ * <p>
+ * <b>Warning:</b> Since MicroUI doesn't support restart, only one UI test class can be executed in a single run.
+ */
+public class WrappedTextTest {
+
+	private static final String ALPHABET = "lorem ipsum\n"; //$NON-NLS-1$
+	private static final long SEED = 19;
+	private static final int RUN_COUNT = 50;
+	private static final int EDIT_COUNT = 100;
+	private static final int MAX_REMOVED_LENGTH = 12;
+	private static final int MAX_INSERTED_LENGTH = 16;
+	private static final int WIDTH = 80;
+	private static final int OTHER_WIDTH = 130;
+
+	/**
+	 * Starts MicroUI.
+	 *
+	 * @see MicroUI#start
+	 */
+	@BeforeClass
+	public static void setUpBeforeClass() {
+		MicroUI.start();
+	}
+
+	/**
+	 * Stops MicroUI.
+	 *
+	 * @see MicroUI#stop
+	 */
+	@AfterClass
+	public static void tearDownAfterClass() {
+		MicroUI.stop();
+	}
+
+	/**
+	 * Tests random insertions, removals and replacements of characters, including line feeds.
+	 */
+	@Test
+	public void testRandomEdits() {
+		Font font = Fonts.getSourceSansPro12px400();
+		Random random = new Random(SEED);
+		for (int run = 0; run < RUN_COUNT; run++) {
+			WrappedText wrappedText = new WrappedText();
+			String text = ""; //$NON-NLS-1$
+			for (int edit = 0; edit < EDIT_COUNT; edit++) {
+				text = edit(text, random);
+				assertArrayEquals(new WrappedText().wrap(text, font, WIDTH), wrappedText.wrap(text, font, WIDTH));
+			}
+		}
+	}
+
+	/**
+	 * Tests edits mixed with changes of the font and of the width, which wrap the whole text again.
+	 */
+	@Test
+	public void testEditsWithLayoutChanges() {
+		Font font = Fonts.getSourceSansPro12px400();
+		Font otherFont = Fonts.getSourceSansPro15px600();
+		Random random = new Random(SEED);
+		WrappedText wrappedText = new WrappedText();
+		String text = ""; //$NON-NLS-1$
+		for (int edit = 0; edit < EDIT_COUNT; edit++) {
+			text = edit(text, random);
+			Font editFont = (edit % 3 == 0) ? otherFont : font;
+			int width = (edit % 5 == 0) ? OTHER_WIDTH : WIDTH;
+			assertArrayEquals(new WrappedText().wrap(text, editFont, width), wrappedText.wrap(text, editFont, width));
+		}
+	}
+
+	/**
+	 * Replaces a random range of a text with random characters.
+	 */
+	private static String edit(String text, Random random) {
+		int length = text.length();
+		int start = random.nextInt(length + 1);
+		int end = Math.min(length, start + random.nextInt(MAX_REMOVED_LENGTH + 1));
+		int insertedLength = random.nextInt(MAX_INSERTED_LENGTH + 1);
+		StringBuilder builder = new StringBuilder(text.substring(0, start));
+		for (int i = 0; i < insertedLength; i++) {
+			builder.append(ALPHABET.charAt(random.nextInt(ALPHABET.length())));
+		}
+		builder.append(text.substring(end));
+		return builder.toString();
+	}
+
+}